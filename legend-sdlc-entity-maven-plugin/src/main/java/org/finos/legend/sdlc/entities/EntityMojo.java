@@ -21,10 +21,15 @@ import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.eclipse.collections.api.factory.Lists;
 import org.eclipse.collections.impl.utility.Iterate;
+import org.finos.legend.sdlc.serialization.EntityIndex;
 import org.finos.legend.sdlc.serialization.EntitySerializer;
 import org.finos.legend.sdlc.serialization.EntitySerializers;
+import org.finos.legend.sdlc.tools.ManifestTools;
+import org.finos.legend.sdlc.tools.ParallelTools;
 
 import java.io.File;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
@@ -34,6 +39,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Predicate;
 
 @Mojo(name = "process-entities", defaultPhase = LifecyclePhase.COMPILE)
@@ -48,6 +54,18 @@ public class EntityMojo extends AbstractMojo
     @Parameter(defaultValue = "${project.basedir}", readonly = true)
     public File baseDir;
 
+    @Parameter(defaultValue = "false")
+    public boolean generateEntityIndex;
+
+    @Parameter(defaultValue = "${org.finos.legend.sdlc.entities.parallel}")
+    public String parallel;
+
+    @Parameter(property = "org.finos.legend.sdlc.entities.incremental", defaultValue = "false")
+    public boolean incremental;
+
+    @Parameter(defaultValue = "${project.build.directory}/legend-sdlc/entities/${mojoExecution.executionId}.json")
+    public File incrementalManifestFile;
+
     @Override
     public void execute() throws MojoExecutionException
     {
@@ -56,9 +74,54 @@ public class EntityMojo extends AbstractMojo
         getLog().info("source directories: " + this.sourceDirectories);
         getLog().info("output directory: " + this.outputDirectory);
         getLog().info("base directory: " + this.baseDir);
+        getLog().info("generate entity index: " + this.generateEntityIndex);
+        int parallelism = getParallelism(this.parallel);
+        getLog().info("parallelism: " + parallelism);
+        getLog().info("incremental: " + this.incremental);
 
         EntitySerializer outputSerializer = EntitySerializers.getDefaultJsonSerializer();
         List<SerializationSpec> serializationSpecs = getSerializationSpecs();
+        EntityIndex.Builder indexBuilder = this.generateEntityIndex ? EntityIndex.newBuilder() : null;
+        EntityReserializationManifest.Builder manifestBuilder = this.incremental ? newManifestBuilder(serializationSpecs, outputSerializer) : null;
+        ForkJoinPool pool = (parallelism > 1) ? ParallelTools.createForkJoinPool(parallelism) : null;
+        int totalCount;
+        try
+        {
+            totalCount = reserialize(serializationSpecs, outputSerializer, indexBuilder, pool, manifestBuilder);
+        }
+        finally
+        {
+            if (pool != null)
+            {
+                pool.shutdown();
+            }
+        }
+        if (manifestBuilder != null)
+        {
+            deleteStaleEntityFiles(manifestBuilder.getStaleLocations());
+        }
+        if (indexBuilder != null)
+        {
+            if (totalCount > 0)
+            {
+                writeEntityIndex(indexBuilder.build());
+            }
+            else if (manifestBuilder != null)
+            {
+                // an index from a previous reserialization is stale
+                deleteStaleEntityFiles(Collections.singletonList(EntityIndex.INDEX_FILE_PATH));
+            }
+        }
+        if (manifestBuilder != null)
+        {
+            writeManifest(manifestBuilder.build());
+        }
+        long end = System.nanoTime();
+        getLog().info(String.format("Finished processing %,d entities (%.9fs)", totalCount, nanoDuration(start, end)));
+    }
+
+    private int reserialize(List<SerializationSpec> serializationSpecs, EntitySerializer outputSerializer, EntityIndex.Builder indexBuilder, ForkJoinPool pool, EntityReserializationManifest.Builder manifestBuilder) throws MojoExecutionException
+    {
         int totalCount = 0;
         for (SerializationSpec serializationSpec : serializationSpecs)
         {
@@ -68,7 +131,7 @@ public class EntityMojo extends AbstractMojo
             Predicate<Path> filter = (serializationSpec.fileExtensions == null) ? null : EntityReserializer.getExtensionsFilter(serializationSpec.fileExtensions);
             try
             {
-                List<String> paths = reserializer.reserializeDirectoryTree(serializationSpec.directory, filter, this.outputDirectory.toPath());
+                List<String> paths = reserializer.reserializeDirectoryTree(serializationSpec.directory, filter, this.outputDirectory.toPath(), indexBuilder, pool, manifestBuilder);
                 long sourceEnd = System.nanoTime();
                 getLog().info(String.format("Finished reserializing %,d entities from %s using serializer \"%s\" to %s (%.9fs)", paths.size(), serializationSpec.directory, serializationSpec.serializer.getName(), this.outputDirectory, nanoDuration(sourceStart, sourceEnd)));
                 if (getLog().isDebugEnabled())
@@ -92,8 +155,125 @@ public class EntityMojo extends AbstractMojo
                 throw new MojoExecutionException(builder.toString(), e);
             }
         }
-        long end = System.nanoTime();
-        getLog().info(String.format("Finished processing %,d entities (%.9fs)", totalCount, nanoDuration(start, end)));
+        return totalCount;
+    }
+
+    private EntityReserializationManifest.Builder newManifestBuilder(List<SerializationSpec> serializationSpecs, EntitySerializer outputSerializer)
+    {
+        // Covers everything other than the source files that affects the output: the serializers and the code doing
+        // the reserialization
+        StringBuilder builder = new StringBuilder();
+        appendSerializerFingerprint(builder, outputSerializer);
+        serializationSpecs.forEach(spec -> appendSerializerFingerprint(builder, spec.serializer));
+        builder.append(ManifestTools.getCodeSourceFingerprint(EntityReserializer.class)).append('\n');
+        builder.append(this.outputDirectory.toPath().toAbsolutePath().normalize()).append('\n');
+        String fingerprint = ManifestTools.computeHash(builder.toString().getBytes(StandardCharsets.UTF_8));
+
+        Path manifestPath = this.incrementalManifestFile.toPath();
+        EntityReserializationManifest previous = EntityReserializationManifest.readIfPossible(manifestPath);
+        if (previous == null)
+        {
+            getLog().info("No previous reserialization manifest at " + manifestPath + ": all entities will be reserialized");
+        }
+        else if (!fingerprint.equals(previous.getConfigurationFingerprint()))
+        {
+            getLog().info("Entity reserialization configuration has changed since " + manifestPath + " was written: all entities will be reserialized");
+        }
+        return EntityReserializationManifest.newBuilder(fingerprint, previous);
+    }
+
+    private static void appendSerializerFingerprint(StringBuilder builder, EntitySerializer serializer)
+    {
+        builder.append(serializer.getName()).append('\t')
+                .append(serializer.getDefaultFileExtension()).append('\t')
+                .append(serializer.getClass().getName()).append('\t')
+                .append(ManifestTools.getCodeSourceFingerprint(serializer.getClass())).append('\n');
+    }
+
+    private void deleteStaleEntityFiles(List<String> locations) throws MojoExecutionException
+    {
+        Path outputPath = this.outputDirectory.toPath();
+        int count = 0;
+        for (String location : locations)
+        {
+            Path file = outputPath.resolve(location);
+            try
+            {
+                if (Files.deleteIfExists(file))
+                {
+                    getLog().debug("Deleted stale file " + file);
+                    count++;
+                }
+            }
+            catch (Exception e)
+            {
+                StringBuilder builder = new StringBuilder("Error deleting stale file ").append(file);
+                String eMessage = e.getMessage();
+                if (eMessage != null)
+                {
+                    builder.append(": ").append(eMessage);
+                }
+                throw new MojoExecutionException(builder.toString(), e);
+            }
+        }
+        if (count > 0)
+        {
+            getLog().info(String.format("Deleted %,d stale files from %s", count, outputPath));
+        }
+    }
+
+    private void writeManifest(EntityReserializationManifest manifest) throws MojoExecutionException
+    {
+        Path manifestPath = this.incrementalManifestFile.toPath();
+        try
+        {
+            manifest.write(manifestPath);
+        }
+        catch (Exception e)
+        {
+            StringBuilder builder = new StringBuilder("Error writing entity reserialization manifest to ").append(manifestPath);
+            String eMessage = e.getMessage();
+            if (eMessage != null)
+            {
+                builder.append(": ").append(eMessage);
+            }
+            throw new MojoExecutionException(builder.toString(), e);
+        }
+    }
+
+    private int getParallelism(String parallel)
+    {
+        int parallelism = ParallelTools.parseParallel(parallel);
+        if (parallelism < 1)
+        {
+            getLog().warn("Specified parallelism is less than 1 (" + parallelism + "), effective parallelism will be 1");
+            return 1;
+        }
+        return parallelism;
+    }
+
+    private void writeEntityIndex(EntityIndex index) throws MojoExecutionException
+    {
+        Path indexPath = this.outputDirectory.toPath().resolve(EntityIndex.INDEX_FILE_PATH);
+        getLog().info(String.format("Writing entity index for %,d entities to %s", index.size(), indexPath));
+        try
+        {
+            Files.createDirectories(indexPath.getParent());
+            try (OutputStream stream = Files.newOutputStream(indexPath))
+            {
+                index.write(stream);
+            }
+        }
+        catch (Exception e)
+        {
+            StringBuilder builder = new StringBuilder("Error writing entity index to ").append(indexPath);
+            String eMessage = e.getMessage();
+            if (eMessage != null)
+            {
+                builder.append(": ").append(eMessage);
+            }
+            throw new MojoExecutionException(builder.toString(), e);
+        }
     }
 
     private List<SerializationSpec> getSerializationSpecs() throws MojoExecutionException
@@ -0,0 +1,282 @@
+// Copyright 2023 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.sdlc.entities;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.finos.legend.sdlc.serialization.EntityIndex;
+import org.finos.legend.sdlc.tools.ManifestTools;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Manifest of entity reserialization, used for incremental reserialization. For each source file, the manifest
+ * records a hash of its content, the serializer it was read with, and the entity file it was reserialized to. A source
+ * file whose content is unchanged since the manifest was written (and whose entity file still exists) does not need to
+ * be reserialized again, and the entity files of source files which no longer exist can be deleted.
+ */
+public class EntityReserializationManifest
+{
+    private static final int FORMAT_VERSION = 1;
+
+    private final String configurationFingerprint;
+    private final Map<String, FileEntry> files;
+
+    private EntityReserializationManifest(String configurationFingerprint, Map<String, FileEntry> files)
+    {
+        this.configurationFingerprint = configurationFingerprint;
+        this.files = files;
+    }
+
+    /**
+     * Get the fingerprint of the configuration used for this manifest.
+     *
+     * @return configuration fingerprint
+     */
+    public String getConfigurationFingerprint()
+    {
+        return this.configurationFingerprint;
+    }
+
+    /**
+     * Get the entry for a source file, or null if the file is not in the manifest.
+     *
+     * @param sourceFile source file
+     * @return file entry or null
+     */
+    public FileEntry getFile(Path sourceFile)
+    {
+        return this.files.get(getSourceFileKey(sourceFile));
+    }
+
+    public Map<String, FileEntry> getFiles()
+    {
+        return Collections.unmodifiableMap(this.files);
+    }
+
+    /**
+     * Write the manifest to a file, replacing any existing manifest.
+     *
+     * @param file manifest file
+     * @throws IOException if an I/O error occurs
+     */
+    public void write(Path file) throws IOException
+    {
+        ManifestTools.writeManifestFile(file, new ManifestFile(FORMAT_VERSION, this.configurationFingerprint, new TreeMap<>(this.files)));
+    }
+
+    /**
+     * Read a manifest from a file. Returns null if the file does not exist, or if it cannot be read or has an
+     * unsupported format, as in any of these cases all source files must be reserialized.
+     *
+     * @param file manifest file
+     * @return manifest or null
+     */
+    public static EntityReserializationManifest readIfPossible(Path file)
+    {
+        ManifestFile manifestFile = ManifestTools.readManifestFileIfPossible(file, ManifestFile.class);
+        if ((manifestFile == null) || (manifestFile.version != FORMAT_VERSION) || (manifestFile.files == null))
+        {
+            return null;
+        }
+        return new EntityReserializationManifest(manifestFile.configurationFingerprint, manifestFile.files);
+    }
+
+    /**
+     * Start building a new manifest, reusing entries of the previous manifest where possible (see
+     * {@link ManifestTools}). Stale entity files are given by {@link Builder#getStaleLocations()}.
+     *
+     * @param configurationFingerprint configuration fingerprint
+     * @param previous                 previous manifest (may be null)
+     * @return manifest builder
+     */
+    public static Builder newBuilder(String configurationFingerprint, EntityReserializationManifest previous)
+    {
+        return new Builder(Objects.requireNonNull(configurationFingerprint, "configuration fingerprint may not be null"), previous);
+    }
+
+    static String getSourceFileKey(Path sourceFile)
+    {
+        return sourceFile.toAbsolutePath().normalize().toString();
+    }
+
+    public static class FileEntry
+    {
+        @JsonProperty
+        private final String sourceHash;
+
+        @JsonProperty
+        private final String serializer;
+
+        @JsonProperty
+        private final EntityIndex.Entry entity;
+
+        private FileEntry(String sourceHash, String serializer, EntityIndex.Entry entity)
+        {
+            this.sourceHash = sourceHash;
+            this.serializer = serializer;
+            this.entity = entity;
+        }
+
+        @JsonCreator
+        public static FileEntry newFileEntry(@JsonProperty("sourceHash") String sourceHash, @JsonProperty("serializer") String serializer, @JsonProperty("entity") EntityIndex.Entry entity)
+        {
+            return new FileEntry(sourceHash, serializer, entity);
+        }
+
+        /**
+         * Hex encoded SHA-256 hash of the source file content.
+         *
+         * @return source hash
+         */
+        public String getSourceHash()
+        {
+            return this.sourceHash;
+        }
+
+        /**
+         * Name of the serializer the source file was read with.
+         *
+         * @return serializer name
+         */
+        public String getSerializer()
+        {
+            return this.serializer;
+        }
+
+        /**
+         * Index entry for the entity file the source file was reserialized to. The location is relative to the
+         * target directory.
+         *
+         * @return entity index entry
+         */
+        public EntityIndex.Entry getEntity()
+        {
+            return this.entity;
+        }
+    }
+
+    public static class Builder
+    {
+        private final String configurationFingerprint;
+        private final EntityReserializationManifest previous;
+        private final Map<String, FileEntry> files = new ConcurrentHashMap<>();
+        private final Map<String, String> sourceFilesByLocation = new ConcurrentHashMap<>();
+
+        private Builder(String configurationFingerprint, EntityReserializationManifest previous)
+        {
+            this.configurationFingerprint = configurationFingerprint;
+            this.previous = previous;
+        }
+
+        /**
+         * Get the entry for a source file from the previous manifest, if it can be reused.
+         *
+         * @param sourceFile source file
+         * @return previous file entry or null
+         */
+        public FileEntry getPreviousEntry(Path sourceFile)
+        {
+            return ((this.previous == null) || !this.configurationFingerprint.equals(this.previous.configurationFingerprint)) ? null : this.previous.getFile(sourceFile);
+        }
+
+        /**
+         * Claim an entity file location for a source file. Returns false if the location has already been claimed by
+         * a different source file. This method may be called concurrently from multiple threads.
+         *
+         * @param location   entity file location relative to the target directory
+         * @param sourceFile source file
+         * @return whether the location was claimed
+         */
+        public boolean claimLocation(String location, Path sourceFile)
+        {
+            String sourceFileKey = getSourceFileKey(sourceFile);
+            String claimant = this.sourceFilesByLocation.putIfAbsent(location, sourceFileKey);
+            return (claimant == null) || claimant.equals(sourceFileKey);
+        }
+
+        /**
+         * Add the entry for a source file. This method may be called concurrently from multiple threads.
+         *
+         * @param sourceFile source file
+         * @param entry      file entry
+         * @return this builder
+         */
+        public Builder addFile(Path sourceFile, FileEntry entry)
+        {
+            this.files.put(getSourceFileKey(sourceFile), entry);
+            return this;
+        }
+
+        /**
+         * Get the locations of entity files from the previous manifest which have not been claimed in this
+         * reserialization, ordered by location. These are the entity files for source files which have been removed
+         * (or now reserialize to a different location).
+         *
+         * @return stale entity file locations
+         */
+        public List<String> getStaleLocations()
+        {
+            if (this.previous == null)
+            {
+                return Collections.emptyList();
+            }
+            return this.previous.files.values().stream()
+                    .map(e -> (e.entity == null) ? null : e.entity.getLocation())
+                    .filter(l -> (l != null) && !this.sourceFilesByLocation.containsKey(l))
+                    .distinct()
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+
+        public EntityReserializationManifest build()
+        {
+            return new EntityReserializationManifest(this.configurationFingerprint, new TreeMap<>(this.files));
+        }
+    }
+
+    private static class ManifestFile
+    {
+        @JsonProperty
+        private final int version;
+
+        @JsonProperty
+        private final String configurationFingerprint;
+
+        @JsonProperty
+        private final Map<String, FileEntry> files;
+
+        private ManifestFile(int version, String configurationFingerprint, Map<String, FileEntry> files)
+        {
+            this.version = version;
+            this.configurationFingerprint = configurationFingerprint;
+            this.files = files;
+        }
+
+        @JsonCreator
+        static ManifestFile newManifestFile(@JsonProperty("version") int version, @JsonProperty("configurationFingerprint") String configurationFingerprint, @JsonProperty("files") Map<String, FileEntry> files)
+        {
+            return new ManifestFile(version, configurationFingerprint, files);
+        }
+    }
+}
@@ -19,15 +19,17 @@ import org.eclipse.collections.api.factory.Lists;
 import org.eclipse.collections.api.list.MutableList;
 import org.eclipse.collections.impl.utility.Iterate;
 import org.finos.legend.sdlc.domain.model.entity.Entity;
+import org.finos.legend.sdlc.serialization.EntityIndex;
 import org.finos.legend.sdlc.serialization.EntitySerializer;
+import org.finos.legend.sdlc.tools.ManifestTools;
+import org.finos.legend.sdlc.tools.ParallelTools;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
 import java.nio.file.DirectoryStream;
 import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
@@ -39,6 +41,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Deque;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Predicate;
 
 public class EntityReserializer
@@ -62,6 +65,46 @@ public class EntityReserializer
     }
 
     public List<String> reserializeDirectoryTree(Path sourceDirectory, Predicate<? super Path> filter, Path targetDirectory) throws IOException
+    {
+        return reserializeDirectoryTree(sourceDirectory, filter, targetDirectory, null);
+    }
+
+    /**
+     * Reserialize all the entity files in the source directory tree to the target directory, optionally recording
+     * each file written in an entity index. Index entry locations are relative to the target directory.
+     *
+     * @param sourceDirectory source directory
+     * @param filter          optional source file filter
+     * @param targetDirectory target directory
+     * @param indexBuilder    optional entity index builder
+     * @return paths of the reserialized entities
+     * @throws IOException if an I/O error occurs
+     */
+    public List<String> reserializeDirectoryTree(Path sourceDirectory, Predicate<? super Path> filter, Path targetDirectory, EntityIndex.Builder indexBuilder) throws IOException
+    {
+        return reserializeDirectoryTree(sourceDirectory, filter, targetDirectory, indexBuilder, null, null);
+    }
+
+    /**
+     * Reserialize all the entity files in the source directory tree to the target directory, optionally recording
+     * each file written in an entity index. Index entry locations are relative to the target directory.
+     * <p>
+     * If an executor service is given, files are reserialized in parallel using it. If a manifest builder is given,
+     * reserialization is incremental: source files which are unchanged since the previous manifest (and whose target
+     * files still exist) are not reserialized again, target files left over from a previous reserialization are
+     * replaced, and every source file is recorded in the manifest builder. The paths of all entities are returned in
+     * either case, in the order the source files were found.
+     *
+     * @param sourceDirectory source directory
+     * @param filter          optional source file filter
+     * @param targetDirectory target directory
+     * @param indexBuilder    optional entity index builder
+     * @param executorService optional executor service for parallel reserialization
+     * @param manifestBuilder optional manifest builder for incremental reserialization
+     * @return paths of the reserialized entities
+     * @throws IOException if an I/O error occurs
+     */
+    public List<String> reserializeDirectoryTree(Path sourceDirectory, Predicate<? super Path> filter, Path targetDirectory, EntityIndex.Builder indexBuilder, ForkJoinPool executorService, EntityReserializationManifest.Builder manifestBuilder) throws IOException
     {
         if (Files.notExists(sourceDirectory))
         {
@@ -71,7 +114,7 @@ public class EntityReserializer
 
         Path targetEntitiesDirectory = targetDirectory.resolve("entities");
 
-        List<String> entityPaths = Lists.mutable.empty();
+        List<Path> sourceFiles = Lists.mutable.empty();
         Deque<Path> directories = new ArrayDeque<>();
         directories.add(sourceDirectory);
         while (!directories.isEmpty())
@@ -87,13 +130,22 @@ public class EntityReserializer
                     }
                     else if ((filter == null) || filter.test(entry))
                     {
-                        entityPaths.add(reserializeFile(entry, targetEntitiesDirectory));
+                        sourceFiles.add(entry);
                     }
                 }
             }
         }
 
-        return entityPaths;
+        if ((executorService == null) || (sourceFiles.size() < 2))
+        {
+            List<String> entityPaths = Lists.mutable.ofInitialCapacity(sourceFiles.size());
+            for (Path sourceFile : sourceFiles)
+            {
+                entityPaths.add(reserializeFile(sourceFile, targetDirectory, targetEntitiesDirectory, indexBuilder, manifestBuilder));
+            }
+            return entityPaths;
+        }
+        return reserializeFilesInParallel(sourceFiles, targetDirectory, targetEntitiesDirectory, indexBuilder, executorService, manifestBuilder);
     }
 
     public Predicate<Path> getDefaultExtensionFilter()
@@ -101,11 +153,46 @@ public class EntityReserializer
         return getExtensionFilter(this.sourceSerializer.getDefaultFileExtension());
     }
 
-    private String reserializeFile(Path sourceFile, Path targetDirectory) throws IOException
+    private List<String> reserializeFilesInParallel(List<Path> sourceFiles, Path targetRootDirectory, Path targetDirectory, EntityIndex.Builder indexBuilder, ForkJoinPool executorService, EntityReserializationManifest.Builder manifestBuilder) throws IOException
     {
+        // report the first failure (in source file order), with any others suppressed
+        return ParallelTools.mapInParallel(executorService, sourceFiles, sourceFile -> reserializeFile(sourceFile, targetRootDirectory, targetDirectory, indexBuilder, manifestBuilder))
+                .getResultsOrThrow(IOException.class);
+    }
+
+    private String reserializeFile(Path sourceFile, Path targetRootDirectory, Path targetDirectory, EntityIndex.Builder indexBuilder, EntityReserializationManifest.Builder manifestBuilder) throws IOException
+    {
+        String sourceHash = null;
+        byte[] sourceBytes = null;
+        if (manifestBuilder != null)
+        {
+            sourceBytes = Files.readAllBytes(sourceFile);
+            sourceHash = ManifestTools.computeHash(sourceBytes);
+            EntityReserializationManifest.FileEntry previousEntry = manifestBuilder.getPreviousEntry(sourceFile);
+            if ((previousEntry != null) &&
+                    sourceHash.equals(previousEntry.getSourceHash()) &&
+                    this.sourceSerializer.getName().equals(previousEntry.getSerializer()) &&
+                    (previousEntry.getEntity() != null) &&
+                    Files.exists(targetRootDirectory.resolve(previousEntry.getEntity().getLocation())))
+            {
+                EntityIndex.Entry indexEntry = previousEntry.getEntity();
+                if (!manifestBuilder.claimLocation(indexEntry.getLocation(), sourceFile))
+                {
+                    throw new IOException("Error serializing entity '" + indexEntry.getPath() + "' to " + targetRootDirectory.resolve(indexEntry.getLocation()) + ": target file already exists");
+                }
+                LOGGER.debug("Skipping {}: unchanged since last reserialization", sourceFile);
+                manifestBuilder.addFile(sourceFile, previousEntry);
+                if (indexBuilder != null)
+                {
+                    indexBuilder.addEntry(indexEntry);
+                }
+                return indexEntry.getPath();
+            }
+        }
+
         LOGGER.debug("Reading {}", sourceFile);
         Entity entity;
-        try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(sourceFile)))
+        try (InputStream inputStream = (sourceBytes == null) ? new BufferedInputStream(Files.newInputStream(sourceFile)) : new ByteArrayInputStream(sourceBytes))
         {
             entity = this.sourceSerializer.deserialize(inputStream);
         }
@@ -128,11 +215,27 @@ public class EntityReserializer
         LOGGER.debug("Finished reading {} from {}", entity.getPath(), sourceFile);
 
         Path targetFile = this.targetSerializer.filePathForEntity(entity, targetDirectory, this.targetFileExtension);
+        String location = toIndexLocation(targetRootDirectory.relativize(targetFile));
         LOGGER.debug("Writing {} to {}", entity.getPath(), targetFile);
         Files.createDirectories(targetFile.getParent());
-        try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(targetFile, StandardOpenOption.CREATE_NEW)))
+        byte[] content;
+        try
         {
-            this.targetSerializer.serialize(entity, outputStream);
+            content = this.targetSerializer.serializeToBytes(entity);
+            if (manifestBuilder == null)
+            {
+                Files.write(targetFile, content, StandardOpenOption.CREATE_NEW);
+            }
+            else
+            {
+                // When reserializing incrementally, the target file may be left over from a previous reserialization,
+                // but it must not be written for more than one source file
+                if (!manifestBuilder.claimLocation(location, sourceFile))
+                {
+                    throw new FileAlreadyExistsException(targetFile.toString());
+                }
+                Files.write(targetFile, content);
+            }
         }
         catch (Exception e)
         {
@@ -158,9 +261,35 @@ public class EntityReserializer
             throw new RuntimeException(message, e);
         }
         LOGGER.debug("Finished writing {} to {}", entity.getPath(), targetFile);
+        if ((indexBuilder != null) || (manifestBuilder != null))
+        {
+            EntityIndex.Entry indexEntry = EntityIndex.Entry.newEntry(entity, location, content);
+            if (indexBuilder != null)
+            {
+                indexBuilder.addEntry(indexEntry);
+            }
+            if (manifestBuilder != null)
+            {
+                manifestBuilder.addFile(sourceFile, EntityReserializationManifest.FileEntry.newFileEntry(sourceHash, this.sourceSerializer.getName(), indexEntry));
+            }
+        }
         return entity.getPath();
     }
 
+    private static String toIndexLocation(Path relativePath)
+    {
+        StringBuilder builder = new StringBuilder();
+        for (Path name : relativePath)
+        {
+            if (builder.length() > 0)
+            {
+                builder.append('/');
+            }
+            builder.append(name);
+        }
+        return builder.toString();
+    }
+
     public static EntityReserializer newReserializer(EntitySerializer sourceSerializer, EntitySerializer targetSerializer, String targetFileExtension)
     {
         return new EntityReserializer(sourceSerializer, targetSerializer, targetFileExtension);
@@ -20,6 +20,7 @@ import org.apache.maven.project.MavenProject;
 import org.eclipse.collections.api.factory.Sets;
 import org.eclipse.collections.impl.utility.Iterate;
 import org.finos.legend.sdlc.domain.model.entity.Entity;
+import org.finos.legend.sdlc.serialization.EntityIndex;
 import org.finos.legend.sdlc.tools.entity.EntityPaths;
 import org.junit.Assert;
 import org.junit.Rule;
@@ -28,11 +29,13 @@ import org.junit.rules.TemporaryFolder;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Collections;
 import java.util.Map;
+import java.util.Set;
 
 public class TestEntityMojo
 {
@@ -155,6 +158,48 @@ public class TestEntityMojo
         TestHelper.assertEntitiesByPathEqual(expectedEntities, actualEntities);
     }
 
+    @Test
+    public void testLegendSourceWithEntityIndex() throws Exception
+    {
+        File projectDir = this.tempFolder.newFolder();
+        copyPomFromResource("poms/legend-source-directory-with-index.xml", projectDir);
+        MavenProject mavenProject = this.mojoRule.readMavenProject(projectDir);
+        Path outputDir = new File(mavenProject.getBuild().getOutputDirectory()).toPath();
+        Path srcMain = projectDir.toPath().resolve("src").resolve("main");
+
+        // No source directories exist: no index is written
+        TestHelper.assertDirectoryEmptyOrNonExistent(outputDir);
+        this.mojoRule.executeMojo(projectDir, GOAL);
+        TestHelper.assertDirectoryEmptyOrNonExistent(outputDir);
+
+        Path simpleJsonModelDir = TestHelper.getPathFromResource("simple-json-model");
+        TestHelper.copyDirectoryTree(simpleJsonModelDir.resolve("entities"), Files.createDirectories(srcMain.resolve("legend")));
+        this.mojoRule.executeMojo(projectDir, GOAL);
+
+        Map<String, Entity> expectedEntities = TestHelper.loadEntities(simpleJsonModelDir);
+        Set<Path> expectedFiles = Iterate.collect(expectedEntities.keySet(), p -> Paths.get("entities" + outputDir.getFileSystem().getSeparator() + p.replace(EntityPaths.PACKAGE_SEPARATOR, outputDir.getFileSystem().getSeparator()) + ".json"), Sets.mutable.empty());
+        expectedFiles.add(Paths.get(EntityIndex.INDEX_FILE_PATH.replace("/", outputDir.getFileSystem().getSeparator())));
+        TestHelper.assertDirectoryTreeFilePaths(expectedFiles, outputDir);
+
+        EntityIndex index;
+        try (InputStream stream = Files.newInputStream(outputDir.resolve(EntityIndex.INDEX_FILE_PATH)))
+        {
+            index = EntityIndex.read(stream);
+        }
+        Assert.assertEquals(expectedEntities.size(), index.size());
+        expectedEntities.forEach((path, entity) ->
+        {
+            EntityIndex.Entry entry = index.getEntry(path);
+            Assert.assertNotNull(path, entry);
+            Assert.assertEquals(path, entity.getClassifierPath(), entry.getClassifierPath());
+            Assert.assertEquals(path, "entities/" + path.replace(EntityPaths.PACKAGE_SEPARATOR, "/") + ".json", entry.getLocation());
+            Assert.assertNotNull(path, entry.getContentHash());
+        });
+
+        Map<String, Entity> actualEntities = TestHelper.loadEntities(outputDir);
+        TestHelper.assertEntitiesByPathEqual(expectedEntities, actualEntities);
+    }
+
     @Test
     public void testPureSource() throws Exception
     {
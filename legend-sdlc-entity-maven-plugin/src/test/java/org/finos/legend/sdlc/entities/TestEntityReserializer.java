@@ -17,6 +17,7 @@ package org.finos.legend.sdlc.entities;
 import org.eclipse.collections.api.factory.Sets;
 import org.eclipse.collections.impl.utility.Iterate;
 import org.finos.legend.sdlc.domain.model.entity.Entity;
+import org.finos.legend.sdlc.serialization.EntityIndex;
 import org.finos.legend.sdlc.serialization.EntitySerializers;
 import org.finos.legend.sdlc.tools.entity.EntityPaths;
 import org.junit.Assert;
@@ -28,9 +29,11 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Predicate;
 
 public class TestEntityReserializer
@@ -112,6 +115,78 @@ public class TestEntityReserializer
                 e.getMessage());
     }
 
+    @Test
+    public void testParallelReserialization() throws IOException
+    {
+        EntityReserializer reserializer = EntityReserializer.newReserializer(new PureDomainDeserializer(), EntitySerializers.getDefaultJsonSerializer());
+        Path sourceDir = TestHelper.getPathFromResource("simple-pure-model");
+        Path targetDir = this.tempFolder.getRoot().toPath().resolve("target");
+
+        Map<String, Entity> expectedEntities = TestHelper.loadEntitiesFromResource("simple-json-model");
+
+        EntityIndex.Builder indexBuilder = EntityIndex.newBuilder();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        List<String> paths;
+        try
+        {
+            paths = reserializer.reserializeDirectoryTree(sourceDir, null, targetDir, indexBuilder, pool, null);
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+        Assert.assertEquals(expectedEntities.keySet(), Sets.mutable.withAll(paths));
+        Assert.assertEquals(expectedEntities.size(), indexBuilder.build().size());
+        TestHelper.assertDirectoryTreeFilePaths(
+                Iterate.collect(expectedEntities.keySet(), p -> Paths.get("entities" + targetDir.getFileSystem().getSeparator() + p.replace(EntityPaths.PACKAGE_SEPARATOR, targetDir.getFileSystem().getSeparator()) + ".json"), Sets.mutable.empty()),
+                targetDir);
+
+        Map<String, Entity> actualEntities = TestHelper.loadEntities(targetDir);
+        TestHelper.assertEntitiesByPathEqual(expectedEntities, actualEntities);
+    }
+
+    @Test
+    public void testIncrementalReserialization() throws IOException
+    {
+        EntityReserializer reserializer = EntityReserializer.newReserializer(new PureDomainDeserializer(), EntitySerializers.getDefaultJsonSerializer());
+        Path sourceDir = this.tempFolder.newFolder("source").toPath();
+        TestHelper.copyResourceDirectoryTree("simple-pure-model", sourceDir);
+        Path targetDir = this.tempFolder.getRoot().toPath().resolve("target");
+        Map<String, Entity> expectedEntities = TestHelper.loadEntitiesFromResource("simple-json-model");
+
+        // first reserialization: everything
+        EntityReserializationManifest.Builder manifestBuilder1 = EntityReserializationManifest.newBuilder("config", null);
+        List<String> paths1 = reserializer.reserializeDirectoryTree(sourceDir, null, targetDir, null, null, manifestBuilder1);
+        Assert.assertEquals(expectedEntities.keySet(), Sets.mutable.withAll(paths1));
+        Assert.assertEquals(Collections.emptyList(), manifestBuilder1.getStaleLocations());
+        Path manifestFile = this.tempFolder.getRoot().toPath().resolve("manifest").resolve("manifest.json");
+        manifestBuilder1.build().write(manifestFile);
+        EntityReserializationManifest manifest1 = EntityReserializationManifest.readIfPossible(manifestFile);
+        Assert.assertNotNull(manifest1);
+        Assert.assertEquals(expectedEntities.size(), manifest1.getFiles().size());
+
+        // second reserialization: nothing changed, so target files are not touched
+        Path addressTypeTarget = targetDir.resolve(Paths.get("entities", "model", "domain", "enums", "AddressType.json"));
+        FileTime oldTime = FileTime.fromMillis(0);
+        Files.setLastModifiedTime(addressTypeTarget, oldTime);
+        EntityIndex.Builder indexBuilder2 = EntityIndex.newBuilder();
+        EntityReserializationManifest.Builder manifestBuilder2 = EntityReserializationManifest.newBuilder("config", manifest1);
+        List<String> paths2 = reserializer.reserializeDirectoryTree(sourceDir, null, targetDir, indexBuilder2, null, manifestBuilder2);
+        Assert.assertEquals(expectedEntities.keySet(), Sets.mutable.withAll(paths2));
+        Assert.assertEquals(expectedEntities.size(), indexBuilder2.build().size());
+        Assert.assertEquals(oldTime, Files.getLastModifiedTime(addressTypeTarget));
+        TestHelper.assertEntitiesByPathEqual(expectedEntities, TestHelper.loadEntities(targetDir));
+
+        // third reserialization: a source file removed, and a changed configuration means the rest are reserialized
+        Files.delete(sourceDir.resolve(Paths.get("model", "domain", "enums", "AddressType.pure")));
+        Files.setLastModifiedTime(targetDir.resolve(Paths.get("entities", "model", "domain", "classes", "Firm.json")), oldTime);
+        EntityReserializationManifest.Builder manifestBuilder3 = EntityReserializationManifest.newBuilder("other config", manifestBuilder2.build());
+        List<String> paths3 = reserializer.reserializeDirectoryTree(sourceDir, null, targetDir, null, null, manifestBuilder3);
+        Assert.assertEquals(Sets.mutable.withAll(expectedEntities.keySet()).without("model::domain::enums::AddressType"), Sets.mutable.withAll(paths3));
+        Assert.assertEquals(Collections.singletonList("entities/model/domain/enums/AddressType.json"), manifestBuilder3.getStaleLocations());
+        Assert.assertNotEquals(oldTime, Files.getLastModifiedTime(targetDir.resolve(Paths.get("entities", "model", "domain", "classes", "Firm.json"))));
+    }
+
     @Test
     public void testMixedSourceDirectoryWithFiltering() throws IOException
     {
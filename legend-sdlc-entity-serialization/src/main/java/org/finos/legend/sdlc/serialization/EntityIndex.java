@@ -0,0 +1,339 @@
+// Copyright 2023 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.sdlc.serialization;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.StreamReadFeature;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.finos.legend.sdlc.domain.model.entity.Entity;
+import org.finos.legend.sdlc.tools.entity.EntityPaths;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Index of the entity files in a directory tree or archive. The index maps each entity path to its classifier,
+ * package, file location (relative to the root of the directory tree or archive), and a hash of the file content.
+ * It is written at build time (see {@link #INDEX_FILE_PATH}) so that {@link EntityLoader} can answer path and package
+ * queries without scanning.
+ */
+public class EntityIndex
+{
+    /**
+     * Location of the index file, relative to the root of a directory tree or archive containing entities.
+     */
+    public static final String INDEX_FILE_PATH = "META-INF/legend-sdlc/entity-index.json";
+
+    static final String CONTENT_HASH_ALGORITHM = "SHA-256";
+
+    private static final int FORMAT_VERSION = 1;
+
+    private static final JsonMapper JSON_MAPPER = JsonMapper.builder()
+            .enable(SerializationFeature.INDENT_OUTPUT)
+            .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .disable(StreamReadFeature.AUTO_CLOSE_SOURCE)
+            .build();
+
+    private final Map<String, Entry> entriesByPath;
+    private final NavigableMap<String, Entry> entriesByLocation;
+
+    private EntityIndex(Collection<? extends Entry> entries)
+    {
+        this.entriesByPath = new HashMap<>(entries.size());
+        this.entriesByLocation = new TreeMap<>();
+        for (Entry entry : entries)
+        {
+            Entry previous = this.entriesByPath.put(entry.getPath(), entry);
+            if (previous != null)
+            {
+                throw new IllegalArgumentException("Multiple index entries for entity \"" + entry.getPath() + "\": " + previous.getLocation() + " and " + entry.getLocation());
+            }
+            this.entriesByLocation.put(entry.getLocation(), entry);
+        }
+    }
+
+    /**
+     * Get the number of entities in the index.
+     *
+     * @return number of entities
+     */
+    public int size()
+    {
+        return this.entriesByPath.size();
+    }
+
+    /**
+     * Get the index entry for an entity, or null if there is no such entity in the index.
+     *
+     * @param entityPath entity path
+     * @return index entry or null
+     */
+    public Entry getEntry(String entityPath)
+    {
+        return this.entriesByPath.get(entityPath);
+    }
+
+    /**
+     * Get the index entry for an entity file location, or null if there is no such location in the index.
+     *
+     * @param location entity file location relative to the index root
+     * @return index entry or null
+     */
+    public Entry getEntryByLocation(String location)
+    {
+        return this.entriesByLocation.get(location);
+    }
+
+    /**
+     * Get all entries in the index, ordered by location.
+     *
+     * @return all entries
+     */
+    public Collection<Entry> getAllEntries()
+    {
+        return Collections.unmodifiableCollection(this.entriesByLocation.values());
+    }
+
+    /**
+     * Get the entries whose locations are in the given directory or any of its subdirectories, ordered by location.
+     * The directory is relative to the index root and uses '/' as a separator.
+     *
+     * @param directory directory relative to the index root
+     * @return entries in the directory tree
+     */
+    public Stream<Entry> getEntriesInDirectory(String directory)
+    {
+        String prefix = directory.endsWith("/") ? directory : (directory + "/");
+        // all locations with the prefix sort between the prefix itself and the prefix with its final '/' replaced by '0' (the next character)
+        String end = prefix.substring(0, prefix.length() - 1) + '0';
+        return this.entriesByLocation.subMap(prefix, true, end, false).values().stream();
+    }
+
+    /**
+     * Write the index as JSON to the given stream. The stream is not closed.
+     *
+     * @param stream output stream
+     * @throws IOException if an I/O error occurs
+     */
+    public void write(OutputStream stream) throws IOException
+    {
+        JSON_MAPPER.writeValue(stream, new IndexFile(FORMAT_VERSION, new ArrayList<>(this.entriesByLocation.values())));
+    }
+
+    /**
+     * Read an index from the given stream. The stream is not closed.
+     *
+     * @param stream input stream
+     * @return entity index
+     * @throws IOException if an I/O error occurs or the index is invalid
+     */
+    public static EntityIndex read(InputStream stream) throws IOException
+    {
+        IndexFile indexFile = JSON_MAPPER.readValue(stream, IndexFile.class);
+        if (indexFile.version != FORMAT_VERSION)
+        {
+            throw new IOException("Unsupported entity index version: " + indexFile.version);
+        }
+        try
+        {
+            return new EntityIndex((indexFile.entities == null) ? Collections.emptyList() : indexFile.entities);
+        }
+        catch (IllegalArgumentException e)
+        {
+            throw new IOException("Invalid entity index: " + e.getMessage(), e);
+        }
+    }
+
+    public static Builder newBuilder()
+    {
+        return new Builder();
+    }
+
+    public static class Entry
+    {
+        @JsonProperty
+        private final String path;
+
+        @JsonProperty
+        private final String classifierPath;
+
+        @JsonProperty("package")
+        private final String packagePath;
+
+        @JsonProperty
+        private final String location;
+
+        @JsonProperty
+        private final String contentHash;
+
+        private Entry(String path, String classifierPath, String packagePath, String location, String contentHash)
+        {
+            this.path = Objects.requireNonNull(path, "entity path may not be null");
+            this.classifierPath = classifierPath;
+            this.packagePath = packagePath;
+            this.location = Objects.requireNonNull(location, "location may not be null");
+            this.contentHash = contentHash;
+        }
+
+        @JsonCreator
+        static Entry newEntry(@JsonProperty("path") String path, @JsonProperty("classifierPath") String classifierPath, @JsonProperty("package") String packagePath, @JsonProperty("location") String location, @JsonProperty("contentHash") String contentHash)
+        {
+            return new Entry(path, classifierPath, packagePath, location, contentHash);
+        }
+
+        /**
+         * Create an index entry for an entity file.
+         *
+         * @param entity   entity
+         * @param location location of the entity file relative to the index root, using '/' as a separator
+         * @param content  serialized content of the entity file
+         * @return index entry
+         */
+        public static Entry newEntry(Entity entity, String location, byte[] content)
+        {
+            String entityPath = entity.getPath();
+            int lastSeparator = entityPath.lastIndexOf(EntityPaths.PACKAGE_SEPARATOR);
+            String packagePath = (lastSeparator == -1) ? null : entityPath.substring(0, lastSeparator);
+            return new Entry(entityPath, entity.getClassifierPath(), packagePath, location, computeContentHash(content));
+        }
+
+        public String getPath()
+        {
+            return this.path;
+        }
+
+        public String getClassifierPath()
+        {
+            return this.classifierPath;
+        }
+
+        public String getPackagePath()
+        {
+            return this.packagePath;
+        }
+
+        /**
+         * Location of the entity file relative to the index root, using '/' as a separator.
+         *
+         * @return entity file location
+         */
+        public String getLocation()
+        {
+            return this.location;
+        }
+
+        /**
+         * Hex encoded SHA-256 hash of the entity file content.
+         *
+         * @return content hash
+         */
+        public String getContentHash()
+        {
+            return this.contentHash;
+        }
+    }
+
+    public static class Builder
+    {
+        private final List<Entry> entries = new ArrayList<>();
+
+        private Builder()
+        {
+        }
+
+        /**
+         * Add an entity file to the index. This method may be called concurrently from multiple threads.
+         *
+         * @param entity   entity
+         * @param location location of the entity file relative to the index root, using '/' as a separator
+         * @param content  serialized content of the entity file
+         * @return this builder
+         */
+        public Builder addEntity(Entity entity, String location, byte[] content)
+        {
+            return addEntry(Entry.newEntry(entity, location, content));
+        }
+
+        public synchronized Builder addEntry(Entry entry)
+        {
+            this.entries.add(entry);
+            return this;
+        }
+
+        public synchronized EntityIndex build()
+        {
+            return new EntityIndex(this.entries);
+        }
+    }
+
+    static String computeContentHash(byte[] content)
+    {
+        MessageDigest digest;
+        try
+        {
+            digest = MessageDigest.getInstance(CONTENT_HASH_ALGORITHM);
+        }
+        catch (NoSuchAlgorithmException e)
+        {
+            throw new RuntimeException(CONTENT_HASH_ALGORITHM + " is not available", e);
+        }
+        byte[] hash = digest.digest(content);
+        StringBuilder builder = new StringBuilder(hash.length * 2);
+        for (byte b : hash)
+        {
+            builder.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return builder.toString();
+    }
+
+    private static class IndexFile
+    {
+        @JsonProperty
+        private final int version;
+
+        @JsonProperty
+        private final List<Entry> entities;
+
+        private IndexFile(int version, List<Entry> entities)
+        {
+            this.version = version;
+            this.entities = entities;
+        }
+
+        @JsonCreator
+        static IndexFile newIndexFile(@JsonProperty("version") int version, @JsonProperty("entities") List<Entry> entities)
+        {
+            return new IndexFile(version, entities);
+        }
+    }
+}
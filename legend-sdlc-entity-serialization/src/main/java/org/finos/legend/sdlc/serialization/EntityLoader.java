@@ -15,6 +15,7 @@
 package org.finos.legend.sdlc.serialization;
 
 import org.finos.legend.sdlc.domain.model.entity.Entity;
+import org.finos.legend.sdlc.tools.ParallelTools;
 import org.finos.legend.sdlc.tools.entity.EntityPaths;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -41,8 +42,13 @@ import java.util.Collections;
 import java.util.Enumeration;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
 import java.util.function.Function;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -92,6 +98,57 @@ public class EntityLoader implements AutoCloseable
         }
     }
 
+    /**
+     * Get all entities, deserializing them in parallel with at most the given parallelism. Entities are returned in
+     * the same order as {@link #getAllEntities()}. If parallelism is 1 or less, entities are loaded on the calling
+     * thread.
+     *
+     * @param parallelism maximum number of entities to deserialize concurrently
+     * @return all entities
+     */
+    public Stream<Entity> getAllEntities(int parallelism)
+    {
+        try
+        {
+            return getEntitiesInDirectory(ENTITIES_DIRECTORY, parallelism);
+        }
+        catch (Exception e)
+        {
+            StringBuilder builder = new StringBuilder("Error getting all entities");
+            String eMessage = e.getMessage();
+            if (eMessage != null)
+            {
+                builder.append(": ").append(eMessage);
+            }
+            throw new RuntimeException(builder.toString(), e);
+        }
+    }
+
+    /**
+     * Get the paths of all entities without reading the entities themselves. Paths are taken from entity indexes where
+     * available, and otherwise from the locations of entity files. There may be duplicates if an entity is present in
+     * more than one location.
+     *
+     * @return all entity paths
+     */
+    public Stream<String> getAllEntityPaths()
+    {
+        try
+        {
+            return this.searchList.stream().flatMap(s -> s.getEntityPathsInDirectory(ENTITIES_DIRECTORY));
+        }
+        catch (Exception e)
+        {
+            StringBuilder builder = new StringBuilder("Error getting all entity paths");
+            String eMessage = e.getMessage();
+            if (eMessage != null)
+            {
+                builder.append(": ").append(eMessage);
+            }
+            throw new RuntimeException(builder.toString(), e);
+        }
+    }
+
     public Stream<Entity> getEntitiesInPackage(String packagePath)
     {
         try
@@ -154,6 +211,34 @@ public class EntityLoader implements AutoCloseable
                 .filter(Objects::nonNull);
     }
 
+    private Stream<Entity> getEntitiesInDirectory(String directoryPath, int parallelism)
+    {
+        if (parallelism <= 1)
+        {
+            return getEntitiesInDirectory(directoryPath);
+        }
+
+        // Collect the paths first (which is cheap) so that the order is deterministic, then read and deserialize in parallel
+        List<Path> paths = this.searchList.stream()
+                .flatMap(s -> s.getPathsInDirectory(directoryPath))
+                .filter(EntityLoader::isPossiblyEntityFile)
+                .collect(Collectors.toList());
+        if (paths.size() <= 1)
+        {
+            return paths.stream().map(EntityLoader::readEntity).filter(Objects::nonNull);
+        }
+
+        ForkJoinPool pool = ParallelTools.createForkJoinPool(Math.min(parallelism, paths.size()));
+        try
+        {
+            return ParallelTools.mapInParallel(pool, paths, EntityLoader::readEntityBytes).getResultsOrThrow().stream().filter(Objects::nonNull);
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+    }
+
     public static EntityLoader newEntityLoader(ClassLoader classLoader)
     {
         return new EntityLoader(Collections.singletonList(new ClassLoaderEntityFileSearch(classLoader)));
@@ -243,6 +328,21 @@ public class EntityLoader implements AutoCloseable
         }
     }
 
+    private static Entity readEntityBytes(Path path)
+    {
+        // Read the whole file in one go: for zip and jar files, this is a single read of the entry located through the
+        // central directory, rather than many small reads through a decompressing stream
+        try
+        {
+            return ENTITY_SERIALIZER.deserialize(Files.readAllBytes(path));
+        }
+        catch (Exception e)
+        {
+            LOGGER.error("Error reading entity from file: {}", path, e);
+            return null;
+        }
+    }
+
     private static String entityPathToFilePath(String entityPath)
     {
         StringBuilder builder = new StringBuilder(ENTITIES_DIRECTORY.length() + entityPath.length() + ENTITY_FILE_EXTENSION.length());
@@ -272,6 +372,30 @@ public class EntityLoader implements AutoCloseable
         return builder.append('/').append(packageablePath, current, packageablePath.length());
     }
 
+    private static String filePathToEntityPath(Path relativeFilePath)
+    {
+        // inverse of entityPathToFilePath: entities/a/b/Name.json -> a::b::Name
+        int count = relativeFilePath.getNameCount();
+        if ((count < 2) || !ENTITIES_DIRECTORY.equals(relativeFilePath.getName(0).toString()))
+        {
+            return null;
+        }
+        StringBuilder builder = new StringBuilder();
+        for (int i = 1; i < count - 1; i++)
+        {
+            builder.append(relativeFilePath.getName(i)).append(EntityPaths.PACKAGE_SEPARATOR);
+        }
+        String fileName = relativeFilePath.getName(count - 1).toString();
+        return builder.append(fileName, 0, fileName.length() - ENTITY_FILE_EXTENSION.length()).toString();
+    }
+
+    private static Stream<String> getEntityPathsFromFiles(Path root, Stream<Path> files)
+    {
+        return files.filter(EntityLoader::isPossiblyEntityFile)
+                .map(p -> filePathToEntityPath(root.relativize(p)))
+                .filter(Objects::nonNull);
+    }
+
     private static boolean isPossiblyEntityFile(Path path)
     {
         return (path != null) && isPossiblyEntityFileName(path.toString()) && Files.isRegularFile(path);
@@ -294,6 +418,36 @@ public class EntityLoader implements AutoCloseable
         }
     }
 
+    private static EntityIndex readEntityIndex(Path rootDirectory)
+    {
+        Path indexPath = rootDirectory.resolve(EntityIndex.INDEX_FILE_PATH);
+        if (!Files.isRegularFile(indexPath))
+        {
+            return null;
+        }
+        try (InputStream stream = Files.newInputStream(indexPath))
+        {
+            EntityIndex index = EntityIndex.read(stream);
+            LOGGER.debug("Read entity index with {} entities from {}", index.size(), indexPath);
+            return index;
+        }
+        catch (Exception e)
+        {
+            LOGGER.warn("Error reading entity index from {}, falling back to scanning", indexPath, e);
+            return null;
+        }
+    }
+
+    private static Path getAncestor(Path path, String relativePath)
+    {
+        Path ancestor = path;
+        for (int i = relativePath.indexOf('/'); (ancestor != null) && (i != -1); i = relativePath.indexOf('/', i + 1))
+        {
+            ancestor = ancestor.getParent();
+        }
+        return (ancestor == null) ? null : ancestor.getParent();
+    }
+
     private static Path getPathFromURL(URL url)
     {
         try
@@ -453,11 +607,14 @@ public class EntityLoader implements AutoCloseable
         Path getPath(String filePath);
 
         Stream<Path> getPathsInDirectory(String dirPath);
+
+        Stream<String> getEntityPathsInDirectory(String dirPath);
     }
 
     private static class ClassLoaderEntityFileSearch implements EntityFileSearch
     {
         private final ClassLoader classLoader;
+        private final Map<Path, Optional<EntityIndex>> indexesByRoot = new ConcurrentHashMap<>();
 
         private ClassLoaderEntityFileSearch(ClassLoader classLoader)
         {
@@ -500,7 +657,46 @@ public class EntityLoader implements AutoCloseable
                     .map(EntityLoader::getPathFromURL)
                     .filter(Objects::nonNull)
                     .filter(Files::isDirectory)
-                    .flatMap(EntityLoader::getDirectoryStream);
+                    .flatMap(p -> getPathsInDirectory(p, dirPath));
+        }
+
+        @Override
+        public Stream<String> getEntityPathsInDirectory(String dirPath)
+        {
+            Enumeration<URL> urls;
+            try
+            {
+                urls = this.classLoader.getResources(dirPath);
+            }
+            catch (IOException ignore)
+            {
+                return Stream.empty();
+            }
+            return Collections.list(urls).stream()
+                    .map(EntityLoader::getPathFromURL)
+                    .filter(Objects::nonNull)
+                    .filter(Files::isDirectory)
+                    .flatMap(directory ->
+                    {
+                        Path root = getAncestor(directory, dirPath);
+                        if (root == null)
+                        {
+                            return Stream.empty();
+                        }
+                        EntityIndex index = this.indexesByRoot.computeIfAbsent(root, r -> Optional.ofNullable(readEntityIndex(r))).orElse(null);
+                        return (index == null) ?
+                                getEntityPathsFromFiles(root, EntityLoader.getDirectoryStream(directory)) :
+                                index.getEntriesInDirectory(dirPath).map(EntityIndex.Entry::getPath);
+                    });
+        }
+
+        private Stream<Path> getPathsInDirectory(Path directory, String dirPath)
+        {
+            Path root = getAncestor(directory, dirPath);
+            EntityIndex index = (root == null) ? null : this.indexesByRoot.computeIfAbsent(root, r -> Optional.ofNullable(readEntityIndex(r))).orElse(null);
+            return (index == null) ?
+                    EntityLoader.getDirectoryStream(directory) :
+                    index.getEntriesInDirectory(dirPath).map(e -> root.resolve(e.getLocation()));
         }
 
         @Override
@@ -512,6 +708,7 @@ public class EntityLoader implements AutoCloseable
     private static class DirectoryEntityFileSearch implements EntityFileSearch
     {
         private final Path directory;
+        private Optional<EntityIndex> index;
 
         private DirectoryEntityFileSearch(Path directory)
         {
@@ -521,16 +718,43 @@ public class EntityLoader implements AutoCloseable
         @Override
         public Path getPath(String filePath)
         {
-            return this.directory.resolve(filePath);
+            EntityIndex entityIndex = getIndex();
+            return ((entityIndex == null) || (entityIndex.getEntryByLocation(filePath) != null)) ? this.directory.resolve(filePath) : null;
         }
 
         @Override
         public Stream<Path> getPathsInDirectory(String dirPath)
         {
+            EntityIndex entityIndex = getIndex();
+            if (entityIndex != null)
+            {
+                return entityIndex.getEntriesInDirectory(dirPath).map(e -> this.directory.resolve(e.getLocation()));
+            }
             Path resolvedPath = this.directory.resolve(dirPath);
             return Files.isDirectory(resolvedPath) ? EntityLoader.getDirectoryStream(resolvedPath) : Stream.empty();
         }
 
+        @Override
+        public Stream<String> getEntityPathsInDirectory(String dirPath)
+        {
+            EntityIndex entityIndex = getIndex();
+            if (entityIndex != null)
+            {
+                return entityIndex.getEntriesInDirectory(dirPath).map(EntityIndex.Entry::getPath);
+            }
+            Path resolvedPath = this.directory.resolve(dirPath);
+            return Files.isDirectory(resolvedPath) ? getEntityPathsFromFiles(this.directory, EntityLoader.getDirectoryStream(resolvedPath)) : Stream.empty();
+        }
+
+        private synchronized EntityIndex getIndex()
+        {
+            if (this.index == null)
+            {
+                this.index = Optional.ofNullable(readEntityIndex(this.directory));
+            }
+            return this.index.orElse(null);
+        }
+
         @Override
         public void close() throws Exception
         {
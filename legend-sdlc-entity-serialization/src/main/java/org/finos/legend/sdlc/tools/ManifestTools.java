@@ -0,0 +1,188 @@
+// Copyright 2023 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.sdlc.tools;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Tools for the manifests used for incremental generation. A manifest records, for each input, a hash of the input
+ * and the outputs generated from it, along with a fingerprint of everything else that affects the outputs (the
+ * configuration and the code doing the generation). When building a new manifest, entries of the previous manifest
+ * are only reused if it has the same fingerprint, but its outputs are taken into account in any case when computing
+ * stale outputs which can be deleted.
+ * <p>
+ * Manifests are written as JSON, with entries ordered by key so that they are stable. They are read on a best effort
+ * basis: a manifest which does not exist, cannot be read or has an unsupported format is treated as absent, which
+ * just means that everything is generated.
+ */
+public class ManifestTools
+{
+    private static final JsonMapper MANIFEST_JSON_MAPPER = JsonMapper.builder()
+            .enable(SerializationFeature.INDENT_OUTPUT)
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+            .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+            .serializationInclusion(JsonInclude.Include.NON_NULL)
+            .build();
+
+    private ManifestTools()
+    {
+    }
+
+    /**
+     * Write manifest content to a file, replacing any existing file. The content is first written to a temporary file
+     * which is then moved into place, so that a failed write does not leave a partial manifest.
+     *
+     * @param file    manifest file
+     * @param content manifest content
+     * @throws IOException if an I/O error occurs
+     */
+    public static void writeManifestFile(Path file, Object content) throws IOException
+    {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path tmpFile = file.resolveSibling(file.getFileName() + ".tmp");
+        MANIFEST_JSON_MAPPER.writeValue(tmpFile.toFile(), content);
+        Files.move(tmpFile, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Read manifest content from a file. Returns null if the file does not exist or cannot be read.
+     *
+     * @param file         manifest file
+     * @param contentClass manifest content class
+     * @param <T>          manifest content type
+     * @return manifest content or null
+     */
+    public static <T> T readManifestFileIfPossible(Path file, Class<T> contentClass)
+    {
+        if (!Files.isRegularFile(file))
+        {
+            return null;
+        }
+        try
+        {
+            return MANIFEST_JSON_MAPPER.readValue(file.toFile(), contentClass);
+        }
+        catch (Exception e)
+        {
+            return null;
+        }
+    }
+
+    /**
+     * Get the JSON mapper used for manifests. This may also be used to get a stable serialization of content to hash.
+     *
+     * @return manifest JSON mapper
+     */
+    public static JsonMapper getManifestJsonMapper()
+    {
+        return MANIFEST_JSON_MAPPER;
+    }
+
+    /**
+     * Create a new digest for the hashes recorded in manifests (SHA-256).
+     *
+     * @return message digest
+     */
+    public static MessageDigest newDigest()
+    {
+        try
+        {
+            return MessageDigest.getInstance("SHA-256");
+        }
+        catch (NoSuchAlgorithmException e)
+        {
+            throw new RuntimeException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Compute the hex encoded hash of some bytes.
+     *
+     * @param bytes bytes
+     * @return hex encoded hash
+     */
+    public static String computeHash(byte[] bytes)
+    {
+        return toHex(newDigest().digest(bytes));
+    }
+
+    /**
+     * Compute the hex encoded hash of a sequence of strings. The result depends on the boundaries between the strings,
+     * and not just on their concatenation.
+     *
+     * @param parts strings
+     * @return hex encoded hash
+     */
+    public static String computeHash(Iterable<String> parts)
+    {
+        MessageDigest digest = newDigest();
+        parts.forEach(p ->
+        {
+            digest.update(p.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        });
+        return toHex(digest.digest());
+    }
+
+    public static String toHex(byte[] bytes)
+    {
+        StringBuilder builder = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes)
+        {
+            builder.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Get a fingerprint for the code of a class, for use in a manifest fingerprint. This is the location the class
+     * was loaded from, along with the size and modification time if it is a jar file. If this cannot be determined,
+     * the class name is used.
+     *
+     * @param cls class
+     * @return code source fingerprint
+     */
+    public static String getCodeSourceFingerprint(Class<?> cls)
+    {
+        try
+        {
+            CodeSource codeSource = cls.getProtectionDomain().getCodeSource();
+            if ((codeSource == null) || (codeSource.getLocation() == null))
+            {
+                return cls.getName();
+            }
+            String location = codeSource.getLocation().toString();
+            Path path = Paths.get(codeSource.getLocation().toURI());
+            return Files.isRegularFile(path) ? (location + ":" + Files.size(path) + ":" + Files.getLastModifiedTime(path).toMillis()) : location;
+        }
+        catch (Exception e)
+        {
+            return cls.getName();
+        }
+    }
+}
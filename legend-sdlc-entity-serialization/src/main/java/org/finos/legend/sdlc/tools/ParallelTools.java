@@ -0,0 +1,327 @@
+// Copyright 2023 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.sdlc.tools;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+public class ParallelTools
+{
+    private static final Pattern PARALLEL_PATTERN = Pattern.compile("\\s*((?<true>true)|(?<false>false)|(?<integer>[+-]?\\d+)|(?<cpu>((?<cpux>\\d+(\\.\\d+)?)\\s*)?C(\\s*(?<cpupm>[+-])\\s*(?<cpua>\\d+))?))?\\s*", Pattern.CASE_INSENSITIVE);
+
+    private ParallelTools()
+    {
+    }
+
+    /**
+     * Parse a parallelism specification. This may be one of the following (case insensitive):
+     * <ul>
+     *     <li>empty or null: 1</li>
+     *     <li>false: 1</li>
+     *     <li>true: the number of available processors minus 1 (but at least 1)</li>
+     *     <li>an integer, e.g. 4</li>
+     *     <li>a multiple of the number of available processors, optionally plus or minus a constant, e.g. C, 2C, 1.5C-1</li>
+     * </ul>
+     * The result may be less than 1, and it is up to the caller to decide what to do in that case.
+     *
+     * @param parallel parallelism specification
+     * @return parallelism
+     */
+    public static int parseParallel(String parallel)
+    {
+        if ((parallel == null) || parallel.isEmpty())
+        {
+            return 1;
+        }
+
+        Matcher matcher = PARALLEL_PATTERN.matcher(parallel);
+        if (!matcher.matches())
+        {
+            throw new RuntimeException("Could not parse parallel value: \"" + parallel + "\"");
+        }
+        if (matcher.group("true") != null)
+        {
+            // by default, we use the number of available processors minus 1
+            return Math.max(Runtime.getRuntime().availableProcessors() - 1, 1);
+        }
+        if (matcher.group("false") != null)
+        {
+            return 1;
+        }
+        String integer = matcher.group("integer");
+        if (integer != null)
+        {
+            try
+            {
+                return Integer.parseInt(integer);
+            }
+            catch (Exception e)
+            {
+                throw new RuntimeException("Could not parse parallel value: \"" + parallel + "\"", e);
+            }
+        }
+        if (matcher.group("cpu") != null)
+        {
+            int parallelism = Runtime.getRuntime().availableProcessors();
+            try
+            {
+                String multiplier = matcher.group("cpux");
+                if (multiplier != null)
+                {
+                    parallelism = Math.round(Float.parseFloat(multiplier) * parallelism);
+                }
+
+                String addendum = matcher.group("cpua");
+                if (addendum != null)
+                {
+                    int toAdd = Integer.parseInt(addendum);
+                    parallelism += "-".equals(matcher.group("cpupm")) ? -toAdd : toAdd;
+                }
+            }
+            catch (Exception e)
+            {
+                throw new RuntimeException("Could not parse parallel value: \"" + parallel + "\"", e);
+            }
+            return parallelism;
+        }
+
+        // only whitespace
+        return 1;
+    }
+
+    /**
+     * Create a fork join pool with the given parallelism. The pool must be shut down by the caller.
+     *
+     * @param parallelism parallelism
+     * @return fork join pool
+     */
+    public static ForkJoinPool createForkJoinPool(int parallelism)
+    {
+        // We have to create a custom fork join thread worker factory to ensure the worker threads use this thread's
+        // context class loader. This is why we cannot use the common pool.
+        return new ForkJoinPool(
+                parallelism,
+                pool -> new ForkJoinWorkerThread(pool)
+                {
+                },
+                null,
+                false);
+    }
+
+    /**
+     * Apply a function to each of a list of items, in parallel on the given pool if there is one and there is more
+     * than one item. The function is applied to every item, even if it fails for some of them, so that all failures
+     * can be reported. Results and failures are in the order of the items, regardless of the order in which the items
+     * are processed.
+     * <p>
+     * Exceptions thrown by the function are collected in the results. Errors are not, and are thrown by this method.
+     *
+     * @param pool     fork join pool (may be null)
+     * @param items    items
+     * @param function function to apply to each item
+     * @param <T>      item type
+     * @param <R>      result type
+     * @return results
+     */
+    public static <T, R> MappedResults<R> mapInParallel(ForkJoinPool pool, List<? extends T> items, FailableFunction<? super T, ? extends R> function)
+    {
+        Objects.requireNonNull(function, "function may not be null");
+        Object[] results = new Object[items.size()];
+        Exception[] errors = new Exception[items.size()];
+        MapAction<T, R> action = new MapAction<>(items, function, results, errors, 0, items.size());
+        if ((pool == null) || (items.size() < 2))
+        {
+            action.computeSequentially();
+        }
+        else
+        {
+            pool.invoke(action);
+        }
+        return new MappedResults<>(results, errors);
+    }
+
+    public interface FailableFunction<T, R>
+    {
+        R apply(T item) throws Exception;
+    }
+
+    public static class MappedResults<R>
+    {
+        private final Object[] results;
+        private final Exception[] errors;
+
+        private MappedResults(Object[] results, Exception[] errors)
+        {
+            this.results = results;
+            this.errors = errors;
+        }
+
+        /**
+         * Get the results for the items for which the function succeeded, in the order of the items.
+         *
+         * @return successful results
+         */
+        @SuppressWarnings("unchecked")
+        public List<R> getResults()
+        {
+            List<R> list = new ArrayList<>(this.results.length);
+            for (int i = 0; i < this.results.length; i++)
+            {
+                if (this.errors[i] == null)
+                {
+                    list.add((R) this.results[i]);
+                }
+            }
+            return list;
+        }
+
+        /**
+         * Get the exceptions thrown by the function, in the order of the items.
+         *
+         * @return exceptions
+         */
+        public List<Exception> getErrors()
+        {
+            return Arrays.stream(this.errors).filter(Objects::nonNull).collect(Collectors.toList());
+        }
+
+        /**
+         * Get the results, if the function succeeded for every item. Otherwise, throw the first exception (in the
+         * order of the items), with any others suppressed. A checked exception is wrapped in a
+         * {@link RuntimeException}.
+         *
+         * @return results
+         */
+        public List<R> getResultsOrThrow()
+        {
+            return getResultsOrThrow(RuntimeException.class);
+        }
+
+        /**
+         * Get the results, if the function succeeded for every item. Otherwise, throw the first exception (in the
+         * order of the items), with any others suppressed. A checked exception which is not an instance of
+         * {@code exceptionClass} is wrapped in a {@link RuntimeException}.
+         *
+         * @param exceptionClass checked exception class which may be thrown
+         * @param <E>            checked exception type
+         * @return results
+         * @throws E if the function failed for some item with an exception of this type
+         */
+        public <E extends Exception> List<R> getResultsOrThrow(Class<E> exceptionClass) throws E
+        {
+            List<Exception> errorList = getErrors();
+            if (errorList.isEmpty())
+            {
+                return getResults();
+            }
+
+            Exception first = errorList.get(0);
+            errorList.subList(1, errorList.size()).forEach(first::addSuppressed);
+            if (first instanceof RuntimeException)
+            {
+                throw (RuntimeException) first;
+            }
+            if (exceptionClass.isInstance(first))
+            {
+                throw exceptionClass.cast(first);
+            }
+            throw new RuntimeException(first);
+        }
+
+        /**
+         * Get the results, if the function succeeded for every item. If it failed for exactly one item, throw that
+         * exception (wrapped in a {@link RuntimeException} if it is checked). If it failed for more than one, throw an
+         * exception with the given message, the number of failures and the message of the first failure (in the order
+         * of the items), with the first as the cause and any others suppressed.
+         *
+         * @param message message for multiple failures
+         * @return results
+         */
+        public List<R> getResultsOrThrowSummarizing(String message)
+        {
+            List<Exception> errorList = getErrors();
+            if (errorList.size() <= 1)
+            {
+                return getResultsOrThrow();
+            }
+
+            Exception first = errorList.get(0);
+            RuntimeException e = new RuntimeException(message + ": " + errorList.size() + " failures; first failure: " + first.getMessage(), first);
+            errorList.subList(1, errorList.size()).forEach(e::addSuppressed);
+            throw e;
+        }
+    }
+
+    private static class MapAction<T, R> extends RecursiveAction
+    {
+        private static final long serialVersionUID = -5034186478155385736L;
+
+        private final List<? extends T> items;
+        private final FailableFunction<? super T, ? extends R> function;
+        private final Object[] results;
+        private final Exception[] errors;
+        private final int start;
+        private final int end;
+
+        private MapAction(List<? extends T> items, FailableFunction<? super T, ? extends R> function, Object[] results, Exception[] errors, int start, int end)
+        {
+            this.items = items;
+            this.function = function;
+            this.results = results;
+            this.errors = errors;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute()
+        {
+            int length = this.end - this.start;
+            if (length <= 1)
+            {
+                computeSequentially();
+                return;
+            }
+
+            int split = this.start + (length / 2);
+            invokeAll(
+                    new MapAction<>(this.items, this.function, this.results, this.errors, this.start, split),
+                    new MapAction<>(this.items, this.function, this.results, this.errors, split, this.end));
+        }
+
+        private void computeSequentially()
+        {
+            for (int i = this.start; i < this.end; i++)
+            {
+                try
+                {
+                    this.results[i] = this.function.apply(this.items.get(i));
+                }
+                catch (Exception e)
+                {
+                    this.errors[i] = e;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+// Copyright 2023 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.sdlc.serialization;
+
+import org.finos.legend.sdlc.domain.model.TestTools;
+import org.finos.legend.sdlc.domain.model.entity.Entity;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class TestEntityIndex
+{
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void testWriteAndRead() throws IOException
+    {
+        EntitySerializer serializer = EntitySerializers.getDefaultJsonSerializer();
+        Entity entity1 = TestTools.newClassEntity("EmptyClass", "model::domain::test::empty");
+        Entity entity2 = TestTools.newEnumerationEntity("MusicGenre", "model::domain::test::enums", "CLASSICAL", "HOKUM");
+        byte[] content1 = serializer.serializeToBytes(entity1);
+        byte[] content2 = serializer.serializeToBytes(entity2);
+
+        EntityIndex index = EntityIndex.newBuilder()
+                .addEntity(entity1, "entities/model/domain/test/empty/EmptyClass.json", content1)
+                .addEntity(entity2, "entities/model/domain/test/enums/MusicGenre.json", content2)
+                .build();
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        index.write(stream);
+        EntityIndex readIndex = EntityIndex.read(new ByteArrayInputStream(stream.toByteArray()));
+
+        Assert.assertEquals(2, readIndex.size());
+        EntityIndex.Entry entry = readIndex.getEntry("model::domain::test::empty::EmptyClass");
+        Assert.assertNotNull(entry);
+        Assert.assertEquals(entity1.getClassifierPath(), entry.getClassifierPath());
+        Assert.assertEquals("model::domain::test::empty", entry.getPackagePath());
+        Assert.assertEquals("entities/model/domain/test/empty/EmptyClass.json", entry.getLocation());
+        Assert.assertEquals(EntityIndex.computeContentHash(content1), entry.getContentHash());
+        Assert.assertSame(entry, readIndex.getEntryByLocation("entities/model/domain/test/empty/EmptyClass.json"));
+        Assert.assertNull(readIndex.getEntry("model::domain::test::empty::OtherClass"));
+
+        Assert.assertEquals(Arrays.asList("model::domain::test::empty::EmptyClass", "model::domain::test::enums::MusicGenre"), getPathsInDirectory(readIndex, "entities"));
+        Assert.assertEquals(Arrays.asList("model::domain::test::empty::EmptyClass", "model::domain::test::enums::MusicGenre"), getPathsInDirectory(readIndex, "entities/model/domain/test"));
+        Assert.assertEquals(Collections.singletonList("model::domain::test::enums::MusicGenre"), getPathsInDirectory(readIndex, "entities/model/domain/test/enums"));
+        Assert.assertEquals(Collections.emptyList(), getPathsInDirectory(readIndex, "entities/model/domain/test/enum"));
+        Assert.assertEquals(Collections.emptyList(), getPathsInDirectory(readIndex, "entities/model/other"));
+    }
+
+    @Test
+    public void testDuplicateEntity()
+    {
+        Entity entity = TestTools.newClassEntity("EmptyClass", "model::domain::test::empty");
+        EntityIndex.Builder builder = EntityIndex.newBuilder()
+                .addEntity(entity, "entities/model/domain/test/empty/EmptyClass.json", new byte[0])
+                .addEntity(entity, "entities/model/domain/test/empty/EmptyClass2.json", new byte[0]);
+        IllegalArgumentException e = Assert.assertThrows(IllegalArgumentException.class, builder::build);
+        Assert.assertEquals("Multiple index entries for entity \"model::domain::test::empty::EmptyClass\": entities/model/domain/test/empty/EmptyClass.json and entities/model/domain/test/empty/EmptyClass2.json", e.getMessage());
+    }
+
+    @Test
+    public void testEntityLoaderUsesIndex() throws Exception
+    {
+        EntitySerializer serializer = EntitySerializers.getDefaultJsonSerializer();
+        Entity indexed = TestTools.newClassEntity("IndexedClass", "model::domain::test");
+        Entity notIndexed = TestTools.newClassEntity("NotIndexedClass", "model::domain::test");
+
+        Path root = this.tempFolder.getRoot().toPath();
+        Path indexedPath = serializer.serializeToFile(indexed, root.resolve("entities"));
+        serializer.serializeToFile(notIndexed, root.resolve("entities"));
+        Path indexPath = root.resolve(EntityIndex.INDEX_FILE_PATH);
+        Files.createDirectories(indexPath.getParent());
+        try (OutputStream stream = Files.newOutputStream(indexPath))
+        {
+            EntityIndex.newBuilder()
+                    .addEntity(indexed, "entities/model/domain/test/IndexedClass.json", Files.readAllBytes(indexedPath))
+                    .build()
+                    .write(stream);
+        }
+
+        try (EntityLoader loader = EntityLoader.newEntityLoader(root))
+        {
+            Assert.assertEquals(Collections.singletonList(indexed.getPath()), loader.getAllEntities().map(Entity::getPath).collect(Collectors.toList()));
+            Assert.assertEquals(Collections.singletonList(indexed.getPath()), loader.getEntitiesInPackage("model::domain").map(Entity::getPath).collect(Collectors.toList()));
+            Assert.assertNotNull(loader.getEntity(indexed.getPath()));
+            Assert.assertNull(loader.getEntity(notIndexed.getPath()));
+        }
+    }
+
+    private List<String> getPathsInDirectory(EntityIndex index, String directory)
+    {
+        return index.getEntriesInDirectory(directory).map(EntityIndex.Entry::getPath).collect(Collectors.toList());
+    }
+}
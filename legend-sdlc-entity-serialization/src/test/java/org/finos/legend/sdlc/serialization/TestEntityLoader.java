@@ -27,8 +27,10 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 abstract class TestEntityLoader
@@ -113,6 +115,27 @@ abstract class TestEntityLoader
         TestTools.assertEntitiesEquivalent(this.testEntities, loadedEntities);
     }
 
+    @Test
+    public void testGetAllEntitiesInParallel()
+    {
+        List<String> expectedPaths = this.entityLoader.getAllEntities().map(Entity::getPath).collect(Collectors.toList());
+        for (int parallelism : new int[]{1, 2, 4})
+        {
+            List<Entity> loadedEntities = this.entityLoader.getAllEntities(parallelism).collect(Collectors.toList());
+            TestTools.assertEntitiesEquivalent(this.testEntities, loadedEntities);
+            Assert.assertEquals("parallelism " + parallelism, expectedPaths, loadedEntities.stream().map(Entity::getPath).collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void testGetAllEntityPaths()
+    {
+        Set<String> expectedPaths = this.testEntities.stream().map(Entity::getPath).collect(Collectors.toSet());
+        List<String> actualPaths = this.entityLoader.getAllEntityPaths().collect(Collectors.toList());
+        Assert.assertEquals(expectedPaths, new HashSet<>(actualPaths));
+        Assert.assertEquals(expectedPaths.size(), actualPaths.size());
+    }
+
     @Test
     public void testGetEntitiesInPackage()
     {
@@ -0,0 +1,82 @@
+// Copyright 2023 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.sdlc.tools;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class TestManifestTools
+{
+    @Rule
+    public TemporaryFolder tmpFolder = new TemporaryFolder();
+
+    @Test
+    public void testWriteAndRead() throws Exception
+    {
+        Path file = this.tmpFolder.getRoot().toPath().resolve("sub").resolve("manifest.json");
+        Assert.assertNull(ManifestTools.readManifestFileIfPossible(file, Map.class));
+
+        Map<String, String> content = new TreeMap<>();
+        content.put("b", "2");
+        content.put("a", "1");
+        ManifestTools.writeManifestFile(file, content);
+        Assert.assertEquals(content, ManifestTools.readManifestFileIfPossible(file, Map.class));
+        Assert.assertFalse(Files.exists(file.resolveSibling("manifest.json.tmp")));
+
+        // replace
+        ManifestTools.writeManifestFile(file, Collections.singletonMap("c", "3"));
+        Assert.assertEquals(Collections.singletonMap("c", "3"), ManifestTools.readManifestFileIfPossible(file, Map.class));
+
+        // unreadable
+        Files.write(file, "not json".getBytes(StandardCharsets.UTF_8));
+        Assert.assertNull(ManifestTools.readManifestFileIfPossible(file, Map.class));
+    }
+
+    @Test
+    public void testComputeHash()
+    {
+        Assert.assertEquals("e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855", ManifestTools.computeHash(new byte[0]));
+        Assert.assertEquals("2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824", ManifestTools.computeHash("hello".getBytes(StandardCharsets.UTF_8)));
+
+        // boundaries between parts matter
+        Assert.assertNotEquals(ManifestTools.computeHash(Arrays.asList("ab", "c")), ManifestTools.computeHash(Arrays.asList("a", "bc")));
+        Assert.assertEquals(ManifestTools.computeHash(Arrays.asList("a", "bc")), ManifestTools.computeHash(Arrays.asList("a", "bc")));
+    }
+
+    @Test
+    public void testToHex()
+    {
+        Assert.assertEquals("", ManifestTools.toHex(new byte[0]));
+        Assert.assertEquals("000fa0ff", ManifestTools.toHex(new byte[]{0x00, 0x0f, (byte) 0xa0, (byte) 0xff}));
+    }
+
+    @Test
+    public void testGetCodeSourceFingerprint()
+    {
+        // JDK classes have no code source
+        Assert.assertEquals(String.class.getName(), ManifestTools.getCodeSourceFingerprint(String.class));
+        Assert.assertNotEquals(TestManifestTools.class.getName(), ManifestTools.getCodeSourceFingerprint(TestManifestTools.class));
+    }
+}
@@ -0,0 +1,176 @@
+// Copyright 2023 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.sdlc.tools;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class TestParallelTools
+{
+    @Test
+    public void testParseParallel()
+    {
+        int procCount = Runtime.getRuntime().availableProcessors();
+
+        // Null, empty, whitespace
+        Assert.assertEquals(1, ParallelTools.parseParallel(null));
+        Assert.assertEquals(1, ParallelTools.parseParallel(""));
+        Assert.assertEquals(1, ParallelTools.parseParallel("   \r\t\n  \r\n \n\r "));
+
+        // Integers
+        for (int i = 0; i < 256; i++)
+        {
+            String s = Integer.toString(i);
+            Assert.assertEquals(s, i, ParallelTools.parseParallel(s));
+            Assert.assertEquals(s, i, ParallelTools.parseParallel("+" + s));
+            Assert.assertEquals(s, -i, ParallelTools.parseParallel("-" + s));
+            Assert.assertEquals(s, i, ParallelTools.parseParallel("00000000" + s));
+            Assert.assertEquals(s, i, ParallelTools.parseParallel("    " + s + "    "));
+        }
+
+        // False
+        Assert.assertEquals(1, ParallelTools.parseParallel("false"));
+        Assert.assertEquals(1, ParallelTools.parseParallel("FALSE"));
+        Assert.assertEquals(1, ParallelTools.parseParallel("False"));
+        Assert.assertEquals(1, ParallelTools.parseParallel("FaLsE"));
+        Assert.assertEquals(1, ParallelTools.parseParallel(" false "));
+        Assert.assertEquals(1, ParallelTools.parseParallel("   false "));
+
+        // True
+        int defaultParallelism = Math.max(procCount - 1, 1);
+        Assert.assertEquals(defaultParallelism, ParallelTools.parseParallel("true"));
+        Assert.assertEquals(defaultParallelism, ParallelTools.parseParallel("TRUE"));
+        Assert.assertEquals(defaultParallelism, ParallelTools.parseParallel("True"));
+        Assert.assertEquals(defaultParallelism, ParallelTools.parseParallel("TrUe"));
+        Assert.assertEquals(defaultParallelism, ParallelTools.parseParallel(" true "));
+        Assert.assertEquals(defaultParallelism, ParallelTools.parseParallel("   true "));
+
+        // Processor based
+        Assert.assertEquals(procCount, ParallelTools.parseParallel("C"));
+        Assert.assertEquals(procCount, ParallelTools.parseParallel("c"));
+        Assert.assertEquals(procCount, ParallelTools.parseParallel(" C  "));
+        Assert.assertEquals(procCount, ParallelTools.parseParallel("1.0C"));
+        Assert.assertEquals(procCount, ParallelTools.parseParallel("1C"));
+        Assert.assertEquals(2 * procCount, ParallelTools.parseParallel("2.0C"));
+        Assert.assertEquals(2 * procCount, ParallelTools.parseParallel("2\tC"));
+        Assert.assertEquals(Math.round(2.5 * procCount), ParallelTools.parseParallel("2.5C"));
+        Assert.assertEquals(Math.round(12.3 * procCount), ParallelTools.parseParallel("12.3  C"));
+        Assert.assertEquals(procCount - 1, ParallelTools.parseParallel("C-1"));
+        Assert.assertEquals(procCount - 1, ParallelTools.parseParallel("C - 1"));
+        Assert.assertEquals(procCount + 1, ParallelTools.parseParallel("C + 1"));
+        Assert.assertEquals(procCount + 2, ParallelTools.parseParallel("C + 2"));
+        Assert.assertEquals(Math.round(2.5 * procCount) + 2, ParallelTools.parseParallel("2.5C + 2"));
+        Assert.assertEquals(Math.round(3.5 * procCount) - 1, ParallelTools.parseParallel("3.5c-1"));
+
+        for (String invalid : new String[]{"blah", "trueee", "null", "123.123", "2.5*C", "C / 5"})
+        {
+            RuntimeException e = Assert.assertThrows(RuntimeException.class, () -> ParallelTools.parseParallel(invalid));
+            Assert.assertEquals(invalid, "Could not parse parallel value: \"" + invalid + "\"", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testForkJoinPoolUsesContextClassLoader() throws Exception
+    {
+        Thread currentThread = Thread.currentThread();
+        ClassLoader previous = currentThread.getContextClassLoader();
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[0], previous))
+        {
+            currentThread.setContextClassLoader(classLoader);
+            ForkJoinPool pool = ParallelTools.createForkJoinPool(2);
+            try
+            {
+                Assert.assertSame(classLoader, pool.submit(() -> Thread.currentThread().getContextClassLoader()).get());
+                Assert.assertEquals(2, pool.getParallelism());
+            }
+            finally
+            {
+                pool.shutdown();
+            }
+        }
+        finally
+        {
+            currentThread.setContextClassLoader(previous);
+        }
+    }
+
+    @Test
+    public void testMapInParallel()
+    {
+        List<Integer> items = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+        List<String> expected = items.stream().map(i -> "item" + i).collect(Collectors.toList());
+        Assert.assertEquals(expected, ParallelTools.mapInParallel(null, items, i -> "item" + i).getResultsOrThrow());
+        Assert.assertEquals(Collections.emptyList(), ParallelTools.mapInParallel(null, Collections.<Integer>emptyList(), i -> "item" + i).getResultsOrThrow());
+
+        ForkJoinPool pool = ParallelTools.createForkJoinPool(4);
+        try
+        {
+            Assert.assertEquals(expected, ParallelTools.mapInParallel(pool, items, i -> "item" + i).getResultsOrThrow());
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testMapInParallelErrors()
+    {
+        List<Integer> items = Arrays.asList(0, 1, 2, 3, 4, 5);
+        ForkJoinPool pool = ParallelTools.createForkJoinPool(4);
+        try
+        {
+            ParallelTools.FailableFunction<Integer, Integer> function = i ->
+            {
+                if ((i % 2) == 1)
+                {
+                    throw new IOException("failed " + i);
+                }
+                return i;
+            };
+
+            // every item is processed, and errors are in item order
+            ParallelTools.MappedResults<Integer> results = ParallelTools.mapInParallel(pool, items, function);
+            Assert.assertEquals(Arrays.asList(0, 2, 4), results.getResults());
+            Assert.assertEquals(Arrays.asList("failed 1", "failed 3", "failed 5"), results.getErrors().stream().map(Exception::getMessage).collect(Collectors.toList()));
+
+            IOException e = Assert.assertThrows(IOException.class, () -> ParallelTools.mapInParallel(pool, items, function).getResultsOrThrow(IOException.class));
+            Assert.assertEquals("failed 1", e.getMessage());
+            Assert.assertEquals(Arrays.asList("failed 3", "failed 5"), Arrays.stream(e.getSuppressed()).map(Throwable::getMessage).collect(Collectors.toList()));
+
+            RuntimeException wrapped = Assert.assertThrows(RuntimeException.class, () -> ParallelTools.mapInParallel(pool, items, function).getResultsOrThrow());
+            Assert.assertTrue(wrapped.getCause() instanceof IOException);
+            Assert.assertEquals("failed 1", wrapped.getCause().getMessage());
+
+            RuntimeException summary = Assert.assertThrows(RuntimeException.class, () -> ParallelTools.mapInParallel(pool, items, function).getResultsOrThrowSummarizing("Error processing items"));
+            Assert.assertEquals("Error processing items: 3 failures; first failure: failed 1", summary.getMessage());
+            Assert.assertEquals(2, summary.getSuppressed().length);
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+    }
+}
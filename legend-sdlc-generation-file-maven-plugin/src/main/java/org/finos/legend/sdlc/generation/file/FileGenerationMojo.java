@@ -40,10 +40,12 @@ import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.fileGen
 import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.generationSpecification.GenerationSpecification;
 import org.finos.legend.engine.shared.core.ObjectMapperFactory;
 import org.finos.legend.sdlc.domain.model.entity.Entity;
+import org.finos.legend.sdlc.generation.GenerationProfiler;
 import org.finos.legend.sdlc.generation.artifact.ArtifactGenerationFactory;
 import org.finos.legend.sdlc.generation.artifact.ArtifactGenerationResult;
 import org.finos.legend.sdlc.language.pure.compiler.toPureGraph.PureModelBuilder;
 import org.finos.legend.sdlc.serialization.EntityLoader;
+import org.finos.legend.sdlc.tools.ParallelTools;
 import org.finos.legend.sdlc.tools.entity.EntityPaths;
 
 import java.io.File;
@@ -56,6 +58,7 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -75,8 +78,33 @@ public class FileGenerationMojo extends AbstractMojo
     @Parameter(defaultValue = "${project}", readonly = true)
     private MavenProject mavenProject;
 
+    @Parameter(defaultValue = "${org.finos.legend.sdlc.generation.file.parallel}")
+    private String parallel;
+
+    @Parameter(defaultValue = "${org.finos.legend.sdlc.generation.file.ioParallel}")
+    private String ioParallel;
+
+    @Parameter(property = "org.finos.legend.sdlc.generation.profile", defaultValue = "false")
+    private boolean profile;
+
+    @Parameter(defaultValue = "${project.build.directory}/legend-sdlc/profile/generate-file-generations-${mojoExecution.executionId}.json")
+    private File profileReportFile;
+
     @Override
     public void execute() throws MojoExecutionException
+    {
+        GenerationProfiler profiler = this.profile ? GenerationProfiler.newProfiler("generate-file-generations") : GenerationProfiler.disabled();
+        try
+        {
+            execute(profiler);
+        }
+        finally
+        {
+            writeProfileReport(profiler);
+        }
+    }
+
+    private void execute(GenerationProfiler profiler) throws MojoExecutionException
     {
         long generateStart = System.nanoTime();
         if (this.inclusions != null)
@@ -92,37 +120,61 @@ public class FileGenerationMojo extends AbstractMojo
             getLog().info("exclude generation specification directories: " + Arrays.toString(this.exclusions.directories));
         }
         getLog().info("Output directory: " + this.outputDirectory);
+        int parallelism = getParallelism(this.parallel);
+        getLog().info("parallelism: " + parallelism);
+        // I/O parallelism defaults to the generation parallelism
+        int ioParallelism = ((this.ioParallel == null) || this.ioParallel.isEmpty()) ? parallelism : getParallelism(this.ioParallel);
+        getLog().info("I/O parallelism: " + ioParallelism);
 
         // Load Model
         long modelStart = System.nanoTime();
         getLog().info("Start loading model");
-        PureModelBuilder pureModelBuilder = PureModelBuilder.newBuilder();
-        try (EntityLoader allEntities = EntityLoader.newEntityLoader(Thread.currentThread().getContextClassLoader()))
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        SDLC sdlcInfo = buildSDLCInfo();
+        Protocol protocol = buildProtocol();
+        PureModelBuilder.PureModelWithContextData pureModelWithContextData;
+        try
         {
-            pureModelBuilder.addEntitiesIfPossible(allEntities.getAllEntities());
+            pureModelWithContextData = loadModel(classLoader, sdlcInfo, protocol, profiler);
         }
         catch (Exception e)
         {
-            throw new MojoExecutionException("Error loading entities from model", e);
+            throw new MojoExecutionException("Error loading model", e);
         }
-
-        int entityCount = pureModelBuilder.getElementCount();
-        getLog().info("Found " + entityCount + " entities");
-        if (entityCount == 0)
+        if (pureModelWithContextData == null)
         {
             long modelEnd = System.nanoTime();
             getLog().info(String.format("Finished loading model (%.9fs)", (modelEnd - modelStart) / 1_000_000_000.0));
             getLog().info("No elements found to generate");
             return;
         }
-
-        getLog().info("Compiling model");
-        PureModelBuilder.PureModelWithContextData pureModelWithContextData = pureModelBuilder.withSDLC(buildSDLCInfo()).withProtocol(buildProtocol()).build();
         PureModelContextData pureModelContextData = pureModelWithContextData.getPureModelContextData();
         PureModel pureModel = pureModelWithContextData.getPureModel();
         long modelEnd = System.nanoTime();
         getLog().info(String.format("Finished loading and compiling model (%.9fs)", (modelEnd - modelStart) / 1_000_000_000.0));
 
+        // Pools are only created if parallelism is greater than 1; worker threads are only started when needed
+        ForkJoinPool pool = (parallelism > 1) ? ParallelTools.createForkJoinPool(parallelism) : null;
+        ForkJoinPool ioPool = (ioParallelism > 1) ? ParallelTools.createForkJoinPool(ioParallelism) : null;
+        try
+        {
+            generate(pureModelContextData, pureModel, pool, ioPool, profiler, generateStart);
+        }
+        finally
+        {
+            if (pool != null)
+            {
+                pool.shutdown();
+            }
+            if (ioPool != null)
+            {
+                ioPool.shutdown();
+            }
+        }
+    }
+
+    private void generate(PureModelContextData pureModelContextData, PureModel pureModel, ForkJoinPool pool, ForkJoinPool ioPool, GenerationProfiler profiler, long generateStart) throws MojoExecutionException
+    {
         // Generation Specification
         MutableMap<String, GenerationSpecification> generationSpecificationMap = LazyIterate.selectInstancesOf(pureModelContextData.getElements(), GenerationSpecification.class).groupByUniqueKey(PackageableElement::getPath, Maps.mutable.empty());
         filterPackageableElementsByIncludes(generationSpecificationMap);
@@ -137,9 +189,16 @@ public class FileGenerationMojo extends AbstractMojo
             {
                 GenerationSpecification generationSpecification = generationSpecificationMap.valuesView().getAny();
                 getLog().info(String.format("Start generating file generations for generation specification '%s', %,d file generations found", generationSpecification.getPath(), generationSpecification.fileGenerations.size()));
-                FileGenerationFactory fileGenerationFactory = FileGenerationFactory.newFactory(generationSpecification, pureModelContextData, pureModel);
-                MutableMap<FileGenerationSpecification, List<GenerationOutput>> outputs = fileGenerationFactory.generateFiles();
-                serializeOutput(outputs);
+                FileGenerationFactory fileGenerationFactory = FileGenerationFactory.newFactory(generationSpecification, pureModelContextData, pureModel, pool).withProfiler(profiler);
+                MutableMap<FileGenerationSpecification, List<GenerationOutput>> outputs;
+                try (GenerationProfiler.Timer ignore = profiler.startPhase("generate-files"))
+                {
+                    outputs = fileGenerationFactory.generateFiles();
+                }
+                try (GenerationProfiler.Timer ignore = profiler.startPhase("serialize-files"))
+                {
+                    serializeOutput(outputs, ioPool);
+                }
                 getLog().info(String.format("Done (%.9fs)", (System.nanoTime() - generateStart) / 1_000_000_000.0));
             }
             catch (MojoExecutionException e)
@@ -162,10 +221,17 @@ public class FileGenerationMojo extends AbstractMojo
         filterPackageableElementsByExcludes(elementsMap);
         try
         {
-            List<PackageableElement> elements = Lists.mutable.withAll(elementsMap.values());
-            ArtifactGenerationFactory factory = ArtifactGenerationFactory.newFactory(pureModel, pureModelContextData, elements);
-            MutableMap<ArtifactGenerationExtension, List<ArtifactGenerationResult>> results = factory.generate();
-            serializeArtifacts(results);
+            List<PackageableElement> elements = Lists.mutable.withAll(elementsMap.values()).sortThis(Comparator.comparing(PackageableElement::getPath));
+            ArtifactGenerationFactory factory = ArtifactGenerationFactory.newFactory(pureModel, pureModelContextData, elements, (elements.size() > 1) ? pool : null).withProfiler(profiler);
+            MutableMap<ArtifactGenerationExtension, List<ArtifactGenerationResult>> results;
+            try (GenerationProfiler.Timer ignore = profiler.startPhase("generate-artifacts"))
+            {
+                results = factory.generate();
+            }
+            try (GenerationProfiler.Timer ignore = profiler.startPhase("serialize-artifacts"))
+            {
+                serializeArtifacts(results, ioPool);
+            }
             getLog().info(String.format("Done (%.9fs)", (System.nanoTime() - generateStart) / 1_000_000_000.0));
         }
         catch (MojoExecutionException e)
@@ -179,14 +245,19 @@ public class FileGenerationMojo extends AbstractMojo
     }
 
     protected void serializeOutput(MutableMap<FileGenerationSpecification, List<GenerationOutput>> generationGenerationOutputMap) throws MojoExecutionException
+    {
+        serializeOutput(generationGenerationOutputMap, null);
+    }
+
+    protected void serializeOutput(MutableMap<FileGenerationSpecification, List<GenerationOutput>> generationGenerationOutputMap, ForkJoinPool ioPool) throws MojoExecutionException
     {
         long serializeStart = System.nanoTime();
         getLog().info("Start serializing file generations");
         Path outputDirPath = this.outputDirectory.toPath();
-        for (Map.Entry<FileGenerationSpecification, List<GenerationOutput>> fileOutputPair : generationGenerationOutputMap.entrySet())
+        List<OutputFile> outputFiles = Lists.mutable.empty();
+        generationGenerationOutputMap.keysView().toSortedListBy(PackageableElement::getPath).forEach(fileGenerationSpecification ->
         {
-            FileGenerationSpecification fileGenerationSpecification = fileOutputPair.getKey();
-            List<GenerationOutput> generationOutputs = fileOutputPair.getValue();
+            List<GenerationOutput> generationOutputs = generationGenerationOutputMap.get(fileGenerationSpecification);
             String generationOutPath = fileGenerationSpecification.generationOutputPath;
             String rootFolder = (generationOutPath != null && !generationOutPath.isEmpty()) ? generationOutPath : fileGenerationSpecification.getPath().replace(EntityPaths.PACKAGE_SEPARATOR, "_");
             Path rootFolderPath = outputDirPath.resolve(rootFolder);
@@ -194,45 +265,31 @@ public class FileGenerationMojo extends AbstractMojo
             for (GenerationOutput output : generationOutputs)
             {
                 Path filePath = rootFolderPath.resolve(output.getFileName());
-                try
-                {
-                    byte[] content = output.extractFileContent().getBytes(StandardCharsets.UTF_8);
-                    if (Files.exists(filePath))
-                    {
-                        byte[] foundContent = Files.readAllBytes(filePath);
-                        if (!Arrays.equals(content, foundContent))
-                        {
-                            throw new MojoExecutionException("Duplicate file paths found when serializing file generations outputs : '" + filePath + "'");
-                        }
-                        getLog().warn("Duplicate file paths found with the same content: " + filePath);
-                    }
-                    else
-                    {
-                        Files.createDirectories(filePath.getParent());
-                        Files.write(filePath, content);
-                    }
-                }
-                catch (IOException e)
-                {
-                    throw new MojoExecutionException("Error writing file " + output.getFileName() + " (" + filePath + ") for file generation specification " + fileGenerationSpecification.getPath(), e);
-                }
+                outputFiles.add(new OutputFile(output, filePath,
+                        "Duplicate file paths found when serializing file generations outputs : '" + filePath + "'",
+                        "Error writing file " + output.getFileName() + " (" + filePath + ") for file generation specification " + fileGenerationSpecification.getPath()));
             }
-            getLog().info("Done serializing files for'" + fileGenerationSpecification.getPath() + "'");
-        }
+        });
+        writeOutputFiles(outputFiles, ioPool);
         getLog().info(String.format("Done serializing %,d file generations' output to %s (%.9fs)", generationGenerationOutputMap.size(), this.outputDirectory, (System.nanoTime() - serializeStart) / 1_000_000_000.0));
     }
 
 
     protected void serializeArtifacts(MutableMap<ArtifactGenerationExtension, List<ArtifactGenerationResult>> results) throws MojoExecutionException
+    {
+        serializeArtifacts(results, null);
+    }
+
+    protected void serializeArtifacts(MutableMap<ArtifactGenerationExtension, List<ArtifactGenerationResult>> results, ForkJoinPool ioPool) throws MojoExecutionException
     {
         long serializeStart = System.nanoTime();
         getLog().info("Start serializing artifact extension generations");
         Path outputDirPath = this.outputDirectory.toPath();
         String fileSeparator = outputDirPath.getFileSystem().getSeparator();
-        for (Map.Entry<ArtifactGenerationExtension, List<ArtifactGenerationResult>> resultByExtension : results.entrySet())
+        List<OutputFile> outputFiles = Lists.mutable.empty();
+        results.keysView().toSortedListBy(extension -> extension.getClass().getName()).forEach(extension ->
         {
-            ArtifactGenerationExtension extension = resultByExtension.getKey();
-            List<ArtifactGenerationResult> extensionResults = resultByExtension.getValue();
+            List<ArtifactGenerationResult> extensionResults = results.get(extension);
             for (ArtifactGenerationResult result : extensionResults)
             {
                 org.finos.legend.pure.m3.coreinstance.meta.pure.metamodel.PackageableElement generator = result.getElement();
@@ -243,35 +300,77 @@ public class FileGenerationMojo extends AbstractMojo
                 for (GenerationOutput output : generatorOutputs)
                 {
                     Path filePath = rootFolderPath.resolve(output.getFileName());
-                    try
-                    {
-                        byte[] content = output.extractFileContent().getBytes(StandardCharsets.UTF_8);
-                        if (Files.exists(filePath))
-                        {
-                            byte[] foundContent = Files.readAllBytes(filePath);
-                            if (!Arrays.equals(content, foundContent))
-                            {
-                                throw new MojoExecutionException("Duplicate file path found when serializing artifact generation extension  '" + extension.getClass() + "' output: '" + filePath + "'");
-                            }
-                            getLog().warn("Duplicate file paths found with the same content: " + filePath);
-                        }
-                        else
-                        {
-                            Files.createDirectories(filePath.getParent());
-                            Files.write(filePath, content);
-                        }
-                    }
-                    catch (IOException e)
-                    {
-                        throw new MojoExecutionException("Error writing file " + output.getFileName() + " (" + filePath + ") for file artifact generation extension '" + extension.getClass() + "'", e);
-                    }
+                    outputFiles.add(new OutputFile(output, filePath,
+                            "Duplicate file path found when serializing artifact generation extension  '" + extension.getClass() + "' output: '" + filePath + "'",
+                            "Error writing file " + output.getFileName() + " (" + filePath + ") for file artifact generation extension '" + extension.getClass() + "'"));
                 }
             }
-            getLog().info("Done serializing files for extension: '" + extension.getClass() + "'");
-        }
+            getLog().info("Serializing files for extension: '" + extension.getClass() + "'");
+        });
+        writeOutputFiles(outputFiles, ioPool);
         getLog().info(String.format("Done serializing %,d artifact generation extension results to %s (%.9fs)", results.size(), this.outputDirectory, (System.nanoTime() - serializeStart) / 1_000_000_000.0));
     }
 
+    /**
+     * Write output files, in parallel if an I/O pool is given. Output content is computed and files are written on the
+     * pool, but conflicts between outputs are resolved in order beforehand, so that the result (and any error) does not
+     * depend on the order in which files are written. An output whose path was already written (either by an earlier
+     * output or before this execution) is an error if the content differs, and is otherwise skipped with a warning.
+     */
+    private void writeOutputFiles(List<OutputFile> outputFiles, ForkJoinPool ioPool) throws MojoExecutionException
+    {
+        runOnPool(outputFiles, ioPool, OutputFile::computeContent);
+
+        Map<Path, OutputFile> filesByPath = Maps.mutable.empty();
+        List<OutputFile> toWrite = Lists.mutable.empty();
+        for (OutputFile outputFile : outputFiles)
+        {
+            OutputFile previous = filesByPath.putIfAbsent(outputFile.filePath, outputFile);
+            if (previous == null)
+            {
+                toWrite.add(outputFile);
+            }
+            else if (!Arrays.equals(previous.content, outputFile.content))
+            {
+                throw new MojoExecutionException(outputFile.duplicateMessage);
+            }
+            else
+            {
+                getLog().warn("Duplicate file paths found with the same content: " + outputFile.filePath);
+            }
+        }
+
+        runOnPool(toWrite, ioPool, OutputFile::write);
+        for (OutputFile outputFile : toWrite)
+        {
+            if (outputFile.alreadyExisted)
+            {
+                getLog().warn("Duplicate file paths found with the same content: " + outputFile.filePath);
+            }
+        }
+    }
+
+    private void runOnPool(List<OutputFile> outputFiles, ForkJoinPool ioPool, OutputFileAction action) throws MojoExecutionException
+    {
+        // errors are recorded for each file, and the first (in order) is reported
+        ParallelTools.mapInParallel(ioPool, outputFiles, outputFile ->
+        {
+            try
+            {
+                action.apply(outputFile);
+            }
+            catch (MojoExecutionException e)
+            {
+                throw e;
+            }
+            catch (Exception e)
+            {
+                throw new MojoExecutionException(outputFile.errorMessage, e);
+            }
+            return outputFile;
+        }).getResultsOrThrow(MojoExecutionException.class);
+    }
+
     private <T extends PackageableElement> void filterPackageableElementsByIncludes(Map<String, T> elementsByPath) throws MojoExecutionException
     {
         if (this.inclusions != null)
@@ -327,6 +426,61 @@ public class FileGenerationMojo extends AbstractMojo
         return new ResolvedPackageableElementFilter(resolvedElementsByPath, elementFilter.packages);
     }
 
+    private PureModelBuilder.PureModelWithContextData loadModel(ClassLoader classLoader, SDLC sdlcInfo, Protocol protocol, GenerationProfiler profiler)
+    {
+        PureModelBuilder pureModelBuilder = PureModelBuilder.newBuilder();
+        try (GenerationProfiler.Timer ignore = profiler.startPhase("load");
+             EntityLoader allEntities = EntityLoader.newEntityLoader(classLoader))
+        {
+            pureModelBuilder.addEntitiesIfPossible(allEntities.getAllEntities());
+        }
+        catch (Exception e)
+        {
+            throw (e instanceof RuntimeException) ? (RuntimeException) e : new RuntimeException("Error loading entities from model", e);
+        }
+
+        int entityCount = pureModelBuilder.getElementCount();
+        getLog().info("Found " + entityCount + " entities");
+        if (entityCount == 0)
+        {
+            return null;
+        }
+
+        getLog().info("Compiling model");
+        try (GenerationProfiler.Timer ignore = profiler.startPhase("compile"))
+        {
+            return pureModelBuilder.withSDLC(sdlcInfo).withProtocol(protocol).build();
+        }
+    }
+
+    private void writeProfileReport(GenerationProfiler profiler)
+    {
+        if (profiler.isEnabled())
+        {
+            try
+            {
+                profiler.writeReport(this.profileReportFile.toPath());
+                getLog().info("Wrote profiling report to " + this.profileReportFile);
+            }
+            catch (Exception e)
+            {
+                // profiling must not fail the build
+                getLog().warn("Error writing profiling report to " + this.profileReportFile, e);
+            }
+        }
+    }
+
+    private int getParallelism(String parallel)
+    {
+        int parallelism = ParallelTools.parseParallel(parallel);
+        if (parallelism < 1)
+        {
+            getLog().warn("Specified parallelism is less than 1 (" + parallelism + "), effective parallelism will be 1");
+            return 1;
+        }
+        return parallelism;
+    }
+
     private SDLC buildSDLCInfo()
     {
         try
@@ -412,4 +566,50 @@ public class FileGenerationMojo extends AbstractMojo
             return this.packages.anySatisfy(path::startsWith);
         }
     }
+
+    private interface OutputFileAction
+    {
+        void apply(OutputFile outputFile) throws Exception;
+    }
+
+    private static class OutputFile
+    {
+        private final GenerationOutput output;
+        private final Path filePath;
+        private final String duplicateMessage;
+        private final String errorMessage;
+        private byte[] content;
+        private boolean alreadyExisted;
+
+        private OutputFile(GenerationOutput output, Path filePath, String duplicateMessage, String errorMessage)
+        {
+            this.output = output;
+            this.filePath = filePath;
+            this.duplicateMessage = duplicateMessage;
+            this.errorMessage = errorMessage;
+        }
+
+        private void computeContent() throws IOException
+        {
+            this.content = this.output.extractFileContent().getBytes(StandardCharsets.UTF_8);
+        }
+
+        private void write() throws IOException, MojoExecutionException
+        {
+            if (Files.exists(this.filePath))
+            {
+                byte[] foundContent = Files.readAllBytes(this.filePath);
+                if (!Arrays.equals(this.content, foundContent))
+                {
+                    throw new MojoExecutionException(this.duplicateMessage);
+                }
+                this.alreadyExisted = true;
+            }
+            else
+            {
+                Files.createDirectories(this.filePath.getParent());
+                Files.write(this.filePath, this.content);
+            }
+        }
+    }
 }
@@ -29,11 +29,17 @@ import org.finos.legend.engine.protocol.pure.PureClientVersions;
 import org.finos.legend.engine.protocol.pure.v1.model.context.PureModelContextData;
 import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.PackageableElement;
 import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.domain.Function;
+import org.finos.legend.sdlc.generation.GenerationProfiler;
 import org.finos.legend.sdlc.generation.file.GenerationOutput;
+import org.finos.legend.sdlc.tools.ParallelTools;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
 
 public class ArtifactGenerationFactory
 {
@@ -43,8 +49,16 @@ public class ArtifactGenerationFactory
     private final List<ArtifactGenerationExtension> extensions;
     private final List<PackageableElement> elements;
     private final PureModelContextData data;
+    private final ForkJoinPool executorService;
+    private final Map<ArtifactGenerationExtension, LongAdder> generationNanos = new ConcurrentHashMap<>();
+    private GenerationProfiler profiler = GenerationProfiler.disabled();
 
     ArtifactGenerationFactory(PureModel pureModel, PureModelContextData data, List<PackageableElement> elements)
+    {
+        this(pureModel, data, elements, null);
+    }
+
+    ArtifactGenerationFactory(PureModel pureModel, PureModelContextData data, List<PackageableElement> elements, ForkJoinPool executorService)
     {
         if (pureModel == null || elements == null)
         {
@@ -54,6 +68,7 @@ public class ArtifactGenerationFactory
         this.pureModel = pureModel;
         this.elements = elements;
         this.extensions = ArtifactGenerationExtensionLoader.extensions();
+        this.executorService = executorService;
     }
 
     public List<ArtifactGenerationExtension> getExtensions()
@@ -66,13 +81,56 @@ public class ArtifactGenerationFactory
         return new ArtifactGenerationFactory(pureModel, data, elements);
     }
 
+    /**
+     * Create a factory which generates artifacts in parallel using the given pool. Generation for each (element,
+     * extension) pair is independent, and results are returned in the same order as for serial generation. If the
+     * pool is null, generation is serial.
+     *
+     * @param pureModel       Pure model
+     * @param data            Pure model context data
+     * @param elements        elements to generate artifacts for
+     * @param executorService pool for parallel generation (may be null)
+     * @return artifact generation factory
+     */
+    public static ArtifactGenerationFactory newFactory(PureModel pureModel, PureModelContextData data, List<PackageableElement> elements, ForkJoinPool executorService)
+    {
+        return new ArtifactGenerationFactory(pureModel, data, elements, executorService);
+    }
+
+    /**
+     * Profile the generation of each (element, extension) pair with the given profiler.
+     *
+     * @param profiler generation profiler (may be null)
+     * @return this factory
+     */
+    public ArtifactGenerationFactory withProfiler(GenerationProfiler profiler)
+    {
+        this.profiler = (profiler == null) ? GenerationProfiler.disabled() : profiler;
+        return this;
+    }
+
+    /**
+     * Get the total time spent generating artifacts by each extension, in nanoseconds. With parallel generation, this
+     * is the sum of the time spent by all threads.
+     *
+     * @return generation time in nanoseconds by extension
+     */
+    public MutableMap<ArtifactGenerationExtension, Long> getGenerationNanos()
+    {
+        MutableMap<ArtifactGenerationExtension, Long> result = Maps.mutable.empty();
+        this.generationNanos.forEach((extension, nanos) -> result.put(extension, nanos.sum()));
+        return result;
+    }
+
     public MutableMap<ArtifactGenerationExtension, List<ArtifactGenerationResult>> generate()
     {
         if (this.extensions.isEmpty() || this.elements.isEmpty())
         {
             return Maps.mutable.empty();
         }
-        MutableMap<ArtifactGenerationExtension, List<ArtifactGenerationResult>> results = Maps.mutable.empty();
+
+        // Collect (element, extension) pairs in order, so that results are in the same order however they are generated
+        List<GenerationTask> tasks = Lists.mutable.empty();
         for (PackageableElement element : this.elements)
         {
             org.finos.legend.pure.m3.coreinstance.meta.pure.metamodel.PackageableElement packageableElement = this.findPackageableElement(pureModel, element);
@@ -82,17 +140,38 @@ public class ArtifactGenerationFactory
                 {
                     if (extension.canGenerate(packageableElement))
                     {
-                        List<Artifact> artifacts = this.generateArtifacts(packageableElement, element, extension);
-                        List<GenerationOutput> outputs = ListIterate.collect(artifacts, artifact -> new GenerationOutput(artifact.content, artifact.path, artifact.format));
-                        ArtifactGenerationResult result = new ArtifactGenerationResult(packageableElement, outputs, extension);
-                        results.getIfAbsentPut(result.getGenerator(), Lists.mutable::empty).add(result);
+                        tasks.add(new GenerationTask(packageableElement, element, extension));
                     }
                 }
             }
         }
+
+        // in parallel, failures are collected rather than thrown, so that all of them can be reported
+        List<ArtifactGenerationResult> taskResults = ((this.executorService == null) || (tasks.size() < 2)) ?
+                ListIterate.collect(tasks, this::generateResult) :
+                ParallelTools.mapInParallel(this.executorService, tasks, this::generateResult).getResultsOrThrowSummarizing("Error generating artifacts");
+
+        MutableMap<ArtifactGenerationExtension, List<ArtifactGenerationResult>> results = Maps.mutable.empty();
+        taskResults.forEach(result -> results.getIfAbsentPut(result.getGenerator(), Lists.mutable::empty).add(result));
+        this.generationNanos.forEach((extension, nanos) -> LOGGER.info("Artifact extension '{}' generation time: {}s", extension.getClass().getName(), String.format("%.9f", nanos.sum() / 1_000_000_000.0)));
         return results;
     }
 
+    private ArtifactGenerationResult generateResult(GenerationTask task)
+    {
+        long start = System.nanoTime();
+        try (GenerationProfiler.Timer ignore = this.profiler.startElement("generate-artifacts", task.element.getPath() + " (" + task.extension.getKey() + ")"))
+        {
+            List<Artifact> artifacts = this.generateArtifacts(task.packageableElement, task.element, task.extension);
+            List<GenerationOutput> outputs = ListIterate.collect(artifacts, artifact -> new GenerationOutput(artifact.content, artifact.path, artifact.format));
+            return new ArtifactGenerationResult(task.packageableElement, outputs, task.extension);
+        }
+        finally
+        {
+            this.generationNanos.computeIfAbsent(task.extension, e -> new LongAdder()).add(System.nanoTime() - start);
+        }
+    }
+
     private org.finos.legend.pure.m3.coreinstance.meta.pure.metamodel.PackageableElement findPackageableElement(PureModel pureModel, PackageableElement packageableElement)
     {
         org.finos.legend.pure.m3.coreinstance.meta.pure.metamodel.PackageableElement element = pureModel.getPackageableElement_safe(packageableElement.getPath());
@@ -129,4 +208,18 @@ public class ArtifactGenerationFactory
         }
     }
 
+    private static class GenerationTask
+    {
+        private final org.finos.legend.pure.m3.coreinstance.meta.pure.metamodel.PackageableElement packageableElement;
+        private final PackageableElement element;
+        private final ArtifactGenerationExtension extension;
+
+        private GenerationTask(org.finos.legend.pure.m3.coreinstance.meta.pure.metamodel.PackageableElement packageableElement, PackageableElement element, ArtifactGenerationExtension extension)
+        {
+            this.packageableElement = packageableElement;
+            this.element = element;
+            this.extension = extension;
+        }
+    }
+
 }
@@ -14,7 +14,9 @@
 
 package org.finos.legend.sdlc.generation.file;
 
+import org.eclipse.collections.api.factory.Lists;
 import org.eclipse.collections.api.factory.Maps;
+import org.eclipse.collections.api.list.MutableList;
 import org.eclipse.collections.api.map.MapIterable;
 import org.eclipse.collections.api.map.MutableMap;
 import org.eclipse.collections.impl.utility.LazyIterate;
@@ -25,20 +27,31 @@ import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.Package
 import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.fileGeneration.FileGenerationSpecification;
 import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.generationSpecification.GenerationSpecification;
 import org.finos.legend.engine.shared.core.deployment.DeploymentMode;
+import org.finos.legend.sdlc.generation.GenerationProfiler;
+import org.finos.legend.sdlc.tools.ParallelTools;
 
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 public class FileGenerationFactory
 {
     private final GenerationSpecification generationSpecification;
     private final PureModel pureModel;
     private final MapIterable<String, FileGenerationSpecification> fileGenerationSpecifications;
+    private final ForkJoinPool executorService;
+    private GenerationProfiler profiler = GenerationProfiler.disabled();
 
     FileGenerationFactory(GenerationSpecification generationSpecification, PureModelContextData pureModelContextData, PureModel pureModel)
+    {
+        this(generationSpecification, pureModelContextData, pureModel, null);
+    }
+
+    FileGenerationFactory(GenerationSpecification generationSpecification, PureModelContextData pureModelContextData, PureModel pureModel, ForkJoinPool executorService)
     {
         this.pureModel = pureModel;
         this.generationSpecification = generationSpecification;
         this.fileGenerationSpecifications = LazyIterate.selectInstancesOf(pureModelContextData.getElements(), FileGenerationSpecification.class).groupByUniqueKey(PackageableElement::getPath);
+        this.executorService = executorService;
     }
 
     public static FileGenerationFactory newFactory(GenerationSpecification generationSpecification, PureModelContextData pureModelContextData, PureModel pureModel)
@@ -46,12 +59,39 @@ public class FileGenerationFactory
         return new FileGenerationFactory(generationSpecification, pureModelContextData, pureModel);
     }
 
+    /**
+     * Create a factory which runs the file generations of the generation specification in parallel using the given
+     * pool. If the pool is null, file generations are run serially.
+     *
+     * @param generationSpecification generation specification
+     * @param pureModelContextData    Pure model context data
+     * @param pureModel               Pure model
+     * @param executorService         pool for parallel generation (may be null)
+     * @return file generation factory
+     */
+    public static FileGenerationFactory newFactory(GenerationSpecification generationSpecification, PureModelContextData pureModelContextData, PureModel pureModel, ForkJoinPool executorService)
+    {
+        return new FileGenerationFactory(generationSpecification, pureModelContextData, pureModel, executorService);
+    }
+
     public static FileGenerationFactory newFactory(GenerationSpecification generationSpecification, PureModelContextData pureModelContextData)
     {
         PureModel pureModel =  new PureModel(pureModelContextData, null, null, DeploymentMode.PROD);
         return new FileGenerationFactory(generationSpecification, pureModelContextData, pureModel);
     }
 
+    /**
+     * Profile each file generation with the given profiler.
+     *
+     * @param profiler generation profiler (may be null)
+     * @return this factory
+     */
+    public FileGenerationFactory withProfiler(GenerationProfiler profiler)
+    {
+        this.profiler = (profiler == null) ? GenerationProfiler.disabled() : profiler;
+        return this;
+    }
+
     public MutableMap<FileGenerationSpecification, List<GenerationOutput>> generateFiles()
     {
 
@@ -59,7 +99,7 @@ public class FileGenerationFactory
         {
             throw new RuntimeException("Invalid generation specifications, missing path '" + this.generationSpecification.name);
         }
-        MutableMap<FileGenerationSpecification, List<GenerationOutput>> result = Maps.mutable.empty();
+        MutableList<FileGenerationSpecification> toGenerate = Lists.mutable.empty();
         for (PackageableElementPointer fileGenerationPointer : this.generationSpecification.fileGenerations)
         {
             FileGenerationSpecification fileGenerationSpecification = this.fileGenerationSpecifications.get(fileGenerationPointer.path);
@@ -67,14 +107,44 @@ public class FileGenerationFactory
             {
                 throw new RuntimeException("File generation '" + fileGenerationPointer.path + "' not found in model");
             }
-            if (!result.contains(fileGenerationSpecification))
+            if (!toGenerate.contains(fileGenerationSpecification))
             {
-                FileGenerator fileGenerator = FileGenerator.newGenerator(this.pureModel, fileGenerationSpecification);
-                List<GenerationOutput> outputs = fileGenerator.generate();
-                result.put(fileGenerationSpecification, outputs);
+                toGenerate.add(fileGenerationSpecification);
+            }
+        }
+
+        MutableMap<FileGenerationSpecification, List<GenerationOutput>> result = Maps.mutable.empty();
+        if ((this.executorService == null) || (toGenerate.size() < 2))
+        {
+            toGenerate.forEach(fileGenerationSpecification -> result.put(fileGenerationSpecification, generate(fileGenerationSpecification)));
+        }
+        else
+        {
+            // failures are collected rather than thrown, so that all of them can be reported
+            List<List<GenerationOutput>> outputs = ParallelTools.mapInParallel(this.executorService, toGenerate, fileGenerationSpecification ->
+            {
+                try
+                {
+                    return generate(fileGenerationSpecification);
+                }
+                catch (Exception e)
+                {
+                    throw new RuntimeException("Error generating files for file generation '" + fileGenerationSpecification.getPath() + "': " + e.getMessage(), e);
+                }
+            }).getResultsOrThrowSummarizing("Error generating files");
+            for (int i = 0; i < toGenerate.size(); i++)
+            {
+                result.put(toGenerate.get(i), outputs.get(i));
             }
         }
         return result;
     }
 
+    private List<GenerationOutput> generate(FileGenerationSpecification fileGenerationSpecification)
+    {
+        try (GenerationProfiler.Timer ignore = this.profiler.startElement("generate-files", fileGenerationSpecification.getPath()))
+        {
+            return FileGenerator.newGenerator(this.pureModel, fileGenerationSpecification).generate();
+        }
+    }
 }
@@ -18,6 +18,7 @@ import com.fasterxml.jackson.databind.json.JsonMapper;
 import java.net.URL;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
 import org.eclipse.collections.api.map.MutableMap;
 import org.eclipse.collections.impl.utility.LazyIterate;
 import org.finos.legend.engine.language.pure.compiler.toPureGraph.PureModel;
@@ -81,4 +82,40 @@ public class TestArtifactGenerationFactory
         Assert.assertEquals("txt", functionOutput.getFormat());
         Assert.assertEquals("MyFunction.txt", functionOutput.getFileName());
     }
+
+    @Test
+    public void testParallelArtifactGeneration()
+    {
+        PureModelContextData data = getPureModelContextDataFromPath("ArtifactGenerationFactoryTestData.json");
+        PureModel pureModel = new PureModel(data, null, DeploymentMode.PROD);
+        MutableMap<ArtifactGenerationExtension, List<ArtifactGenerationResult>> serialResults = new ArtifactGenerationFactory(pureModel, data, data.getElements()).generate();
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try
+        {
+            ArtifactGenerationFactory factory = ArtifactGenerationFactory.newFactory(pureModel, data, data.getElements(), pool);
+            MutableMap<ArtifactGenerationExtension, List<ArtifactGenerationResult>> parallelResults = factory.generate();
+            Assert.assertEquals(serialResults.size(), parallelResults.size());
+            serialResults.forEachKeyValue((serialExtension, serialExtensionResults) ->
+            {
+                ArtifactGenerationExtension parallelExtension = parallelResults.keysView().detect(e -> e.getClass() == serialExtension.getClass());
+                Assert.assertNotNull(serialExtension.getClass().getName(), parallelExtension);
+                List<ArtifactGenerationResult> parallelExtensionResults = parallelResults.get(parallelExtension);
+                Assert.assertEquals(serialExtensionResults.size(), parallelExtensionResults.size());
+                for (int i = 0; i < serialExtensionResults.size(); i++)
+                {
+                    ArtifactGenerationResult serialResult = serialExtensionResults.get(i);
+                    ArtifactGenerationResult parallelResult = parallelExtensionResults.get(i);
+                    Assert.assertSame(serialResult.getElement(), parallelResult.getElement());
+                    Assert.assertEquals(LazyIterate.collect(serialResult.getResults(), GenerationOutput::getContent).toList(), LazyIterate.collect(parallelResult.getResults(), GenerationOutput::getContent).toList());
+                    Assert.assertEquals(LazyIterate.collect(serialResult.getResults(), GenerationOutput::getFileName).toList(), LazyIterate.collect(parallelResult.getResults(), GenerationOutput::getFileName).toList());
+                }
+            });
+            Assert.assertEquals(parallelResults.keySet(), factory.getGenerationNanos().keySet());
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+    }
 }
@@ -32,6 +32,7 @@ import org.junit.Test;
 import java.net.URL;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
 
 public class TestFileGenerationFactory
 {
@@ -111,6 +112,26 @@ public class TestFileGenerationFactory
                 "}", protobufOutputs.get("model.proto").getContent());
     }
 
+    @Test
+    public void testParallelFileGenerationFactory()
+    {
+        PureModelContextData pureModelContextData = getPureModelContextDataFromPath("FileGenerationFactoryTestData.json");
+        GenerationSpecification generationSpecification = pureModelContextData.getElementsOfType(GenerationSpecification.class).get(0);
+        PureModel pureModel = new PureModel(pureModelContextData, null, DeploymentMode.PROD);
+        MutableMap<FileGenerationSpecification, List<GenerationOutput>> serialResult = FileGenerationFactory.newFactory(generationSpecification, pureModelContextData, pureModel).generateFiles();
+
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try
+        {
+            MutableMap<FileGenerationSpecification, List<GenerationOutput>> parallelResult = FileGenerationFactory.newFactory(generationSpecification, pureModelContextData, pureModel, pool).generateFiles();
+            Assert.assertEquals(serialResult, parallelResult);
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+    }
+
     @Test
     public void testExtractFileContent() throws Exception
     {
@@ -30,6 +30,7 @@ import org.finos.legend.engine.protocol.pure.v1.model.context.PureModelContextDa
 import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.PackageableElement;
 import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.generationSpecification.GenerationSpecification;
 import org.finos.legend.sdlc.domain.model.entity.Entity;
+import org.finos.legend.sdlc.generation.GenerationProfiler;
 import org.finos.legend.sdlc.language.pure.compiler.toPureGraph.PureModelBuilder;
 import org.finos.legend.sdlc.protocol.pure.v1.PureToEntityConverter;
 import org.finos.legend.sdlc.serialization.EntityLoader;
@@ -62,8 +63,27 @@ public class ModelGenerationMojo extends AbstractMojo
     @Parameter(defaultValue = "${project.build.outputDirectory}")
     private File outputDirectory;
 
+    @Parameter(property = "org.finos.legend.sdlc.generation.profile", defaultValue = "false")
+    private boolean profile;
+
+    @Parameter(defaultValue = "${project.build.directory}/legend-sdlc/profile/generate-model-generations-${mojoExecution.executionId}.json")
+    private File profileReportFile;
+
     @Override
     public void execute() throws MojoExecutionException
+    {
+        GenerationProfiler profiler = this.profile ? GenerationProfiler.newProfiler("generate-model-generations") : GenerationProfiler.disabled();
+        try
+        {
+            execute(profiler);
+        }
+        finally
+        {
+            writeProfileReport(profiler);
+        }
+    }
+
+    private void execute(GenerationProfiler profiler) throws MojoExecutionException
     {
         long generateStart = System.nanoTime();
         if (this.inclusions != null)
@@ -83,25 +103,23 @@ public class ModelGenerationMojo extends AbstractMojo
         // Load Model
         long modelStart = System.nanoTime();
         getLog().info("Start loading model");
-        PureModelBuilder pureModelBuilder = PureModelBuilder.newBuilder();
-        try (EntityLoader allEntities = EntityLoader.newEntityLoader(Thread.currentThread().getContextClassLoader()))
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        PureModelBuilder.PureModelWithContextData pureModelWithContextData;
+        try
         {
-            pureModelBuilder.addEntitiesIfPossible(allEntities.getAllEntities());
-            int entityCount = pureModelBuilder.getElementCount();
-            getLog().info("Found " + entityCount + " entities");
-            if (entityCount == 0)
-            {
-                long modelEnd = System.nanoTime();
-                getLog().info(String.format("Finished loading model (%.9fs)", (modelEnd - modelStart) / 1_000_000_000.0));
-                getLog().info("No elements found to generate");
-                return;
-            }
+            pureModelWithContextData = loadModel(classLoader, profiler);
         }
         catch (Exception e)
         {
-            throw new MojoExecutionException("Error loading entities from model", e);
+            throw new MojoExecutionException("Error loading model", e);
+        }
+        if (pureModelWithContextData == null)
+        {
+            long modelEnd = System.nanoTime();
+            getLog().info(String.format("Finished loading model (%.9fs)", (modelEnd - modelStart) / 1_000_000_000.0));
+            getLog().info("No elements found to generate");
+            return;
         }
-        PureModelBuilder.PureModelWithContextData pureModelWithContextData = pureModelBuilder.build();
         PureModelContextData pureModelContextData = pureModelWithContextData.getPureModelContextData();
         PureModel pureModel = pureModelWithContextData.getPureModel();
         long modelEnd = System.nanoTime();
@@ -124,8 +142,15 @@ public class ModelGenerationMojo extends AbstractMojo
             // Start generating
             GenerationSpecification generationSpecification = generationSpecificationMap.values().iterator().next();
             ModelGenerationFactory modelGenerationFactory = ModelGenerationFactory.newFactory(generationSpecification, pureModelContextData, pureModel);
-            PureModelContextData fullGeneratedModel = modelGenerationFactory.generate();
-            serializePureModelContextData(fullGeneratedModel);
+            PureModelContextData fullGeneratedModel;
+            try (GenerationProfiler.Timer ignore = profiler.startPhase("generate"))
+            {
+                fullGeneratedModel = modelGenerationFactory.generate();
+            }
+            try (GenerationProfiler.Timer ignore = profiler.startPhase("serialize"))
+            {
+                serializePureModelContextData(fullGeneratedModel);
+            }
             getLog().info(String.format("Done (%.9fs)", (System.nanoTime() - generateStart) / 1_000_000_000.0));
         }
         catch (Exception e)
@@ -134,6 +159,47 @@ public class ModelGenerationMojo extends AbstractMojo
         }
     }
 
+    private PureModelBuilder.PureModelWithContextData loadModel(ClassLoader classLoader, GenerationProfiler profiler)
+    {
+        PureModelBuilder pureModelBuilder = PureModelBuilder.newBuilder();
+        try (GenerationProfiler.Timer ignore = profiler.startPhase("load");
+             EntityLoader allEntities = EntityLoader.newEntityLoader(classLoader))
+        {
+            pureModelBuilder.addEntitiesIfPossible(allEntities.getAllEntities());
+        }
+        catch (Exception e)
+        {
+            throw (e instanceof RuntimeException) ? (RuntimeException) e : new RuntimeException(e);
+        }
+        int entityCount = pureModelBuilder.getElementCount();
+        getLog().info("Found " + entityCount + " entities");
+        if (entityCount == 0)
+        {
+            return null;
+        }
+        try (GenerationProfiler.Timer ignore = profiler.startPhase("compile"))
+        {
+            return pureModelBuilder.build();
+        }
+    }
+
+    private void writeProfileReport(GenerationProfiler profiler)
+    {
+        if (profiler.isEnabled())
+        {
+            try
+            {
+                profiler.writeReport(this.profileReportFile.toPath());
+                getLog().info("Wrote profiling report to " + this.profileReportFile);
+            }
+            catch (Exception e)
+            {
+                // profiling must not fail the build
+                getLog().warn("Error writing profiling report to " + this.profileReportFile, e);
+            }
+        }
+    }
+
     private void serializePureModelContextData(PureModelContextData pureModelContextData) throws Exception
     {
         PureToEntityConverter converter = new PureToEntityConverter();
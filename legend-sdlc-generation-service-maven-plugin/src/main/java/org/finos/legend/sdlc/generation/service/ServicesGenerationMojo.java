@@ -39,9 +39,11 @@ import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.service
 import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.service.Service;
 import org.finos.legend.engine.pure.code.core.PureCoreExtension;
 import org.finos.legend.sdlc.domain.model.entity.Entity;
+import org.finos.legend.sdlc.generation.GenerationProfiler;
 import org.finos.legend.sdlc.language.pure.compiler.toPureGraph.PureModelBuilder;
 import org.finos.legend.sdlc.protocol.pure.v1.EntityToPureConverter;
 import org.finos.legend.sdlc.serialization.EntityLoader;
+import org.finos.legend.sdlc.tools.ParallelTools;
 import org.finos.legend.sdlc.tools.entity.EntityPaths;
 
 import java.io.File;
@@ -50,9 +52,6 @@ import java.util.Comparator;
 import java.util.ServiceLoader;
 import java.util.Set;
 import java.util.concurrent.ForkJoinPool;
-import java.util.concurrent.ForkJoinWorkerThread;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import javax.lang.model.SourceVersion;
 
@@ -83,8 +82,42 @@ public class ServicesGenerationMojo extends AbstractMojo
     @Parameter(defaultValue = "${org.finos.legend.sdlc.generation.service.parallel}")
     private String parallel;
 
+    @Parameter(property = "org.finos.legend.sdlc.generation.service.incremental", defaultValue = "false")
+    private boolean incremental;
+
+    @Parameter(defaultValue = "${project.build.directory}/legend-sdlc/service-generation/${mojoExecution.executionId}.json")
+    private File incrementalManifestFile;
+
+    @Parameter(property = "org.finos.legend.sdlc.generation.service.compactPlans", defaultValue = "false")
+    private boolean compactPlans;
+
+    @Parameter(property = "org.finos.legend.sdlc.generation.service.deduplicatePlans", defaultValue = "false")
+    private boolean deduplicatePlans;
+
+    @Parameter(defaultValue = "${project.build.directory}/legend-sdlc/service-generation/${mojoExecution.executionId}-timings.json")
+    private File timingsFile;
+
+    @Parameter(property = "org.finos.legend.sdlc.generation.profile", defaultValue = "false")
+    private boolean profile;
+
+    @Parameter(defaultValue = "${project.build.directory}/legend-sdlc/profile/generate-service-executions-${mojoExecution.executionId}.json")
+    private File profileReportFile;
+
     @Override
     public void execute() throws MojoExecutionException
+    {
+        GenerationProfiler profiler = this.profile ? GenerationProfiler.newProfiler("generate-service-executions") : GenerationProfiler.disabled();
+        try
+        {
+            execute(profiler);
+        }
+        finally
+        {
+            writeProfileReport(profiler);
+        }
+    }
+
+    private void execute(GenerationProfiler profiler) throws MojoExecutionException
     {
         if (this.inclusions != null)
         {
@@ -113,34 +146,23 @@ public class ServicesGenerationMojo extends AbstractMojo
         getLog().info("Loading model");
         long modelStart = System.nanoTime();
 
-        PureModelBuilder pureModelBuilder = PureModelBuilder.newBuilder();
-        try (EntityLoader allEntities = EntityLoader.newEntityLoader(Thread.currentThread().getContextClassLoader()))
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        PureModelBuilder.PureModelWithContextData pureModelWithContextData;
+        try
         {
-            pureModelBuilder.addEntitiesIfPossible(allEntities.getAllEntities());
+            pureModelWithContextData = loadModel(classLoader, parallelism, profiler);
         }
         catch (Exception e)
         {
-            throw new MojoExecutionException("Error loading entities from model", e);
+            throw new MojoExecutionException("Error loading model", e);
         }
-        int elementCount = pureModelBuilder.getElementCount();
-        getLog().info("Found " + elementCount + " elements in the model");
-        if (elementCount == 0)
+        if (pureModelWithContextData == null)
         {
             long modelEnd = System.nanoTime();
             getLog().info(String.format("Finished loading model (%.9fs)", (modelEnd - modelStart) / 1_000_000_000.0));
             getLog().info("No execution artifacts to generate");
             return;
         }
-
-        PureModelBuilder.PureModelWithContextData pureModelWithContextData;
-        try
-        {
-            pureModelWithContextData = pureModelBuilder.build();
-        }
-        catch (Exception e)
-        {
-            throw new MojoExecutionException("Error building Pure model", e);
-        }
         PureModelContextData pureModelContextData = pureModelWithContextData.getPureModelContextData();
         PureModel pureModel = pureModelWithContextData.getPureModel();
         long modelEnd = System.nanoTime();
@@ -163,7 +185,10 @@ public class ServicesGenerationMojo extends AbstractMojo
         filterServicesByIncludes(servicesByPath);
         filterServicesByExcludes(servicesByPath);
 
-        generateServices(servicesByPath, pureModel, parallelism);
+        try (GenerationProfiler.Timer ignore = profiler.startPhase("generate"))
+        {
+            generateServices(servicesByPath, pureModelContextData, pureModel, parallelism, profiler);
+        }
 
         if (this.addJavaSourceOutputDirectoryAsSource)
         {
@@ -214,7 +239,31 @@ public class ServicesGenerationMojo extends AbstractMojo
         }
     }
 
-    private void generateServices(MutableMap<String, Service> servicesByPath, PureModel pureModel, int parallelism)
+    private PureModelBuilder.PureModelWithContextData loadModel(ClassLoader classLoader, int parallelism, GenerationProfiler profiler)
+    {
+        PureModelBuilder pureModelBuilder = PureModelBuilder.newBuilder().withParallelism(parallelism);
+        try (GenerationProfiler.Timer ignore = profiler.startPhase("load");
+             EntityLoader allEntities = EntityLoader.newEntityLoader(classLoader))
+        {
+            pureModelBuilder.addEntitiesIfPossible(allEntities.getAllEntities());
+        }
+        catch (Exception e)
+        {
+            throw (e instanceof RuntimeException) ? (RuntimeException) e : new RuntimeException("Error loading entities from model", e);
+        }
+        int elementCount = pureModelBuilder.getElementCount();
+        getLog().info("Found " + elementCount + " elements in the model");
+        if (elementCount == 0)
+        {
+            return null;
+        }
+        try (GenerationProfiler.Timer ignore = profiler.startPhase("compile"))
+        {
+            return pureModelBuilder.build();
+        }
+    }
+
+    private void generateServices(MutableMap<String, Service> servicesByPath, PureModelContextData pureModelContextData, PureModel pureModel, int parallelism, GenerationProfiler profiler)
     {
         if (servicesByPath.isEmpty())
         {
@@ -242,7 +291,7 @@ public class ServicesGenerationMojo extends AbstractMojo
         if ((parallelism > 1) && ((servicesByPath.size() > 1) || servicesByPath.anySatisfy(s -> s.execution instanceof PureMultiExecution)))
         {
             getLog().info("Generating services in parallel with parallelism level " + parallelism);
-            pool = createForkJoinPool(parallelism);
+            pool = ParallelTools.createForkJoinPool(parallelism);
         }
         else
         {
@@ -259,6 +308,11 @@ public class ServicesGenerationMojo extends AbstractMojo
                     .withPlanGeneratorExtensions(ServiceLoader.load(PlanGeneratorExtension.class))
                     .withPureCoreExtensions(ServiceLoader.load(PureCoreExtension.class))
                     .withExecutorService(pool)
+                    .withProfiler(profiler)
+                    .withCompactPlans(this.compactPlans)
+                    .withDeduplicatedPlans(this.deduplicatePlans)
+                    .withTimingsFile((this.timingsFile == null) ? null : this.timingsFile.toPath())
+                    .withIncrementalGeneration(this.incremental ? this.incrementalManifestFile.toPath() : null, pureModelContextData.getElements())
                     .build()
                     .generate();
         }
@@ -271,9 +325,26 @@ public class ServicesGenerationMojo extends AbstractMojo
         }
     }
 
+    private void writeProfileReport(GenerationProfiler profiler)
+    {
+        if (profiler.isEnabled())
+        {
+            try
+            {
+                profiler.writeReport(this.profileReportFile.toPath());
+                getLog().info("Wrote profiling report to " + this.profileReportFile);
+            }
+            catch (Exception e)
+            {
+                // profiling must not fail the build
+                getLog().warn("Error writing profiling report to " + this.profileReportFile, e);
+            }
+        }
+    }
+
     private int getParallelism()
     {
-        int parallelism = parseParallel(this.parallel);
+        int parallelism = ParallelTools.parseParallel(this.parallel);
         if (parallelism < 1)
         {
             getLog().warn("Specified parallelism is less than 1 (" + parallelism + "), effective parallelism will be 1");
@@ -282,19 +353,6 @@ public class ServicesGenerationMojo extends AbstractMojo
         return parallelism;
     }
 
-    private ForkJoinPool createForkJoinPool(int parallelism)
-    {
-        // We have to create a custom fork join thread worker factory to ensure the worker threads use this thread's
-        // context class loader. This is why we cannot use the common pool.
-        return new ForkJoinPool(
-                parallelism,
-                pool -> new ForkJoinWorkerThread(pool)
-                {
-                },
-                null,
-                false);
-    }
-
     private static ResolvedServicesSpecification resolveServicesSpecification(ServicesSpecification servicesSpec) throws Exception
     {
         Set<String> servicePaths = null;
@@ -381,68 +439,4 @@ public class ServicesGenerationMojo extends AbstractMojo
             return !matches(servicePath);
         }
     }
-
-    // package private for testing
-    static int parseParallel(String parallel)
-    {
-        if ((parallel == null) || parallel.isEmpty())
-        {
-            return 1;
-        }
-
-        Pattern pattern = Pattern.compile("\\s*((?<true>true)|(?<false>false)|(?<integer>[+-]?\\d+)|(?<cpu>((?<cpux>\\d+(\\.\\d+)?)\\s*)?C(\\s*(?<cpupm>[+-])\\s*(?<cpua>\\d+))?))?\\s*", Pattern.CASE_INSENSITIVE);
-        Matcher matcher = pattern.matcher(parallel);
-        if (!matcher.matches())
-        {
-            throw new RuntimeException("Could not parse parallel value: \"" + parallel + "\"");
-        }
-        if (matcher.group("true") != null)
-        {
-            // by default, we use the number of available processors minus 1
-            return Math.max(Runtime.getRuntime().availableProcessors() - 1, 1);
-        }
-        if (matcher.group("false") != null)
-        {
-            return 1;
-        }
-        String integer = matcher.group("integer");
-        if (integer != null)
-        {
-            try
-            {
-                return Integer.parseInt(integer);
-            }
-            catch (Exception e)
-            {
-                throw new RuntimeException("Could not parse parallel value: \"" + parallel + "\"", e);
-            }
-        }
-        if (matcher.group("cpu") != null)
-        {
-            int parallelism = Runtime.getRuntime().availableProcessors();
-            try
-            {
-                String multiplier = matcher.group("cpux");
-                if (multiplier != null)
-                {
-                    parallelism = Math.round(Float.parseFloat(multiplier) * parallelism);
-                }
-
-                String addendum = matcher.group("cpua");
-                if (addendum != null)
-                {
-                    int toAdd = Integer.parseInt(addendum);
-                    parallelism += "-".equals(matcher.group("cpupm")) ? -toAdd : toAdd;
-                }
-            }
-            catch (Exception e)
-            {
-                throw new RuntimeException("Could not parse parallel value: \"" + parallel + "\"", e);
-            }
-            return parallelism;
-        }
-
-        // only whitespace
-        return 1;
-    }
 }
@@ -146,68 +146,6 @@ public class TestServicesGenerationMojo
         Assert.assertEquals(Collections.emptyList(), expectedServiceClassJavaPaths.reject(actualGeneratedSourceFiles::contains));
     }
 
-    @Test
-    public void testParseParallel()
-    {
-        int procCount = Runtime.getRuntime().availableProcessors();
-
-        // Null, empty, whitespace
-        Assert.assertEquals(1, ServicesGenerationMojo.parseParallel(null));
-        Assert.assertEquals(1, ServicesGenerationMojo.parseParallel(""));
-        Assert.assertEquals(1, ServicesGenerationMojo.parseParallel("   \r\t\n  \r\n \n\r "));
-
-        // Integers
-        for (int i = 0; i < 256; i++)
-        {
-            String s = Integer.toString(i);
-            Assert.assertEquals(s, i, ServicesGenerationMojo.parseParallel(s));
-            Assert.assertEquals(s, i, ServicesGenerationMojo.parseParallel("+" + s));
-            Assert.assertEquals(s, -i, ServicesGenerationMojo.parseParallel("-" + s));
-            Assert.assertEquals(s, i, ServicesGenerationMojo.parseParallel("00000000" + s));
-            Assert.assertEquals(s, i, ServicesGenerationMojo.parseParallel("    " + s + "    "));
-        }
-
-        // False
-        Assert.assertEquals(1, ServicesGenerationMojo.parseParallel("false"));
-        Assert.assertEquals(1, ServicesGenerationMojo.parseParallel("FALSE"));
-        Assert.assertEquals(1, ServicesGenerationMojo.parseParallel("False"));
-        Assert.assertEquals(1, ServicesGenerationMojo.parseParallel("FaLsE"));
-        Assert.assertEquals(1, ServicesGenerationMojo.parseParallel(" false "));
-        Assert.assertEquals(1, ServicesGenerationMojo.parseParallel("   false "));
-
-        // True
-        int defaultParallelism = procCount - 1;
-        Assert.assertEquals(defaultParallelism, ServicesGenerationMojo.parseParallel("true"));
-        Assert.assertEquals(defaultParallelism, ServicesGenerationMojo.parseParallel("TRUE"));
-        Assert.assertEquals(defaultParallelism, ServicesGenerationMojo.parseParallel("True"));
-        Assert.assertEquals(defaultParallelism, ServicesGenerationMojo.parseParallel("TrUe"));
-        Assert.assertEquals(defaultParallelism, ServicesGenerationMojo.parseParallel(" true "));
-        Assert.assertEquals(defaultParallelism, ServicesGenerationMojo.parseParallel("   true "));
-
-        // Processor based
-        Assert.assertEquals(procCount, ServicesGenerationMojo.parseParallel("C"));
-        Assert.assertEquals(procCount, ServicesGenerationMojo.parseParallel("c"));
-        Assert.assertEquals(procCount, ServicesGenerationMojo.parseParallel(" C  "));
-        Assert.assertEquals(procCount, ServicesGenerationMojo.parseParallel("1.0C"));
-        Assert.assertEquals(procCount, ServicesGenerationMojo.parseParallel("1C"));
-        Assert.assertEquals(2 * procCount, ServicesGenerationMojo.parseParallel("2.0C"));
-        Assert.assertEquals(2 * procCount, ServicesGenerationMojo.parseParallel("2\tC"));
-        Assert.assertEquals(Math.round(2.5 * procCount), ServicesGenerationMojo.parseParallel("2.5C"));
-        Assert.assertEquals(Math.round(12.3 * procCount), ServicesGenerationMojo.parseParallel("12.3  C"));
-        Assert.assertEquals(procCount - 1, ServicesGenerationMojo.parseParallel("C-1"));
-        Assert.assertEquals(procCount - 1, ServicesGenerationMojo.parseParallel("C - 1"));
-        Assert.assertEquals(procCount + 1, ServicesGenerationMojo.parseParallel("C + 1"));
-        Assert.assertEquals(procCount + 2, ServicesGenerationMojo.parseParallel("C + 2"));
-        Assert.assertEquals(Math.round(2.5 * procCount) + 2, ServicesGenerationMojo.parseParallel("2.5C + 2"));
-        Assert.assertEquals(Math.round(3.5 * procCount) - 1, ServicesGenerationMojo.parseParallel("3.5c-1"));
-
-        for (String invalid : new String[]{"blah", "trueee", "null", "123.123", "2.5*C", "C / 5"})
-        {
-            RuntimeException e = Assert.assertThrows(RuntimeException.class, () -> ServicesGenerationMojo.parseParallel(invalid));
-            Assert.assertEquals(invalid, "Could not parse parallel value: \"" + invalid + "\"", e.getMessage());
-        }
-    }
-
     private boolean isServiceEntity(Entity entity)
     {
         return SERVICE_CLASSIFIER.equals(entity.getClassifierPath());
@@ -37,6 +37,11 @@ class EnumerationClassGenerator extends AbstractServiceExecutionClassGenerator
         return this;
     }
 
+    String getQualifiedClassName()
+    {
+        return getPackageName() + "." + getClassName();
+    }
+
     static EnumerationClassGenerator newGenerator(String packagePrefix)
     {
         return new EnumerationClassGenerator(packagePrefix);
@@ -18,14 +18,18 @@ import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.StreamReadFeature;
 import com.fasterxml.jackson.core.StreamWriteFeature;
 import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 import org.eclipse.collections.api.RichIterable;
 import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.factory.Maps;
 import org.eclipse.collections.api.factory.Sets;
 import org.eclipse.collections.api.list.ListIterable;
 import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.map.MutableMap;
 import org.eclipse.collections.api.set.MutableSet;
+import org.eclipse.collections.api.set.SetIterable;
 import org.finos.legend.engine.language.pure.compiler.toPureGraph.PureModel;
 import org.finos.legend.engine.language.pure.dsl.service.execution.ServiceRunner;
 import org.finos.legend.engine.language.pure.dsl.service.generation.ServicePlanGenerator;
@@ -36,6 +40,7 @@ import org.finos.legend.engine.plan.platform.java.JavaSourceHelper;
 import org.finos.legend.engine.protocol.pure.PureClientVersions;
 import org.finos.legend.engine.protocol.pure.v1.PureProtocolObjectMapperFactory;
 import org.finos.legend.engine.protocol.pure.v1.model.executionPlan.ExecutionPlan;
+import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.PackageableElement;
 import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.service.PureExecution;
 import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.service.Service;
 import org.finos.legend.engine.pure.code.core.PureCoreExtension;
@@ -46,6 +51,8 @@ import org.finos.legend.pure.m3.coreinstance.meta.pure.metamodel.type.Enumeratio
 import org.finos.legend.pure.m3.execution.ExecutionSupport;
 import org.finos.legend.pure.m3.navigation.PrimitiveUtilities;
 import org.finos.legend.sdlc.generation.GeneratedJavaCode;
+import org.finos.legend.sdlc.generation.GenerationProfiler;
+import org.finos.legend.sdlc.tools.ManifestTools;
 import org.finos.legend.sdlc.tools.entity.EntityPaths;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -58,11 +65,21 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import javax.lang.model.SourceVersion;
 import javax.tools.JavaFileObject;
 
@@ -76,12 +93,25 @@ public class ServiceExecutionGenerator
     private final Path javaSourceOutputDirectory;
     private final Path resourceOutputDirectory;
     private final JsonMapper objectMapper;
+    private final ObjectWriter planWriter;
+    private final boolean compactPlans;
+    private final boolean deduplicatePlans;
     private final String clientVersion;
     private final RichIterable<? extends Root_meta_pure_extension_Extension> extensions;
+    private final ListIterable<? extends Class<?>> extensionClasses;
     private final Iterable<? extends PlanTransformer> transformers;
     private final ForkJoinPool executorService;
-
-    private ServiceExecutionGenerator(ListIterable<Service> services, PureModel pureModel, String packagePrefix, Path javaSourceOutputDirectory, Path resourceOutputDirectory, JsonMapper jsonMapper, String clientVersion, RichIterable<? extends Root_meta_pure_extension_Extension> extensions, Iterable<? extends PlanTransformer> transformers, ForkJoinPool executorService)
+    private final Path manifestFile;
+    private final ListIterable<? extends PackageableElement> modelElements;
+    private final GenerationProfiler profiler;
+    private final Path timingsFile;
+    private final ServiceGenerationTimings timings = ServiceGenerationTimings.newTimings();
+    private final Map<String, String> executionClassNamesByService = new ConcurrentHashMap<>();
+    private final Map<String, String> planResourceNamesByService = new ConcurrentHashMap<>();
+    private final Map<String, MutableList<String>> javaClassNamesByService = new ConcurrentHashMap<>();
+    private final Set<String> sharedPlanResourceNames = ConcurrentHashMap.newKeySet();
+
+    private ServiceExecutionGenerator(ListIterable<Service> services, PureModel pureModel, String packagePrefix, Path javaSourceOutputDirectory, Path resourceOutputDirectory, JsonMapper jsonMapper, String clientVersion, RichIterable<? extends Root_meta_pure_extension_Extension> extensions, ListIterable<? extends Class<?>> extensionClasses, Iterable<? extends PlanTransformer> transformers, ForkJoinPool executorService, Path manifestFile, ListIterable<? extends PackageableElement> modelElements, GenerationProfiler profiler, boolean compactPlans, boolean deduplicatePlans, Path timingsFile)
     {
         this.services = services;
         this.pureModel = pureModel;
@@ -89,24 +119,49 @@ public class ServiceExecutionGenerator
         this.javaSourceOutputDirectory = javaSourceOutputDirectory;
         this.resourceOutputDirectory = resourceOutputDirectory;
         this.objectMapper = (jsonMapper == null) ? getDefaultJsonMapper() : jsonMapper;
+        this.compactPlans = compactPlans;
+        this.deduplicatePlans = deduplicatePlans;
+        this.planWriter = compactPlans ? this.objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT) : this.objectMapper.writer();
         this.clientVersion = clientVersion;
         this.executorService = executorService;
         this.extensions = extensions;
+        this.extensionClasses = extensionClasses;
         this.transformers = transformers;
+        this.manifestFile = manifestFile;
+        this.modelElements = modelElements;
+        this.profiler = (profiler == null) ? GenerationProfiler.disabled() : profiler;
+        this.timingsFile = timingsFile;
     }
 
     @Deprecated
     public ServiceExecutionGenerator(Service service, PureModel pureModel, String packagePrefix, Path javaSourceOutputDirectory, Path resourceOutputDirectory, JsonMapper jsonMapper)
     {
-        this(Lists.immutable.with(validateService(service)), pureModel, canonicalizePackagePrefix(packagePrefix), javaSourceOutputDirectory, resourceOutputDirectory, jsonMapper, resolveClientVersion(null), Lists.immutable.empty(), Lists.immutable.empty(), null);
+        this(Lists.immutable.with(validateService(service)), pureModel, canonicalizePackagePrefix(packagePrefix), javaSourceOutputDirectory, resourceOutputDirectory, jsonMapper, resolveClientVersion(null), Lists.immutable.empty(), Lists.immutable.empty(), Lists.immutable.empty(), null, null, null, null, false, false, null);
     }
 
     public void generate()
     {
-        LOGGER.info("Starting generation of {} services", this.services.size());
+        if (this.manifestFile == null)
+        {
+            generate(this.services, Lists.immutable.empty());
+        }
+        else
+        {
+            generateIncrementally();
+        }
+        if (this.timingsFile != null)
+        {
+            writeTimings();
+        }
+    }
+
+    private void generate(ListIterable<Service> servicesToGenerate, Iterable<String> otherExecutionClassNames)
+    {
+        LOGGER.info("Starting generation of {} services", servicesToGenerate.size());
         ExecClassNamesAndEnumerations execClassNamesAndEnums = (this.executorService == null) ?
-                this.services.injectInto(null, (accumulator, service) -> ExecClassNamesAndEnumerations.merge(accumulator, generate(service))) :
-                this.executorService.invoke(new ServiceGenerationTask());
+                servicesToGenerate.injectInto(null, (accumulator, service) -> ExecClassNamesAndEnumerations.merge(accumulator, generate(service))) :
+                this.executorService.invoke(new ServiceGenerationTask(orderByEstimatedCost(servicesToGenerate)));
+        MutableList<String> executionClassNames = Lists.mutable.withAll(otherExecutionClassNames);
         if (execClassNamesAndEnums != null)
         {
             if (execClassNamesAndEnums.enumerations.notEmpty())
@@ -115,35 +170,313 @@ public class ServiceExecutionGenerator
                 execClassNamesAndEnums.enumerations.forEach(e -> writeJavaClass(EnumerationClassGenerator.newGenerator(this.packagePrefix).withEnumeration(e).generate()));
                 LOGGER.debug("Finished writing enumerations");
             }
-            if (execClassNamesAndEnums.executionClassNames.notEmpty())
+            executionClassNames.addAll(execClassNamesAndEnums.executionClassNames);
+        }
+        if (this.deduplicatePlans)
+        {
+            LOGGER.info("Wrote {} distinct execution plans for {} services", this.sharedPlanResourceNames.size(), servicesToGenerate.size());
+        }
+        if (executionClassNames.notEmpty())
+        {
+            writeServiceProviderConfigFile(executionClassNames.sortThis());
+        }
+        LOGGER.info("Finished generation of {} services", servicesToGenerate.size());
+    }
+
+    private void generateIncrementally()
+    {
+        long start = System.nanoTime();
+        String generatorFingerprint = computeGeneratorFingerprint();
+        Map<String, String> fingerprints = ServiceGenerationManifest.computeServiceFingerprints(this.services, this.modelElements, this.objectMapper);
+        ServiceGenerationManifest previousManifest = ServiceGenerationManifest.readIfPossible(this.manifestFile);
+        ServiceGenerationManifest previous = previousManifest;
+        if ((previous != null) && !generatorFingerprint.equals(previous.getGeneratorFingerprint()))
+        {
+            LOGGER.info("Service generation configuration has changed since {} was written: all services will be generated", this.manifestFile);
+            previous = null;
+        }
+        if (LOGGER.isDebugEnabled())
+        {
+            LOGGER.debug("Computed fingerprints for {} services ({}s)", this.services.size(), String.format("%.9f", (System.nanoTime() - start) / 1_000_000_000.0));
+        }
+
+        MutableList<Service> servicesToGenerate = Lists.mutable.empty();
+        Map<String, ServiceGenerationManifest.ServiceEntry> entries = new TreeMap<>();
+        for (Service service : this.services)
+        {
+            String servicePath = service.getPath();
+            String fingerprint = fingerprints.get(servicePath);
+            ServiceGenerationManifest.ServiceEntry previousEntry = (previous == null) ? null : previous.getService(servicePath);
+            if ((previousEntry != null) && fingerprint.equals(previousEntry.getFingerprint()) && outputsExist(previousEntry))
+            {
+                LOGGER.debug("Skipping {}: unchanged since last generation", servicePath);
+                entries.put(servicePath, previousEntry);
+            }
+            else
+            {
+                servicesToGenerate.add(service);
+            }
+        }
+        LOGGER.info("{} of {} services unchanged since last generation", this.services.size() - servicesToGenerate.size(), this.services.size());
+
+        generate(servicesToGenerate, Lists.mutable.withAll(entries.values()).collect(ServiceGenerationManifest.ServiceEntry::getExecutionClassName));
+
+        servicesToGenerate.forEach(service ->
+        {
+            String servicePath = service.getPath();
+            entries.put(servicePath, ServiceGenerationManifest.ServiceEntry.newServiceEntry(fingerprints.get(servicePath), this.executionClassNamesByService.get(servicePath), this.planResourceNamesByService.get(servicePath), this.javaClassNamesByService.get(servicePath)));
+        });
+        if (previousManifest != null)
+        {
+            deleteStaleOutputs(previousManifest, entries.values());
+        }
+        try
+        {
+            ServiceGenerationManifest.newManifest(generatorFingerprint, entries).write(this.manifestFile);
+        }
+        catch (IOException e)
+        {
+            LOGGER.error("Error writing service generation manifest {}", this.manifestFile, e);
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void deleteStaleOutputs(ServiceGenerationManifest previousManifest, Iterable<ServiceGenerationManifest.ServiceEntry> currentEntries)
+    {
+        // Outputs recorded in the previous manifest which are no longer generated for any service, e.g., because the
+        // service has been removed or renamed, or the configuration has changed
+        MutableSet<String> currentJavaClassNames = Sets.mutable.empty();
+        MutableSet<String> currentPlanResourceNames = Sets.mutable.empty();
+        currentEntries.forEach(entry ->
+        {
+            currentJavaClassNames.add(entry.getExecutionClassName());
+            currentJavaClassNames.addAll(entry.getJavaClassNames());
+            currentPlanResourceNames.add(entry.getExecutionPlanResourceName());
+        });
+        MutableSet<String> staleExecutionClassNames = Sets.mutable.empty();
+        MutableSet<String> staleJavaClassNames = Sets.mutable.empty();
+        MutableSet<String> stalePlanResourceNames = Sets.mutable.empty();
+        previousManifest.getServices().values().forEach(entry ->
+        {
+            if ((entry.getExecutionClassName() != null) && !currentJavaClassNames.contains(entry.getExecutionClassName()))
+            {
+                staleExecutionClassNames.add(entry.getExecutionClassName());
+            }
+            entry.getJavaClassNames().forEach(n ->
             {
-                writeServiceProviderConfigFile(execClassNamesAndEnums.executionClassNames.sortThis());
+                if (!currentJavaClassNames.contains(n))
+                {
+                    staleJavaClassNames.add(n);
+                }
+            });
+            if ((entry.getExecutionPlanResourceName() != null) && !currentPlanResourceNames.contains(entry.getExecutionPlanResourceName()))
+            {
+                stalePlanResourceNames.add(entry.getExecutionPlanResourceName());
             }
+        });
+        if (staleExecutionClassNames.isEmpty() && staleJavaClassNames.isEmpty() && stalePlanResourceNames.isEmpty())
+        {
+            return;
+        }
+
+        LOGGER.info("Deleting {} outputs which are no longer generated", staleExecutionClassNames.size() + staleJavaClassNames.size() + stalePlanResourceNames.size());
+        try
+        {
+            for (String className : Lists.mutable.withAll(staleExecutionClassNames).withAll(staleJavaClassNames).sortThis())
+            {
+                deleteStaleOutput(this.javaSourceOutputDirectory.resolve(getJavaSourceFileRelativePath(className)));
+            }
+            for (String resourceName : stalePlanResourceNames.toSortedList())
+            {
+                deleteStaleOutput(getResourcePath(resourceName));
+            }
+            removeFromServiceProviderConfigFile(staleExecutionClassNames);
+        }
+        catch (IOException e)
+        {
+            LOGGER.error("Error deleting stale service generation outputs", e);
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void deleteStaleOutput(Path filePath) throws IOException
+    {
+        if (Files.deleteIfExists(filePath))
+        {
+            LOGGER.debug("Deleted {}", filePath);
+        }
+    }
+
+    private ListIterable<Service> orderByEstimatedCost(ListIterable<Service> services)
+    {
+        // Estimate the cost of each service from the time its generation took previously, if known, and otherwise
+        // from the size of the service (which grows with the number of executions), scaled to the previous times
+        ServiceGenerationTimings previousTimings = ServiceGenerationTimings.readIfPossible(this.timingsFile);
+        ObjectWriter sizeWriter = this.objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+        MutableMap<String, Long> sizes = Maps.mutable.empty();
+        long knownNanos = 0;
+        long knownSize = 0;
+        for (Service service : services)
+        {
+            long size = estimateSize(sizeWriter, service);
+            sizes.put(service.getPath(), size);
+            Long nanos = previousTimings.getGenerationNanos(service.getPath());
+            if (nanos != null)
+            {
+                knownNanos += nanos;
+                knownSize += size;
+            }
+        }
+        double nanosPerByte = ((knownNanos > 0) && (knownSize > 0)) ? ((double) knownNanos / knownSize) : 1.0;
+        MutableMap<String, Double> costs = Maps.mutable.empty();
+        services.forEach(service ->
+        {
+            String servicePath = service.getPath();
+            Long nanos = previousTimings.getGenerationNanos(servicePath);
+            costs.put(servicePath, (nanos == null) ? (sizes.get(servicePath) * nanosPerByte) : nanos);
+        });
+        MutableList<Service> ordered = services.toSortedList(Comparator.comparing((Service s) -> costs.get(s.getPath())).reversed().thenComparing(Service::getPath));
+        if (LOGGER.isDebugEnabled())
+        {
+            LOGGER.debug("Service generation order (most expensive first, {} with previous timings): {}", previousTimings.isEmpty() ? 0 : services.count(s -> previousTimings.getGenerationNanos(s.getPath()) != null), ordered.collect(Service::getPath).makeString(", "));
+        }
+        return ordered;
+    }
+
+    private static long estimateSize(ObjectWriter writer, Service service)
+    {
+        try
+        {
+            return writer.writeValueAsBytes(service).length;
+        }
+        catch (Exception e)
+        {
+            LOGGER.debug("Could not estimate size of {}", service.getPath(), e);
+            return 1;
+        }
+    }
+
+    private void writeTimings()
+    {
+        // Keep previous timings of services which were not generated this time (e.g., because they were unchanged)
+        ServiceGenerationTimings previousTimings = ServiceGenerationTimings.readIfPossible(this.timingsFile);
+        ServiceGenerationTimings newTimings = ServiceGenerationTimings.newTimings();
+        this.services.forEach(service ->
+        {
+            String servicePath = service.getPath();
+            Long nanos = this.timings.getGenerationNanos(servicePath);
+            if (nanos == null)
+            {
+                nanos = previousTimings.getGenerationNanos(servicePath);
+            }
+            if (nanos != null)
+            {
+                newTimings.recordGenerationNanos(servicePath, nanos);
+            }
+        });
+        try
+        {
+            newTimings.write(this.timingsFile);
+        }
+        catch (Exception e)
+        {
+            // timings are only used to schedule generation, so this is not fatal
+            LOGGER.warn("Error writing service generation timings {}", this.timingsFile, e);
+        }
+    }
+
+    private boolean outputsExist(ServiceGenerationManifest.ServiceEntry entry)
+    {
+        String executionClassName = entry.getExecutionClassName();
+        String planResourceName = entry.getExecutionPlanResourceName();
+        return (executionClassName != null) &&
+                (planResourceName != null) &&
+                Files.exists(getResourcePath(planResourceName)) &&
+                Files.exists(this.javaSourceOutputDirectory.resolve(getJavaSourceFileRelativePath(executionClassName))) &&
+                entry.getJavaClassNames().stream().allMatch(n -> Files.exists(this.javaSourceOutputDirectory.resolve(getJavaSourceFileRelativePath(n)))) &&
+                Files.exists(getServiceRunnerProviderConfigurationFilePath());
+    }
+
+    private String computeGeneratorFingerprint()
+    {
+        // Covers everything other than the model that affects the output: configuration, extensions, and the code
+        // doing the generation (including the code of extensions, e.g., for stores)
+        MutableList<String> parts = Lists.mutable.with(String.valueOf(this.packagePrefix), this.clientVersion, String.valueOf(this.extensions.size()), String.valueOf(this.compactPlans), String.valueOf(this.deduplicatePlans));
+        this.extensionClasses.forEach(c -> parts.add(c.getName()));
+        this.transformers.forEach(t -> parts.add(t.getClass().getName()));
+        Lists.mutable.with(ServiceExecutionGenerator.class, ServicePlanGenerator.class, PureModel.class, PureCoreExtension.class).forEach(c -> parts.add(ManifestTools.getCodeSourceFingerprint(c)));
+        this.extensionClasses.forEach(c -> parts.add(ManifestTools.getCodeSourceFingerprint(c)));
+        this.transformers.forEach(t -> parts.add(ManifestTools.getCodeSourceFingerprint(t.getClass())));
+        return ManifestTools.computeHash(parts);
+    }
+
+    private byte[] serializeExecutionPlan(String servicePath, ExecutionPlan plan)
+    {
+        try
+        {
+            return this.planWriter.writeValueAsBytes(plan);
+        }
+        catch (Exception e)
+        {
+            LOGGER.error("Error serializing execution plan for {}", servicePath, e);
+            throw new RuntimeException("Error serializing execution plan for " + servicePath, e);
+        }
+    }
+
+    private void writeExecutionPlan(String servicePath, String planResourceName, byte[] planBytes)
+    {
+        Path filePath = getResourcePath(planResourceName);
+        if (!this.deduplicatePlans)
+        {
+            writeExecutionPlanFile(servicePath, filePath, planBytes);
+            return;
+        }
+
+        if (!this.sharedPlanResourceNames.add(planResourceName))
+        {
+            // The name is derived from the content, so whoever added the name writes the same plan
+            LOGGER.debug("Execution plan for {} is shared: {}", servicePath, filePath);
+            return;
+        }
+        try
+        {
+            writeExecutionPlanFile(servicePath, filePath, planBytes);
+        }
+        catch (RuntimeException e)
+        {
+            // Only plans which have been written count as written
+            this.sharedPlanResourceNames.remove(planResourceName);
+            throw e;
         }
-        LOGGER.info("Finished generation of {} services", this.services.size());
     }
 
-    private void writeExecutionPlan(String servicePath, ExecutionPlan plan)
+    private void writeExecutionPlanFile(String servicePath, Path filePath, byte[] planBytes)
     {
-        Path filePath = getExecutionPlanResourcePath(servicePath);
         LOGGER.debug("Writing execution plan for {} to {}", servicePath, filePath);
         try
         {
             Files.createDirectories(filePath.getParent());
-            try (Writer writer = Files.newBufferedWriter(filePath, StandardCharsets.UTF_8, StandardOpenOption.CREATE_NEW))
+            try
             {
-                this.objectMapper.writeValue(writer, plan);
+                Files.write(filePath, planBytes, StandardOpenOption.CREATE_NEW);
             }
             catch (FileAlreadyExistsException e)
             {
                 try
                 {
-                    if (Arrays.equals(this.objectMapper.writeValueAsBytes(plan), Files.readAllBytes(filePath)))
+                    if (Arrays.equals(planBytes, Files.readAllBytes(filePath)))
                     {
                         // It's ok if the file already exists, as long as it has the content we want
                         LOGGER.debug("{} already exists, but content is as expected", filePath);
                         return;
                     }
+                    if (this.manifestFile != null)
+                    {
+                        // When generating incrementally, the file is expected to be left over from a previous generation
+                        LOGGER.debug("{} already exists from a previous generation, replacing", filePath);
+                        Files.write(filePath, planBytes, StandardOpenOption.TRUNCATE_EXISTING);
+                        return;
+                    }
                 }
                 catch (Exception suppress)
                 {
@@ -180,12 +513,20 @@ public class ServiceExecutionGenerator
             {
                 try
                 {
-                    if (Arrays.equals(generatedJavaClass.getText().getBytes(StandardCharsets.UTF_8), Files.readAllBytes(filePath)))
+                    byte[] bytes = generatedJavaClass.getText().getBytes(StandardCharsets.UTF_8);
+                    if (Arrays.equals(bytes, Files.readAllBytes(filePath)))
                     {
                         // It's ok if the file already exists, as long as it has the content we want
                         LOGGER.debug("{} already exists, but content is as expected", filePath);
                         return;
                     }
+                    if (this.manifestFile != null)
+                    {
+                        // When generating incrementally, the file is expected to be left over from a previous generation
+                        LOGGER.debug("{} already exists from a previous generation, replacing", filePath);
+                        Files.write(filePath, bytes, StandardOpenOption.TRUNCATE_EXISTING);
+                        return;
+                    }
                 }
                 catch (Exception suppress)
                 {
@@ -247,9 +588,42 @@ public class ServiceExecutionGenerator
         }
     }
 
-    private Path getExecutionPlanResourcePath(String servicePath)
+    private void removeFromServiceProviderConfigFile(SetIterable<String> serviceClassNames) throws IOException
+    {
+        Path filePath = getServiceRunnerProviderConfigurationFilePath();
+        if (serviceClassNames.isEmpty() || !Files.exists(filePath))
+        {
+            return;
+        }
+
+        LOGGER.debug("Removing from service provider configuration {}: {}", filePath, serviceClassNames);
+        MutableList<String> remaining = Lists.mutable.empty();
+        try (BufferedReader reader = Files.newBufferedReader(filePath, StandardCharsets.UTF_8))
+        {
+            String line;
+            while ((line = reader.readLine()) != null)
+            {
+                String className = line.trim();
+                if (!className.isEmpty() && !serviceClassNames.contains(className))
+                {
+                    remaining.add(className);
+                }
+            }
+        }
+        if (remaining.isEmpty())
+        {
+            Files.delete(filePath);
+        }
+        else
+        {
+            Files.write(filePath, remaining.makeString("", "\n", "\n").getBytes(StandardCharsets.UTF_8), StandardOpenOption.TRUNCATE_EXISTING);
+        }
+    }
+
+    private Path getResourcePath(String resourceName)
     {
-        return this.resourceOutputDirectory.resolve(getExecutionPlanRelativePath(servicePath, this.resourceOutputDirectory.getFileSystem().getSeparator()));
+        String separator = this.resourceOutputDirectory.getFileSystem().getSeparator();
+        return this.resourceOutputDirectory.resolve(appendReplacingDelimiter(new StringBuilder(resourceName.length()), resourceName, "/", separator).toString());
     }
 
     private Path getServiceRunnerProviderConfigurationFilePath()
@@ -264,6 +638,21 @@ public class ServiceExecutionGenerator
         return getExecutionPlanRelativePath(servicePath, "/");
     }
 
+    private String getSharedExecutionPlanResourceName(byte[] planBytes)
+    {
+        // Plans are named by the SHA-256 of their content. The ".plan.json" suffix cannot clash with the plan of a
+        // service, as service names may not contain '.'.
+        StringBuilder builder = new StringBuilder("plans/");
+        if (this.packagePrefix != null)
+        {
+            appendReplacingDelimiter(builder, this.packagePrefix, ".", "/").append('/');
+        }
+        return builder.append("shared/")
+                .append(ManifestTools.computeHash(planBytes))
+                .append(".plan.json")
+                .toString();
+    }
+
     private String getExecutionPlanRelativePath(String servicePath, String separator)
     {
         StringBuilder builder = new StringBuilder("plans").append(separator);
@@ -290,12 +679,19 @@ public class ServiceExecutionGenerator
         return JavaSourceHelper.toValidJavaIdentifier(builder.toString(), '$', true);
     }
 
-    private ExecClassNamesAndEnumerations generate(int index)
+    private ExecClassNamesAndEnumerations generate(Service service)
     {
-        return generate(this.services.get(index));
+        long start = System.nanoTime();
+        ExecClassNamesAndEnumerations result;
+        try (GenerationProfiler.Timer ignore = this.profiler.startElement("generate", service.getPath()))
+        {
+            result = generateService(service);
+        }
+        this.timings.recordGenerationNanos(service.getPath(), System.nanoTime() - start);
+        return result;
     }
 
-    private ExecClassNamesAndEnumerations generate(Service service)
+    private ExecClassNamesAndEnumerations generateService(Service service)
     {
         long start = System.nanoTime();
         String servicePath = service.getPath();
@@ -309,26 +705,34 @@ public class ServiceExecutionGenerator
 
         // Write any Java classes from the plan, then remove them from the plan
         LOGGER.debug("Writing Java source files from plan for {}", servicePath);
-        JavaSourceHelper.writeJavaSourceFiles(this.javaSourceOutputDirectory, plan);
+        MutableList<String> javaClassNames = writePlanJavaSourceFiles(servicePath, plan);
         LOGGER.debug("Finished writing Java source files from plan for {}", servicePath);
         JavaSourceHelper.removeJavaImplementationClasses(plan);
 
+        // Serialize plan, which determines the plan resource name if plans are deduplicated
+        byte[] planBytes = serializeExecutionPlan(servicePath, plan);
+        String planResourceName = this.deduplicatePlans ? getSharedExecutionPlanResourceName(planBytes) : getExecutionPlanResourceName(servicePath);
+
         // Generate execution class for service
         LOGGER.debug("Starting generating main service execution class for {}", servicePath);
         GeneratedJavaCode generatedJavaClass = ServiceExecutionClassGenerator.newGenerator(this.packagePrefix)
-                .withPlanResourceName(getExecutionPlanResourceName(servicePath))
+                .withPlanResourceName(planResourceName)
                 .withService(service)
                 .generate();
         LOGGER.debug("Finished generating main service execution class for {}", servicePath);
 
         // Write plan resource and execution class
         LOGGER.debug("Starting writing execution plan for {}", servicePath);
-        writeExecutionPlan(servicePath, plan);
+        writeExecutionPlan(servicePath, planResourceName, planBytes);
         LOGGER.debug("Finished writing execution plan for {}", servicePath);
         LOGGER.debug("Starting writing main service execution class for {}: {}", servicePath, generatedJavaClass.getClassName());
         writeJavaClass(generatedJavaClass);
         LOGGER.debug("Finished writing main service execution class for {}: {}", servicePath, generatedJavaClass.getClassName());
 
+        this.executionClassNamesByService.put(servicePath, generatedJavaClass.getClassName());
+        this.planResourceNamesByService.put(servicePath, planResourceName);
+        enumerations.forEach(e -> javaClassNames.add(EnumerationClassGenerator.newGenerator(this.packagePrefix).withEnumeration(e).getQualifiedClassName()));
+        this.javaClassNamesByService.put(servicePath, javaClassNames);
         ExecClassNamesAndEnumerations execClassNamesAndEnums = new ExecClassNamesAndEnumerations(generatedJavaClass.getClassName(), enumerations);
         if (LOGGER.isInfoEnabled())
         {
@@ -338,6 +742,62 @@ public class ServiceExecutionGenerator
         return execClassNamesAndEnums;
     }
 
+    private MutableList<String> writePlanJavaSourceFiles(String servicePath, ExecutionPlan plan)
+    {
+        if (this.manifestFile == null)
+        {
+            JavaSourceHelper.writeJavaSourceFiles(this.javaSourceOutputDirectory, plan);
+            return Lists.mutable.empty();
+        }
+
+        // When generating incrementally, the names of the plan's Java classes are recorded in the manifest so that
+        // their sources can be deleted when they are no longer generated. To find them, the sources are written to a
+        // separate directory and then moved to the output directory.
+        MutableList<String> classNames = Lists.mutable.empty();
+        try
+        {
+            Path outputDirectory = this.javaSourceOutputDirectory.toAbsolutePath();
+            Files.createDirectories(outputDirectory);
+            Path tmpDirectory = Files.createTempDirectory(outputDirectory.getParent(), "plan-sources");
+            try
+            {
+                JavaSourceHelper.writeJavaSourceFiles(tmpDirectory, plan);
+                List<Path> files;
+                try (Stream<Path> stream = Files.walk(tmpDirectory))
+                {
+                    files = stream.filter(Files::isRegularFile).collect(Collectors.toList());
+                }
+                for (Path file : files)
+                {
+                    String relativePath = tmpDirectory.relativize(file).toString();
+                    Path targetFile = outputDirectory.resolve(relativePath);
+                    Files.createDirectories(targetFile.getParent());
+                    Files.move(file, targetFile, StandardCopyOption.REPLACE_EXISTING);
+                    if (relativePath.endsWith(JavaFileObject.Kind.SOURCE.extension))
+                    {
+                        classNames.add(relativePath.substring(0, relativePath.length() - JavaFileObject.Kind.SOURCE.extension.length()).replace(tmpDirectory.getFileSystem().getSeparator(), "."));
+                    }
+                }
+            }
+            finally
+            {
+                try (Stream<Path> stream = Files.walk(tmpDirectory))
+                {
+                    for (Path path : stream.sorted(Comparator.reverseOrder()).collect(Collectors.toList()))
+                    {
+                        Files.deleteIfExists(path);
+                    }
+                }
+            }
+        }
+        catch (IOException e)
+        {
+            LOGGER.error("Error writing Java source files from plan for {}", servicePath, e);
+            throw new UncheckedIOException(e);
+        }
+        return classNames;
+    }
+
     private ListIterable<Enumeration<? extends Enum>> validateServiceParameterTypes(Service service)
     {
         if (!(service.execution instanceof PureExecution))
@@ -393,20 +853,29 @@ public class ServiceExecutionGenerator
         return plan;
     }
 
+    /**
+     * Generates services on as many workers as the pool's parallelism. Each worker repeatedly takes the next service
+     * to generate from the list, so if services are in descending order of cost, the most expensive are started first
+     * and the cheapest fill in at the end.
+     */
     private class ServiceGenerationTask extends RecursiveTask<ExecClassNamesAndEnumerations>
     {
         private static final long serialVersionUID = 1497257368185923326L;
 
+        private final ListIterable<Service> services;
+        private final AtomicInteger next = new AtomicInteger();
         private volatile boolean terminated = false;
 
-        private ServiceGenerationTask()
+        private ServiceGenerationTask(ListIterable<Service> services)
         {
+            this.services = services;
         }
 
         @Override
         public void reinitialize()
         {
             this.terminated = false;
+            this.next.set(0);
             super.reinitialize();
         }
 
@@ -427,7 +896,7 @@ public class ServiceExecutionGenerator
         @Override
         protected ExecClassNamesAndEnumerations compute()
         {
-            ExecClassNamesAndEnumerations result = computeForRange(0, ServiceExecutionGenerator.this.services.size());
+            ExecClassNamesAndEnumerations result = computeOnWorkers(Math.min(ServiceExecutionGenerator.this.executorService.getParallelism(), this.services.size()));
             if (this.terminated && !isCompletedAbnormally())
             {
                 LOGGER.warn("Service generation terminated without abnormal completion");
@@ -436,56 +905,57 @@ public class ServiceExecutionGenerator
             return result;
         }
 
-        private ExecClassNamesAndEnumerations computeForRange(int start, int end)
+        private ExecClassNamesAndEnumerations computeOnWorkers(int workerCount)
         {
-            if (this.terminated)
+            if (workerCount <= 1)
             {
-                return null;
+                return generateRemaining();
             }
 
-            int length = end - start;
-            if (length < 1)
+            try
             {
-                return null;
+                MutableList<ServiceGenerationWorker> workers = Lists.mutable.empty();
+                for (int i = 0; i < workerCount; i++)
+                {
+                    workers.add(new ServiceGenerationWorker());
+                }
+                invokeAll(workers);
+                return this.terminated ? null : workers.injectInto(null, (result, worker) -> ExecClassNamesAndEnumerations.merge(result, worker.getRawResult()));
             }
+            catch (Throwable t)
+            {
+                this.terminated = true;
+                throw t;
+            }
+        }
 
+        private ExecClassNamesAndEnumerations generateRemaining()
+        {
+            ExecClassNamesAndEnumerations result = null;
             try
             {
-                if (length == 1)
+                int index;
+                while (!this.terminated && ((index = this.next.getAndIncrement()) < this.services.size()))
                 {
-                    return generate(start);
+                    result = ExecClassNamesAndEnumerations.merge(result, generate(this.services.get(index)));
                 }
-
-                int split = start + (length / 2);
-                RecursiveServiceGeneration task1 = new RecursiveServiceGeneration(start, split);
-                RecursiveServiceGeneration task2 = new RecursiveServiceGeneration(split, end);
-                invokeAll(task1, task2);
-                return this.terminated ? null : ExecClassNamesAndEnumerations.merge(task1.getRawResult(), task2.getRawResult());
             }
             catch (Throwable t)
             {
                 this.terminated = true;
                 throw t;
             }
+            return this.terminated ? null : result;
         }
 
-        private class RecursiveServiceGeneration extends RecursiveTask<ExecClassNamesAndEnumerations>
+        private class ServiceGenerationWorker extends RecursiveTask<ExecClassNamesAndEnumerations>
         {
             private static final long serialVersionUID = 221339527579068715L;
 
-            private final int start;
-            private final int end;
-
-            private RecursiveServiceGeneration(int start, int end)
-            {
-                this.start = start;
-                this.end = end;
-            }
-
             @Override
             protected ExecClassNamesAndEnumerations compute()
             {
-                return computeForRange(this.start, this.end);
+                return generateRemaining();
             }
         }
     }
@@ -629,6 +1099,12 @@ public class ServiceExecutionGenerator
         private final MutableList<PureCoreExtension> pureCoreExtensions = Lists.mutable.empty();
         private String clientVersion;
         private ForkJoinPool executorService;
+        private Path manifestFile;
+        private ListIterable<? extends PackageableElement> modelElements;
+        private GenerationProfiler profiler;
+        private boolean compactPlans = false;
+        private boolean deduplicatePlans = false;
+        private Path timingsFile;
 
         private Builder()
         {
@@ -718,6 +1194,75 @@ public class ServiceExecutionGenerator
             return this;
         }
 
+        /**
+         * Generate incrementally: only services whose inputs have changed since the last generation (as recorded in
+         * the manifest file) are generated, and the outputs of other services are left untouched. The manifest file is
+         * updated after generation. All elements of the model must be supplied so that changes to elements that
+         * services depend on can be detected.
+         *
+         * @param manifestFile  manifest file (null for non-incremental generation)
+         * @param modelElements all elements of the model
+         * @return this builder
+         */
+        public Builder withIncrementalGeneration(Path manifestFile, Iterable<? extends PackageableElement> modelElements)
+        {
+            this.manifestFile = manifestFile;
+            this.modelElements = (manifestFile == null) ? null : Lists.immutable.withAll(Objects.requireNonNull(modelElements, "model elements may not be null"));
+            return this;
+        }
+
+        /**
+         * Profile the generation of each service with the given profiler.
+         *
+         * @param profiler generation profiler (may be null)
+         * @return this builder
+         */
+        public Builder withProfiler(GenerationProfiler profiler)
+        {
+            this.profiler = profiler;
+            return this;
+        }
+
+        /**
+         * Write execution plan resources as compact (minified) JSON rather than indented JSON. Compact plans are
+         * smaller and faster to read when services are loaded, and are read the same way as indented plans.
+         *
+         * @param compactPlans whether to write compact plans
+         * @return this builder
+         */
+        public Builder withCompactPlans(boolean compactPlans)
+        {
+            this.compactPlans = compactPlans;
+            return this;
+        }
+
+        /**
+         * Deduplicate execution plan resources: each plan is written to a resource named by the hash of its content,
+         * so that services with identical plans share a single resource rather than each having a copy.
+         *
+         * @param deduplicatePlans whether to deduplicate plans
+         * @return this builder
+         */
+        public Builder withDeduplicatedPlans(boolean deduplicatePlans)
+        {
+            this.deduplicatePlans = deduplicatePlans;
+            return this;
+        }
+
+        /**
+         * Record how long the generation of each service takes in the given file, and use the times recorded by
+         * previous generations to start the most expensive services first when generating in parallel. Services
+         * without a previous time are estimated from their size.
+         *
+         * @param timingsFile timings file (may be null)
+         * @return this builder
+         */
+        public Builder withTimingsFile(Path timingsFile)
+        {
+            this.timingsFile = timingsFile;
+            return this;
+        }
+
         public ServiceExecutionGenerator build()
         {
             Objects.requireNonNull(this.pureModel, "PureModel may not be null");
@@ -744,8 +1289,15 @@ public class ServiceExecutionGenerator
                     this.jsonMapper,
                     resolvedClientVersion,
                     extensions.toImmutable(),
+                    Lists.mutable.<Object>withAll(this.pureCoreExtensions).withAll(this.planGeneratorExtensions).collect(Object::getClass).toImmutable(),
                     transformers.toImmutable(),
-                    this.executorService);
+                    this.executorService,
+                    this.manifestFile,
+                    this.modelElements,
+                    this.profiler,
+                    this.compactPlans,
+                    this.deduplicatePlans,
+                    this.timingsFile);
         }
     }
 
@@ -772,7 +1324,14 @@ public class ServiceExecutionGenerator
                 jsonMapper,
                 resolveClientVersion(clientVersion),
                 extensions,
+                Lists.immutable.empty(),
                 transformers,
+                null,
+                null,
+                null,
+                null,
+                false,
+                false,
                 null);
     }
 }
@@ -0,0 +1,357 @@
+// Copyright 2023 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.sdlc.generation.service;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.factory.Maps;
+import org.eclipse.collections.api.factory.Sets;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.api.set.MutableSet;
+import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.PackageableElement;
+import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.service.Service;
+import org.finos.legend.sdlc.tools.ManifestTools;
+import org.finos.legend.sdlc.tools.entity.EntityPaths;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Manifest of service generation inputs, used for incremental service generation. For each generated service, the
+ * manifest records a fingerprint of the service and of every element its execution plan may depend on, along with
+ * the outputs generated for it (its execution class, other Java classes such as those of its plan, and its plan
+ * resource). A service whose fingerprint is unchanged since the manifest was written (and whose outputs still exist)
+ * does not need to be generated again, and outputs recorded for a service which are no longer generated can be
+ * deleted.
+ * <p>
+ * Dependencies are computed conservatively from the protocol model. Two elements are related if the path (or the
+ * simple name or a function name prefix of the path) of one appears as a string value in the JSON representation of
+ * the other. As an element can affect another without being referenced by it (e.g., an association adds properties to
+ * the classes it references), relations are followed in both directions: the fingerprint of a service covers every
+ * element connected to it, which may be many more elements than the plan actually uses, but never fewer.
+ */
+public class ServiceGenerationManifest
+{
+    private static final int FORMAT_VERSION = 2;
+
+    private final String generatorFingerprint;
+    private final Map<String, ServiceEntry> services;
+
+    private ServiceGenerationManifest(String generatorFingerprint, Map<String, ServiceEntry> services)
+    {
+        this.generatorFingerprint = generatorFingerprint;
+        this.services = services;
+    }
+
+    /**
+     * Get the fingerprint of the generator configuration used for this manifest.
+     *
+     * @return generator fingerprint
+     */
+    public String getGeneratorFingerprint()
+    {
+        return this.generatorFingerprint;
+    }
+
+    /**
+     * Get the entry for a service, or null if the service is not in the manifest.
+     *
+     * @param servicePath service path
+     * @return service entry or null
+     */
+    public ServiceEntry getService(String servicePath)
+    {
+        return this.services.get(servicePath);
+    }
+
+    public Map<String, ServiceEntry> getServices()
+    {
+        return Collections.unmodifiableMap(this.services);
+    }
+
+    /**
+     * Write the manifest to a file, replacing any existing manifest.
+     *
+     * @param file manifest file
+     * @throws IOException if an I/O error occurs
+     */
+    public void write(Path file) throws IOException
+    {
+        ManifestTools.writeManifestFile(file, new ManifestFile(FORMAT_VERSION, this.generatorFingerprint, new TreeMap<>(this.services)));
+    }
+
+    /**
+     * Read a manifest from a file. Returns null if the file does not exist, or if it cannot be read or has an
+     * unsupported format, as in any of these cases all services must be generated.
+     *
+     * @param file manifest file
+     * @return manifest or null
+     */
+    public static ServiceGenerationManifest readIfPossible(Path file)
+    {
+        ManifestFile manifestFile = ManifestTools.readManifestFileIfPossible(file, ManifestFile.class);
+        if ((manifestFile == null) || (manifestFile.version != FORMAT_VERSION) || (manifestFile.services == null))
+        {
+            return null;
+        }
+        return new ServiceGenerationManifest(manifestFile.generatorFingerprint, manifestFile.services);
+    }
+
+    /**
+     * Build a new manifest from a generator fingerprint and service entries.
+     *
+     * @param generatorFingerprint generator fingerprint
+     * @param services             service entries by path
+     * @return manifest
+     */
+    public static ServiceGenerationManifest newManifest(String generatorFingerprint, Map<String, ServiceEntry> services)
+    {
+        return new ServiceGenerationManifest(generatorFingerprint, new TreeMap<>(services));
+    }
+
+    /**
+     * Compute fingerprints for the given services. The fingerprint of a service covers the service itself and the
+     * content of every element connected to it (see the class documentation).
+     *
+     * @param services   services to compute fingerprints for
+     * @param elements   all elements of the model
+     * @param jsonMapper JSON mapper for protocol elements
+     * @return fingerprints by service path
+     */
+    public static Map<String, String> computeServiceFingerprints(Iterable<? extends Service> services, Iterable<? extends PackageableElement> elements, JsonMapper jsonMapper)
+    {
+        MutableMap<String, ElementInfo> elementInfos = Maps.mutable.empty();
+        MutableMap<String, MutableSet<String>> pathsByReference = Maps.mutable.empty();
+        elements.forEach(element ->
+        {
+            String path = element.getPath();
+            elementInfos.put(path, new ElementInfo(element, jsonMapper));
+            addReferenceKeys(path, pathsByReference);
+        });
+        services.forEach(service ->
+        {
+            String path = service.getPath();
+            if (!elementInfos.containsKey(path))
+            {
+                elementInfos.put(path, new ElementInfo(service, jsonMapper));
+                addReferenceKeys(path, pathsByReference);
+            }
+        });
+
+        // Relations in both directions: what an element references, and what references it
+        MutableMap<String, MutableSet<String>> related = Maps.mutable.empty();
+        elementInfos.forEachKeyValue((path, info) -> info.strings.forEach(s ->
+        {
+            MutableSet<String> referenced = pathsByReference.get(s);
+            if (referenced != null)
+            {
+                referenced.forEach(p ->
+                {
+                    related.getIfAbsentPut(path, Sets.mutable::empty).add(p);
+                    related.getIfAbsentPut(p, Sets.mutable::empty).add(path);
+                });
+            }
+        }));
+
+        // Services in the same connected component share a fingerprint, so each component is only hashed once
+        MutableMap<String, String> fingerprintsByElement = Maps.mutable.empty();
+        Map<String, String> fingerprints = new TreeMap<>();
+        services.forEach(service ->
+        {
+            String servicePath = service.getPath();
+            String fingerprint = fingerprintsByElement.get(servicePath);
+            if (fingerprint == null)
+            {
+                MutableSet<String> component = Sets.mutable.with(servicePath);
+                Deque<String> toVisit = new ArrayDeque<>(component);
+                while (!toVisit.isEmpty())
+                {
+                    MutableSet<String> relatedPaths = related.get(toVisit.pollFirst());
+                    if (relatedPaths != null)
+                    {
+                        relatedPaths.forEach(p ->
+                        {
+                            if (component.add(p))
+                            {
+                                toVisit.addLast(p);
+                            }
+                        });
+                    }
+                }
+
+                MessageDigest digest = ManifestTools.newDigest();
+                component.toSortedList().forEach(p ->
+                {
+                    digest.update(p.getBytes(StandardCharsets.UTF_8));
+                    digest.update((byte) 0);
+                    digest.update(elementInfos.get(p).contentHash.getBytes(StandardCharsets.UTF_8));
+                    digest.update((byte) 0);
+                });
+                String componentFingerprint = ManifestTools.toHex(digest.digest());
+                component.forEach(p -> fingerprintsByElement.put(p, componentFingerprint));
+                fingerprint = componentFingerprint;
+            }
+            fingerprints.put(servicePath, fingerprint);
+        });
+        return fingerprints;
+    }
+
+    private static void addReferenceKeys(String path, MutableMap<String, MutableSet<String>> pathsByReference)
+    {
+        // full path, simple name (in case of imports), and function paths without (some or all of) their signatures
+        int nameStart = path.lastIndexOf(EntityPaths.PACKAGE_SEPARATOR);
+        String packagePrefix = (nameStart == -1) ? "" : path.substring(0, nameStart + EntityPaths.PACKAGE_SEPARATOR.length());
+        String name = path.substring(packagePrefix.length());
+        MutableList<String> keys = Lists.mutable.with(path, name);
+        for (int i = name.indexOf('_', 1); i != -1; i = name.indexOf('_', i + 1))
+        {
+            String namePrefix = name.substring(0, i);
+            keys.add(namePrefix);
+            keys.add(packagePrefix + namePrefix);
+        }
+        keys.forEach(k -> pathsByReference.getIfAbsentPut(k, Sets.mutable::empty).add(path));
+    }
+
+    public static class ServiceEntry
+    {
+        @JsonProperty
+        private final String fingerprint;
+
+        @JsonProperty
+        private final String executionClassName;
+
+        @JsonProperty
+        private final String executionPlanResourceName;
+
+        @JsonProperty
+        private final List<String> javaClassNames;
+
+        private ServiceEntry(String fingerprint, String executionClassName, String executionPlanResourceName, List<String> javaClassNames)
+        {
+            this.fingerprint = fingerprint;
+            this.executionClassName = executionClassName;
+            this.executionPlanResourceName = executionPlanResourceName;
+            this.javaClassNames = javaClassNames;
+        }
+
+        @JsonCreator
+        public static ServiceEntry newServiceEntry(@JsonProperty("fingerprint") String fingerprint, @JsonProperty("executionClassName") String executionClassName, @JsonProperty("executionPlanResourceName") String executionPlanResourceName, @JsonProperty("javaClassNames") List<String> javaClassNames)
+        {
+            return new ServiceEntry(fingerprint, executionClassName, executionPlanResourceName, (javaClassNames == null) ? Collections.emptyList() : Lists.mutable.withAll(javaClassNames).sortThis());
+        }
+
+        public String getFingerprint()
+        {
+            return this.fingerprint;
+        }
+
+        public String getExecutionClassName()
+        {
+            return this.executionClassName;
+        }
+
+        /**
+         * Get the name of the execution plan resource. This may be shared with other services if plans are
+         * deduplicated.
+         *
+         * @return execution plan resource name
+         */
+        public String getExecutionPlanResourceName()
+        {
+            return this.executionPlanResourceName;
+        }
+
+        /**
+         * Get the names of the Java classes generated for the service other than its execution class, such as the
+         * classes of its execution plan and of the enumerations of its parameters. Enumeration classes may be shared
+         * with other services.
+         *
+         * @return other Java class names
+         */
+        public List<String> getJavaClassNames()
+        {
+            return Collections.unmodifiableList(this.javaClassNames);
+        }
+    }
+
+    private static class ElementInfo
+    {
+        private final String contentHash;
+        private final MutableSet<String> strings = Sets.mutable.empty();
+
+        private ElementInfo(PackageableElement element, JsonMapper jsonMapper)
+        {
+            JsonNode node = jsonMapper.valueToTree(element);
+            collectStrings(node, this.strings);
+            try
+            {
+                this.contentHash = ManifestTools.computeHash(ManifestTools.getManifestJsonMapper().writeValueAsBytes(node));
+            }
+            catch (IOException e)
+            {
+                throw new RuntimeException("Error computing content hash for " + element.getPath(), e);
+            }
+        }
+
+        private static void collectStrings(JsonNode node, MutableSet<String> strings)
+        {
+            if (node.isTextual())
+            {
+                strings.add(node.textValue());
+            }
+            else if (node.isContainerNode())
+            {
+                node.forEach(child -> collectStrings(child, strings));
+            }
+        }
+    }
+
+    private static class ManifestFile
+    {
+        @JsonProperty
+        private final int version;
+
+        @JsonProperty
+        private final String generatorFingerprint;
+
+        @JsonProperty
+        private final Map<String, ServiceEntry> services;
+
+        private ManifestFile(int version, String generatorFingerprint, Map<String, ServiceEntry> services)
+        {
+            this.version = version;
+            this.generatorFingerprint = generatorFingerprint;
+            this.services = services;
+        }
+
+        @JsonCreator
+        static ManifestFile newManifestFile(@JsonProperty("version") int version, @JsonProperty("generatorFingerprint") String generatorFingerprint, @JsonProperty("services") Map<String, ServiceEntry> services)
+        {
+            return new ManifestFile(version, generatorFingerprint, services);
+        }
+    }
+}
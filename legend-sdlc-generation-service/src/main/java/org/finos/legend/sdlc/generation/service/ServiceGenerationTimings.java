@@ -0,0 +1,122 @@
+// Copyright 2023 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.sdlc.generation.service;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.finos.legend.sdlc.tools.ManifestTools;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * History of how long the generation of each service took, used to estimate the cost of generating services so that
+ * the most expensive can be started first.
+ */
+class ServiceGenerationTimings
+{
+    private static final int FORMAT_VERSION = 1;
+
+    private final Map<String, Long> generationNanos = new ConcurrentHashMap<>();
+
+    private ServiceGenerationTimings()
+    {
+    }
+
+    /**
+     * Get the time generation of a service took, or null if it is not known.
+     *
+     * @param servicePath service path
+     * @return generation time in nanoseconds or null
+     */
+    Long getGenerationNanos(String servicePath)
+    {
+        return this.generationNanos.get(servicePath);
+    }
+
+    void recordGenerationNanos(String servicePath, long nanos)
+    {
+        this.generationNanos.put(servicePath, nanos);
+    }
+
+    boolean isEmpty()
+    {
+        return this.generationNanos.isEmpty();
+    }
+
+    /**
+     * Write the timings to a file, replacing any existing file.
+     *
+     * @param file timings file
+     * @throws IOException if an I/O error occurs
+     */
+    void write(Path file) throws IOException
+    {
+        ManifestTools.writeManifestFile(file, new TimingsFile(FORMAT_VERSION, new TreeMap<>(this.generationNanos)));
+    }
+
+    static ServiceGenerationTimings newTimings()
+    {
+        return new ServiceGenerationTimings();
+    }
+
+    /**
+     * Read timings from a file. Returns empty timings if the file does not exist, or if it cannot be read or has an
+     * unsupported format, as timings are only used for estimates.
+     *
+     * @param file timings file
+     * @return timings
+     */
+    static ServiceGenerationTimings readIfPossible(Path file)
+    {
+        ServiceGenerationTimings timings = new ServiceGenerationTimings();
+        TimingsFile timingsFile = (file == null) ? null : ManifestTools.readManifestFileIfPossible(file, TimingsFile.class);
+        if ((timingsFile != null) && (timingsFile.version == FORMAT_VERSION) && (timingsFile.services != null))
+        {
+            timingsFile.services.forEach((path, nanos) ->
+            {
+                if ((path != null) && (nanos != null) && (nanos >= 0))
+                {
+                    timings.generationNanos.put(path, nanos);
+                }
+            });
+        }
+        return timings;
+    }
+
+    private static class TimingsFile
+    {
+        @JsonProperty
+        private final int version;
+
+        @JsonProperty
+        private final Map<String, Long> services;
+
+        private TimingsFile(int version, Map<String, Long> services)
+        {
+            this.version = version;
+            this.services = services;
+        }
+
+        @JsonCreator
+        static TimingsFile newTimingsFile(@JsonProperty("version") int version, @JsonProperty("services") Map<String, Long> services)
+        {
+            return new TimingsFile(version, services);
+        }
+    }
+}
@@ -32,6 +32,7 @@ import org.finos.legend.engine.plan.execution.result.json.JsonStreamingResult;
 import org.finos.legend.engine.plan.execution.result.serialization.SerializationFormat;
 import org.finos.legend.engine.plan.generation.extension.PlanGeneratorExtension;
 import org.finos.legend.engine.plan.platform.java.JavaSourceHelper;
+import org.finos.legend.engine.protocol.pure.v1.PureProtocolObjectMapperFactory;
 import org.finos.legend.engine.protocol.pure.v1.model.context.PureModelContextData;
 import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.PackageableElement;
 import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.domain.Multiplicity;
@@ -44,6 +45,7 @@ import org.finos.legend.pure.runtime.java.compiled.compiler.MemoryFileManager;
 import org.finos.legend.pure.runtime.java.compiled.generation.orchestrator.VoidLog;
 import org.finos.legend.sdlc.language.pure.compiler.toPureGraph.PureModelBuilder;
 import org.finos.legend.sdlc.serialization.EntityLoader;
+import org.finos.legend.sdlc.tools.ManifestTools;
 import org.finos.legend.sdlc.tools.entity.EntityPaths;
 import org.junit.AfterClass;
 import org.junit.Assert;
@@ -65,6 +67,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.security.MessageDigest;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
@@ -80,6 +83,7 @@ import java.util.ServiceLoader;
 import java.util.Set;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 import javax.tools.DiagnosticCollector;
@@ -406,6 +410,248 @@ public class TestServiceExecutionGenerator
         return SERVICES.values();
     }
 
+    @Test
+    public void testIncrementalGeneration() throws Exception
+    {
+        String packagePrefix = "org.finos";
+        Path manifestFile = this.tmpFolder.getRoot().toPath().resolve("manifest").resolve("services.json");
+        Service service1 = getService("service::ModelToModelService");
+        Service service2 = getService("service::ModelToModelServiceWithParam");
+        String separator = this.tmpFolder.getRoot().toPath().getFileSystem().getSeparator();
+        Path planFile1 = this.classesDirectory.resolve("plans" + separator + getPackagePrefix(packagePrefix, separator) + service1.getPath().replace(EntityPaths.PACKAGE_SEPARATOR, separator) + ".json");
+        Path planFile2 = this.classesDirectory.resolve("plans" + separator + getPackagePrefix(packagePrefix, separator) + service2.getPath().replace(EntityPaths.PACKAGE_SEPARATOR, separator) + ".json");
+        byte[] marker = "marker".getBytes(StandardCharsets.UTF_8);
+
+        // first generation: everything is generated
+        generateIncrementally(packagePrefix, manifestFile, Arrays.asList(service1, service2), PURE_MODEL_CONTEXT_DATA.getElements());
+        Assert.assertTrue(Files.exists(manifestFile));
+        ServiceGenerationManifest manifest1 = ServiceGenerationManifest.readIfPossible(manifestFile);
+        Assert.assertNotNull(manifest1);
+        Assert.assertEquals(Sets.mutable.with(service1.getPath(), service2.getPath()), manifest1.getServices().keySet());
+        Assert.assertEquals("org.finos.service.ModelToModelService", manifest1.getService(service1.getPath()).getExecutionClassName());
+        Assert.assertNotEquals(Files.readAllBytes(planFile1).length, marker.length);
+
+        // nothing has changed: nothing is generated and outputs are untouched
+        Files.write(planFile1, marker);
+        Files.write(planFile2, marker);
+        generateIncrementally(packagePrefix, manifestFile, Arrays.asList(service1, service2), PURE_MODEL_CONTEXT_DATA.getElements());
+        Assert.assertArrayEquals(marker, Files.readAllBytes(planFile1));
+        Assert.assertArrayEquals(marker, Files.readAllBytes(planFile2));
+
+        // one service has changed: only that service is generated
+        Service changedService1 = PureProtocolObjectMapperFactory.getNewObjectMapper().convertValue(service1, Service.class);
+        changedService1.documentation = "changed documentation";
+        List<PackageableElement> changedElements = Lists.mutable.withAll(PURE_MODEL_CONTEXT_DATA.getElements()).collect(e -> service1.getPath().equals(e.getPath()) ? changedService1 : e);
+        generateIncrementally(packagePrefix, manifestFile, Arrays.asList(changedService1, service2), changedElements);
+        Assert.assertFalse(Arrays.equals(marker, Files.readAllBytes(planFile1)));
+        Assert.assertArrayEquals(marker, Files.readAllBytes(planFile2));
+        ServiceGenerationManifest manifest2 = ServiceGenerationManifest.readIfPossible(manifestFile);
+        Assert.assertNotNull(manifest2);
+        Assert.assertNotEquals(manifest1.getService(service1.getPath()).getFingerprint(), manifest2.getService(service1.getPath()).getFingerprint());
+        Assert.assertEquals(manifest1.getService(service2.getPath()).getFingerprint(), manifest2.getService(service2.getPath()).getFingerprint());
+
+        // a different configuration regenerates everything
+        generateIncrementally("org.finos.other", manifestFile, Arrays.asList(changedService1, service2), changedElements);
+        ServiceGenerationManifest manifest3 = ServiceGenerationManifest.readIfPossible(manifestFile);
+        Assert.assertNotNull(manifest3);
+        Assert.assertNotEquals(manifest2.getGeneratorFingerprint(), manifest3.getGeneratorFingerprint());
+        Assert.assertEquals("org.finos.other.service.ModelToModelService", manifest3.getService(service1.getPath()).getExecutionClassName());
+
+        // outputs of the previous configuration are deleted
+        Path serviceProviderFile = this.classesDirectory.resolve("META-INF" + separator + "services" + separator + ServiceRunner.class.getCanonicalName());
+        Assert.assertFalse(Files.exists(planFile1));
+        Assert.assertFalse(Files.exists(planFile2));
+        Assert.assertFalse(Files.exists(getJavaSourceFile(manifest2.getService(service1.getPath()).getExecutionClassName())));
+        Assert.assertFalse(Files.exists(getJavaSourceFile(manifest2.getService(service2.getPath()).getExecutionClassName())));
+        manifest2.getService(service1.getPath()).getJavaClassNames().forEach(n -> Assert.assertFalse(n, Files.exists(getJavaSourceFile(n))));
+        Assert.assertTrue(Files.exists(getJavaSourceFile(manifest3.getService(service1.getPath()).getExecutionClassName())));
+        manifest3.getService(service1.getPath()).getJavaClassNames().forEach(n -> Assert.assertTrue(n, Files.exists(getJavaSourceFile(n))));
+        Assert.assertEquals(
+                Sets.mutable.with(manifest3.getService(service1.getPath()).getExecutionClassName(), manifest3.getService(service2.getPath()).getExecutionClassName()),
+                Sets.mutable.withAll(Files.readAllLines(serviceProviderFile, StandardCharsets.UTF_8)));
+
+        // outputs of a removed service are deleted
+        generateIncrementally("org.finos.other", manifestFile, Collections.singletonList(service2), changedElements);
+        ServiceGenerationManifest manifest4 = ServiceGenerationManifest.readIfPossible(manifestFile);
+        Assert.assertNotNull(manifest4);
+        Assert.assertEquals(Collections.singleton(service2.getPath()), manifest4.getServices().keySet());
+        Assert.assertFalse(Files.exists(this.classesDirectory.resolve(manifest3.getService(service1.getPath()).getExecutionPlanResourceName().replace("/", separator))));
+        Assert.assertTrue(Files.exists(this.classesDirectory.resolve(manifest3.getService(service2.getPath()).getExecutionPlanResourceName().replace("/", separator))));
+        Assert.assertFalse(Files.exists(getJavaSourceFile(manifest3.getService(service1.getPath()).getExecutionClassName())));
+        Assert.assertTrue(Files.exists(getJavaSourceFile(manifest3.getService(service2.getPath()).getExecutionClassName())));
+        Assert.assertEquals(Collections.singletonList(manifest3.getService(service2.getPath()).getExecutionClassName()), Files.readAllLines(serviceProviderFile, StandardCharsets.UTF_8));
+    }
+
+    private Path getJavaSourceFile(String className)
+    {
+        return this.generatedSourcesDirectory.resolve(className.replace(".", this.generatedSourcesDirectory.getFileSystem().getSeparator()) + ".java");
+    }
+
+    @Test
+    public void testCompactPlans() throws Exception
+    {
+        String packagePrefix = "org.finos";
+        Service service = getService("service::ModelToModelServiceMulti");
+        String separator = this.tmpFolder.getRoot().toPath().getFileSystem().getSeparator();
+        String planRelativePath = "plans" + separator + getPackagePrefix(packagePrefix, separator) + service.getPath().replace(EntityPaths.PACKAGE_SEPARATOR, separator) + ".json";
+
+        Path indentedResourcesDirectory = this.tmpFolder.newFolder("indented").toPath();
+        Path compactResourcesDirectory = this.tmpFolder.newFolder("compact").toPath();
+        for (boolean compact : new boolean[]{false, true})
+        {
+            ServiceExecutionGenerator.newBuilder()
+                    .withService(service)
+                    .withPureModel(PURE_MODEL)
+                    .withPackagePrefix(packagePrefix)
+                    .withOutputDirectories(this.tmpFolder.newFolder().toPath(), compact ? compactResourcesDirectory : indentedResourcesDirectory)
+                    .withPlanGeneratorExtensions(ServiceLoader.load(PlanGeneratorExtension.class))
+                    .withPureCoreExtensions(ServiceLoader.load(PureCoreExtension.class))
+                    .withClientVersion("vX_X_X")
+                    .withCompactPlans(compact)
+                    .build()
+                    .generate();
+        }
+
+        byte[] indentedPlan = Files.readAllBytes(indentedResourcesDirectory.resolve(planRelativePath));
+        byte[] compactPlan = Files.readAllBytes(compactResourcesDirectory.resolve(planRelativePath));
+        Assert.assertTrue(compactPlan.length < indentedPlan.length);
+        Assert.assertFalse(new String(compactPlan, StandardCharsets.UTF_8).contains("\n  "));
+        Assert.assertEquals(OBJECT_MAPPER.readTree(indentedPlan), OBJECT_MAPPER.readTree(compactPlan));
+    }
+
+    @Test
+    public void testDeduplicatedPlans() throws Exception
+    {
+        String packagePrefix = "org.finos";
+        Collection<Service> services = SERVICES.values();
+        ServiceExecutionGenerator.newBuilder()
+                .withServices(services)
+                .withPureModel(PURE_MODEL)
+                .withPackagePrefix(packagePrefix)
+                .withOutputDirectories(this.generatedSourcesDirectory, this.classesDirectory)
+                .withPlanGeneratorExtensions(ServiceLoader.load(PlanGeneratorExtension.class))
+                .withPureCoreExtensions(ServiceLoader.load(PureCoreExtension.class))
+                .withClientVersion("vX_X_X")
+                .withDeduplicatedPlans(true)
+                .build()
+                .generate();
+
+        // All plans are shared resources, named by the hash of their content
+        Path plansDirectory = this.classesDirectory.resolve("plans");
+        List<Path> planFiles = Files.walk(plansDirectory, Integer.MAX_VALUE).filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+        Assert.assertFalse(planFiles.isEmpty());
+        Assert.assertTrue(planFiles.size() <= services.size());
+        Path sharedPlansDirectory = plansDirectory.resolve("org").resolve("finos").resolve("shared");
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        for (Path planFile : planFiles)
+        {
+            Assert.assertEquals(sharedPlansDirectory, planFile.getParent());
+            String hash = ManifestTools.toHex(digest.digest(Files.readAllBytes(planFile)));
+            Assert.assertEquals(hash + ".plan.json", planFile.getFileName().toString());
+        }
+
+        // Each service execution class refers to one of the shared plans
+        String separator = this.generatedSourcesDirectory.getFileSystem().getSeparator();
+        Set<String> planResourceNames = planFiles.stream().map(p -> "plans/org/finos/shared/" + p.getFileName()).collect(Collectors.toSet());
+        for (Service service : services)
+        {
+            Path javaSource = this.generatedSourcesDirectory.resolve(getPackagePrefix(packagePrefix, separator) + service.getPath().replace(EntityPaths.PACKAGE_SEPARATOR, separator) + ".java");
+            String code = new String(Files.readAllBytes(javaSource), StandardCharsets.UTF_8);
+            Assert.assertTrue(service.getPath(), planResourceNames.stream().anyMatch(n -> code.contains("\"" + n + "\"")));
+        }
+
+        // Two services with identical plans share a single plan resource
+        Service service = getService("service::RelationalService");
+        Service copy = PureProtocolObjectMapperFactory.getNewObjectMapper().convertValue(service, Service.class);
+        copy.name = service.name + "Copy";
+        Path copyGeneratedSourcesDirectory = this.tmpFolder.newFolder("copy-generated-sources").toPath();
+        Path copyClassesDirectory = this.tmpFolder.newFolder("copy-classes").toPath();
+        Path manifestFile = this.tmpFolder.getRoot().toPath().resolve("copy-manifest").resolve("services.json");
+        ServiceExecutionGenerator.newBuilder()
+                .withServices(Arrays.asList(service, copy))
+                .withPureModel(PURE_MODEL)
+                .withPackagePrefix(packagePrefix)
+                .withOutputDirectories(copyGeneratedSourcesDirectory, copyClassesDirectory)
+                .withPlanGeneratorExtensions(ServiceLoader.load(PlanGeneratorExtension.class))
+                .withPureCoreExtensions(ServiceLoader.load(PureCoreExtension.class))
+                .withClientVersion("vX_X_X")
+                .withDeduplicatedPlans(true)
+                .withIncrementalGeneration(manifestFile, Lists.mutable.<PackageableElement>withAll(PURE_MODEL_CONTEXT_DATA.getElements()).with(copy))
+                .build()
+                .generate();
+        List<Path> copyPlanFiles = Files.walk(copyClassesDirectory.resolve("plans"), Integer.MAX_VALUE).filter(Files::isRegularFile).collect(Collectors.toList());
+        Assert.assertEquals(1, copyPlanFiles.size());
+        Path copyPlanFile = copyPlanFiles.get(0);
+        Assert.assertEquals(copyClassesDirectory.resolve("plans").resolve("org").resolve("finos").resolve("shared"), copyPlanFile.getParent());
+        Assert.assertEquals(ManifestTools.toHex(digest.digest(Files.readAllBytes(copyPlanFile))) + ".plan.json", copyPlanFile.getFileName().toString());
+        ServiceGenerationManifest manifest = ServiceGenerationManifest.readIfPossible(manifestFile);
+        Assert.assertNotNull(manifest);
+        String expectedPlanResourceName = "plans/org/finos/shared/" + copyPlanFile.getFileName();
+        Assert.assertEquals(expectedPlanResourceName, manifest.getService(service.getPath()).getExecutionPlanResourceName());
+        Assert.assertEquals(expectedPlanResourceName, manifest.getService(copy.getPath()).getExecutionPlanResourceName());
+    }
+
+    @Test
+    public void testCostOrderedParallelGeneration() throws Exception
+    {
+        String packagePrefix = "org.finos";
+        Collection<Service> services = getAllServices();
+        Path timingsFile = this.tmpFolder.getRoot().toPath().resolve("timings").resolve("timings.json");
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try
+        {
+            for (int i = 0; i < 2; i++)
+            {
+                // the second generation is ordered by the timings of the first
+                Path resourcesDirectory = this.tmpFolder.newFolder().toPath();
+                ServiceExecutionGenerator.newBuilder()
+                        .withServices(services)
+                        .withPureModel(PURE_MODEL)
+                        .withPackagePrefix(packagePrefix)
+                        .withOutputDirectories(this.tmpFolder.newFolder().toPath(), resourcesDirectory)
+                        .withPlanGeneratorExtensions(ServiceLoader.load(PlanGeneratorExtension.class))
+                        .withPureCoreExtensions(ServiceLoader.load(PureCoreExtension.class))
+                        .withClientVersion("vX_X_X")
+                        .withExecutorService(pool)
+                        .withTimingsFile(timingsFile)
+                        .build()
+                        .generate();
+
+                String separator = resourcesDirectory.getFileSystem().getSeparator();
+                List<String> missingPlans = services.stream()
+                        .map(s -> "plans" + separator + getPackagePrefix(packagePrefix, separator) + s.getPath().replace(EntityPaths.PACKAGE_SEPARATOR, separator) + ".json")
+                        .filter(p -> !Files.exists(resourcesDirectory.resolve(p)))
+                        .sorted()
+                        .collect(Collectors.toList());
+                Assert.assertEquals(Collections.emptyList(), missingPlans);
+
+                JsonNode timings = OBJECT_MAPPER.readTree(timingsFile.toFile());
+                Assert.assertEquals(1, timings.get("version").intValue());
+                Assert.assertEquals(services.stream().map(Service::getPath).collect(Collectors.toSet()), Sets.mutable.withAll(timings.get("services")::fieldNames));
+                timings.get("services").forEach(t -> Assert.assertTrue(t.longValue() > 0));
+            }
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+    }
+
+    private void generateIncrementally(String packagePrefix, Path manifestFile, Collection<? extends Service> services, Iterable<? extends PackageableElement> elements)
+    {
+        ServiceExecutionGenerator.newBuilder()
+                .withServices(services)
+                .withPureModel(PURE_MODEL)
+                .withPackagePrefix(packagePrefix)
+                .withOutputDirectories(this.generatedSourcesDirectory, this.classesDirectory)
+                .withPlanGeneratorExtensions(ServiceLoader.load(PlanGeneratorExtension.class))
+                .withPureCoreExtensions(ServiceLoader.load(PureCoreExtension.class))
+                .withClientVersion("vX_X_X")
+                .withIncrementalGeneration(manifestFile, elements)
+                .build()
+                .generate();
+    }
+
     private ClassLoader generateAndCompile(String packagePrefix, Service service) throws IOException
     {
         return generateAndCompile(packagePrefix, Collections.singletonList(service));
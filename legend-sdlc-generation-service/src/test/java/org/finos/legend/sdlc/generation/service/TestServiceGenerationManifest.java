@@ -0,0 +1,83 @@
+// Copyright 2023 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.sdlc.generation.service;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.finos.legend.engine.protocol.pure.v1.PureProtocolObjectMapperFactory;
+import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.PackageableElement;
+import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.domain.Class;
+import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.service.Service;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class TestServiceGenerationManifest
+{
+    private static final JsonMapper JSON_MAPPER = PureProtocolObjectMapperFactory.withPureProtocolExtensions(JsonMapper.builder().build());
+
+    @Test
+    public void testServiceFingerprints()
+    {
+        // the service references model::A (any string value is a reference), service::B references model::A, and
+        // service::C is unrelated
+        Service service = newService("S", "model::A", "/s");
+        Class a = newClass("A");
+        Service b = newService("B", "model::A", "/b");
+        Service c = newService("C", "nothing", "/c");
+        String fingerprint = computeFingerprint(service, Arrays.asList(service, a, b, c));
+
+        // order does not matter
+        Assert.assertEquals(fingerprint, computeFingerprint(service, Arrays.asList(c, b, a, service)));
+
+        // the service itself
+        Service changedService = newService("S", "model::A", "/s2");
+        Assert.assertNotEquals(fingerprint, computeFingerprint(changedService, Arrays.asList(changedService, a, b, c)));
+
+        // an element the service references
+        Assert.assertNotEquals(fingerprint, computeFingerprint(service, Arrays.asList(service, b, c)));
+
+        // an element which references an element the service references
+        Assert.assertNotEquals(fingerprint, computeFingerprint(service, Arrays.asList(service, a, newService("B", "model::A", "/b2"), c)));
+
+        // an unrelated element
+        Assert.assertEquals(fingerprint, computeFingerprint(service, Arrays.asList(service, a, b, newService("C", "nothing", "/c2"))));
+    }
+
+    private static String computeFingerprint(Service service, List<? extends PackageableElement> elements)
+    {
+        return ServiceGenerationManifest.computeServiceFingerprints(Collections.singletonList(service), elements, JSON_MAPPER).get(service.getPath());
+    }
+
+    private static Service newService(String name, String documentation, String pattern)
+    {
+        Service service = new Service();
+        service._package = "service";
+        service.name = name;
+        service.documentation = documentation;
+        service.pattern = pattern;
+        return service;
+    }
+
+    private static Class newClass(String name)
+    {
+        Class cls = new Class();
+        cls._package = "model";
+        cls.name = name;
+        return cls;
+    }
+}
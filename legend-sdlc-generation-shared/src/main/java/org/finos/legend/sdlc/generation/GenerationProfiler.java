@@ -0,0 +1,310 @@
+// Copyright 2023 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.sdlc.generation;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Collects wall time, CPU time and allocated bytes for the phases of a generation (e.g., load, compile, generate) and
+ * for the individual elements generated, and writes them as a JSON report. Measurements may be taken concurrently
+ * from multiple threads.
+ * <p>
+ * CPU time and allocated bytes are measured for the thread which starts and ends a measurement, so for a phase whose
+ * work is done on other threads they only cover the coordinating thread; the elements generated on those threads are
+ * measured individually. Values which cannot be measured are reported as -1.
+ * <p>
+ * A disabled profiler (see {@link #disabled()}) takes no measurements and can be used freely when profiling is off.
+ */
+public class GenerationProfiler
+{
+    private static final int REPORT_FORMAT_VERSION = 1;
+
+    private static final GenerationProfiler DISABLED = new GenerationProfiler(null, false);
+
+    private static final JsonMapper REPORT_JSON_MAPPER = JsonMapper.builder()
+            .enable(SerializationFeature.INDENT_OUTPUT)
+            .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+            .serializationInclusion(JsonInclude.Include.NON_NULL)
+            .build();
+
+    private final String name;
+    private final boolean enabled;
+    private final List<Measurement> phases = new ArrayList<>();
+    private final List<Measurement> elements = new ArrayList<>();
+
+    private GenerationProfiler(String name, boolean enabled)
+    {
+        this.name = name;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled()
+    {
+        return this.enabled;
+    }
+
+    /**
+     * Start measuring a phase. The measurement ends when the returned timer is closed.
+     *
+     * @param phase phase name
+     * @return timer
+     */
+    public Timer startPhase(String phase)
+    {
+        return this.enabled ? new Timer(this.phases, Objects.requireNonNull(phase, "phase may not be null"), null) : Timer.NO_OP;
+    }
+
+    /**
+     * Start measuring the generation of an element during a phase. The measurement ends when the returned timer is
+     * closed.
+     *
+     * @param phase   phase name
+     * @param element element path (or other identifier)
+     * @return timer
+     */
+    public Timer startElement(String phase, String element)
+    {
+        return this.enabled ? new Timer(this.elements, Objects.requireNonNull(phase, "phase may not be null"), Objects.requireNonNull(element, "element may not be null")) : Timer.NO_OP;
+    }
+
+    /**
+     * Write the report as JSON to the given file, replacing any existing file. Phases are reported in the order they
+     * started; elements are reported by phase and then by descending wall time, so that the most expensive elements
+     * come first. Nothing is written if the profiler is disabled.
+     *
+     * @param file report file
+     * @throws IOException if an I/O error occurs
+     */
+    public void writeReport(Path file) throws IOException
+    {
+        if (!this.enabled)
+        {
+            return;
+        }
+
+        List<Measurement> phaseList;
+        List<Measurement> elementList;
+        synchronized (this.phases)
+        {
+            phaseList = new ArrayList<>(this.phases);
+        }
+        synchronized (this.elements)
+        {
+            elementList = new ArrayList<>(this.elements);
+        }
+        phaseList.sort(Comparator.comparingLong(m -> m.startTime));
+        elementList.sort(Comparator.comparing((Measurement m) -> m.phase).thenComparing(Comparator.comparingLong((Measurement m) -> m.wallTimeNanos).reversed()).thenComparing(m -> m.element));
+
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null)
+        {
+            Files.createDirectories(parent);
+        }
+        REPORT_JSON_MAPPER.writeValue(file.toFile(), new Report(REPORT_FORMAT_VERSION, this.name, phaseList, elementList));
+    }
+
+    /**
+     * Create a new profiler.
+     *
+     * @param name name for the report (e.g., the mojo execution)
+     * @return new profiler
+     */
+    public static GenerationProfiler newProfiler(String name)
+    {
+        return new GenerationProfiler(name, true);
+    }
+
+    /**
+     * Get a profiler which takes no measurements.
+     *
+     * @return disabled profiler
+     */
+    public static GenerationProfiler disabled()
+    {
+        return DISABLED;
+    }
+
+    public static class Timer implements AutoCloseable
+    {
+        private static final Timer NO_OP = new Timer();
+
+        private final List<Measurement> measurements;
+        private final String phase;
+        private final String element;
+        private final long threadId;
+        private final long startTime;
+        private final long startCpuTime;
+        private final long startAllocatedBytes;
+        private boolean closed;
+
+        private Timer()
+        {
+            this.measurements = null;
+            this.phase = null;
+            this.element = null;
+            this.threadId = -1;
+            this.startTime = 0;
+            this.startCpuTime = -1;
+            this.startAllocatedBytes = -1;
+            this.closed = true;
+        }
+
+        private Timer(List<Measurement> measurements, String phase, String element)
+        {
+            this.measurements = measurements;
+            this.phase = phase;
+            this.element = element;
+            this.threadId = Thread.currentThread().getId();
+            this.startCpuTime = ThreadResources.getCurrentThreadCpuTime();
+            this.startAllocatedBytes = ThreadResources.getCurrentThreadAllocatedBytes();
+            this.startTime = System.nanoTime();
+        }
+
+        @Override
+        public void close()
+        {
+            if (this.closed)
+            {
+                return;
+            }
+            this.closed = true;
+            long endTime = System.nanoTime();
+            boolean sameThread = (Thread.currentThread().getId() == this.threadId);
+            long cpuTime = sameThread ? difference(this.startCpuTime, ThreadResources.getCurrentThreadCpuTime()) : -1;
+            long allocatedBytes = sameThread ? difference(this.startAllocatedBytes, ThreadResources.getCurrentThreadAllocatedBytes()) : -1;
+            Measurement measurement = new Measurement(this.phase, this.element, this.startTime, endTime - this.startTime, cpuTime, allocatedBytes);
+            synchronized (this.measurements)
+            {
+                this.measurements.add(measurement);
+            }
+        }
+
+        private static long difference(long start, long end)
+        {
+            return ((start < 0) || (end < 0)) ? -1 : (end - start);
+        }
+    }
+
+    private static class ThreadResources
+    {
+        private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+        private static final boolean CPU_TIME_SUPPORTED = isCpuTimeSupported();
+        private static final boolean ALLOCATED_BYTES_SUPPORTED = isAllocatedBytesSupported();
+
+        private static long getCurrentThreadCpuTime()
+        {
+            return CPU_TIME_SUPPORTED ? THREAD_MX_BEAN.getCurrentThreadCpuTime() : -1;
+        }
+
+        private static long getCurrentThreadAllocatedBytes()
+        {
+            return ALLOCATED_BYTES_SUPPORTED ? ((com.sun.management.ThreadMXBean) THREAD_MX_BEAN).getThreadAllocatedBytes(Thread.currentThread().getId()) : -1;
+        }
+
+        private static boolean isCpuTimeSupported()
+        {
+            try
+            {
+                return THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported() && THREAD_MX_BEAN.isThreadCpuTimeEnabled();
+            }
+            catch (Exception e)
+            {
+                return false;
+            }
+        }
+
+        private static boolean isAllocatedBytesSupported()
+        {
+            try
+            {
+                // the extended thread MX bean is not available on all JVMs
+                return (THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean) &&
+                        ((com.sun.management.ThreadMXBean) THREAD_MX_BEAN).isThreadAllocatedMemorySupported() &&
+                        ((com.sun.management.ThreadMXBean) THREAD_MX_BEAN).isThreadAllocatedMemoryEnabled();
+            }
+            catch (Throwable t)
+            {
+                return false;
+            }
+        }
+    }
+
+    private static class Measurement
+    {
+        @JsonProperty
+        private final String phase;
+
+        @JsonProperty
+        private final String element;
+
+        private final long startTime;
+
+        @JsonProperty
+        private final long wallTimeNanos;
+
+        @JsonProperty
+        private final long cpuTimeNanos;
+
+        @JsonProperty
+        private final long allocatedBytes;
+
+        private Measurement(String phase, String element, long startTime, long wallTimeNanos, long cpuTimeNanos, long allocatedBytes)
+        {
+            this.phase = phase;
+            this.element = element;
+            this.startTime = startTime;
+            this.wallTimeNanos = wallTimeNanos;
+            this.cpuTimeNanos = cpuTimeNanos;
+            this.allocatedBytes = allocatedBytes;
+        }
+    }
+
+    private static class Report
+    {
+        @JsonProperty
+        private final int version;
+
+        @JsonProperty
+        private final String name;
+
+        @JsonProperty
+        private final List<Measurement> phases;
+
+        @JsonProperty
+        private final List<Measurement> elements;
+
+        private Report(int version, String name, List<Measurement> phases, List<Measurement> elements)
+        {
+            this.version = version;
+            this.name = name;
+            this.phases = phases;
+            this.elements = elements;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+// Copyright 2023 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.sdlc.generation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class TestGenerationProfiler
+{
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void testReport() throws Exception
+    {
+        GenerationProfiler profiler = GenerationProfiler.newProfiler("test");
+        Assert.assertTrue(profiler.isEnabled());
+        try (GenerationProfiler.Timer ignore = profiler.startPhase("load"))
+        {
+            Thread.sleep(1);
+        }
+        try (GenerationProfiler.Timer ignore = profiler.startPhase("generate"))
+        {
+            try (GenerationProfiler.Timer ignore2 = profiler.startElement("generate", "model::Fast"))
+            {
+                Thread.sleep(1);
+            }
+            try (GenerationProfiler.Timer ignore2 = profiler.startElement("generate", "model::Slow"))
+            {
+                Thread.sleep(20);
+            }
+        }
+
+        Path reportFile = this.tempFolder.getRoot().toPath().resolve("profile").resolve("report.json");
+        profiler.writeReport(reportFile);
+        JsonNode report = JsonMapper.builder().build().readTree(reportFile.toFile());
+        Assert.assertEquals(1, report.get("version").intValue());
+        Assert.assertEquals("test", report.get("name").textValue());
+
+        JsonNode phases = report.get("phases");
+        Assert.assertEquals(2, phases.size());
+        Assert.assertEquals("load", phases.get(0).get("phase").textValue());
+        Assert.assertEquals("generate", phases.get(1).get("phase").textValue());
+        Assert.assertFalse(phases.get(0).has("element"));
+        Assert.assertTrue(phases.get(0).get("wallTimeNanos").longValue() > 0);
+
+        JsonNode elements = report.get("elements");
+        Assert.assertEquals(2, elements.size());
+        // most expensive first
+        Assert.assertEquals("model::Slow", elements.get(0).get("element").textValue());
+        Assert.assertEquals("model::Fast", elements.get(1).get("element").textValue());
+        for (JsonNode element : elements)
+        {
+            Assert.assertEquals("generate", element.get("phase").textValue());
+            Assert.assertTrue(element.has("cpuTimeNanos"));
+            Assert.assertTrue(element.has("allocatedBytes"));
+        }
+    }
+
+    @Test
+    public void testDisabled() throws Exception
+    {
+        GenerationProfiler profiler = GenerationProfiler.disabled();
+        Assert.assertFalse(profiler.isEnabled());
+        try (GenerationProfiler.Timer ignore = profiler.startPhase("load"))
+        {
+            Assert.assertNotNull(ignore);
+        }
+
+        Path reportFile = this.tempFolder.getRoot().toPath().resolve("report.json");
+        profiler.writeReport(reportFile);
+        Assert.assertFalse(Files.exists(reportFile));
+    }
+}
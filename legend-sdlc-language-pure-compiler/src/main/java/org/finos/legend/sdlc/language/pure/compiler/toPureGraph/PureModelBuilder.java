@@ -137,6 +137,23 @@ public class PureModelBuilder
         return this;
     }
 
+    /**
+     * Set the maximum number of entities to convert concurrently when adding multiple entities at once. See
+     * {@link PureModelContextDataBuilder#setParallelism}.
+     *
+     * @param parallelism maximum number of entities to convert concurrently
+     */
+    public void setParallelism(int parallelism)
+    {
+        this.contextDataBuilder.setParallelism(parallelism);
+    }
+
+    public PureModelBuilder withParallelism(int parallelism)
+    {
+        setParallelism(parallelism);
+        return this;
+    }
+
     public PureModelBuilder withSDLC(SDLC sdlc)
     {
         this.contextDataBuilder.withSDLC(sdlc);
@@ -14,6 +14,10 @@
 
 package org.finos.legend.sdlc.protocol.pure.v1;
 
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
 import org.eclipse.collections.impl.utility.Iterate;
 import org.eclipse.collections.impl.utility.ListIterate;
 import org.finos.legend.engine.language.pure.grammar.from.PureGrammarParser;
@@ -35,21 +39,63 @@ import java.io.OutputStream;
 import java.io.Reader;
 import java.io.Writer;
 import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 public class PureEntitySerializer implements EntityTextSerializer
 {
     private static final Logger LOGGER = LoggerFactory.getLogger(PureEntitySerializer.class);
 
+    private static final int DEFAULT_CAN_SERIALIZE_CACHE_SIZE = 8192;
+
+    private static final JsonMapper HASH_JSON_MAPPER = JsonMapper.builder()
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+            .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .build();
+
     private final PureToEntityConverter pureToEntityConverter = new PureToEntityConverter();
-    private final PureGrammarParser pureParser = PureGrammarParser.newInstance();
+    private final InstancePool<PureGrammarParser> pureParsers = new InstancePool<>(PureGrammarParser::newInstance);
 
     private final EntityToPureConverter entityToPureConverter = new EntityToPureConverter();
-    private final PureGrammarComposer pureComposer = PureGrammarComposer.newInstance(PureGrammarComposerContext.Builder.newInstance()
+    private final InstancePool<PureGrammarComposer> pureComposers = new InstancePool<>(() -> PureGrammarComposer.newInstance(PureGrammarComposerContext.Builder.newInstance()
             .withRenderStyle(RenderStyle.PRETTY)
-            .build());
+            .build()));
+
+    private final Map<String, Boolean> canSerializeCache;
+
+    public PureEntitySerializer()
+    {
+        this(DEFAULT_CAN_SERIALIZE_CACHE_SIZE);
+    }
+
+    /**
+     * Create a Pure entity serializer which remembers the results of {@link #canSerialize} for up to
+     * canSerializeCacheSize distinct entities (keyed by a hash of classifier and content). If the size is zero or
+     * negative, results are not remembered.
+     *
+     * @param canSerializeCacheSize maximum number of canSerialize results to remember
+     */
+    public PureEntitySerializer(int canSerializeCacheSize)
+    {
+        this.canSerializeCache = (canSerializeCacheSize <= 0) ? null : Collections.synchronizedMap(new LinkedHashMap<String, Boolean>(16, 0.75f, true)
+        {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest)
+            {
+                return size() > canSerializeCacheSize;
+            }
+        });
+    }
 
     @Override
     public String getName()
@@ -71,6 +117,29 @@ public class PureEntitySerializer implements EntityTextSerializer
             return false;
         }
 
+        if (this.canSerializeCache == null)
+        {
+            return computeCanSerialize(entity);
+        }
+
+        String key = computeEntityHash(entity);
+        if (key == null)
+        {
+            return computeCanSerialize(entity);
+        }
+
+        Boolean cached = this.canSerializeCache.get(key);
+        if (cached != null)
+        {
+            return cached;
+        }
+        boolean result = computeCanSerialize(entity);
+        this.canSerializeCache.put(key, result);
+        return result;
+    }
+
+    private boolean computeCanSerialize(Entity entity)
+    {
         Optional<PackageableElement> element = this.entityToPureConverter.fromEntityIfPossible(entity);
         if (!element.isPresent())
         {
@@ -131,13 +200,14 @@ public class PureEntitySerializer implements EntityTextSerializer
     private String serializeToString(PackageableElement element)
     {
         PureModelContextData pureModelContextData = PureModelContextData.newPureModelContextData(null, null, Collections.singletonList(element));
-        return this.pureComposer.renderPureModelContextData(pureModelContextData);
+        return this.pureComposers.apply(composer -> composer.renderPureModelContextData(pureModelContextData));
     }
 
     @Override
     public Entity deserialize(Reader reader) throws IOException
     {
-        StringBuilder builder = new StringBuilder();
+        // NOTE: the Pure grammar parser only accepts a String, so the reader must be fully consumed before parsing
+        StringBuilder builder = new StringBuilder(8192);
         char[] buffer = new char[8192];
         int read;
         while ((read = reader.read(buffer)) != -1)
@@ -156,11 +226,11 @@ public class PureEntitySerializer implements EntityTextSerializer
 
     private PackageableElement deserializeToElement(String content)
     {
-        PureModelContextData pureModelContextData = this.pureParser.parseModel(
+        PureModelContextData pureModelContextData = this.pureParsers.apply(parser -> parser.parseModel(
                 content,
                 // NOTE: remove source information to optimize model size for storage
                 false
-        );
+        ));
         List<PackageableElement> elements = pureModelContextData.getElements();
         switch (elements.size())
         {
@@ -236,4 +306,89 @@ public class PureEntitySerializer implements EntityTextSerializer
     {
         return (section.elements != null) && !section.elements.isEmpty();
     }
+
+    private static String computeEntityHash(Entity entity)
+    {
+        MessageDigest digest;
+        try
+        {
+            digest = MessageDigest.getInstance("SHA-256");
+        }
+        catch (NoSuchAlgorithmException e)
+        {
+            LOGGER.debug("SHA-256 not available, not caching canSerialize results", e);
+            return null;
+        }
+
+        try (DigestOutputStream stream = new DigestOutputStream(NullOutputStream.INSTANCE, digest))
+        {
+            String classifierPath = entity.getClassifierPath();
+            if (classifierPath != null)
+            {
+                stream.write(classifierPath.getBytes(StandardCharsets.UTF_8));
+            }
+            stream.write(0);
+            HASH_JSON_MAPPER.writeValue(stream, entity.getContent());
+        }
+        catch (Exception e)
+        {
+            LOGGER.debug("Unable to compute hash for entity \"{}\", not caching canSerialize result", entity.getPath(), e);
+            return null;
+        }
+
+        byte[] bytes = digest.digest();
+        StringBuilder builder = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes)
+        {
+            builder.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Pool of instances which are not guaranteed to be safe for concurrent use. Each instance is used by at most one
+     * thread at a time, and new instances are created on demand when all existing instances are in use.
+     */
+    private static class InstancePool<T>
+    {
+        private final ConcurrentLinkedQueue<T> available = new ConcurrentLinkedQueue<>();
+        private final Supplier<? extends T> factory;
+
+        private InstancePool(Supplier<? extends T> factory)
+        {
+            this.factory = factory;
+        }
+
+        <R> R apply(Function<? super T, ? extends R> function)
+        {
+            T instance = this.available.poll();
+            if (instance == null)
+            {
+                instance = this.factory.get();
+            }
+            try
+            {
+                return function.apply(instance);
+            }
+            finally
+            {
+                this.available.offer(instance);
+            }
+        }
+    }
+
+    private static class NullOutputStream extends OutputStream
+    {
+        private static final NullOutputStream INSTANCE = new NullOutputStream();
+
+        @Override
+        public void write(int b)
+        {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len)
+        {
+        }
+    }
 }
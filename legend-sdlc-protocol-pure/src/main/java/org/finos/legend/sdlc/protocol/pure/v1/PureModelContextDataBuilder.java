@@ -23,8 +23,13 @@ import org.finos.legend.engine.protocol.pure.v1.model.context.PureModelContextPo
 import org.finos.legend.engine.protocol.pure.v1.model.context.SDLC;
 import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.PackageableElement;
 import org.finos.legend.sdlc.domain.model.entity.Entity;
+import org.finos.legend.sdlc.tools.ParallelTools;
 
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public class PureModelContextDataBuilder
@@ -33,6 +38,7 @@ public class PureModelContextDataBuilder
     private final MutableList<PackageableElement> elements = Lists.mutable.empty();
     private Protocol protocol;
     private SDLC sdlc;
+    private int parallelism = 1;
 
     private PureModelContextDataBuilder(EntityToPureConverter converter)
     {
@@ -68,7 +74,14 @@ public class PureModelContextDataBuilder
 
     public void addEntities(Stream<? extends Entity> entities)
     {
-        entities.forEach(this::addEntity);
+        if (this.parallelism > 1)
+        {
+            addEntitiesInParallel(entities.collect(Collectors.toList()), false);
+        }
+        else
+        {
+            entities.forEach(this::addEntity);
+        }
     }
 
     public PureModelContextDataBuilder withEntities(Stream<? extends Entity> entities)
@@ -79,7 +92,14 @@ public class PureModelContextDataBuilder
 
     public void addEntities(Iterable<? extends Entity> entities)
     {
-        entities.forEach(this::addEntity);
+        if (this.parallelism > 1)
+        {
+            addEntitiesInParallel(Lists.mutable.withAll(entities), false);
+        }
+        else
+        {
+            entities.forEach(this::addEntity);
+        }
     }
 
     public PureModelContextDataBuilder withEntities(Iterable<? extends Entity> entities)
@@ -90,7 +110,14 @@ public class PureModelContextDataBuilder
 
     public void addEntities(Entity... entities)
     {
-        ArrayIterate.forEach(entities, this::addEntity);
+        if (this.parallelism > 1)
+        {
+            addEntitiesInParallel(Lists.mutable.with(entities), false);
+        }
+        else
+        {
+            ArrayIterate.forEach(entities, this::addEntity);
+        }
     }
 
     public PureModelContextDataBuilder withEntities(Entity... entities)
@@ -114,7 +141,14 @@ public class PureModelContextDataBuilder
 
     public void addEntitiesIfPossible(Stream<? extends Entity> entities)
     {
-        entities.forEach(this::addEntityIfPossible);
+        if (this.parallelism > 1)
+        {
+            addEntitiesInParallel(entities.collect(Collectors.toList()), true);
+        }
+        else
+        {
+            entities.forEach(this::addEntityIfPossible);
+        }
     }
 
     public PureModelContextDataBuilder withEntitiesIfPossible(Stream<? extends Entity> entities)
@@ -125,7 +159,14 @@ public class PureModelContextDataBuilder
 
     public void addEntitiesIfPossible(Iterable<? extends Entity> entities)
     {
-        entities.forEach(this::addEntityIfPossible);
+        if (this.parallelism > 1)
+        {
+            addEntitiesInParallel(Lists.mutable.withAll(entities), true);
+        }
+        else
+        {
+            entities.forEach(this::addEntityIfPossible);
+        }
     }
 
     public PureModelContextDataBuilder withEntitiesIfPossible(Iterable<? extends Entity> entities)
@@ -136,7 +177,14 @@ public class PureModelContextDataBuilder
 
     public void addEntitiesIfPossible(Entity... entities)
     {
-        ArrayIterate.forEach(entities, this::addEntityIfPossible);
+        if (this.parallelism > 1)
+        {
+            addEntitiesInParallel(Lists.mutable.with(entities), true);
+        }
+        else
+        {
+            ArrayIterate.forEach(entities, this::addEntityIfPossible);
+        }
     }
 
     public PureModelContextDataBuilder withEntitiesIfPossible(Entity... entities)
@@ -145,6 +193,25 @@ public class PureModelContextDataBuilder
         return this;
     }
 
+    /**
+     * Set the maximum number of entities to convert concurrently when adding multiple entities at once. If parallelism
+     * is greater than 1, entities are converted on a dedicated pool; elements are still added in the order of the
+     * entities. When converting in parallel, all conversion failures are reported together and no elements from the
+     * failed batch are added. The default parallelism is 1.
+     *
+     * @param parallelism maximum number of entities to convert concurrently
+     */
+    public void setParallelism(int parallelism)
+    {
+        this.parallelism = parallelism;
+    }
+
+    public PureModelContextDataBuilder withParallelism(int parallelism)
+    {
+        setParallelism(parallelism);
+        return this;
+    }
+
     public void setProtocol(Protocol protocol)
     {
         this.protocol = protocol;
@@ -190,6 +257,44 @@ public class PureModelContextDataBuilder
         return builder.build();
     }
 
+    private void addEntitiesInParallel(List<? extends Entity> entities, boolean ifPossible)
+    {
+        if (entities.size() <= 1)
+        {
+            if (ifPossible)
+            {
+                entities.forEach(this::addEntityIfPossible);
+            }
+            else
+            {
+                entities.forEach(this::addEntity);
+            }
+            return;
+        }
+
+        ForkJoinPool pool = ParallelTools.createForkJoinPool(Math.min(this.parallelism, entities.size()));
+        ParallelTools.MappedResults<PackageableElement> results;
+        try
+        {
+            results = ParallelTools.mapInParallel(pool, entities, e -> ifPossible ? this.converter.fromEntityIfPossible(e).orElse(null) : this.converter.fromEntity(e));
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+
+        List<Exception> failures = results.getErrors();
+        if (!failures.isEmpty())
+        {
+            StringBuilder builder = new StringBuilder("Could not convert ").append(failures.size()).append((failures.size() == 1) ? " entity" : " entities");
+            failures.forEach(f -> builder.append("\n  ").append(f.getMessage()));
+            IllegalArgumentException exception = new IllegalArgumentException(builder.toString(), failures.get(0));
+            failures.subList(1, failures.size()).forEach(exception::addSuppressed);
+            throw exception;
+        }
+        results.getResults().stream().filter(Objects::nonNull).forEach(this::addPackageableElement);
+    }
+
     public static PureModelContextDataBuilder newBuilder()
     {
         return newBuilder(new EntityToPureConverter());
@@ -35,6 +35,11 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.regex.Pattern;
 
 public class TestPureEntitySerializer
@@ -128,6 +133,47 @@ public class TestPureEntitySerializer
         }
     }
 
+    @Test
+    public void testCanSerializeCached()
+    {
+        Entity entity = readEntityFromJsonResource(buildResourceName("class", "TestClass_full.json"));
+        Entity invalidEntity = readEntityFromJsonResource(buildResourceName("invalid", "TestNonPureEntity.json"));
+        PureEntitySerializer uncachedSerializer = new PureEntitySerializer(0);
+        for (int i = 0; i < 3; i++)
+        {
+            Assert.assertTrue(this.pureSerializer.canSerialize(entity));
+            Assert.assertTrue(uncachedSerializer.canSerialize(entity));
+            Assert.assertFalse(this.pureSerializer.canSerialize(invalidEntity));
+            Assert.assertFalse(uncachedSerializer.canSerialize(invalidEntity));
+        }
+    }
+
+    @Test
+    public void testConcurrentSerialization() throws Exception
+    {
+        String[][] testCases = {{"class", "TestClass"}, {"association", "TestAssociation"}, {"enumeration", "TestEnumeration"}, {"mapping", "m2m", "TestMapping"}, {"mapping", "relational", "TestMapping"}};
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try
+        {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++)
+            {
+                for (String[] testCase : testCases)
+                {
+                    futures.add(executor.submit(() -> testSerialize(testCase)));
+                }
+            }
+            for (Future<?> future : futures)
+            {
+                future.get();
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
     private void testSerialize(String... names)
     {
         String baseName = buildResourceName(names);
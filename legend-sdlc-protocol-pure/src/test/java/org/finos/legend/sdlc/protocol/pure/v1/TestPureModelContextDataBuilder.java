@@ -20,14 +20,18 @@ import org.finos.legend.engine.protocol.Protocol;
 import org.finos.legend.engine.protocol.pure.v1.model.context.PureModelContextData;
 import org.finos.legend.engine.protocol.pure.v1.model.context.SDLC;
 import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.domain.Class;
+import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.PackageableElement;
 import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.mapping.Mapping;
+import org.finos.legend.sdlc.domain.model.entity.Entity;
 import org.finos.legend.sdlc.serialization.EntityLoader;
 import org.junit.Assert;
 import org.junit.Test;
 
 import java.nio.file.Paths;
 import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
+import java.util.stream.Collectors;
 
 public class TestPureModelContextDataBuilder
 {
@@ -162,6 +166,53 @@ public class TestPureModelContextDataBuilder
                 pureModelContextData.getElementsOfType(Mapping.class));
     }
 
+    @Test
+    public void testParallelConversion() throws Exception
+    {
+        List<Entity> entities;
+        try (EntityLoader entityLoader = EntityLoader.newEntityLoader(Paths.get(Objects.requireNonNull(getClass().getClassLoader().getResource("pure-model-context-data-builder-test-model")).toURI())))
+        {
+            entities = entityLoader.getAllEntities().collect(Collectors.toList());
+        }
+        List<String> expectedPaths = entities.stream().map(Entity::getPath).collect(Collectors.toList());
+
+        PureModelContextData serial = PureModelContextDataBuilder.newBuilder().withEntities(entities).build();
+        Assert.assertEquals(expectedPaths, serial.getElements().stream().map(PackageableElement::getPath).collect(Collectors.toList()));
+        for (int parallelism : new int[]{2, 3, 8})
+        {
+            String message = "parallelism " + parallelism;
+            PureModelContextDataBuilder builder = PureModelContextDataBuilder.newBuilder().withParallelism(parallelism);
+            PureModelContextData parallel = builder.withEntities(entities).build();
+            Assert.assertEquals(message, expectedPaths, parallel.getElements().stream().map(PackageableElement::getPath).collect(Collectors.toList()));
+            Assert.assertEquals(message, expectedPaths, PureModelContextDataBuilder.newBuilder().withParallelism(parallelism).withEntities(entities.stream()).build().getElements().stream().map(PackageableElement::getPath).collect(Collectors.toList()));
+            Assert.assertEquals(message, expectedPaths, PureModelContextDataBuilder.newBuilder().withParallelism(parallelism).withEntitiesIfPossible(entities).build().getElements().stream().map(PackageableElement::getPath).collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void testParallelConversionErrors() throws Exception
+    {
+        List<Entity> entities;
+        try (EntityLoader entityLoader = EntityLoader.newEntityLoader(Paths.get(Objects.requireNonNull(getClass().getClassLoader().getResource("pure-model-context-data-builder-test-model")).toURI())))
+        {
+            entities = entityLoader.getAllEntities().collect(Collectors.toList());
+        }
+        Entity badEntity1 = Entity.newEntity("model::Bad1", "meta::pure::metamodel::type::Class", Collections.singletonMap("_type", "notAType"));
+        Entity badEntity2 = Entity.newEntity("model::Bad2", "meta::pure::metamodel::type::Class", Collections.singletonMap("_type", "notAType"));
+        List<Entity> withBadEntities = Lists.mutable.<Entity>with(badEntity1).withAll(entities).with(badEntity2);
+
+        PureModelContextDataBuilder builder = PureModelContextDataBuilder.newBuilder().withParallelism(4);
+        IllegalArgumentException e = Assert.assertThrows(IllegalArgumentException.class, () -> builder.addEntities(withBadEntities));
+        Assert.assertTrue(e.getMessage(), e.getMessage().startsWith("Could not convert 2 entities"));
+        Assert.assertTrue(e.getMessage(), e.getMessage().contains("model::Bad1"));
+        Assert.assertTrue(e.getMessage(), e.getMessage().contains("model::Bad2"));
+        Assert.assertEquals(1, e.getSuppressed().length);
+        Assert.assertEquals(0, builder.getElementCount());
+
+        builder.addEntitiesIfPossible(withBadEntities);
+        Assert.assertEquals(entities.size(), builder.getElementCount());
+    }
+
     private static class TestSDLC extends SDLC
     {
         private final String project;
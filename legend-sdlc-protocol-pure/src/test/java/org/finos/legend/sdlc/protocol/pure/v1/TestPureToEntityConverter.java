@@ -14,13 +14,22 @@
 
 package org.finos.legend.sdlc.protocol.pure.v1;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.finos.legend.engine.protocol.pure.v1.PureProtocolObjectMapperFactory;
+import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.PackageableElement;
 import org.finos.legend.sdlc.domain.model.entity.Entity;
+import org.finos.legend.sdlc.serialization.EntitySerializers;
 import org.junit.Assert;
 import org.junit.Test;
 import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.domain.Class;
 import org.finos.legend.sdlc.protocol.TestProtocolToEntityConverter;
 
+import java.io.InputStream;
+import java.net.URL;
 import java.util.Collections;
+import java.util.Map;
 import java.util.Optional;
 
 public class TestPureToEntityConverter
@@ -49,5 +58,47 @@ public class TestPureToEntityConverter
         Assert.assertTrue(entity.isPresent());
         TestProtocolToEntityConverter.assertEntityEqualsClass(cls, entity.get());
     }
-}
 
+    @Test
+    public void testToEntityMatchesTextConversion() throws Exception
+    {
+        // converting via a token buffer must give the same JSON content as going through JSON text (numbers may keep
+        // the Java types the element was serialized with, so compare after a text round trip as well as serialized)
+        JsonMapper textMapper = PureProtocolObjectMapperFactory.withPureProtocolExtensions(JsonMapper.builder().serializationInclusion(JsonInclude.Include.NON_NULL).build());
+        JsonMapper sortedMapper = JsonMapper.builder().enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS).build();
+        EntityToPureConverter toPureConverter = new EntityToPureConverter();
+        String[] resourceNames = {
+                "pure-entity-serializer-test/association/TestAssociation_full.json",
+                "pure-entity-serializer-test/class/TestClass_full.json",
+                "pure-entity-serializer-test/enumeration/TestEnumeration_full.json",
+                "pure-entity-serializer-test/mapping/m2m/TestMapping_full.json",
+                "pure-entity-serializer-test/mapping/relational/TestMapping_full.json",
+                "pure-model-context-data-builder-test-model/entities/model/domain/Source.json",
+                "pure-model-context-data-builder-test-model/entities/model/domain/Target.json",
+                "pure-model-context-data-builder-test-model/entities/model/mapping/SourceToTargetM2M.json"
+        };
+        for (String resourceName : resourceNames)
+        {
+            Entity original = readEntityFromJsonResource(resourceName);
+            PackageableElement element = toPureConverter.fromEntity(original);
+
+            Map<?, ?> expectedContent = textMapper.readValue(textMapper.writeValueAsString(element), Map.class);
+            Entity entity = this.converter.toEntity(element);
+            Assert.assertEquals(resourceName, original.getPath(), entity.getPath());
+            Assert.assertEquals(resourceName, original.getClassifierPath(), entity.getClassifierPath());
+            Assert.assertEquals(resourceName, expectedContent, textMapper.readValue(textMapper.writeValueAsString(entity.getContent()), Map.class));
+            Assert.assertEquals(resourceName, textMapper.writeValueAsString(expectedContent), textMapper.writeValueAsString(entity.getContent()));
+            Assert.assertArrayEquals(resourceName, sortedMapper.writeValueAsBytes(expectedContent), sortedMapper.writeValueAsBytes(entity.getContent()));
+        }
+    }
+
+    private Entity readEntityFromJsonResource(String resourceName) throws Exception
+    {
+        URL url = getClass().getClassLoader().getResource(resourceName);
+        Assert.assertNotNull("Could not find: " + resourceName, url);
+        try (InputStream stream = url.openStream())
+        {
+            return EntitySerializers.getDefaultJsonSerializer().deserialize(stream);
+        }
+    }
+}
@@ -14,11 +14,13 @@
 
 package org.finos.legend.sdlc.protocol;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import org.finos.legend.sdlc.domain.model.entity.Entity;
 
+import java.io.IOException;
 import java.util.Map;
 import java.util.Optional;
 
@@ -88,9 +90,25 @@ public abstract class ProtocolToEntityConverter<T>
 
     protected abstract String getEntityPath(T element);
 
-    private Map<String, ?> convertContent(T element) throws JsonProcessingException
+    private Map<String, ?> convertContent(T element) throws IOException
+    {
+        // Note that we cannot use ObjectMapper.convertValue, as some protocol elements may have custom serializers/deserializers which can cause problems with convertValue.
+        // Instead, we serialize to a token buffer and read the content back from that, which avoids producing and
+        // parsing JSON text. If reading from the tokens fails, we fall back to going through JSON text.
+        TokenBuffer buffer = new TokenBuffer(this.jsonMapper, false);
+        this.jsonMapper.writeValue(buffer, element);
+        try (JsonParser parser = buffer.asParser())
+        {
+            return this.jsonMapper.readValue(parser, this.entityContentType);
+        }
+        catch (IOException e)
+        {
+            return convertContentViaText(element);
+        }
+    }
+
+    private Map<String, ?> convertContentViaText(T element) throws IOException
     {
-        // Note that we cannot use ObjectMapper.convertValue, as some protocol elements may have custom serializers/deserializers which can cause problems with convertValue
         String intermediateJSON = this.jsonMapper.writeValueAsString(element);
         return this.jsonMapper.readValue(intermediateJSON, this.entityContentType);
     }
@@ -34,6 +34,7 @@ import org.finos.legend.sdlc.server.api.workflow.FileSystemWorkflowApi;
 import org.finos.legend.sdlc.server.api.workflow.FileSystemWorkflowJobApi;
 import org.finos.legend.sdlc.server.api.workspace.FileSystemWorkspaceApi;
 import org.finos.legend.sdlc.server.config.LegendSDLCServerFeaturesConfiguration;
+import org.finos.legend.sdlc.server.config.PureModelContextDataCacheConfiguration;
 import org.finos.legend.sdlc.server.depot.DepotConfiguration;
 import org.finos.legend.sdlc.server.depot.FileSystemMetadataApi;
 import org.finos.legend.sdlc.server.depot.api.MetadataApi;
@@ -219,6 +220,7 @@ public class FSModule extends DropwizardAwareModule<LegendSDLCServerFSConfigurat
         binder.bind(AuthClientInjector.class).toProvider(this::getAuthClientInjector);
         binder.bind(BaseServer.ServerInfo.class).toProvider(this.server::getServerInfo);
         binder.bind(LegendSDLCServerFeaturesConfiguration.class).toProvider(this::getFeaturesConfiguration);
+        binder.bind(PureModelContextDataCacheConfiguration.class).toProvider(this::getPureModelContextDataCacheConfiguration);
         binder.bind(BackgroundTaskProcessor.class).toProvider(this.server::getBackgroundTaskProcessor);
         binder.bind(ProjectStructurePlatformExtensions.class).toInstance(buildProjectStructurePlatformExtensions());
 
@@ -521,6 +523,12 @@ public class FSModule extends DropwizardAwareModule<LegendSDLCServerFSConfigurat
         return (featuresConfiguration == null) ? LegendSDLCServerFeaturesConfiguration.emptyConfiguration() : featuresConfiguration;
     }
 
+    private PureModelContextDataCacheConfiguration getPureModelContextDataCacheConfiguration()
+    {
+        PureModelContextDataCacheConfiguration cacheConfiguration = getConfiguration().getPureModelContextDataCacheConfiguration();
+        return (cacheConfiguration == null) ? PureModelContextDataCacheConfiguration.emptyConfiguration() : cacheConfiguration;
+    }
+
     private AuthClientInjector getAuthClientInjector()
     {
         if (this.authClientInjector == null)
@@ -21,6 +21,7 @@ import io.dropwizard.setup.Bootstrap;
 import io.dropwizard.setup.Environment;
 import org.finos.legend.engine.protocol.pure.v1.PureProtocolObjectMapperFactory;
 import org.finos.legend.sdlc.server.BaseServer;
+import org.finos.legend.sdlc.server.config.BackgroundTaskConfiguration;
 import org.finos.legend.sdlc.server.depot.DepotConfiguration;
 import org.finos.legend.sdlc.server.project.config.ProjectStructureConfiguration;
 import org.finos.legend.sdlc.server.tools.BackgroundTaskProcessor;
@@ -82,7 +83,8 @@ public class LegendSDLCServerFS<T extends LegendSDLCServerFSConfiguration> exten
         super.run(configuration, environment);
         LifecycleEnvironment lifecycleEnvironment = environment.lifecycle();
         LOGGER.debug("Creating background task processor");
-        BackgroundTaskProcessor taskProcessor = new BackgroundTaskProcessor(1);
+        BackgroundTaskConfiguration backgroundTaskConfig = (configuration.getBackgroundTaskConfiguration() == null) ? BackgroundTaskConfiguration.emptyConfiguration() : configuration.getBackgroundTaskConfiguration();
+        BackgroundTaskProcessor taskProcessor = backgroundTaskConfig.newBackgroundTaskProcessor();
         lifecycleEnvironment.manage(new Managed()
         {
             @Override
@@ -95,8 +97,7 @@ public class LegendSDLCServerFS<T extends LegendSDLCServerFSConfiguration> exten
             public void stop() throws Exception
             {
                 LOGGER.debug("Shutting down background task processor");
-                taskProcessor.shutdown();
-                if (taskProcessor.awaitTermination(30, TimeUnit.SECONDS))
+                if (taskProcessor.shutdownAndDrain(backgroundTaskConfig.getShutdownTimeoutSeconds(), TimeUnit.SECONDS))
                 {
                     LOGGER.debug("Done shutting down background task processor");
                 }
@@ -20,6 +20,7 @@ import io.dropwizard.lifecycle.setup.LifecycleEnvironment;
 import io.dropwizard.setup.Bootstrap;
 import io.dropwizard.setup.Environment;
 import org.finos.legend.engine.protocol.pure.v1.PureProtocolObjectMapperFactory;
+import org.finos.legend.sdlc.server.config.BackgroundTaskConfiguration;
 import org.finos.legend.sdlc.server.config.LegendSDLCServerConfiguration;
 import org.finos.legend.sdlc.server.depot.DepotConfiguration;
 import org.finos.legend.sdlc.server.gitlab.GitLabBundle;
@@ -97,7 +98,8 @@ public abstract class BaseLegendSDLCServer<T extends LegendSDLCServerConfigurati
         super.run(configuration, environment);
         LifecycleEnvironment lifecycleEnvironment = environment.lifecycle();
         LOGGER.debug("Creating background task processor");
-        BackgroundTaskProcessor taskProcessor = new BackgroundTaskProcessor(1);
+        BackgroundTaskConfiguration backgroundTaskConfig = (configuration.getBackgroundTaskConfiguration() == null) ? BackgroundTaskConfiguration.emptyConfiguration() : configuration.getBackgroundTaskConfiguration();
+        BackgroundTaskProcessor taskProcessor = backgroundTaskConfig.newBackgroundTaskProcessor();
         lifecycleEnvironment.manage(new Managed()
         {
             @Override
@@ -110,8 +112,7 @@ public abstract class BaseLegendSDLCServer<T extends LegendSDLCServerConfigurati
             public void stop() throws Exception
             {
                 LOGGER.debug("Shutting down background task processor");
-                taskProcessor.shutdown();
-                if (taskProcessor.awaitTermination(30, TimeUnit.SECONDS))
+                if (taskProcessor.shutdownAndDrain(backgroundTaskConfig.getShutdownTimeoutSeconds(), TimeUnit.SECONDS))
                 {
                     LOGGER.debug("Done shutting down background task processor");
                 }
@@ -0,0 +1,118 @@
+// Copyright 2023 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.sdlc.server.config;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.finos.legend.sdlc.server.tools.BackgroundTaskProcessor;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+public class BackgroundTaskConfiguration
+{
+    private static final long DEFAULT_SHUTDOWN_TIMEOUT_SECONDS = 30L;
+
+    private final Map<String, LaneConfiguration> lanes;
+    private final long shutdownTimeoutSeconds;
+
+    private BackgroundTaskConfiguration(Map<String, LaneConfiguration> lanes, long shutdownTimeoutSeconds)
+    {
+        this.lanes = lanes;
+        this.shutdownTimeoutSeconds = shutdownTimeoutSeconds;
+    }
+
+    /**
+     * Get the lane configurations, by lane name (case insensitive).
+     *
+     * @return lane configurations
+     */
+    public Map<String, LaneConfiguration> getLanes()
+    {
+        return this.lanes;
+    }
+
+    /**
+     * Get the maximum time to wait on shutdown for queued background tasks to complete.
+     *
+     * @return shutdown timeout in seconds
+     */
+    public long getShutdownTimeoutSeconds()
+    {
+        return this.shutdownTimeoutSeconds;
+    }
+
+    public BackgroundTaskProcessor newBackgroundTaskProcessor()
+    {
+        BackgroundTaskProcessor.Builder builder = BackgroundTaskProcessor.newBuilder();
+        this.lanes.forEach((laneName, laneConfig) ->
+        {
+            BackgroundTaskProcessor.Lane lane = Arrays.stream(BackgroundTaskProcessor.Lane.values())
+                    .filter(l -> l.name().equalsIgnoreCase(laneName))
+                    .findAny()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown background task lane \"" + laneName + "\"; valid lanes: " + Arrays.toString(BackgroundTaskProcessor.Lane.values())));
+            builder.withLane(lane, laneConfig.threads, laneConfig.queueCapacity);
+        });
+        return builder.build();
+    }
+
+    @JsonCreator
+    public static BackgroundTaskConfiguration newBackgroundTaskConfiguration(
+            @JsonProperty("lanes") Map<String, LaneConfiguration> lanes,
+            @JsonProperty("shutdownTimeoutSeconds") Long shutdownTimeoutSeconds)
+    {
+        return new BackgroundTaskConfiguration(
+                (lanes == null) ? Collections.emptyMap() : lanes,
+                (shutdownTimeoutSeconds == null) ? DEFAULT_SHUTDOWN_TIMEOUT_SECONDS : shutdownTimeoutSeconds);
+    }
+
+    public static BackgroundTaskConfiguration emptyConfiguration()
+    {
+        return new BackgroundTaskConfiguration(Collections.emptyMap(), DEFAULT_SHUTDOWN_TIMEOUT_SECONDS);
+    }
+
+    public static class LaneConfiguration
+    {
+        private final int threads;
+        private final int queueCapacity;
+
+        private LaneConfiguration(int threads, int queueCapacity)
+        {
+            this.threads = threads;
+            this.queueCapacity = queueCapacity;
+        }
+
+        public int getThreads()
+        {
+            return this.threads;
+        }
+
+        public int getQueueCapacity()
+        {
+            return this.queueCapacity;
+        }
+
+        @JsonCreator
+        public static LaneConfiguration newLaneConfiguration(
+                @JsonProperty("threads") Integer threads,
+                @JsonProperty("queueCapacity") Integer queueCapacity)
+        {
+            return new LaneConfiguration(
+                    (threads == null) ? 1 : threads,
+                    (queueCapacity == null) ? BackgroundTaskProcessor.DEFAULT_QUEUE_CAPACITY : queueCapacity);
+        }
+    }
+}
@@ -33,6 +33,12 @@ public class LegendSDLCServerConfiguration extends ServerConfiguration
     @JsonProperty("features")
     private LegendSDLCServerFeaturesConfiguration featuresConfiguration;
 
+    @JsonProperty("backgroundTasks")
+    private BackgroundTaskConfiguration backgroundTaskConfiguration;
+
+    @JsonProperty("pureModelContextDataCache")
+    private PureModelContextDataCacheConfiguration pureModelContextDataCacheConfiguration;
+
     public GitLabConfiguration getGitLabConfiguration()
     {
         return this.gitLabConfig;
@@ -52,4 +58,14 @@ public class LegendSDLCServerConfiguration extends ServerConfiguration
     {
         return this.featuresConfiguration;
     }
+
+    public BackgroundTaskConfiguration getBackgroundTaskConfiguration()
+    {
+        return this.backgroundTaskConfiguration;
+    }
+
+    public PureModelContextDataCacheConfiguration getPureModelContextDataCacheConfiguration()
+    {
+        return this.pureModelContextDataCacheConfiguration;
+    }
 }
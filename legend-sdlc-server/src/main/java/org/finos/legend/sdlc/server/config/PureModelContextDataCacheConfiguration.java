@@ -0,0 +1,56 @@
+// Copyright 2023 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.sdlc.server.config;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public class PureModelContextDataCacheConfiguration
+{
+    private static final long DEFAULT_MAX_SIZE_BYTES = 128L * 1024L * 1024L;
+
+    private final long maxSizeBytes;
+
+    private PureModelContextDataCacheConfiguration(long maxSizeBytes)
+    {
+        if (maxSizeBytes < 0)
+        {
+            throw new IllegalArgumentException("Invalid max size for the Pure model context data cache: " + maxSizeBytes);
+        }
+        this.maxSizeBytes = maxSizeBytes;
+    }
+
+    /**
+     * Get the maximum total size, in bytes, of the serialized Pure model context data kept in the cache. A size of 0
+     * disables caching.
+     *
+     * @return max size in bytes
+     */
+    public long getMaxSizeBytes()
+    {
+        return this.maxSizeBytes;
+    }
+
+    @JsonCreator
+    public static PureModelContextDataCacheConfiguration newPureModelContextDataCacheConfiguration(@JsonProperty("maxSizeBytes") Long maxSizeBytes)
+    {
+        return new PureModelContextDataCacheConfiguration((maxSizeBytes == null) ? DEFAULT_MAX_SIZE_BYTES : maxSizeBytes);
+    }
+
+    public static PureModelContextDataCacheConfiguration emptyConfiguration()
+    {
+        return new PureModelContextDataCacheConfiguration(DEFAULT_MAX_SIZE_BYTES);
+    }
+}
@@ -52,6 +52,7 @@ import org.finos.legend.sdlc.server.project.ProjectPaths;
 import org.finos.legend.sdlc.server.project.ProjectStructure;
 import org.finos.legend.sdlc.server.tools.BackgroundTaskProcessor;
 import org.finos.legend.sdlc.server.tools.IOTools;
+import org.finos.legend.sdlc.server.tools.RetryBackoff;
 import org.finos.legend.sdlc.server.tools.StringTools;
 import org.gitlab4j.api.CommitsApi;
 import org.gitlab4j.api.Constants;
@@ -100,6 +101,7 @@ abstract class GitLabApiWithFileAccess extends BaseGitLabApi
 
     private static final int MAX_COMMIT_SIZE = 512;
     private static final int MAX_COMMIT_RETRIES = 10;
+    private static final long MAX_BACKGROUND_RETRY_WAIT_MILLIS = 60_000L;
 
     private final BackgroundTaskProcessor backgroundTaskProcessor;
 
@@ -1086,24 +1088,34 @@ abstract class GitLabApiWithFileAccess extends BaseGitLabApi
         this.backgroundTaskProcessor.submitTask(task, description);
     }
 
+    // Retryable background tasks submitted by the GitLab APIs clean up temporary state (branches, merge requests), so
+    // they are run in the cleanup lane, where a burst of them cannot delay other background tasks.
+
     protected void submitBackgroundRetryableTask(BackgroundTaskProcessor.RetryableTask task)
     {
-        this.backgroundTaskProcessor.submitRetryableTask(task, GitLabApiWithFileAccess::shouldRetryOnException);
+        submitBackgroundRetryableTask(task, 0L, null);
     }
 
     protected void submitBackgroundRetryableTask(BackgroundTaskProcessor.RetryableTask task, long minWaitBetweenRetriesMillis)
     {
-        this.backgroundTaskProcessor.submitRetryableTask(task, GitLabApiWithFileAccess::shouldRetryOnException, minWaitBetweenRetriesMillis);
+        submitBackgroundRetryableTask(task, minWaitBetweenRetriesMillis, null);
     }
 
     protected void submitBackgroundRetryableTask(BackgroundTaskProcessor.RetryableTask task, String description)
     {
-        this.backgroundTaskProcessor.submitRetryableTask(task, GitLabApiWithFileAccess::shouldRetryOnException, description);
+        submitBackgroundRetryableTask(task, 0L, description);
     }
 
     protected void submitBackgroundRetryableTask(BackgroundTaskProcessor.RetryableTask task, long minWaitBetweenRetriesMillis, String description)
     {
-        this.backgroundTaskProcessor.submitRetryableTask(task, GitLabApiWithFileAccess::shouldRetryOnException, minWaitBetweenRetriesMillis, description);
+        this.backgroundTaskProcessor.submitRetryableTask(BackgroundTaskProcessor.Lane.CLEANUP, task, GitLabApiWithFileAccess::shouldRetryOnException, getRetryBackoff(minWaitBetweenRetriesMillis), description);
+    }
+
+    private static RetryBackoff getRetryBackoff(long minWaitBetweenRetriesMillis)
+    {
+        // back off exponentially from the minimum wait, with jitter so that tasks submitted together (e.g., branch
+        // deletions after a large commit) spread out their retries
+        return RetryBackoff.exponential(minWaitBetweenRetriesMillis, Math.max(minWaitBetweenRetriesMillis, MAX_BACKGROUND_RETRY_WAIT_MILLIS), 2.0, 0.25);
     }
 
     private String toGitLabFilePath(String path)
@@ -35,6 +35,7 @@ import javax.inject.Inject;
 public class GitLabConflictResolutionApi extends GitLabApiWithFileAccess implements ConflictResolutionApi
 {
     private static final Logger LOGGER = LoggerFactory.getLogger(GitLabConflictResolutionApi.class);
+    private static final int BRANCH_STATE_CONSECUTIVE_CHECKS = 3;
 
     private final EntityApi entityApi;
 
@@ -302,15 +303,8 @@ public class GitLabConflictResolutionApi extends GitLabApiWithFileAccess impleme
         }
 
         // Create backup branch from original branch
-        try
-        {
-            Thread.sleep(1000); // Wait to allow nodes to synchronize that backup branch is already deleted
-        }
-        catch (InterruptedException e)
-        {
-            LOGGER.warn("Interrupted while waiting for nodes to synchronize that backup branch was deleted", e);
-            Thread.currentThread().interrupt();
-        }
+        // Wait to allow nodes to synchronize that backup branch is already deleted
+        waitForBranchStateToPropagate(repositoryApi, gitLabProjectId, backupBranchName, false, 1_000L);
         Branch newBackupBranch;
         try
         {
@@ -347,15 +341,8 @@ public class GitLabConflictResolutionApi extends GitLabApiWithFileAccess impleme
         }
 
         // Create new workspace branch off the conflict workspace head
-        try
-        {
-            Thread.sleep(1000); // Wait to allow nodes to synchronize that original branch is already deleted.
-        }
-        catch (InterruptedException e)
-        {
-            LOGGER.warn("Interrupted while waiting for nodes to synchronize that original branch was deleted.", e);
-            Thread.currentThread().interrupt();
-        }
+        // Wait to allow nodes to synchronize that original branch is already deleted
+        waitForBranchStateToPropagate(repositoryApi, gitLabProjectId, workspaceBranchName, false, 1_000L);
         Branch newWorkspaceBranch;
         try
         {
@@ -393,15 +380,8 @@ public class GitLabConflictResolutionApi extends GitLabApiWithFileAccess impleme
         }
 
         // Delete backup branch
-        try
-        {
-            Thread.sleep(500); // Wait extra 500 ms to allow nodes to synchronize that backup branch was recreated
-        }
-        catch (InterruptedException e)
-        {
-            LOGGER.warn("Interrupted while waiting for nodes to synchronize that backup branch was recreated.", e);
-            Thread.currentThread().interrupt();
-        }
+        // Wait to allow nodes to synchronize that backup branch was recreated
+        waitForBranchStateToPropagate(repositoryApi, gitLabProjectId, backupBranchName, true, 500L);
         boolean backupBranchDeleted;
         try
         {
@@ -420,6 +400,25 @@ public class GitLabConflictResolutionApi extends GitLabApiWithFileAccess impleme
         }
     }
 
+    /**
+     * Wait until the branch has consistently been seen in the expected state, or until maxWaitMillis has passed. This
+     * is only a precaution: failing to see the expected state is not an error, and the caller goes on regardless.
+     */
+    private static void waitForBranchStateToPropagate(RepositoryApi repositoryApi, GitLabProjectId gitLabProjectId, String branchName, boolean exists, long maxWaitMillis)
+    {
+        try
+        {
+            if (!GitLabApiTools.waitForBranchState(repositoryApi, gitLabProjectId.getGitLabId(), branchName, exists, BRANCH_STATE_CONSECUTIVE_CHECKS, maxWaitMillis))
+            {
+                LOGGER.debug("Branch {} in project {} not consistently seen to {} after {} ms", branchName, gitLabProjectId, exists ? "exist" : "be deleted", maxWaitMillis);
+            }
+        }
+        catch (Exception e)
+        {
+            LOGGER.warn("Error waiting for nodes to synchronize branch {} in project {}", branchName, gitLabProjectId, e);
+        }
+    }
+
     private static WorkspaceSpecification getWorkspaceSpecWithAccessType(WorkspaceSpecification workspaceSpec, WorkspaceAccessType accessType)
     {
         return (workspaceSpec.getAccessType() == accessType) ?
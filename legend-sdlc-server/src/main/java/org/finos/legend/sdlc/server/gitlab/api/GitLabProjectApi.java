@@ -47,6 +47,7 @@ import org.finos.legend.sdlc.server.project.config.ProjectStructureConfiguration
 import org.finos.legend.sdlc.server.project.extension.ProjectStructureExtensionProvider;
 import org.finos.legend.sdlc.server.tools.BackgroundTaskProcessor;
 import org.finos.legend.sdlc.server.tools.CallUntil;
+import org.finos.legend.sdlc.server.tools.RetryBackoff;
 import org.gitlab4j.api.GitLabApi;
 import org.gitlab4j.api.GitLabApiException;
 import org.gitlab4j.api.Pager;
@@ -78,6 +79,7 @@ import javax.ws.rs.core.Response.Status;
 public class GitLabProjectApi extends GitLabApiWithFileAccess implements ProjectApi
 {
     private static final Logger LOGGER = LoggerFactory.getLogger(GitLabProjectApi.class);
+    private static final RetryBackoff ACCESS_LEVEL_BACKOFF = RetryBackoff.exponential(100L, 1_000L, 2.0, 0.2);
 
     private static final String DEFAULT_LEGEND_SDLC_PROJECT_TAG = "legend";
     private static final Visibility DEFAULT_VISIBILITY = Visibility.INTERNAL;
@@ -322,7 +324,7 @@ public class GitLabProjectApi extends GitLabApiWithFileAccess implements Project
                 LOGGER.warn("Error trying to set access level for {} in project {} to {}", getCurrentUser(), projectId, accessLevel.name(), e);
                 return null;
             }
-        }, al -> accessLevelAtLeast(al, accessLevel), 10, 500);
+        }, al -> accessLevelAtLeast(al, accessLevel), 10, ACCESS_LEVEL_BACKOFF, 4_500L);
         if (!callUntil.succeeded())
         {
             AccessLevel result = callUntil.getResult();
@@ -43,6 +43,7 @@ import org.finos.legend.sdlc.server.project.ProjectFileAccessProvider;
 import org.finos.legend.sdlc.server.project.ProjectStructure;
 import org.finos.legend.sdlc.server.tools.BackgroundTaskProcessor;
 import org.finos.legend.sdlc.server.tools.CallUntil;
+import org.finos.legend.sdlc.server.tools.RetryBackoff;
 import org.finos.legend.sdlc.server.tools.StringTools;
 import org.gitlab4j.api.CommitsApi;
 import org.gitlab4j.api.Constants;
@@ -77,6 +78,8 @@ public class GitLabReviewApi extends GitLabApiWithFileAccess implements ReviewAp
 {
     private static final Logger LOGGER = LoggerFactory.getLogger(GitLabReviewApi.class);
 
+    private static final RetryBackoff REBASE_START_BACKOFF = RetryBackoff.exponential(250L, 1_000L, 2.0, 0.2);
+
     @Inject
     public GitLabReviewApi(GitLabConfiguration gitLabConfiguration, GitLabUserContext userContext, BackgroundTaskProcessor backgroundTaskProcessor)
     {
@@ -710,7 +713,8 @@ public class GitLabReviewApi extends GitLabApiWithFileAccess implements ReviewAp
                     () -> withRetries(() -> mergeRequestApi.rebaseMergeRequest(gitLabProjectId.getGitLabId(), initialMergeRequest.getIid())),
                     MergeRequest::getRebaseInProgress,
                     3,
-                    500L);
+                    REBASE_START_BACKOFF,
+                    0L);
             if (!callUntil.succeeded())
             {
                 throw new LegendSDLCServerException("Failed to start update for review " + reviewId + " in project " + projectId);
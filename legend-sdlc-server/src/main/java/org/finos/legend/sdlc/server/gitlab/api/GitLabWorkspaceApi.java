@@ -34,6 +34,7 @@ import org.finos.legend.sdlc.server.project.ProjectFileAccessProvider;
 import org.finos.legend.sdlc.server.project.ProjectFileAccessProvider.WorkspaceAccessType;
 import org.finos.legend.sdlc.server.tools.BackgroundTaskProcessor;
 import org.finos.legend.sdlc.server.tools.CallUntil;
+import org.finos.legend.sdlc.server.tools.RetryBackoff;
 import org.gitlab4j.api.CommitsApi;
 import org.gitlab4j.api.Constants;
 import org.gitlab4j.api.Constants.StateEvent;
@@ -69,6 +70,10 @@ public class GitLabWorkspaceApi extends GitLabApiWithFileAccess implements Works
 {
     private static final Logger LOGGER = LoggerFactory.getLogger(GitLabWorkspaceApi.class);
 
+    // Poll rebase status quickly at first, as small rebases finish almost at once, backing off for longer ones
+    private static final RetryBackoff REBASE_STATUS_BACKOFF = RetryBackoff.exponential(100L, 2_000L, 1.5, 0.2);
+    private static final long REBASE_STATUS_TIMEOUT_MILLIS = 600_000L;
+
     private final RevisionApi revisionApi;
 
     @Inject
@@ -812,8 +817,9 @@ public class GitLabWorkspaceApi extends GitLabApiWithFileAccess implements Works
             CallUntil<MergeRequest, GitLabApiException> rebaseStatusCallUntil = CallUntil.callUntil(
                     () -> withRetries(() -> mergeRequestApi.getRebaseStatus(gitLabProjectId.getGitLabId(), mergeRequest.getIid())),
                     mr -> !mr.getRebaseInProgress(),
-                    600,
-                    1000L);
+                    Integer.MAX_VALUE,
+                    REBASE_STATUS_BACKOFF,
+                    REBASE_STATUS_TIMEOUT_MILLIS);
             if (!rebaseStatusCallUntil.succeeded())
             {
                 LOGGER.warn("Timeout waiting for merge request " + mergeRequest.getIid() + " in project " + projectId + " to finish rebasing");
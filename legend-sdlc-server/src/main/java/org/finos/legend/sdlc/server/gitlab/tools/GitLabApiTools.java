@@ -19,6 +19,7 @@ import org.finos.legend.sdlc.server.error.LegendSDLCServerException;
 import org.finos.legend.sdlc.server.gitlab.GitLabProjectId;
 import org.finos.legend.sdlc.server.monitoring.SDLCMetricsHandler;
 import org.finos.legend.sdlc.server.tools.CallUntil;
+import org.finos.legend.sdlc.server.tools.RetryBackoff;
 import org.finos.legend.sdlc.server.tools.ThrowingSupplier;
 import org.gitlab4j.api.GitLabApi;
 import org.gitlab4j.api.GitLabApiException;
@@ -33,6 +34,7 @@ import org.slf4j.LoggerFactory;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.LongUnaryOperator;
+import java.util.function.Predicate;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
 
@@ -40,6 +42,8 @@ public class GitLabApiTools
 {
     private static final Logger LOGGER = LoggerFactory.getLogger(GitLabApiTools.class);
     private static final String RETRY_METRIC = "gitlab retryable exception";
+    private static final long MIN_VERIFICATION_WAIT_MILLIS = 100L;
+    private static final double VERIFICATION_JITTER = 0.2;
 
     public static <T> T callWithRetries(ThrowingSupplier<T, ? extends GitLabApiException> apiCall, int maxRetries, long waitIntervalMillis) throws GitLabApiException
     {
@@ -259,7 +263,7 @@ public class GitLabApiTools
         }
 
         // Verify that the branch is gone
-        CallUntil<Branch, GitLabApiException> callUntil = CallUntil.callUntil(() -> getBranch(api, projectIdOrPath, branchName), Objects::isNull, maxVerificationTries, verificationWaitMillis);
+        CallUntil<Branch, GitLabApiException> callUntil = verify(() -> getBranch(api, projectIdOrPath, branchName), Objects::isNull, maxVerificationTries, verificationWaitMillis);
         LOGGER.debug("Deleting branch {} in project {} {}", branchName, projectIdOrPath, callUntil.succeeded() ? "succeeded" : "failed");
         return callUntil.succeeded();
     }
@@ -273,7 +277,7 @@ public class GitLabApiTools
         {
             // Branch does not exist in the expected form, try to create it
             api.createBranch(projectIdOrPath, branchName, sourceCommitId);
-            CallUntil<Branch, GitLabApiException> callUntil = CallUntil.callUntil(() -> getBranchAtCommit(api, projectIdOrPath, branchName, sourceCommitId), Objects::nonNull, maxVerificationTries, verificationWaitMillis);
+            CallUntil<Branch, GitLabApiException> callUntil = verify(() -> getBranchAtCommit(api, projectIdOrPath, branchName, sourceCommitId), Objects::nonNull, maxVerificationTries, verificationWaitMillis);
             if (callUntil.succeeded())
             {
                 branch = callUntil.getResult();
@@ -305,7 +309,7 @@ public class GitLabApiTools
     public static Branch createBranchFromSourceBranchAndVerify(RepositoryApi api, Object projectIdOrPath, String branchName, String sourceBranchName, int maxVerificationTries, long verificationWaitMillis) throws GitLabApiException
     {
         Branch sourceBranch = null;
-        CallUntil<Branch, GitLabApiException> callUntil = CallUntil.callUntil(() -> getBranch(api, projectIdOrPath, sourceBranchName), Objects::nonNull, maxVerificationTries, verificationWaitMillis);
+        CallUntil<Branch, GitLabApiException> callUntil = verify(() -> getBranch(api, projectIdOrPath, sourceBranchName), Objects::nonNull, maxVerificationTries, verificationWaitMillis);
         if (callUntil.succeeded())
         {
             sourceBranch = callUntil.getResult();
@@ -318,6 +322,58 @@ public class GitLabApiTools
         return createBranchAndVerify(api, projectIdOrPath, branchName, sourceBranch.getCommit().getId(), maxVerificationTries, verificationWaitMillis);
     }
 
+    /**
+     * Wait until a branch is consistently seen to exist (or not to exist), i.e., until the given number of consecutive
+     * checks agree, or until the timeout passes. This is for use after a branch has been created or deleted, to allow
+     * the change to propagate without waiting longer than necessary.
+     *
+     * @param api               repository API
+     * @param projectIdOrPath   project id or path
+     * @param branchName        branch name
+     * @param exists            whether the branch is expected to exist
+     * @param consecutiveChecks number of consecutive checks which must agree
+     * @param timeoutMillis     maximum time to wait in milliseconds
+     * @return whether the branch was consistently seen in the expected state
+     * @throws GitLabApiException if there is an error checking the branch
+     */
+    public static boolean waitForBranchState(RepositoryApi api, Object projectIdOrPath, String branchName, boolean exists, int consecutiveChecks, long timeoutMillis) throws GitLabApiException
+    {
+        int[] agreeing = {0};
+        CallUntil<Branch, GitLabApiException> callUntil = CallUntil.callUntil(
+                () -> getBranch(api, projectIdOrPath, branchName),
+                branch ->
+                {
+                    if (exists != (branch != null))
+                    {
+                        agreeing[0] = 0;
+                        return false;
+                    }
+                    return ++agreeing[0] >= consecutiveChecks;
+                },
+                (timeoutMillis > 0L) ? Integer.MAX_VALUE : consecutiveChecks,
+                RetryBackoff.exponential(MIN_VERIFICATION_WAIT_MILLIS / 2, MIN_VERIFICATION_WAIT_MILLIS * 2, 2.0, VERIFICATION_JITTER),
+                timeoutMillis);
+        LOGGER.debug("Branch {} in project {} {} seen to {} after {} checks", branchName, projectIdOrPath, callUntil.succeeded() ? "was" : "was not", exists ? "exist" : "not exist", callUntil.getTryCount());
+        return callUntil.succeeded();
+    }
+
+    /**
+     * Poll until the predicate is satisfied. The first checks are made quickly, as the expected state is often visible
+     * almost at once, and the wait then backs off to verificationWaitMillis. The overall time allowed is the same as
+     * for maxVerificationTries checks made verificationWaitMillis apart.
+     */
+    private static <T> CallUntil<T, GitLabApiException> verify(ThrowingSupplier<T, GitLabApiException> supplier, Predicate<? super T> predicate, int maxVerificationTries, long verificationWaitMillis) throws GitLabApiException
+    {
+        if (verificationWaitMillis <= 0L)
+        {
+            return CallUntil.callUntil(supplier, predicate, maxVerificationTries, 0L);
+        }
+        long initialWaitMillis = Math.min(MIN_VERIFICATION_WAIT_MILLIS, verificationWaitMillis);
+        RetryBackoff backoff = RetryBackoff.exponential(initialWaitMillis, verificationWaitMillis, 2.0, VERIFICATION_JITTER);
+        long timeoutMillis = Math.max(maxVerificationTries - 1, 0) * verificationWaitMillis;
+        return CallUntil.callUntil(supplier, predicate, (timeoutMillis > 0L) ? Integer.MAX_VALUE : maxVerificationTries, backoff, timeoutMillis);
+    }
+
     @Deprecated
     public static Branch createProtectedBranchFromSourceTagAndVerify(GitLabApi api, GitLabProjectId projectId, String branchName, String sourceTagName, int maxVerificationTries, long verificationWaitMillis) throws GitLabApiException
     {
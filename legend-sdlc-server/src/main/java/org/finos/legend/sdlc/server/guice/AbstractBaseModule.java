@@ -22,6 +22,7 @@ import org.finos.legend.sdlc.server.BaseLegendSDLCServer;
 import org.finos.legend.sdlc.server.BaseServer.ServerInfo;
 import org.finos.legend.sdlc.server.config.LegendSDLCServerConfiguration;
 import org.finos.legend.sdlc.server.config.LegendSDLCServerFeaturesConfiguration;
+import org.finos.legend.sdlc.server.config.PureModelContextDataCacheConfiguration;
 import org.finos.legend.sdlc.server.depot.DepotConfiguration;
 import org.finos.legend.sdlc.server.depot.auth.AuthClientInjector;
 import org.finos.legend.sdlc.server.domain.api.dependency.DependenciesApi;
@@ -264,6 +265,7 @@ public abstract class AbstractBaseModule extends DropwizardAwareModule<LegendSDL
         binder.bind(AuthClientInjector.class).toProvider(this::getAuthClientInjector);
         binder.bind(ServerInfo.class).toProvider(this.server::getServerInfo);
         binder.bind(LegendSDLCServerFeaturesConfiguration.class).toProvider(this::getFeaturesConfiguration);
+        binder.bind(PureModelContextDataCacheConfiguration.class).toProvider(this::getPureModelContextDataCacheConfiguration);
         binder.bind(BackgroundTaskProcessor.class).toProvider(this.server::getBackgroundTaskProcessor);
         binder.bind(ProjectStructurePlatformExtensions.class).toInstance(buildProjectStructurePlatformExtensions());
         binder.bind(SessionProvider.class).toProvider(this::getSessionProvider);
@@ -526,6 +528,12 @@ public abstract class AbstractBaseModule extends DropwizardAwareModule<LegendSDL
         return (featuresConfiguration == null) ? LegendSDLCServerFeaturesConfiguration.emptyConfiguration() : featuresConfiguration;
     }
 
+    private PureModelContextDataCacheConfiguration getPureModelContextDataCacheConfiguration()
+    {
+        PureModelContextDataCacheConfiguration cacheConfiguration = getConfiguration().getPureModelContextDataCacheConfiguration();
+        return (cacheConfiguration == null) ? PureModelContextDataCacheConfiguration.emptyConfiguration() : cacheConfiguration;
+    }
+
     private AuthClientInjector getAuthClientInjector()
     {
         if (this.authClientInjector == null)
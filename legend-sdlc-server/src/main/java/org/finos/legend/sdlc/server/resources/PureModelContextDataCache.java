@@ -0,0 +1,252 @@
+// Copyright 2023 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.sdlc.server.resources;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.finos.legend.engine.protocol.pure.PureClientVersions;
+import org.finos.legend.sdlc.server.config.PureModelContextDataCacheConfiguration;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.ws.rs.core.EntityTag;
+
+/**
+ * Least-recently-used cache of serialized Pure model context data for immutable project states (versions and resolved
+ * revision ids), bounded by the total size of the serialized content. Concurrent requests for the same project state
+ * share a single load. The cache is shared by all users: callers are responsible for checking that the user has access
+ * to the project before serving a cached value.
+ */
+@Singleton
+public class PureModelContextDataCache
+{
+    private final long maxSizeBytes;
+    private final Map<CacheKey, byte[]> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private final ConcurrentMap<CacheKey, CompletableFuture<byte[]>> loading = new ConcurrentHashMap<>();
+    private long sizeBytes = 0L;
+
+    @Inject
+    public PureModelContextDataCache(PureModelContextDataCacheConfiguration configuration)
+    {
+        this(configuration.getMaxSizeBytes());
+    }
+
+    public PureModelContextDataCache(long maxSizeBytes)
+    {
+        if (maxSizeBytes < 0)
+        {
+            throw new IllegalArgumentException("Invalid max size: " + maxSizeBytes);
+        }
+        this.maxSizeBytes = maxSizeBytes;
+    }
+
+    /**
+     * Get the serialized Pure model context data for a project at an immutable revision or version, loading it with
+     * the given loader if it is not already cached. If another thread is already loading it, this waits for that load
+     * instead of starting a new one. Content larger than the max size of the cache is returned but not kept.
+     *
+     * @param projectId           project id
+     * @param revisionOrVersionId resolved revision id or version id
+     * @param loader              loader for the serialized Pure model context data
+     * @return serialized Pure model context data
+     */
+    public byte[] get(String projectId, String revisionOrVersionId, Supplier<byte[]> loader)
+    {
+        CacheKey key = new CacheKey(projectId, revisionOrVersionId);
+        byte[] cached = getIfPresent(key);
+        if (cached != null)
+        {
+            return cached;
+        }
+
+        CompletableFuture<byte[]> future = new CompletableFuture<>();
+        CompletableFuture<byte[]> inProgress = this.loading.putIfAbsent(key, future);
+        if (inProgress != null)
+        {
+            return await(inProgress);
+        }
+        try
+        {
+            // a load may have completed between the check above and registering this one
+            byte[] content = getIfPresent(key);
+            if (content == null)
+            {
+                content = loader.get();
+                put(key, content);
+            }
+            future.complete(content);
+            return content;
+        }
+        catch (RuntimeException | Error e)
+        {
+            future.completeExceptionally(e);
+            throw e;
+        }
+        finally
+        {
+            this.loading.remove(key, future);
+        }
+    }
+
+    public int size()
+    {
+        synchronized (this.cache)
+        {
+            return this.cache.size();
+        }
+    }
+
+    public long getSizeBytes()
+    {
+        synchronized (this.cache)
+        {
+            return this.sizeBytes;
+        }
+    }
+
+    public void clear()
+    {
+        synchronized (this.cache)
+        {
+            this.cache.clear();
+            this.sizeBytes = 0L;
+        }
+    }
+
+    private byte[] getIfPresent(CacheKey key)
+    {
+        synchronized (this.cache)
+        {
+            return this.cache.get(key);
+        }
+    }
+
+    private void put(CacheKey key, byte[] content)
+    {
+        if (content.length > this.maxSizeBytes)
+        {
+            return;
+        }
+        synchronized (this.cache)
+        {
+            byte[] previous = this.cache.put(key, content);
+            this.sizeBytes += content.length - ((previous == null) ? 0 : previous.length);
+            Iterator<byte[]> iterator = this.cache.values().iterator();
+            while (this.sizeBytes > this.maxSizeBytes)
+            {
+                this.sizeBytes -= iterator.next().length;
+                iterator.remove();
+            }
+        }
+    }
+
+    private static byte[] await(CompletableFuture<byte[]> future)
+    {
+        try
+        {
+            return future.join();
+        }
+        catch (CompletionException e)
+        {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException)
+            {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error)
+            {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Get the entity tag for the Pure model context data for a project at an immutable revision or version. Since the
+     * content is fully determined by the project, the revision or version, and the protocol version, the tag can be
+     * computed without building the Pure model context data.
+     *
+     * @param projectId           project id
+     * @param revisionOrVersionId resolved revision id or version id
+     * @return entity tag
+     */
+    public static EntityTag getEntityTag(String projectId, String revisionOrVersionId)
+    {
+        return new EntityTag(DigestUtils.sha256Hex(projectId + "\n" + revisionOrVersionId + "\n" + PureClientVersions.production));
+    }
+
+    /**
+     * Return whether a revision id is a full commit id, as opposed to an alias (such as "latest") or an abbreviated id.
+     * Only full commit ids identify an immutable revision.
+     *
+     * @param revisionId revision id
+     * @return whether the revision id is a full commit id
+     */
+    public static boolean isFullCommitId(String revisionId)
+    {
+        if ((revisionId == null) || ((revisionId.length() != 40) && (revisionId.length() != 64)))
+        {
+            return false;
+        }
+        for (int i = 0; i < revisionId.length(); i++)
+        {
+            if (Character.digit(revisionId.charAt(i), 16) == -1)
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static class CacheKey
+    {
+        private final String projectId;
+        private final String revisionOrVersionId;
+
+        private CacheKey(String projectId, String revisionOrVersionId)
+        {
+            this.projectId = projectId;
+            this.revisionOrVersionId = revisionOrVersionId;
+        }
+
+        @Override
+        public boolean equals(Object other)
+        {
+            if (this == other)
+            {
+                return true;
+            }
+            if (!(other instanceof CacheKey))
+            {
+                return false;
+            }
+            CacheKey that = (CacheKey) other;
+            return this.projectId.equals(that.projectId) && this.revisionOrVersionId.equals(that.revisionOrVersionId);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return this.projectId.hashCode() + 31 * this.revisionOrVersionId.hashCode();
+        }
+    }
+}
@@ -14,15 +14,103 @@
 
 package org.finos.legend.sdlc.server.resources;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.finos.legend.engine.protocol.pure.PureClientVersions;
+import org.finos.legend.engine.protocol.pure.v1.PureProtocolObjectMapperFactory;
 import org.finos.legend.engine.protocol.pure.v1.model.context.AlloySDLC;
 import org.finos.legend.engine.protocol.pure.v1.model.context.PureModelContextData;
 import org.finos.legend.sdlc.domain.model.entity.Entity;
 import org.finos.legend.sdlc.protocol.pure.v1.PureModelContextDataBuilder;
 import org.finos.legend.sdlc.server.domain.api.entity.EntityAccessContext;
+import org.finos.legend.sdlc.server.error.LegendSDLCServerException;
+
+import java.util.function.Supplier;
+import javax.ws.rs.core.CacheControl;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
 
 public abstract class PureModelContextDataResource extends BaseResource
 {
+    private static final int IMMUTABLE_MAX_AGE_SECONDS = 24 * 60 * 60;
+    private static final ObjectMapper PURE_MODEL_CONTEXT_DATA_MAPPER = PureProtocolObjectMapperFactory.getNewObjectMapper();
+
+    /**
+     * Get a response with the Pure model context data for a project at an immutable revision or version, using the
+     * shared cache. The cache holds the serialized content, which is returned as is. The response carries an entity
+     * tag, and if the request has a matching If-None-Match header then a Not Modified response is returned without
+     * building the Pure model context data. Callers must check that the user has access to the project before calling
+     * this.
+     * <p>
+     * The cache control is chosen by the caller: {@link #getImmutableCacheControl()} when the request itself names an
+     * immutable revision or version, and {@link #getRevalidateCacheControl()} when it names something which moves over
+     * time (such as the latest revision of a project), even though the response is for a resolved revision.
+     *
+     * @param cache                       shared Pure model context data cache
+     * @param request                     request (used to evaluate preconditions)
+     * @param projectId                   project id
+     * @param revisionOrVersionId         resolved revision id or version id
+     * @param cacheControl                cache control for the response
+     * @param entityAccessContextSupplier supplier of the entity access context for the revision or version
+     * @return response
+     */
+    protected Response getCachedPureModelContextDataResponse(PureModelContextDataCache cache, Request request, String projectId, String revisionOrVersionId, CacheControl cacheControl, Supplier<? extends EntityAccessContext> entityAccessContextSupplier)
+    {
+        EntityTag entityTag = PureModelContextDataCache.getEntityTag(projectId, revisionOrVersionId);
+
+        Response.ResponseBuilder notModified = (request == null) ? null : request.evaluatePreconditions(entityTag);
+        if (notModified != null)
+        {
+            return notModified.cacheControl(cacheControl).build();
+        }
+
+        byte[] content = cache.get(projectId, revisionOrVersionId, () -> serializePureModelContextData(getPureModelContextData(projectId, revisionOrVersionId, entityAccessContextSupplier.get())));
+        return Response.ok(content, MediaType.APPLICATION_JSON_TYPE)
+                .tag(entityTag)
+                .cacheControl(cacheControl)
+                .build();
+    }
+
+    /**
+     * Cache control for a response which may be reused without revalidation, as what the request names never changes.
+     *
+     * @return cache control
+     */
+    protected static CacheControl getImmutableCacheControl()
+    {
+        CacheControl cacheControl = new CacheControl();
+        cacheControl.setPrivate(true);
+        cacheControl.setMaxAge(IMMUTABLE_MAX_AGE_SECONDS);
+        return cacheControl;
+    }
+
+    /**
+     * Cache control for a response which may be stored, but must be revalidated (using the entity tag) before reuse.
+     *
+     * @return cache control
+     */
+    protected static CacheControl getRevalidateCacheControl()
+    {
+        CacheControl cacheControl = new CacheControl();
+        cacheControl.setPrivate(true);
+        cacheControl.setNoCache(true);
+        return cacheControl;
+    }
+
+    private static byte[] serializePureModelContextData(PureModelContextData pureModelContextData)
+    {
+        try
+        {
+            return PURE_MODEL_CONTEXT_DATA_MAPPER.writeValueAsBytes(pureModelContextData);
+        }
+        catch (JsonProcessingException e)
+        {
+            throw new LegendSDLCServerException("Error serializing Pure model context data", e);
+        }
+    }
+
     protected PureModelContextData getPureModelContextData(String projectId, String revisionOrVersionId, EntityAccessContext entityAccessContext)
     {
         return getPureModelContextData(projectId, revisionOrVersionId, entityAccessContext.getEntities(null, null, null));
@@ -19,6 +19,9 @@ import io.swagger.annotations.ApiOperation;
 import org.finos.legend.engine.protocol.pure.v1.model.context.PureModelContextData;
 import org.finos.legend.sdlc.domain.model.version.VersionId;
 import org.finos.legend.sdlc.server.domain.api.entity.EntityApi;
+import org.finos.legend.sdlc.server.domain.api.project.ProjectApi;
+import org.finos.legend.sdlc.server.error.LegendSDLCServerException;
+import org.finos.legend.sdlc.server.resources.PureModelContextDataCache;
 import org.finos.legend.sdlc.server.resources.PureModelContextDataResource;
 
 import javax.inject.Inject;
@@ -27,7 +30,10 @@ import javax.ws.rs.GET;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
 
 @Path("/projects/{projectId}/versions/{versionId}/pureModelContextData")
 @Api("Pure Model Context")
@@ -36,20 +42,38 @@ import javax.ws.rs.core.MediaType;
 public class VersionPureModelContextDataResource extends PureModelContextDataResource
 {
     private final EntityApi entityApi;
+    private final ProjectApi projectApi;
+    private final PureModelContextDataCache cache;
 
     @Inject
-    protected VersionPureModelContextDataResource(EntityApi entityApi)
+    protected VersionPureModelContextDataResource(EntityApi entityApi, ProjectApi projectApi, PureModelContextDataCache cache)
     {
         this.entityApi = entityApi;
+        this.projectApi = projectApi;
+        this.cache = cache;
     }
 
     @GET
-    @ApiOperation("Get Pure model context data for a version of a project")
-    public PureModelContextData getPureModelContextData(@PathParam("projectId") String projectId, @PathParam("versionId") String versionId)
+    @ApiOperation(value = "Get Pure model context data for a version of a project", response = PureModelContextData.class)
+    public Response getPureModelContextData(@PathParam("projectId") String projectId, @PathParam("versionId") String versionId, @Context Request request)
     {
         return executeWithLogging(
                 "getting Pure model context data for version " + versionId + " of project " + projectId,
-                () -> getPureModelContextData(projectId, VersionId.parseVersionId(versionId).toVersionIdString(), this.entityApi.getVersionEntityAccessContext(projectId, versionId))
+                () ->
+                {
+                    String versionIdString;
+                    try
+                    {
+                        versionIdString = VersionId.parseVersionId(versionId).toVersionIdString();
+                    }
+                    catch (IllegalArgumentException e)
+                    {
+                        throw new LegendSDLCServerException(e.getMessage(), Response.Status.BAD_REQUEST, e);
+                    }
+                    // versions are immutable, but we must still check that the user has access to the project before serving cached data
+                    this.projectApi.getProject(projectId);
+                    return getCachedPureModelContextDataResponse(this.cache, request, projectId, versionIdString, getImmutableCacheControl(), () -> this.entityApi.getVersionEntityAccessContext(projectId, versionId));
+                }
         );
     }
 }
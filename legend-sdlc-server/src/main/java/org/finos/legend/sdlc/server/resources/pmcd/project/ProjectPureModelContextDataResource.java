@@ -21,6 +21,7 @@ import org.finos.legend.sdlc.domain.model.revision.Revision;
 import org.finos.legend.sdlc.server.domain.api.entity.EntityApi;
 import org.finos.legend.sdlc.server.domain.api.revision.RevisionApi;
 import org.finos.legend.sdlc.server.error.LegendSDLCServerException;
+import org.finos.legend.sdlc.server.resources.PureModelContextDataCache;
 import org.finos.legend.sdlc.server.resources.PureModelContextDataResource;
 
 import javax.inject.Inject;
@@ -29,7 +30,10 @@ import javax.ws.rs.GET;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
 
 @Path("/projects/{projectId}/pureModelContextData")
 @Api("Pure Model Context")
@@ -39,17 +43,19 @@ public class ProjectPureModelContextDataResource extends PureModelContextDataRes
 {
     private final EntityApi entityApi;
     private final RevisionApi revisionApi;
+    private final PureModelContextDataCache cache;
 
     @Inject
-    public ProjectPureModelContextDataResource(EntityApi entityApi, RevisionApi revisionApi)
+    public ProjectPureModelContextDataResource(EntityApi entityApi, RevisionApi revisionApi, PureModelContextDataCache cache)
     {
         this.entityApi = entityApi;
         this.revisionApi = revisionApi;
+        this.cache = cache;
     }
 
     @GET
-    @ApiOperation("Get Pure model context data for a project (at the latest revision)")
-    public PureModelContextData getPureModelContextData(@PathParam("projectId") String projectId)
+    @ApiOperation(value = "Get Pure model context data for a project (at the latest revision)", response = PureModelContextData.class)
+    public Response getPureModelContextData(@PathParam("projectId") String projectId, @Context Request request)
     {
         return executeWithLogging(
                 "getting Pure model context data for project " + projectId,
@@ -60,7 +66,10 @@ public class ProjectPureModelContextDataResource extends PureModelContextDataRes
                     {
                         throw new LegendSDLCServerException("Could not find latest revision for project " + projectId + "; project may be corrupt");
                     }
-                    return getPureModelContextData(projectId, revision.getId(), this.entityApi.getProjectEntityAccessContext(projectId));
+                    // resolving the current revision checks that the user has access to the project; the entities are then
+                    // read at that exact revision so that the cached value is consistent with its key
+                    String revisionId = revision.getId();
+                    return getCachedPureModelContextDataResponse(this.cache, request, projectId, revisionId, getRevalidateCacheControl(), () -> this.entityApi.getProjectRevisionEntityAccessContext(projectId, revisionId));
                 });
     }
 }
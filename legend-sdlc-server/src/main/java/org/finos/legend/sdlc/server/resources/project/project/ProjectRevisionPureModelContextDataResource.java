@@ -19,6 +19,8 @@ import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import org.finos.legend.engine.protocol.pure.v1.model.context.PureModelContextData;
 import org.finos.legend.sdlc.server.domain.api.entity.EntityApi;
+import org.finos.legend.sdlc.server.domain.api.project.ProjectApi;
+import org.finos.legend.sdlc.server.resources.PureModelContextDataCache;
 import org.finos.legend.sdlc.server.resources.PureModelContextDataResource;
 
 import javax.inject.Inject;
@@ -27,7 +29,10 @@ import javax.ws.rs.GET;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
 
 @Path("/projects/{projectId}/revisions/{revisionId}/pureModelContextData")
 @Api("Pure Model Context")
@@ -36,21 +41,36 @@ import javax.ws.rs.core.MediaType;
 public class ProjectRevisionPureModelContextDataResource extends PureModelContextDataResource
 {
     private final EntityApi entityApi;
+    private final ProjectApi projectApi;
+    private final PureModelContextDataCache cache;
 
     @Inject
-    protected ProjectRevisionPureModelContextDataResource(EntityApi entityApi)
+    protected ProjectRevisionPureModelContextDataResource(EntityApi entityApi, ProjectApi projectApi, PureModelContextDataCache cache)
     {
         this.entityApi = entityApi;
+        this.projectApi = projectApi;
+        this.cache = cache;
     }
 
     @GET
-    @ApiOperation("Get Pure model context data for a project at a revision")
-    public PureModelContextData getPureModelContextData(@PathParam("projectId") String projectId,
-                                                        @PathParam("revisionId") @ApiParam("Including aliases: head, latest, current, base") String revisionId)
+    @ApiOperation(value = "Get Pure model context data for a project at a revision", response = PureModelContextData.class)
+    public Response getPureModelContextData(@PathParam("projectId") String projectId,
+                                            @PathParam("revisionId") @ApiParam("Including aliases: head, latest, current, base") String revisionId,
+                                            @Context Request request)
     {
         return executeWithLogging(
                 "getting Pure model context data for project " + projectId + " at revision " + revisionId,
-                () -> getPureModelContextData(projectId, revisionId, this.entityApi.getProjectRevisionEntityAccessContext(projectId, revisionId))
+                () ->
+                {
+                    if (!PureModelContextDataCache.isFullCommitId(revisionId))
+                    {
+                        // aliases and abbreviated ids may refer to different revisions over time, so they are not cached
+                        return Response.ok(getPureModelContextData(projectId, revisionId, this.entityApi.getProjectRevisionEntityAccessContext(projectId, revisionId))).build();
+                    }
+                    // we must check that the user has access to the project before serving cached data
+                    this.projectApi.getProject(projectId);
+                    return getCachedPureModelContextDataResponse(this.cache, request, projectId, revisionId, getImmutableCacheControl(), () -> this.entityApi.getProjectRevisionEntityAccessContext(projectId, revisionId));
+                }
         );
     }
 }
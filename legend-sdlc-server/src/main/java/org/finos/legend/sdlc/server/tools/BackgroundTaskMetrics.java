@@ -0,0 +1,94 @@
+// Copyright 2023 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.sdlc.server.tools;
+
+import io.prometheus.client.Counter;
+import io.prometheus.client.Gauge;
+import io.prometheus.client.SimpleTimer;
+import io.prometheus.client.Summary;
+
+/**
+ * Prometheus metrics for {@link BackgroundTaskProcessor}, labelled by lane.
+ */
+class BackgroundTaskMetrics
+{
+    private static final String LANE_LABEL = "lane";
+
+    private static final Gauge QUEUE_DEPTH = Gauge.build("sdlc_background_tasks_queued", "Number of background tasks waiting for a thread").labelNames(LANE_LABEL).register();
+    private static final Summary WAIT_SUMMARY = createDurationSummary("sdlc_background_tasks_wait", "Duration summary for background tasks waiting for a thread");
+    private static final Summary RUN_SUMMARY = createDurationSummary("sdlc_background_tasks_run", "Duration summary for background task runs");
+    private static final Counter RETRY_COUNTER = createCounter("sdlc_background_tasks_retries", "Counter of background task retries");
+    private static final Counter FAILURE_COUNTER = createCounter("sdlc_background_tasks_failures", "Counter of background tasks failing with an error which is not retried");
+    private static final Counter REJECTION_COUNTER = createCounter("sdlc_background_tasks_rejections", "Counter of background tasks rejected because their lane was full or shut down");
+    private static final Counter ABANDONED_COUNTER = createCounter("sdlc_background_tasks_abandoned", "Counter of queued background tasks abandoned on shutdown");
+
+    private BackgroundTaskMetrics()
+    {
+    }
+
+    static void taskQueued(BackgroundTaskProcessor.Lane lane)
+    {
+        QUEUE_DEPTH.labels(lane.name()).inc();
+    }
+
+    static void taskRejected(BackgroundTaskProcessor.Lane lane)
+    {
+        QUEUE_DEPTH.labels(lane.name()).dec();
+        REJECTION_COUNTER.labels(lane.name()).inc();
+    }
+
+    static void tasksAbandoned(BackgroundTaskProcessor.Lane lane, int count)
+    {
+        if (count > 0)
+        {
+            QUEUE_DEPTH.labels(lane.name()).dec(count);
+            ABANDONED_COUNTER.labels(lane.name()).inc(count);
+        }
+    }
+
+    static void taskStarted(BackgroundTaskProcessor.Lane lane, long submitNanos, long startNanos)
+    {
+        QUEUE_DEPTH.labels(lane.name()).dec();
+        WAIT_SUMMARY.labels(lane.name()).observe(SimpleTimer.elapsedSecondsFromNanos(submitNanos, startNanos));
+    }
+
+    static void taskFinished(BackgroundTaskProcessor.Lane lane, long startNanos, long endNanos)
+    {
+        RUN_SUMMARY.labels(lane.name()).observe(SimpleTimer.elapsedSecondsFromNanos(startNanos, endNanos));
+    }
+
+    static void taskRetried(BackgroundTaskProcessor.Lane lane)
+    {
+        RETRY_COUNTER.labels(lane.name()).inc();
+    }
+
+    static void taskFailed(BackgroundTaskProcessor.Lane lane)
+    {
+        FAILURE_COUNTER.labels(lane.name()).inc();
+    }
+
+    private static Summary createDurationSummary(String name, String help)
+    {
+        return Summary.build(name, help)
+                .labelNames(LANE_LABEL)
+                .quantile(0.5, 0.05).quantile(0.9, 0.01).quantile(0.99, 0.001)
+                .register();
+    }
+
+    private static Counter createCounter(String name, String help)
+    {
+        return Counter.build(name, help).labelNames(LANE_LABEL).register();
+    }
+}
@@ -17,10 +17,15 @@ package org.finos.legend.sdlc.server.tools;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -30,16 +35,59 @@ public class BackgroundTaskProcessor
 {
     private static final Logger LOGGER = LoggerFactory.getLogger(BackgroundTaskProcessor.class);
 
-    private static final long DEFAULT_SLEEP_MILLIS = 100L;
+    /**
+     * Default maximum number of tasks which may be queued in a lane. Further tasks are rejected.
+     */
+    public static final int DEFAULT_QUEUE_CAPACITY = 10_000;
 
     private final AtomicInteger taskCounter = new AtomicInteger(0);
-    private final ThreadPoolExecutor executor;
+    private final Map<Lane, ThreadPoolExecutor> executors;
+    private final ScheduledThreadPoolExecutor retryScheduler;
+    private final Set<RetryableTaskWrapper> waitingRetries = ConcurrentHashMap.newKeySet();
 
+    private BackgroundTaskProcessor(Map<Lane, Integer> threadPoolSizes, Map<Lane, Integer> queueCapacities)
+    {
+        this.executors = new EnumMap<>(Lane.class);
+        for (Lane lane : Lane.values())
+        {
+            int threadPoolSize = Math.max(1, threadPoolSizes.getOrDefault(lane, 1));
+            int queueCapacity = Math.max(1, queueCapacities.getOrDefault(lane, DEFAULT_QUEUE_CAPACITY));
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(threadPoolSize, threadPoolSize, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(queueCapacity), Executors.defaultThreadFactory(), new ThreadPoolExecutor.AbortPolicy());
+            executor.allowCoreThreadTimeOut(true);
+            this.executors.put(lane, executor);
+        }
+        // Retries waiting for their next attempt are held by this scheduler rather than by a worker thread; when an
+        // attempt is due, the task is submitted to the executor. The scheduler thread never runs tasks itself.
+        this.retryScheduler = new ScheduledThreadPoolExecutor(1, runnable ->
+        {
+            Thread thread = new Thread(runnable, "background-task-retry-scheduler-" + Integer.toHexString(System.identityHashCode(this)));
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.retryScheduler.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Create a background task processor with the given number of threads in each lane, and the default queue
+     * capacity.
+     *
+     * @param threadPoolSize number of threads per lane
+     */
     public BackgroundTaskProcessor(int threadPoolSize)
     {
-        int realThreadPoolSize = Math.max(1, threadPoolSize);
-        this.executor = new ThreadPoolExecutor(realThreadPoolSize, realThreadPoolSize, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), Executors.defaultThreadFactory(), new ThreadPoolExecutor.AbortPolicy());
-        this.executor.allowCoreThreadTimeOut(true);
+        this(uniformLaneSettings(threadPoolSize), uniformLaneSettings(DEFAULT_QUEUE_CAPACITY));
+    }
+
+    /**
+     * Submit a task for background execution in the given lane.
+     *
+     * @param lane        lane
+     * @param task        task
+     * @param description task description for logging and error messages
+     */
+    public void submitTask(Lane lane, Task task, String description)
+    {
+        submit(new SimpleTaskWrapper(lane, task, description));
     }
 
     /**
@@ -60,7 +108,7 @@ public class BackgroundTaskProcessor
      */
     public void submitTask(Task task, String description)
     {
-        submit(new SimpleTaskWrapper(task, description));
+        submitTask(Lane.DEFAULT, task, description);
     }
 
     /**
@@ -212,7 +260,48 @@ public class BackgroundTaskProcessor
      */
     public void submitRetryableTask(RetryableTask task, Predicate<? super Exception> isExceptionRetryable, long minWaitBetweenRetriesMillis, String description)
     {
-        submit(new RetryableTaskWrapper(task, isExceptionRetryable, minWaitBetweenRetriesMillis, description));
+        submitRetryableTask(task, isExceptionRetryable, RetryBackoff.fixed(minWaitBetweenRetriesMillis), description);
+    }
+
+    /**
+     * Submit a retryable task for background execution.
+     * <p>
+     * When the task is run, it returns a boolean indicating whether it completed.
+     * If it did not complete (i.e., if it returns false), then the task is resubmitted.
+     * <p>
+     * When a task is resubmitted, it will wait as determined by {@code backoff}
+     * before the task is actually retried. While waiting, the task does not occupy
+     * a thread, so it does not delay other tasks.
+     * <p>
+     * If a task throws an exception, then the exception is tested with the predicate
+     * {@code isExceptionRetryable} to see if it is retryable. If it is, the task is
+     * resubmitted. If {@code isExceptionRetryable} is null, then no exceptions are
+     * deemed retryable.
+     *
+     * @param task                 retryable task
+     * @param isExceptionRetryable predicate to test which exceptions are retryable (if null, no exceptions are retryable)
+     * @param backoff              how long to wait between retries (if null, retries are not delayed)
+     * @param description          task description for logger and error messages
+     */
+    public void submitRetryableTask(RetryableTask task, Predicate<? super Exception> isExceptionRetryable, RetryBackoff backoff, String description)
+    {
+        submitRetryableTask(Lane.DEFAULT, task, isExceptionRetryable, backoff, description);
+    }
+
+    /**
+     * Submit a retryable task for background execution in the given lane. See
+     * {@link #submitRetryableTask(RetryableTask, Predicate, RetryBackoff, String)}.
+     * Retries are run in the same lane.
+     *
+     * @param lane                 lane
+     * @param task                 retryable task
+     * @param isExceptionRetryable predicate to test which exceptions are retryable (if null, no exceptions are retryable)
+     * @param backoff              how long to wait between retries (if null, retries are not delayed)
+     * @param description          task description for logger and error messages
+     */
+    public void submitRetryableTask(Lane lane, RetryableTask task, Predicate<? super Exception> isExceptionRetryable, RetryBackoff backoff, String description)
+    {
+        submit(new RetryableTaskWrapper(lane, task, isExceptionRetryable, (backoff == null) ? RetryBackoff.none() : backoff, description));
     }
 
     /**
@@ -221,7 +310,8 @@ public class BackgroundTaskProcessor
      * <p>After calling this method, no new tasks will be accepted.
      * Previously submitted tasks are executed, though retryable
      * tasks will not longer be resubmitted if they do not complete.
-     * accepted.
+     * Retryable tasks waiting for their next attempt are run without
+     * further delay.
      *
      * <p>This method has no additional effect once the task processor
      * is shut down.
@@ -235,7 +325,43 @@ public class BackgroundTaskProcessor
         {
             LOGGER.info("Shutting down");
         }
-        this.executor.shutdown();
+        // give retries which are waiting their final attempt now, while the executors still accept them
+        this.retryScheduler.shutdownNow();
+        if (!this.waitingRetries.isEmpty())
+        {
+            LOGGER.debug("Submitting {} waiting retries", this.waitingRetries.size());
+            this.waitingRetries.forEach(RetryableTaskWrapper::resubmitIfWaiting);
+        }
+        this.executors.values().forEach(ThreadPoolExecutor::shutdown);
+    }
+
+    /**
+     * Shut down the background task processor, and wait for previously
+     * submitted tasks to complete, up to the given timeout. Tasks which
+     * have not started by then are abandoned, and running tasks are
+     * interrupted.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit    the time unit of the timeout argument
+     * @return {@code true} if all tasks completed or {@code false} if some were abandoned
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean shutdownAndDrain(long timeout, TimeUnit unit) throws InterruptedException
+    {
+        shutdown();
+        if (awaitTermination(timeout, unit))
+        {
+            return true;
+        }
+        int abandoned = 0;
+        for (Map.Entry<Lane, ThreadPoolExecutor> entry : this.executors.entrySet())
+        {
+            int laneAbandoned = entry.getValue().shutdownNow().size();
+            BackgroundTaskMetrics.tasksAbandoned(entry.getKey(), laneAbandoned);
+            abandoned += laneAbandoned;
+        }
+        LOGGER.warn("Background tasks did not complete within {} {}: abandoned {} queued tasks", timeout, unit, abandoned);
+        return false;
     }
 
     /**
@@ -245,7 +371,18 @@ public class BackgroundTaskProcessor
      */
     public boolean isShutdown()
     {
-        return this.executor.isShutdown();
+        return this.executors.values().stream().allMatch(ThreadPoolExecutor::isShutdown);
+    }
+
+    /**
+     * Get the number of tasks queued in a lane, waiting for a thread.
+     *
+     * @param lane lane
+     * @return number of queued tasks
+     */
+    public int getQueueSize(Lane lane)
+    {
+        return this.executors.get(lane).getQueue().size();
     }
 
     /**
@@ -260,10 +397,14 @@ public class BackgroundTaskProcessor
     public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException
     {
         LOGGER.info("Awaiting termination of existing tasks");
-        boolean terminated;
+        boolean terminated = true;
         try
         {
-            terminated = this.executor.awaitTermination(timeout, unit);
+            long deadline = System.nanoTime() + unit.toNanos(timeout);
+            for (ThreadPoolExecutor executor : this.executors.values())
+            {
+                terminated &= executor.awaitTermination(Math.max(deadline - System.nanoTime(), 0L), TimeUnit.NANOSECONDS);
+            }
         }
         catch (Exception e)
         {
@@ -274,12 +415,22 @@ public class BackgroundTaskProcessor
         return terminated;
     }
 
+    /**
+     * Start building a background task processor, configuring each lane.
+     *
+     * @return builder
+     */
+    public static Builder newBuilder()
+    {
+        return new Builder();
+    }
+
     private void submit(TaskWrapper taskWrapper)
     {
         LOGGER.debug("{} Submitting task", taskWrapper.logPrefix);
         try
         {
-            this.executor.submit(taskWrapper);
+            enqueue(taskWrapper);
         }
         catch (RejectedExecutionException e)
         {
@@ -294,9 +445,89 @@ public class BackgroundTaskProcessor
         LOGGER.debug("{} task submitted", taskWrapper.logPrefix);
     }
 
-    private boolean isQueueEmpty()
+    private void enqueue(TaskWrapper taskWrapper)
+    {
+        taskWrapper.submitNanos = System.nanoTime();
+        BackgroundTaskMetrics.taskQueued(taskWrapper.lane);
+        try
+        {
+            this.executors.get(taskWrapper.lane).submit(taskWrapper);
+        }
+        catch (Exception e)
+        {
+            BackgroundTaskMetrics.taskRejected(taskWrapper.lane);
+            throw e;
+        }
+    }
+
+    private boolean isShutdown(Lane lane)
+    {
+        return this.executors.get(lane).isShutdown();
+    }
+
+    private static Map<Lane, Integer> uniformLaneSettings(int value)
     {
-        return this.executor.getQueue().isEmpty();
+        Map<Lane, Integer> settings = new EnumMap<>(Lane.class);
+        for (Lane lane : Lane.values())
+        {
+            settings.put(lane, value);
+        }
+        return settings;
+    }
+
+    /**
+     * Lanes in which tasks are run. Each lane has its own threads and queue, so that a burst of tasks in one lane does
+     * not delay tasks in the others.
+     */
+    public enum Lane
+    {
+        /**
+         * Lane for tasks which are not of any more specific kind.
+         */
+        DEFAULT,
+
+        /**
+         * Lane for cleaning up temporary state, such as deleting temporary branches.
+         */
+        CLEANUP
+    }
+
+    public static class Builder
+    {
+        private final Map<Lane, Integer> threadPoolSizes = new EnumMap<>(Lane.class);
+        private final Map<Lane, Integer> queueCapacities = new EnumMap<>(Lane.class);
+
+        private Builder()
+        {
+        }
+
+        /**
+         * Configure a lane. Lanes which are not configured have 1 thread and the default queue capacity.
+         *
+         * @param lane           lane
+         * @param threadPoolSize number of threads for the lane
+         * @param queueCapacity  maximum number of tasks which may be queued in the lane
+         * @return this builder
+         */
+        public Builder withLane(Lane lane, int threadPoolSize, int queueCapacity)
+        {
+            if (threadPoolSize < 1)
+            {
+                throw new IllegalArgumentException("Invalid thread pool size for lane " + lane + ": " + threadPoolSize);
+            }
+            if (queueCapacity < 1)
+            {
+                throw new IllegalArgumentException("Invalid queue capacity for lane " + lane + ": " + queueCapacity);
+            }
+            this.threadPoolSizes.put(lane, threadPoolSize);
+            this.queueCapacities.put(lane, queueCapacity);
+            return this;
+        }
+
+        public BackgroundTaskProcessor build()
+        {
+            return new BackgroundTaskProcessor(this.threadPoolSizes, this.queueCapacities);
+        }
     }
 
     public interface Task
@@ -331,11 +562,14 @@ public class BackgroundTaskProcessor
 
     private abstract class TaskWrapper implements Callable<Void>
     {
+        protected final Lane lane;
         protected final int id;
         protected final String logPrefix;
+        private volatile long submitNanos;
 
-        protected TaskWrapper(String description)
+        protected TaskWrapper(Lane lane, String description)
         {
+            this.lane = (lane == null) ? Lane.DEFAULT : lane;
             this.id = BackgroundTaskProcessor.this.taskCounter.incrementAndGet();
             this.logPrefix = "[task " + this.id + (((description == null) || description.isEmpty()) ? "" : (": " + description)) + "]";
         }
@@ -343,7 +577,21 @@ public class BackgroundTaskProcessor
         @Override
         public Void call() throws Exception
         {
-            runTask();
+            long startNanos = System.nanoTime();
+            BackgroundTaskMetrics.taskStarted(this.lane, this.submitNanos, startNanos);
+            try
+            {
+                runTask();
+            }
+            catch (Exception e)
+            {
+                BackgroundTaskMetrics.taskFailed(this.lane);
+                throw e;
+            }
+            finally
+            {
+                BackgroundTaskMetrics.taskFinished(this.lane, startNanos, System.nanoTime());
+            }
             return null;
         }
 
@@ -360,9 +608,9 @@ public class BackgroundTaskProcessor
     {
         private final Task task;
 
-        private SimpleTaskWrapper(Task task, String description)
+        private SimpleTaskWrapper(Lane lane, Task task, String description)
         {
-            super(description);
+            super(lane, description);
             this.task = task;
         }
 
@@ -387,45 +635,20 @@ public class BackgroundTaskProcessor
     {
         private final RetryableTask task;
         private final Predicate<? super Exception> isRetryableException;
-        private final long minWaitBetweenRetriesMillis;
-        private long lastTime;
+        private final RetryBackoff backoff;
         private int tryCount = 1;
 
-        private RetryableTaskWrapper(RetryableTask task, Predicate<? super Exception> isRetryableException, long minWaitBetweenRetriesMillis, String description)
+        private RetryableTaskWrapper(Lane lane, RetryableTask task, Predicate<? super Exception> isRetryableException, RetryBackoff backoff, String description)
         {
-            super(description);
+            super(lane, description);
             this.task = task;
             this.isRetryableException = isRetryableException;
-            this.minWaitBetweenRetriesMillis = minWaitBetweenRetriesMillis;
+            this.backoff = backoff;
         }
 
         @Override
         protected void runTask() throws Exception
         {
-            long millisBeforeNextTry = getMillisBeforeNextTry();
-            while (millisBeforeNextTry > 0)
-            {
-                try
-                {
-                    Thread.sleep(Math.min(millisBeforeNextTry, DEFAULT_SLEEP_MILLIS));
-                }
-                catch (InterruptedException e)
-                {
-                    resubmit();
-                    throw e;
-                }
-                millisBeforeNextTry = getMillisBeforeNextTry();
-                if ((millisBeforeNextTry > DEFAULT_SLEEP_MILLIS) && !isQueueEmpty())
-                {
-                    // Let other tasks have a chance: try to resubmit, but if we fail then let the task run
-                    if (resubmit())
-                    {
-                        return;
-                    }
-                    millisBeforeNextTry = 0;
-                }
-            }
-
             LOGGER.debug("{} Starting task, attempt #{}", this.logPrefix, this.tryCount);
             boolean finished;
             try
@@ -437,9 +660,7 @@ public class BackgroundTaskProcessor
                 if (isExceptionRetryable(e))
                 {
                     LOGGER.warn("{} Retryable error occurred on attempt #{}, resubmitting", this.logPrefix, this.tryCount, e);
-                    this.lastTime = System.currentTimeMillis();
-                    this.tryCount++;
-                    resubmit();
+                    scheduleRetry();
                     return;
                 }
                 LOGGER.warn("{} Non-retryable error occurred during task on attempt #{}", this.logPrefix, this.tryCount, e);
@@ -452,23 +673,10 @@ public class BackgroundTaskProcessor
             else
             {
                 LOGGER.debug("{} Task unfinished on attempt #{}, resubmitting", this.logPrefix, this.tryCount);
-                this.lastTime = System.currentTimeMillis();
-                this.tryCount++;
-                resubmit();
+                scheduleRetry();
             }
         }
 
-        private long getMillisBeforeNextTry()
-        {
-            if ((this.tryCount <= 1) || (this.minWaitBetweenRetriesMillis <= 0) || isShutdown())
-            {
-                return 0L;
-            }
-
-            long millisSinceLastTime = (System.currentTimeMillis() - this.lastTime);
-            return this.minWaitBetweenRetriesMillis - millisSinceLastTime;
-        }
-
         private boolean isExceptionRetryable(Exception exception)
         {
             if (this.isRetryableException != null)
@@ -485,28 +693,75 @@ public class BackgroundTaskProcessor
             return false;
         }
 
-        private boolean resubmit()
+        private void scheduleRetry()
+        {
+            long waitMillis = this.backoff.getWaitMillis(this.tryCount);
+            this.tryCount++;
+            // once shutdown has started, the attempt which was just made was the final one
+            if (isShutdown(this.lane) || BackgroundTaskProcessor.this.retryScheduler.isShutdown())
+            {
+                LOGGER.debug("{} Executor service is shut down, not resubmitting", this.logPrefix);
+                return;
+            }
+            if (waitMillis <= 0)
+            {
+                resubmit();
+                return;
+            }
+
+            // the task is recorded as waiting so that shutdown can resubmit it, as the scheduler cancels its own tasks
+            BackgroundTaskProcessor.this.waitingRetries.add(this);
+            try
+            {
+                LOGGER.debug("{} Scheduling attempt #{} in {}ms", this.logPrefix, this.tryCount, waitMillis);
+                BackgroundTaskProcessor.this.retryScheduler.schedule(this::resubmitIfWaiting, waitMillis, TimeUnit.MILLISECONDS);
+            }
+            catch (RejectedExecutionException e)
+            {
+                // the processor is shutting down: make the final attempt now
+                LOGGER.debug("{} Retry scheduler is shut down, resubmitting without delay", this.logPrefix);
+                resubmitIfWaiting();
+            }
+            catch (Exception e)
+            {
+                BackgroundTaskProcessor.this.waitingRetries.remove(this);
+                LOGGER.warn("{} Error scheduling task for retry", this.logPrefix, e);
+            }
+        }
+
+        private void resubmitIfWaiting()
+        {
+            // either the scheduler or shutdown may resubmit a waiting task, but only one of them does
+            if (BackgroundTaskProcessor.this.waitingRetries.remove(this))
+            {
+                resubmit();
+            }
+        }
+
+        private void resubmit()
         {
-            if (isShutdown())
+            if (isShutdown(this.lane))
             {
                 LOGGER.debug("{} Executor service is shut down, not resubmitting", this.logPrefix);
-                return false;
+                return;
             }
 
             try
             {
-                BackgroundTaskProcessor.this.executor.submit(this);
-                return true;
+                // a rejected retry is counted as a rejection by enqueue, and not as a retry
+                enqueue(this);
             }
             catch (RejectedExecutionException e)
             {
                 LOGGER.warn("{} Task rejected on retry submission", this.logPrefix, e);
+                return;
             }
             catch (Exception e)
             {
                 LOGGER.warn("{} Error resubmitting task for retry", this.logPrefix, e);
+                return;
             }
-            return false;
+            BackgroundTaskMetrics.taskRetried(this.lane);
         }
     }
 }
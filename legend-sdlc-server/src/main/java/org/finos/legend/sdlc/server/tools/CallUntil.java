@@ -17,6 +17,7 @@ package org.finos.legend.sdlc.server.tools;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 
 public class CallUntil<T, E extends Exception>
@@ -37,25 +38,54 @@ public class CallUntil<T, E extends Exception>
 
     public boolean callUntil(int maxTries, long waitIntervalMillis) throws E
     {
+        return callUntil(maxTries, RetryBackoff.fixed(waitIntervalMillis), 0L);
+    }
+
+    /**
+     * Call until the predicate is satisfied, the maximum number of tries has been made, or the timeout has passed.
+     * The wait before each try after the first is given by the backoff, but a wait never goes past the timeout. If
+     * the timeout has not already passed, there is always at least one try.
+     *
+     * @param maxTries      maximum number of tries
+     * @param backoff       how long to wait between tries
+     * @param timeoutMillis overall time allowed in milliseconds (no timeout if non-positive)
+     * @return whether the predicate was satisfied
+     * @throws E if the supplier throws
+     */
+    public boolean callUntil(int maxTries, RetryBackoff backoff, long timeoutMillis) throws E
+    {
+        long deadlineNanos = (timeoutMillis > 0L) ? (System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis)) : 0L;
         for (int i = 0; !this.success && (i < maxTries); i++)
         {
-            this.tryCount++;
-
             // Possibly wait
-            if ((i > 0) && (waitIntervalMillis > 0L))
+            if (i > 0)
             {
-                try
+                long waitMillis = backoff.getWaitMillis(i);
+                if (timeoutMillis > 0L)
                 {
-                    Thread.sleep(waitIntervalMillis);
+                    long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+                    if (remainingMillis <= 0L)
+                    {
+                        break;
+                    }
+                    waitMillis = Math.min(waitMillis, remainingMillis);
                 }
-                catch (InterruptedException e)
+                if (waitMillis > 0L)
                 {
-                    LOGGER.warn("Interrupted while waiting", e);
-                    Thread.currentThread().interrupt();
+                    try
+                    {
+                        Thread.sleep(waitMillis);
+                    }
+                    catch (InterruptedException e)
+                    {
+                        LOGGER.warn("Interrupted while waiting", e);
+                        Thread.currentThread().interrupt();
+                    }
                 }
             }
 
             // Try
+            this.tryCount++;
             T value = this.supplier.get();
             if (this.predicate.test(value))
             {
@@ -87,4 +117,11 @@ public class CallUntil<T, E extends Exception>
         callUntil.callUntil(maxTries, waitIntervalMillis);
         return callUntil;
     }
+
+    public static <T, E extends Exception> CallUntil<T, E> callUntil(ThrowingSupplier<T, E> supplier, Predicate<? super T> predicate, int maxTries, RetryBackoff backoff, long timeoutMillis) throws E
+    {
+        CallUntil<T, E> callUntil = new CallUntil<>(supplier, predicate);
+        callUntil.callUntil(maxTries, backoff, timeoutMillis);
+        return callUntil;
+    }
 }
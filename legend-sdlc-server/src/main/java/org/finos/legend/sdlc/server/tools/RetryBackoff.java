@@ -0,0 +1,113 @@
+// Copyright 2023 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.sdlc.server.tools;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * How long to wait before retrying something which has not succeeded, such as a background task or a call polling
+ * for some state. The wait after the n-th attempt is
+ * {@code initialMillis * multiplier^(n-1)}. With jitter, a random fraction (up to {@code jitter}) of that is added,
+ * so that callers which failed together do not all retry together. The wait is never more than {@code maxMillis}, nor
+ * less than {@code initialMillis}.
+ */
+public class RetryBackoff
+{
+    private static final RetryBackoff NONE = new RetryBackoff(0L, 0L, 1.0, 0.0);
+
+    private final long initialMillis;
+    private final long maxMillis;
+    private final double multiplier;
+    private final double jitter;
+
+    private RetryBackoff(long initialMillis, long maxMillis, double multiplier, double jitter)
+    {
+        this.initialMillis = initialMillis;
+        this.maxMillis = maxMillis;
+        this.multiplier = multiplier;
+        this.jitter = jitter;
+    }
+
+    /**
+     * Get the time to wait before the next attempt, after the given number of attempts.
+     *
+     * @param attempts number of attempts so far (at least 1)
+     * @return time to wait in milliseconds
+     */
+    public long getWaitMillis(int attempts)
+    {
+        if (this.initialMillis <= 0)
+        {
+            return 0L;
+        }
+        double wait = this.initialMillis * Math.pow(this.multiplier, Math.max(attempts - 1, 0));
+        if (this.jitter > 0.0)
+        {
+            wait += wait * this.jitter * ThreadLocalRandom.current().nextDouble();
+        }
+        return Math.min((long) wait, this.maxMillis);
+    }
+
+    /**
+     * Retry without waiting.
+     *
+     * @return backoff
+     */
+    public static RetryBackoff none()
+    {
+        return NONE;
+    }
+
+    /**
+     * Wait the same time before each retry.
+     *
+     * @param waitMillis time to wait in milliseconds
+     * @return backoff
+     */
+    public static RetryBackoff fixed(long waitMillis)
+    {
+        return (waitMillis <= 0) ? NONE : new RetryBackoff(waitMillis, waitMillis, 1.0, 0.0);
+    }
+
+    /**
+     * Wait exponentially longer before each retry, with jitter.
+     *
+     * @param initialMillis time to wait before the first retry in milliseconds
+     * @param maxMillis     maximum time to wait in milliseconds
+     * @param multiplier    factor by which the wait grows with each retry (at least 1)
+     * @param jitter        maximum fraction of the wait to add at random (between 0 and 1)
+     * @return backoff
+     */
+    public static RetryBackoff exponential(long initialMillis, long maxMillis, double multiplier, double jitter)
+    {
+        if (initialMillis <= 0)
+        {
+            return NONE;
+        }
+        if (maxMillis < initialMillis)
+        {
+            throw new IllegalArgumentException("Maximum wait (" + maxMillis + "ms) may not be less than initial wait (" + initialMillis + "ms)");
+        }
+        if (!(multiplier >= 1.0))
+        {
+            throw new IllegalArgumentException("Invalid multiplier: " + multiplier);
+        }
+        if (!((jitter >= 0.0) && (jitter <= 1.0)))
+        {
+            throw new IllegalArgumentException("Invalid jitter: " + jitter);
+        }
+        return new RetryBackoff(initialMillis, maxMillis, multiplier, jitter);
+    }
+}
@@ -0,0 +1,90 @@
+// Copyright 2023 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.sdlc.server.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.finos.legend.sdlc.server.tools.BackgroundTaskProcessor;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class TestBackgroundTaskConfiguration
+{
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Test
+    public void testEmptyConfig() throws IOException
+    {
+        BackgroundTaskConfiguration config = MAPPER.readValue("{}", BackgroundTaskConfiguration.class);
+        Assert.assertEquals(Collections.emptyMap(), config.getLanes());
+        Assert.assertEquals(30L, config.getShutdownTimeoutSeconds());
+    }
+
+    @Test
+    public void testBinding() throws IOException
+    {
+        BackgroundTaskConfiguration config = MAPPER.readValue("{\"lanes\":{\"cleanup\":{\"threads\":2, \"queueCapacity\":5}, \"Default\":{}}, \"shutdownTimeoutSeconds\":10}", BackgroundTaskConfiguration.class);
+        Assert.assertEquals(10L, config.getShutdownTimeoutSeconds());
+        Assert.assertEquals(2, config.getLanes().size());
+
+        BackgroundTaskConfiguration.LaneConfiguration cleanup = config.getLanes().get("cleanup");
+        Assert.assertEquals(2, cleanup.getThreads());
+        Assert.assertEquals(5, cleanup.getQueueCapacity());
+
+        BackgroundTaskConfiguration.LaneConfiguration defaultLane = config.getLanes().get("Default");
+        Assert.assertEquals(1, defaultLane.getThreads());
+        Assert.assertEquals(BackgroundTaskProcessor.DEFAULT_QUEUE_CAPACITY, defaultLane.getQueueCapacity());
+    }
+
+    @Test
+    public void testLaneNamesAreCaseInsensitive() throws Exception
+    {
+        BackgroundTaskConfiguration config = MAPPER.readValue("{\"lanes\":{\"cLeAnUp\":{\"threads\":1, \"queueCapacity\":1}}}", BackgroundTaskConfiguration.class);
+        BackgroundTaskProcessor processor = config.newBackgroundTaskProcessor();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try
+        {
+            processor.submitTask(BackgroundTaskProcessor.Lane.CLEANUP, () ->
+            {
+                started.countDown();
+                release.await();
+            }, "blocking task");
+            Assert.assertTrue(started.await(2, TimeUnit.SECONDS));
+
+            // the configured queue capacity applies to the cleanup lane
+            processor.submitTask(BackgroundTaskProcessor.Lane.CLEANUP, () -> {}, "queued task");
+            Assert.assertThrows(RejectedExecutionException.class, () -> processor.submitTask(BackgroundTaskProcessor.Lane.CLEANUP, () -> {}, "rejected task"));
+        }
+        finally
+        {
+            release.countDown();
+        }
+        Assert.assertTrue(processor.shutdownAndDrain(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testUnknownLane() throws IOException
+    {
+        BackgroundTaskConfiguration config = MAPPER.readValue("{\"lanes\":{\"other\":{\"threads\":1}}}", BackgroundTaskConfiguration.class);
+        IllegalArgumentException e = Assert.assertThrows(IllegalArgumentException.class, config::newBackgroundTaskProcessor);
+        Assert.assertEquals("Unknown background task lane \"other\"; valid lanes: [DEFAULT, CLEANUP]", e.getMessage());
+    }
+}
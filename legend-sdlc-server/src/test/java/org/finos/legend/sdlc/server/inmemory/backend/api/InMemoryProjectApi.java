@@ -20,11 +20,13 @@ import org.finos.legend.sdlc.domain.model.project.ProjectType;
 import org.finos.legend.sdlc.domain.model.project.accessRole.AccessRole;
 import org.finos.legend.sdlc.domain.model.project.accessRole.AuthorizableProjectAction;
 import org.finos.legend.sdlc.server.domain.api.project.ProjectApi;
+import org.finos.legend.sdlc.server.error.LegendSDLCServerException;
 import org.finos.legend.sdlc.server.inmemory.backend.InMemoryBackend;
 
 import javax.inject.Inject;
 import java.util.List;
 import java.util.Set;
+import javax.ws.rs.core.Response;
 
 public class InMemoryProjectApi implements ProjectApi
 {
@@ -39,7 +41,12 @@ public class InMemoryProjectApi implements ProjectApi
     @Override
     public Project getProject(String id)
     {
-        throw new UnsupportedOperationException("Not implemented");
+        Project project = this.backend.getProject(id);
+        if (project == null)
+        {
+            throw new LegendSDLCServerException("Unknown project: " + id, Response.Status.NOT_FOUND);
+        }
+        return project;
     }
 
     @Override
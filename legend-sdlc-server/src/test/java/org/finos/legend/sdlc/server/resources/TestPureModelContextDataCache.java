@@ -0,0 +1,172 @@
+// Copyright 2023 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.sdlc.server.resources;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestPureModelContextDataCache
+{
+    @Test
+    public void testGet()
+    {
+        // room for two 10 byte entries
+        PureModelContextDataCache cache = new PureModelContextDataCache(25);
+        AtomicInteger loadCount = new AtomicInteger();
+
+        byte[] content1 = cache.get("proj1", "1.0.0", () -> newContent(10, loadCount));
+        Assert.assertEquals(1, loadCount.get());
+        Assert.assertSame(content1, cache.get("proj1", "1.0.0", () -> newContent(10, loadCount)));
+        Assert.assertEquals(1, loadCount.get());
+
+        byte[] content2 = cache.get("proj1", "1.0.1", () -> newContent(10, loadCount));
+        Assert.assertEquals(2, loadCount.get());
+        Assert.assertNotSame(content1, content2);
+        Assert.assertEquals(2, cache.size());
+        Assert.assertEquals(20L, cache.getSizeBytes());
+
+        // access proj1/1.0.0 so that proj1/1.0.1 is the least recently used
+        Assert.assertSame(content1, cache.get("proj1", "1.0.0", () -> newContent(10, loadCount)));
+        cache.get("proj2", "1.0.0", () -> newContent(10, loadCount));
+        Assert.assertEquals(3, loadCount.get());
+        Assert.assertEquals(2, cache.size());
+        Assert.assertEquals(20L, cache.getSizeBytes());
+        Assert.assertSame(content1, cache.get("proj1", "1.0.0", () -> newContent(10, loadCount)));
+        Assert.assertNotSame(content2, cache.get("proj1", "1.0.1", () -> newContent(10, loadCount)));
+        Assert.assertEquals(4, loadCount.get());
+
+        // a larger entry evicts as many entries as needed
+        cache.get("proj3", "1.0.0", () -> newContent(20, loadCount));
+        Assert.assertEquals(1, cache.size());
+        Assert.assertEquals(20L, cache.getSizeBytes());
+
+        cache.clear();
+        Assert.assertEquals(0, cache.size());
+        Assert.assertEquals(0L, cache.getSizeBytes());
+    }
+
+    @Test
+    public void testContentLargerThanCache()
+    {
+        PureModelContextDataCache cache = new PureModelContextDataCache(25);
+        AtomicInteger loadCount = new AtomicInteger();
+
+        cache.get("proj1", "1.0.0", () -> newContent(10, loadCount));
+        Assert.assertEquals(30, cache.get("proj2", "1.0.0", () -> newContent(30, loadCount)).length);
+        Assert.assertEquals(30, cache.get("proj2", "1.0.0", () -> newContent(30, loadCount)).length);
+        Assert.assertEquals(3, loadCount.get());
+
+        // the existing entry is kept
+        Assert.assertEquals(1, cache.size());
+        Assert.assertEquals(10L, cache.getSizeBytes());
+    }
+
+    @Test
+    public void testConcurrentLoadsAreShared() throws Exception
+    {
+        PureModelContextDataCache cache = new PureModelContextDataCache(1024);
+        AtomicInteger loadCount = new AtomicInteger();
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch finishLoad = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try
+        {
+            Future<byte[]> first = executor.submit(() -> cache.get("proj1", "1.0.0", () ->
+            {
+                loadStarted.countDown();
+                await(finishLoad);
+                return newContent(10, loadCount);
+            }));
+            Assert.assertTrue(loadStarted.await(30, TimeUnit.SECONDS));
+            Future<byte[]> second = executor.submit(() -> cache.get("proj1", "1.0.0", () -> newContent(10, loadCount)));
+            Future<byte[]> third = executor.submit(() -> cache.get("proj1", "1.0.0", () -> newContent(10, loadCount)));
+            finishLoad.countDown();
+
+            byte[] content = first.get(30, TimeUnit.SECONDS);
+            Assert.assertSame(content, second.get(30, TimeUnit.SECONDS));
+            Assert.assertSame(content, third.get(30, TimeUnit.SECONDS));
+            Assert.assertEquals(1, loadCount.get());
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testFailedLoadIsNotCached()
+    {
+        PureModelContextDataCache cache = new PureModelContextDataCache(1024);
+        AtomicInteger loadCount = new AtomicInteger();
+
+        RuntimeException e = Assert.assertThrows(RuntimeException.class, () -> cache.get("proj1", "1.0.0", () ->
+        {
+            throw new RuntimeException("load failed");
+        }));
+        Assert.assertEquals("load failed", e.getMessage());
+        Assert.assertEquals(0, cache.size());
+
+        Assert.assertEquals(10, cache.get("proj1", "1.0.0", () -> newContent(10, loadCount)).length);
+        Assert.assertEquals(1, loadCount.get());
+    }
+
+    @Test
+    public void testEntityTag()
+    {
+        Assert.assertEquals(PureModelContextDataCache.getEntityTag("proj1", "1.0.0"), PureModelContextDataCache.getEntityTag("proj1", "1.0.0"));
+        Assert.assertNotEquals(PureModelContextDataCache.getEntityTag("proj1", "1.0.0"), PureModelContextDataCache.getEntityTag("proj1", "1.0.1"));
+        Assert.assertNotEquals(PureModelContextDataCache.getEntityTag("proj1", "1.0.0"), PureModelContextDataCache.getEntityTag("proj2", "1.0.0"));
+    }
+
+    @Test
+    public void testIsFullCommitId()
+    {
+        Assert.assertTrue(PureModelContextDataCache.isFullCommitId("0123456789abcdef0123456789abcdef01234567"));
+        Assert.assertTrue(PureModelContextDataCache.isFullCommitId("0123456789ABCDEF0123456789ABCDEF01234567"));
+        Assert.assertFalse(PureModelContextDataCache.isFullCommitId("0123456"));
+        Assert.assertFalse(PureModelContextDataCache.isFullCommitId("latest"));
+        Assert.assertFalse(PureModelContextDataCache.isFullCommitId("0123456789abcdef0123456789abcdef0123456g"));
+        Assert.assertFalse(PureModelContextDataCache.isFullCommitId(null));
+    }
+
+    private static byte[] newContent(int length, AtomicInteger loadCount)
+    {
+        loadCount.incrementAndGet();
+        return new byte[length];
+    }
+
+    private static void await(CountDownLatch latch)
+    {
+        try
+        {
+            if (!latch.await(30, TimeUnit.SECONDS))
+            {
+                throw new RuntimeException("Timed out waiting");
+            }
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+// Copyright 2023 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.sdlc.server.resources;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.ws.rs.core.CacheControl;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+
+public class TestPureModelContextDataResource extends AbstractLegendSDLCServerResourceTest
+{
+    @Test
+    public void testVersionPureModelContextData()
+    {
+        // project ids are unique to each test, as the cache is shared by the whole server
+        this.backend.project("PMCD_V").addVersionedClasses("1.0.0", "pmcdV1", "pmcdV2");
+        String url = "/api/projects/PMCD_V/versions/1.0.0/pureModelContextData";
+
+        Response response = this.clientFor(url).request().get();
+        String body = response.readEntity(String.class);
+        Assert.assertEquals(body, 200, response.getStatus());
+        String entityTag = response.getHeaderString(HttpHeaders.ETAG);
+        Assert.assertNotNull(entityTag);
+        assertImmutableCacheControl(response);
+        Assert.assertTrue(body, body.contains("pmcdV1"));
+        Assert.assertTrue(body, body.contains("pmcdV2"));
+
+        // matching entity tag: not modified
+        Response notModified = this.clientFor(url).request().header(HttpHeaders.IF_NONE_MATCH, entityTag).get();
+        Assert.assertEquals(304, notModified.getStatus());
+        Assert.assertEquals(entityTag, notModified.getHeaderString(HttpHeaders.ETAG));
+        assertImmutableCacheControl(notModified);
+
+        // entity tag for something else: full response
+        Response other = this.clientFor(url).request().header(HttpHeaders.IF_NONE_MATCH, "\"not-the-tag\"").get();
+        Assert.assertEquals(200, other.getStatus());
+        Assert.assertEquals(entityTag, other.getHeaderString(HttpHeaders.ETAG));
+    }
+
+    @Test
+    public void testProjectPureModelContextData()
+    {
+        this.backend.project("PMCD_P").addVersionedClasses("1.0.0", "pmcdP1");
+        String url = "/api/projects/PMCD_P/pureModelContextData";
+
+        Response response = this.clientFor(url).request().get();
+        String body = response.readEntity(String.class);
+        Assert.assertEquals(body, 200, response.getStatus());
+        String entityTag = response.getHeaderString(HttpHeaders.ETAG);
+        Assert.assertNotNull(entityTag);
+        assertRevalidateCacheControl(response);
+        Assert.assertTrue(body, body.contains("pmcdP1"));
+
+        Response notModified = this.clientFor(url).request().header(HttpHeaders.IF_NONE_MATCH, entityTag).get();
+        Assert.assertEquals(304, notModified.getStatus());
+        assertRevalidateCacheControl(notModified);
+
+        // a new revision changes the entity tag, and the old one no longer matches
+        this.backend.project("PMCD_P").addVersionedClasses("1.0.1", "pmcdP2");
+        Response updated = this.clientFor(url).request().header(HttpHeaders.IF_NONE_MATCH, entityTag).get();
+        Assert.assertEquals(200, updated.getStatus());
+        Assert.assertNotEquals(entityTag, updated.getHeaderString(HttpHeaders.ETAG));
+        assertRevalidateCacheControl(updated);
+        Assert.assertTrue(updated.readEntity(String.class).contains("pmcdP2"));
+    }
+
+    @Test
+    public void testProjectRevisionPureModelContextDataNotCached()
+    {
+        this.backend.project("PMCD_R").addVersionedClasses("1.0.0", "pmcdR1");
+
+        // in-memory revision ids are not full commit ids, so like aliases they are not cached
+        String revisionId = this.backend.getProject("PMCD_R").getCurrentRevision().getId();
+        Response response = this.clientFor("/api/projects/PMCD_R/revisions/" + revisionId + "/pureModelContextData").request().get();
+        String body = response.readEntity(String.class);
+        Assert.assertEquals(body, 200, response.getStatus());
+        Assert.assertNull(response.getHeaderString(HttpHeaders.ETAG));
+        Assert.assertNull(response.getHeaderString(HttpHeaders.CACHE_CONTROL));
+        Assert.assertTrue(body, body.contains("pmcdR1"));
+    }
+
+    private static void assertImmutableCacheControl(Response response)
+    {
+        CacheControl cacheControl = getCacheControl(response);
+        Assert.assertTrue(cacheControl.isPrivate());
+        Assert.assertFalse(cacheControl.isNoCache());
+        Assert.assertEquals(24 * 60 * 60, cacheControl.getMaxAge());
+    }
+
+    private static void assertRevalidateCacheControl(Response response)
+    {
+        CacheControl cacheControl = getCacheControl(response);
+        Assert.assertTrue(cacheControl.isPrivate());
+        Assert.assertTrue(cacheControl.isNoCache());
+        Assert.assertEquals(-1, cacheControl.getMaxAge());
+    }
+
+    private static CacheControl getCacheControl(Response response)
+    {
+        String header = response.getHeaderString(HttpHeaders.CACHE_CONTROL);
+        Assert.assertNotNull(header);
+        return CacheControl.valueOf(header);
+    }
+}
@@ -14,12 +14,14 @@
 
 package org.finos.legend.sdlc.server.tools;
 
+import io.prometheus.client.CollectorRegistry;
 import org.junit.AfterClass;
 import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -79,4 +81,216 @@ public class TestBackgroundTaskProcessor
         Assert.assertTrue(latch.await(2, TimeUnit.SECONDS));
         Assert.assertEquals(expected, i.get());
     }
+
+    @Test
+    public void testWaitingRetryDoesNotBlockOtherTasks() throws Exception
+    {
+        // the retryable task waits a long time between attempts, but the single worker thread is free in the meantime
+        AtomicInteger attempts = new AtomicInteger(0);
+        backgroundTaskProcessor.submitRetryableTask(() -> attempts.incrementAndGet() >= 2, 60_000L, "test waiting retryable task");
+
+        int taskCount = 10;
+        CountDownLatch latch = new CountDownLatch(taskCount);
+        for (int i = 0; i < taskCount; i++)
+        {
+            backgroundTaskProcessor.submitTask(latch::countDown, "test task " + i);
+        }
+        Assert.assertTrue(latch.await(2, TimeUnit.SECONDS));
+        Assert.assertEquals(1, attempts.get());
+    }
+
+    @Test
+    public void testRetryBackoff()
+    {
+        RetryBackoff none = RetryBackoff.none();
+        Assert.assertEquals(0L, none.getWaitMillis(1));
+        Assert.assertEquals(0L, none.getWaitMillis(10));
+
+        RetryBackoff fixed = RetryBackoff.fixed(500L);
+        Assert.assertEquals(500L, fixed.getWaitMillis(1));
+        Assert.assertEquals(500L, fixed.getWaitMillis(10));
+
+        RetryBackoff exponential = RetryBackoff.exponential(100L, 1_000L, 2.0, 0.0);
+        Assert.assertEquals(100L, exponential.getWaitMillis(1));
+        Assert.assertEquals(200L, exponential.getWaitMillis(2));
+        Assert.assertEquals(800L, exponential.getWaitMillis(4));
+        Assert.assertEquals(1_000L, exponential.getWaitMillis(5));
+        Assert.assertEquals(1_000L, exponential.getWaitMillis(100));
+
+        RetryBackoff jittered = RetryBackoff.exponential(100L, 1_000L, 2.0, 0.5);
+        for (int i = 0; i < 100; i++)
+        {
+            long wait = jittered.getWaitMillis(2);
+            Assert.assertTrue(Long.toString(wait), (wait >= 200L) && (wait <= 300L));
+            Assert.assertEquals(1_000L, jittered.getWaitMillis(10));
+        }
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> RetryBackoff.exponential(100L, 10L, 2.0, 0.0));
+        Assert.assertThrows(IllegalArgumentException.class, () -> RetryBackoff.exponential(100L, 1_000L, 0.5, 0.0));
+        Assert.assertThrows(IllegalArgumentException.class, () -> RetryBackoff.exponential(100L, 1_000L, 2.0, 1.5));
+    }
+
+    @Test
+    public void testWaitingRetryRunsOnShutdown() throws Exception
+    {
+        BackgroundTaskProcessor processor = new BackgroundTaskProcessor(1);
+        AtomicInteger attempts = new AtomicInteger(0);
+        CountDownLatch firstAttempt = new CountDownLatch(1);
+        processor.submitRetryableTask(() ->
+        {
+            attempts.incrementAndGet();
+            firstAttempt.countDown();
+            return false;
+        }, 60_000L, "test retryable task");
+        Assert.assertTrue(firstAttempt.await(2, TimeUnit.SECONDS));
+
+        // with a single worker thread, once this has run the first attempt has finished and its retry is waiting
+        CountDownLatch afterFirstAttempt = new CountDownLatch(1);
+        processor.submitTask(afterFirstAttempt::countDown);
+        Assert.assertTrue(afterFirstAttempt.await(2, TimeUnit.SECONDS));
+
+        processor.shutdown();
+        Assert.assertTrue(processor.awaitTermination(2, TimeUnit.SECONDS));
+        Assert.assertEquals(2, attempts.get());
+    }
+
+    @Test
+    public void testWaitingRetryRunsOnShutdownAndDrain() throws Exception
+    {
+        BackgroundTaskProcessor processor = new BackgroundTaskProcessor(1);
+        AtomicInteger attempts = new AtomicInteger(0);
+        processor.submitRetryableTask(() -> attempts.incrementAndGet() >= 2, 60_000L, "test retryable task");
+
+        // with a single worker thread, once this has run the first attempt has finished and its retry is waiting
+        CountDownLatch afterFirstAttempt = new CountDownLatch(1);
+        processor.submitTask(afterFirstAttempt::countDown);
+        Assert.assertTrue(afterFirstAttempt.await(2, TimeUnit.SECONDS));
+        Assert.assertEquals(1, attempts.get());
+
+        Assert.assertTrue(processor.shutdownAndDrain(2, TimeUnit.SECONDS));
+        Assert.assertEquals(2, attempts.get());
+    }
+
+    @Test
+    public void testRejectedRetryMetrics() throws Exception
+    {
+        BackgroundTaskProcessor processor = BackgroundTaskProcessor.newBuilder()
+                .withLane(BackgroundTaskProcessor.Lane.CLEANUP, 1, 1)
+                .build();
+        double rejections = getLaneMetric("sdlc_background_tasks_rejections", BackgroundTaskProcessor.Lane.CLEANUP);
+        double retries = getLaneMetric("sdlc_background_tasks_retries", BackgroundTaskProcessor.Lane.CLEANUP);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch queuedTaskRun = new CountDownLatch(1);
+        AtomicInteger attempts = new AtomicInteger(0);
+        try
+        {
+            // the first attempt holds the only thread until the queue is full, so its retry is rejected
+            processor.submitRetryableTask(BackgroundTaskProcessor.Lane.CLEANUP, () ->
+            {
+                attempts.incrementAndGet();
+                started.countDown();
+                release.await();
+                return false;
+            }, null, RetryBackoff.none(), "test retryable task");
+            Assert.assertTrue(started.await(2, TimeUnit.SECONDS));
+            processor.submitTask(BackgroundTaskProcessor.Lane.CLEANUP, queuedTaskRun::countDown, "queued task");
+        }
+        finally
+        {
+            release.countDown();
+        }
+
+        // the queued task runs after the first attempt has finished and its retry has been rejected
+        Assert.assertTrue(queuedTaskRun.await(2, TimeUnit.SECONDS));
+        Assert.assertTrue(processor.shutdownAndDrain(2, TimeUnit.SECONDS));
+        Assert.assertEquals(1, attempts.get());
+        Assert.assertEquals(rejections + 1.0, getLaneMetric("sdlc_background_tasks_rejections", BackgroundTaskProcessor.Lane.CLEANUP), 0.0);
+        Assert.assertEquals(retries, getLaneMetric("sdlc_background_tasks_retries", BackgroundTaskProcessor.Lane.CLEANUP), 0.0);
+    }
+
+    @Test
+    public void testLanesAreIndependent() throws Exception
+    {
+        BackgroundTaskProcessor processor = BackgroundTaskProcessor.newBuilder()
+                .withLane(BackgroundTaskProcessor.Lane.DEFAULT, 1, 10)
+                .withLane(BackgroundTaskProcessor.Lane.CLEANUP, 1, 10)
+                .build();
+        CountDownLatch release = new CountDownLatch(1);
+        try
+        {
+            // block the cleanup lane
+            processor.submitTask(BackgroundTaskProcessor.Lane.CLEANUP, release::await, "blocking cleanup task");
+
+            CountDownLatch latch = new CountDownLatch(1);
+            processor.submitTask(latch::countDown, "default task");
+            Assert.assertTrue(latch.await(2, TimeUnit.SECONDS));
+        }
+        finally
+        {
+            release.countDown();
+            processor.shutdown();
+            Assert.assertTrue(processor.awaitTermination(2, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void testBoundedQueue() throws Exception
+    {
+        BackgroundTaskProcessor processor = BackgroundTaskProcessor.newBuilder()
+                .withLane(BackgroundTaskProcessor.Lane.CLEANUP, 1, 2)
+                .build();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger completed = new AtomicInteger(0);
+        try
+        {
+            processor.submitTask(BackgroundTaskProcessor.Lane.CLEANUP, () ->
+            {
+                started.countDown();
+                release.await();
+                completed.incrementAndGet();
+            }, "blocking task");
+            Assert.assertTrue(started.await(2, TimeUnit.SECONDS));
+
+            processor.submitTask(BackgroundTaskProcessor.Lane.CLEANUP, completed::incrementAndGet, "queued task 1");
+            processor.submitTask(BackgroundTaskProcessor.Lane.CLEANUP, completed::incrementAndGet, "queued task 2");
+            Assert.assertEquals(2, processor.getQueueSize(BackgroundTaskProcessor.Lane.CLEANUP));
+            Assert.assertThrows(RejectedExecutionException.class, () -> processor.submitTask(BackgroundTaskProcessor.Lane.CLEANUP, completed::incrementAndGet, "rejected task"));
+        }
+        finally
+        {
+            release.countDown();
+        }
+
+        // queued tasks are drained on shutdown
+        Assert.assertTrue(processor.shutdownAndDrain(2, TimeUnit.SECONDS));
+        Assert.assertEquals(3, completed.get());
+        Assert.assertThrows(RejectedExecutionException.class, () -> processor.submitTask(completed::incrementAndGet, "task after shutdown"));
+    }
+
+    @Test
+    public void testShutdownAndDrainTimeout() throws Exception
+    {
+        BackgroundTaskProcessor processor = new BackgroundTaskProcessor(1);
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicInteger completed = new AtomicInteger(0);
+        processor.submitTask(() ->
+        {
+            started.countDown();
+            Thread.sleep(60_000L);
+        }, "long task");
+        Assert.assertTrue(started.await(2, TimeUnit.SECONDS));
+        processor.submitTask(completed::incrementAndGet, "abandoned task");
+
+        Assert.assertFalse(processor.shutdownAndDrain(100, TimeUnit.MILLISECONDS));
+        Assert.assertTrue(processor.awaitTermination(2, TimeUnit.SECONDS));
+        Assert.assertEquals(0, completed.get());
+    }
+
+    private static double getLaneMetric(String name, BackgroundTaskProcessor.Lane lane)
+    {
+        Double value = CollectorRegistry.defaultRegistry.getSampleValue(name, new String[]{"lane"}, new String[]{lane.name()});
+        return (value == null) ? 0.0 : value;
+    }
 }
@@ -17,6 +17,8 @@ package org.finos.legend.sdlc.server.tools;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.concurrent.TimeUnit;
+
 public class TestCallUntil
 {
     @Test
@@ -128,6 +130,59 @@ public class TestCallUntil
         }
     }
 
+    @Test
+    public void testBackoffSuccess() throws Exception
+    {
+        CountingSupplier supplier = new CountingSupplier();
+        CallUntil<String, TestException> callUntil = new CallUntil<>(supplier, i -> i.length() > 7);
+
+        Assert.assertTrue(callUntil.callUntil(10, RetryBackoff.exponential(1L, 4L, 2.0, 0.5), 60_000L));
+        Assert.assertTrue(callUntil.succeeded());
+        Assert.assertEquals(4, callUntil.getTryCount());
+        Assert.assertEquals("0_1_2_3_4", callUntil.getResult());
+    }
+
+    @Test
+    public void testBackoffMaxTries() throws Exception
+    {
+        CountingSupplier supplier = new CountingSupplier();
+        CallUntil<String, TestException> callUntil = new CallUntil<>(supplier, i -> false);
+
+        Assert.assertFalse(callUntil.callUntil(5, RetryBackoff.exponential(1L, 2L, 2.0, 0.0), 60_000L));
+        Assert.assertFalse(callUntil.succeeded());
+        Assert.assertEquals(5, callUntil.getTryCount());
+        Assert.assertEquals(5, supplier.getCallCount());
+    }
+
+    @Test
+    public void testBackoffTimeout() throws Exception
+    {
+        CountingSupplier supplier = new CountingSupplier();
+        CallUntil<String, TestException> callUntil = new CallUntil<>(supplier, i -> false);
+
+        long start = System.nanoTime();
+        Assert.assertFalse(callUntil.callUntil(Integer.MAX_VALUE, RetryBackoff.fixed(20L), 200L));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        Assert.assertFalse(callUntil.succeeded());
+        Assert.assertTrue(Integer.toString(callUntil.getTryCount()), callUntil.getTryCount() >= 2);
+        Assert.assertTrue(Integer.toString(callUntil.getTryCount()), callUntil.getTryCount() <= 12);
+        Assert.assertTrue(Long.toString(elapsedMillis), elapsedMillis >= 200L);
+    }
+
+    @Test
+    public void testBackoffWaitDoesNotPassTimeout() throws Exception
+    {
+        CountingSupplier supplier = new CountingSupplier();
+        CallUntil<String, TestException> callUntil = new CallUntil<>(supplier, i -> i.length() > 3);
+
+        // the wait is cut short by the timeout, but there is still a final try
+        long start = System.nanoTime();
+        Assert.assertTrue(callUntil.callUntil(10, RetryBackoff.fixed(60_000L), 100L));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        Assert.assertEquals(2, callUntil.getTryCount());
+        Assert.assertTrue(Long.toString(elapsedMillis), elapsedMillis < 30_000L);
+    }
+
     private static class TestException extends Exception
     {
         private TestException(String message)
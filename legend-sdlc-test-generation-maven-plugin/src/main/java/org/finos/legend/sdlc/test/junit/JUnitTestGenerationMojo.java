@@ -24,15 +24,22 @@ import org.eclipse.collections.api.factory.Lists;
 import org.eclipse.collections.api.list.ListIterable;
 import org.eclipse.collections.impl.utility.Iterate;
 import org.finos.legend.sdlc.domain.model.entity.Entity;
+import org.finos.legend.sdlc.generation.GenerationProfiler;
 import org.finos.legend.sdlc.serialization.EntityLoader;
+import org.finos.legend.sdlc.tools.ManifestTools;
+import org.finos.legend.sdlc.tools.ParallelTools;
 import org.finos.legend.sdlc.tools.entity.EntityPaths;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 import javax.lang.model.SourceVersion;
@@ -61,8 +68,36 @@ public class JUnitTestGenerationMojo extends AbstractMojo
     @Parameter(defaultValue = "${project}", readonly = true)
     private MavenProject project;
 
+    @Parameter(defaultValue = "${org.finos.legend.sdlc.test.generation.parallel}")
+    private String parallel;
+
+    @Parameter(property = "org.finos.legend.sdlc.test.generation.incremental", defaultValue = "false")
+    private boolean incremental;
+
+    @Parameter(defaultValue = "${project.build.directory}/legend-sdlc/generate-junit-tests/${mojoExecution.executionId}.json")
+    private File incrementalManifestFile;
+
+    @Parameter(property = "org.finos.legend.sdlc.generation.profile", defaultValue = "false")
+    private boolean profile;
+
+    @Parameter(defaultValue = "${project.build.directory}/legend-sdlc/profile/generate-junit-tests-${mojoExecution.executionId}.json")
+    private File profileReportFile;
+
     @Override
     public void execute() throws MojoExecutionException
+    {
+        GenerationProfiler profiler = this.profile ? GenerationProfiler.newProfiler("generate-junit-tests") : GenerationProfiler.disabled();
+        try
+        {
+            execute(profiler);
+        }
+        finally
+        {
+            writeProfileReport(profiler);
+        }
+    }
+
+    private void execute(GenerationProfiler profiler) throws MojoExecutionException
     {
         getLog().info("entities directory: " + this.entitiesDirectory);
         getLog().info("output directory: " + this.outputDirectory);
@@ -78,17 +113,29 @@ public class JUnitTestGenerationMojo extends AbstractMojo
             getLog().info("exclude entity packages: " + this.exclusions.packages);
         }
         getLog().info("package prefix: " + ((this.packagePrefix == null) ? null : ('"' + this.packagePrefix + '"')));
+        getLog().info("incremental: " + this.incremental);
+        if (this.incremental)
+        {
+            getLog().info("incremental manifest file: " + this.incrementalManifestFile);
+        }
 
         if ((this.packagePrefix != null) && !SourceVersion.isName(this.packagePrefix))
         {
             throw new MojoExecutionException("Invalid package prefix: " + this.packagePrefix);
         }
 
+        int parallelism = getParallelism(this.parallel);
+        getLog().info("parallelism: " + parallelism);
+
         long start = System.nanoTime();
+        ForkJoinPool pool = null;
         try
         {
-            JUnitTestGenerator generator = JUnitTestGenerator.newGenerator(this.packagePrefix);
-            try (EntityLoader entityLoader = EntityLoader.newEntityLoader(this.entitiesDirectory))
+            pool = (parallelism > 1) ? ParallelTools.createForkJoinPool(parallelism) : null;
+            JUnitTestGenerationManifest.Builder manifestBuilder = this.incremental ? newManifestBuilder() : null;
+            JUnitTestGenerator generator = JUnitTestGenerator.newGenerator(this.packagePrefix, profiler);
+            try (GenerationProfiler.Timer ignore = profiler.startPhase("generate");
+                 EntityLoader entityLoader = EntityLoader.newEntityLoader(this.entitiesDirectory))
             {
                 Stream<Entity> stream = entityLoader.getAllEntities();
                 Predicate<Entity> includeFilter = resolveEntityFilter(this.inclusions);
@@ -101,10 +148,18 @@ public class JUnitTestGenerationMojo extends AbstractMojo
                 {
                     stream = stream.filter(excludeFilter.negate());
                 }
-                List<Path> paths = generator.writeTestClasses(this.outputDirectory.toPath(), stream);
+                List<Path> paths = generator.writeTestClasses(this.outputDirectory.toPath(), stream, pool, manifestBuilder);
                 getLog().info("Generated " + paths.size() + " test files");
             }
 
+            if (manifestBuilder != null)
+            {
+                deleteStaleTestFiles(manifestBuilder.getStaleFiles());
+                Path manifestPath = this.incrementalManifestFile.toPath();
+                manifestBuilder.build().write(manifestPath);
+                getLog().debug("Wrote test generation manifest to " + manifestPath);
+            }
+
             if (this.addOutputDirectoryAsTestSource)
             {
                 String newTestSourceDirectory = this.outputDirectory.getAbsolutePath();
@@ -121,6 +176,85 @@ public class JUnitTestGenerationMojo extends AbstractMojo
             getLog().error(String.format("Error generating tess (%.9fs)", (end - start) / 1_000_000_000.0));
             throw new MojoExecutionException("Error generating tests", e);
         }
+        finally
+        {
+            if (pool != null)
+            {
+                pool.shutdown();
+            }
+        }
+    }
+
+    private JUnitTestGenerationManifest.Builder newManifestBuilder()
+    {
+        // Covers everything other than the entities that affects the output: the package prefix and the code doing
+        // the generation
+        String fingerprint = ManifestTools.computeHash(new StringBuilder()
+                .append(this.packagePrefix).append('\n')
+                .append(ManifestTools.getCodeSourceFingerprint(JUnitTestGenerator.class)).append('\n')
+                .append(this.outputDirectory.toPath().toAbsolutePath().normalize()).append('\n')
+                .toString()
+                .getBytes(StandardCharsets.UTF_8));
+
+        Path manifestPath = this.incrementalManifestFile.toPath();
+        JUnitTestGenerationManifest previous = JUnitTestGenerationManifest.readIfPossible(manifestPath);
+        if (previous == null)
+        {
+            getLog().info("No previous test generation manifest at " + manifestPath + ": all tests will be generated");
+        }
+        else if (!fingerprint.equals(previous.getConfigurationFingerprint()))
+        {
+            getLog().info("Test generation configuration has changed since " + manifestPath + " was written: all tests will be generated");
+        }
+        return JUnitTestGenerationManifest.newBuilder(fingerprint, previous);
+    }
+
+    private void deleteStaleTestFiles(List<String> files) throws IOException
+    {
+        Path outputPath = this.outputDirectory.toPath();
+        String separator = outputPath.getFileSystem().getSeparator();
+        int count = 0;
+        for (String file : files)
+        {
+            Path path = outputPath.resolve(file.replace("/", separator));
+            if (Files.deleteIfExists(path))
+            {
+                getLog().debug("Deleted stale test file " + path);
+                count++;
+            }
+        }
+        if (count > 0)
+        {
+            getLog().info(String.format("Deleted %,d stale test files from %s", count, outputPath));
+        }
+    }
+
+    private int getParallelism(String parallel)
+    {
+        int parallelism = ParallelTools.parseParallel(parallel);
+        if (parallelism < 1)
+        {
+            getLog().warn("Specified parallelism is less than 1 (" + parallelism + "), effective parallelism will be 1");
+            return 1;
+        }
+        return parallelism;
+    }
+
+    private void writeProfileReport(GenerationProfiler profiler)
+    {
+        if (profiler.isEnabled())
+        {
+            try
+            {
+                profiler.writeReport(this.profileReportFile.toPath());
+                getLog().info("Wrote profiling report to " + this.profileReportFile);
+            }
+            catch (Exception e)
+            {
+                // profiling must not fail the build
+                getLog().warn("Error writing profiling report to " + this.profileReportFile, e);
+            }
+        }
     }
 
     private static Predicate<Entity> resolveEntityFilter(EntityFilterSpecification spec)
@@ -0,0 +1,253 @@
+// Copyright 2023 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.sdlc.test.junit;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.finos.legend.sdlc.domain.model.entity.Entity;
+import org.finos.legend.sdlc.serialization.EntitySerializers;
+import org.finos.legend.sdlc.tools.ManifestTools;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Manifest of JUnit test generation, used for incremental generation. For each entity tests were generated for, the
+ * manifest records a hash of the entity and the test class files generated for it. Test classes for an entity which
+ * is unchanged since the manifest was written (and whose files still exist) do not need to be generated again, and
+ * the test class files of entities which no longer exist can be deleted.
+ */
+class JUnitTestGenerationManifest
+{
+    private static final int FORMAT_VERSION = 1;
+
+    private final String configurationFingerprint;
+    private final Map<String, EntityEntry> entities;
+
+    private JUnitTestGenerationManifest(String configurationFingerprint, Map<String, EntityEntry> entities)
+    {
+        this.configurationFingerprint = configurationFingerprint;
+        this.entities = entities;
+    }
+
+    String getConfigurationFingerprint()
+    {
+        return this.configurationFingerprint;
+    }
+
+    EntityEntry getEntity(String entityPath)
+    {
+        return this.entities.get(entityPath);
+    }
+
+    Map<String, EntityEntry> getEntities()
+    {
+        return Collections.unmodifiableMap(this.entities);
+    }
+
+    /**
+     * Write the manifest to a file, replacing any existing manifest.
+     *
+     * @param file manifest file
+     * @throws IOException if an I/O error occurs
+     */
+    void write(Path file) throws IOException
+    {
+        ManifestTools.writeManifestFile(file, new ManifestFile(FORMAT_VERSION, this.configurationFingerprint, new TreeMap<>(this.entities)));
+    }
+
+    /**
+     * Read a manifest from a file. Returns null if the file does not exist, or if it cannot be read or has an
+     * unsupported format, as in any of these cases all test classes must be generated.
+     *
+     * @param file manifest file
+     * @return manifest or null
+     */
+    static JUnitTestGenerationManifest readIfPossible(Path file)
+    {
+        ManifestFile manifestFile = ManifestTools.readManifestFileIfPossible(file, ManifestFile.class);
+        if ((manifestFile == null) || (manifestFile.version != FORMAT_VERSION) || (manifestFile.entities == null))
+        {
+            return null;
+        }
+        return new JUnitTestGenerationManifest(manifestFile.configurationFingerprint, manifestFile.entities);
+    }
+
+    /**
+     * Start building a new manifest, reusing entries of the previous manifest where possible (see
+     * {@link ManifestTools}). Stale test class files are given by {@link Builder#getStaleFiles()}.
+     *
+     * @param configurationFingerprint configuration fingerprint
+     * @param previous                 previous manifest (may be null)
+     * @return manifest builder
+     */
+    static Builder newBuilder(String configurationFingerprint, JUnitTestGenerationManifest previous)
+    {
+        return new Builder(Objects.requireNonNull(configurationFingerprint, "configuration fingerprint may not be null"), previous);
+    }
+
+    static String computeEntityHash(Entity entity)
+    {
+        byte[] bytes;
+        try
+        {
+            bytes = EntitySerializers.getDefaultJsonSerializer().serializeToBytes(entity);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException("Error serializing entity " + entity.getPath(), e);
+        }
+        return ManifestTools.computeHash(bytes);
+    }
+
+    static class EntityEntry
+    {
+        @JsonProperty
+        private final String entityHash;
+
+        @JsonProperty
+        private final List<String> files;
+
+        private EntityEntry(String entityHash, List<String> files)
+        {
+            this.entityHash = entityHash;
+            this.files = files;
+        }
+
+        @JsonCreator
+        static EntityEntry newEntityEntry(@JsonProperty("entityHash") String entityHash, @JsonProperty("files") List<String> files)
+        {
+            return new EntityEntry(entityHash, (files == null) ? Collections.emptyList() : files);
+        }
+
+        /**
+         * Hex encoded SHA-256 hash of the entity, in its default JSON serialization.
+         *
+         * @return entity hash
+         */
+        String getEntityHash()
+        {
+            return this.entityHash;
+        }
+
+        /**
+         * Test class files generated for the entity, relative to the output directory and using '/' as separator.
+         *
+         * @return test class files
+         */
+        List<String> getFiles()
+        {
+            return this.files;
+        }
+    }
+
+    static class Builder
+    {
+        private final String configurationFingerprint;
+        private final JUnitTestGenerationManifest previous;
+        private final Map<String, EntityEntry> entities = new ConcurrentHashMap<>();
+
+        private Builder(String configurationFingerprint, JUnitTestGenerationManifest previous)
+        {
+            this.configurationFingerprint = configurationFingerprint;
+            this.previous = previous;
+        }
+
+        /**
+         * Get the entry for an entity from the previous manifest, if it can be reused.
+         *
+         * @param entityPath entity path
+         * @return previous entity entry or null
+         */
+        EntityEntry getPreviousEntry(String entityPath)
+        {
+            return ((this.previous == null) || !this.configurationFingerprint.equals(this.previous.configurationFingerprint)) ? null : this.previous.getEntity(entityPath);
+        }
+
+        /**
+         * Add the entry for an entity. This method may be called concurrently from multiple threads.
+         *
+         * @param entityPath entity path
+         * @param entry      entity entry
+         * @return this builder
+         */
+        Builder addEntity(String entityPath, EntityEntry entry)
+        {
+            this.entities.put(entityPath, entry);
+            return this;
+        }
+
+        /**
+         * Get the test class files from the previous manifest which have not been generated (or kept) in this
+         * generation, ordered by file. These are the test classes for entities which have been removed or excluded,
+         * or which no longer generate them.
+         *
+         * @return stale test class files
+         */
+        List<String> getStaleFiles()
+        {
+            if (this.previous == null)
+            {
+                return Collections.emptyList();
+            }
+            Set<String> currentFiles = this.entities.values().stream().flatMap(e -> e.files.stream()).collect(Collectors.toSet());
+            return this.previous.entities.values().stream()
+                    .flatMap(e -> e.files.stream())
+                    .filter(f -> !currentFiles.contains(f))
+                    .distinct()
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+
+        JUnitTestGenerationManifest build()
+        {
+            return new JUnitTestGenerationManifest(this.configurationFingerprint, new TreeMap<>(this.entities));
+        }
+    }
+
+    private static class ManifestFile
+    {
+        @JsonProperty
+        private final int version;
+
+        @JsonProperty
+        private final String configurationFingerprint;
+
+        @JsonProperty
+        private final Map<String, EntityEntry> entities;
+
+        private ManifestFile(int version, String configurationFingerprint, Map<String, EntityEntry> entities)
+        {
+            this.version = version;
+            this.configurationFingerprint = configurationFingerprint;
+            this.entities = entities;
+        }
+
+        @JsonCreator
+        static ManifestFile newManifestFile(@JsonProperty("version") int version, @JsonProperty("configurationFingerprint") String configurationFingerprint, @JsonProperty("entities") Map<String, EntityEntry> entities)
+        {
+            return new ManifestFile(version, configurationFingerprint, entities);
+        }
+    }
+}
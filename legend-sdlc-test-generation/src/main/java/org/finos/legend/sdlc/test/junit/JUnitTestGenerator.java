@@ -15,13 +15,16 @@
 package org.finos.legend.sdlc.test.junit;
 
 import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.impl.utility.ListIterate;
 import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.PackageableElement;
 import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.mapping.Mapping;
 import org.finos.legend.engine.protocol.pure.v1.model.packageableElement.service.Service;
 import org.finos.legend.engine.testable.extension.TestableRunnerExtensionLoader;
 import org.finos.legend.sdlc.domain.model.entity.Entity;
 import org.finos.legend.sdlc.generation.GeneratedJavaCode;
+import org.finos.legend.sdlc.generation.GenerationProfiler;
 import org.finos.legend.sdlc.protocol.pure.v1.EntityToPureConverter;
+import org.finos.legend.sdlc.tools.ParallelTools;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -30,11 +33,14 @@ import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.OpenOption;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.lang.model.SourceVersion;
 import javax.tools.JavaFileObject;
@@ -46,39 +52,112 @@ public class JUnitTestGenerator
     private final Set<String> testableClassifiers = TestableRunnerExtensionLoader.getClassifierPathToTestableRunnerMap().keySet();
     private final EntityToPureConverter converter = new EntityToPureConverter();
     private final String rootPackage;
+    private final GenerationProfiler profiler;
 
-    private JUnitTestGenerator(String rootPackage)
+    private JUnitTestGenerator(String rootPackage, GenerationProfiler profiler)
     {
         if ((rootPackage != null) && !SourceVersion.isName(rootPackage))
         {
             throw new IllegalArgumentException("Invalid root package: \"" + rootPackage + "\"");
         }
         this.rootPackage = rootPackage;
+        this.profiler = (profiler == null) ? GenerationProfiler.disabled() : profiler;
     }
 
     public List<Path> writeTestClasses(Path outputDirectory, Stream<? extends Entity> entities)
     {
-        List<Path> paths = Lists.mutable.empty();
-        entities.forEach(e -> paths.addAll(writeTestClasses(outputDirectory, e)));
-        return paths;
+        return writeTestClasses(outputDirectory, entities, null);
+    }
+
+    /**
+     * Generate and write test classes for the given entities. If a pool is given, test classes are generated and
+     * written in parallel using it. The paths of the written files are returned in the order of the entities, so the
+     * result does not depend on whether generation was done in parallel.
+     *
+     * @param outputDirectory output directory
+     * @param entities        entities to generate test classes for
+     * @param pool            pool to generate in (may be null)
+     * @return paths of the written test class files
+     */
+    public List<Path> writeTestClasses(Path outputDirectory, Stream<? extends Entity> entities, ForkJoinPool pool)
+    {
+        return writeTestClasses(outputDirectory, entities, pool, null);
+    }
+
+    /**
+     * Generate and write test classes for the given entities. If a manifest builder is given, test classes are only
+     * generated for entities which have changed since the previous manifest (or whose test class files no longer
+     * exist), existing test class files are overwritten, and the test class files of each entity are recorded in the
+     * manifest builder. Stale test class files are not deleted by this method; see
+     * {@link JUnitTestGenerationManifest.Builder#getStaleFiles()}.
+     *
+     * @param outputDirectory output directory
+     * @param entities        entities to generate test classes for
+     * @param pool            pool to generate in (may be null)
+     * @param manifestBuilder manifest builder (may be null)
+     * @return paths of the written (or unchanged) test class files
+     */
+    List<Path> writeTestClasses(Path outputDirectory, Stream<? extends Entity> entities, ForkJoinPool pool, JUnitTestGenerationManifest.Builder manifestBuilder)
+    {
+        List<Entity> testables = entities.filter(e -> this.testableClassifiers.contains(e.getClassifierPath())).collect(Collectors.toList());
+        if ((pool == null) || (testables.size() < 2))
+        {
+            List<Path> paths = Lists.mutable.empty();
+            testables.forEach(e -> paths.addAll(writeTestClasses(outputDirectory, e, manifestBuilder)));
+            return paths;
+        }
+        return writeTestClassesInParallel(outputDirectory, testables, pool, manifestBuilder);
     }
 
     public List<Path> writeTestClasses(Path outputDirectory, Entity entity)
     {
-        try
+        return writeTestClasses(outputDirectory, entity, null);
+    }
+
+    private List<Path> writeTestClasses(Path outputDirectory, Entity entity, JUnitTestGenerationManifest.Builder manifestBuilder)
+    {
+        if (!this.testableClassifiers.contains(entity.getClassifierPath()))
+        {
+            return Collections.emptyList();
+        }
+        try (GenerationProfiler.Timer ignore = this.profiler.startElement("generate", entity.getPath()))
         {
             String separator = outputDirectory.getFileSystem().getSeparator();
+            String entityHash = null;
+            if (manifestBuilder != null)
+            {
+                entityHash = JUnitTestGenerationManifest.computeEntityHash(entity);
+                JUnitTestGenerationManifest.EntityEntry previous = manifestBuilder.getPreviousEntry(entity.getPath());
+                if ((previous != null) && entityHash.equals(previous.getEntityHash()))
+                {
+                    List<Path> previousPaths = ListIterate.collect(previous.getFiles(), f -> outputDirectory.resolve(f.replace("/", separator)));
+                    if (previousPaths.stream().allMatch(Files::isRegularFile))
+                    {
+                        LOGGER.debug("Tests for {} are up to date", entity.getPath());
+                        manifestBuilder.addEntity(entity.getPath(), previous);
+                        return previousPaths;
+                    }
+                }
+            }
+
+            // when generating incrementally, test class files from a previous generation may be overwritten
+            OpenOption[] openOptions = (manifestBuilder == null) ?
+                    new OpenOption[]{StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE} :
+                    new OpenOption[]{StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE};
             List<GeneratedJavaCode> generatedClasses = generateTestClasses(entity);
             List<Path> paths = Lists.mutable.ofInitialCapacity(generatedClasses.size());
+            List<String> files = Lists.mutable.ofInitialCapacity(generatedClasses.size());
             generatedClasses.forEach(javaCode ->
             {
-                Path filePath = outputDirectory.resolve(javaCode.getClassName().replace(".", separator) + JavaFileObject.Kind.SOURCE.extension);
+                String file = javaCode.getClassName().replace('.', '/') + JavaFileObject.Kind.SOURCE.extension;
+                Path filePath = outputDirectory.resolve(file.replace("/", separator));
                 paths.add(filePath);
+                files.add(file);
                 LOGGER.debug("Writing {} to {} for {}", javaCode.getClassName(), filePath, entity.getPath());
                 try
                 {
                     Files.createDirectories(filePath.getParent());
-                    try (BufferedWriter writer = Files.newBufferedWriter(filePath, StandardCharsets.UTF_8, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE))
+                    try (BufferedWriter writer = Files.newBufferedWriter(filePath, StandardCharsets.UTF_8, openOptions))
                     {
                         writer.write(javaCode.getText());
                     }
@@ -88,6 +167,10 @@ public class JUnitTestGenerator
                     throw new UncheckedIOException("Error writing class " + javaCode.getClassName() + " to " + filePath, e);
                 }
             });
+            if (manifestBuilder != null)
+            {
+                manifestBuilder.addEntity(entity.getPath(), JUnitTestGenerationManifest.EntityEntry.newEntityEntry(entityHash, files));
+            }
             return paths;
         }
         catch (Exception e)
@@ -97,6 +180,16 @@ public class JUnitTestGenerator
         }
     }
 
+    private List<Path> writeTestClassesInParallel(Path outputDirectory, List<Entity> entities, ForkJoinPool pool, JUnitTestGenerationManifest.Builder manifestBuilder)
+    {
+        // report the first failure (in entity order), with any others suppressed
+        List<Path> paths = Lists.mutable.empty();
+        ParallelTools.mapInParallel(pool, entities, entity -> writeTestClasses(outputDirectory, entity, manifestBuilder))
+                .getResultsOrThrow()
+                .forEach(paths::addAll);
+        return paths;
+    }
+
     List<GeneratedJavaCode> generateTestClasses(Entity entity)
     {
         if (!this.testableClassifiers.contains(entity.getClassifierPath()))
@@ -128,6 +221,11 @@ public class JUnitTestGenerator
 
     static JUnitTestGenerator newGenerator(String rootPackage)
     {
-        return new JUnitTestGenerator(rootPackage);
+        return newGenerator(rootPackage, null);
+    }
+
+    static JUnitTestGenerator newGenerator(String rootPackage, GenerationProfiler profiler)
+    {
+        return new JUnitTestGenerator(rootPackage, profiler);
     }
 }
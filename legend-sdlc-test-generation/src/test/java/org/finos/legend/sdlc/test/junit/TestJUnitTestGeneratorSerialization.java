@@ -17,6 +17,7 @@ package org.finos.legend.sdlc.test.junit;
 import org.eclipse.collections.api.factory.Lists;
 import org.eclipse.collections.api.factory.SortedMaps;
 import org.eclipse.collections.impl.utility.ArrayIterate;
+import org.finos.legend.sdlc.domain.model.entity.Entity;
 import org.finos.legend.sdlc.serialization.EntityLoader;
 import org.junit.AfterClass;
 import org.junit.Assert;
@@ -30,9 +31,12 @@ import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.SortedMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public class TestJUnitTestGeneratorSerialization extends AbstractGenerationTest
@@ -76,7 +80,67 @@ public class TestJUnitTestGeneratorSerialization extends AbstractGenerationTest
         testWriteTestClasses("other.test.pkg", "generated/java/other/test/pkg/execution/TestRelationalMapping.java", "generated/java/other/test/pkg/legend/demo/TestSingleQuoteInResultM2M.java", "generated/java/other/test/pkg/model/mapping/TestSourceToTargetM2M.java", "generated/java/other/test/pkg/testTestSuites/TestTestService.java", "generated/java/other/test/pkg/testTestSuites/TestTestService2.java", "generated/java/other/test/pkg/testTestSuites/TestServiceStoreMapping.java");
     }
 
+    @Test
+    public void testWriteTestClassesInParallel() throws IOException
+    {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try
+        {
+            testWriteTestClasses("org.finos.legend.sdlc.test.junit.junit4", pool, "generated/java/org/finos/legend/sdlc/test/junit/junit4/execution/TestRelationalMapping.java", "generated/java/org/finos/legend/sdlc/test/junit/junit4/legend/demo/TestSingleQuoteInResultM2M.java", "generated/java/org/finos/legend/sdlc/test/junit/junit4/model/mapping/TestSourceToTargetM2M.java", "generated/java/org/finos/legend/sdlc/test/junit/junit4/testTestSuites/TestTestService.java", "generated/java/org/finos/legend/sdlc/test/junit/junit4/testTestSuites/TestTestService2.java", "generated/java/org/finos/legend/sdlc/test/junit/junit4/testTestSuites/TestServiceStoreMapping.java");
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testIncrementalWriteTestClasses() throws IOException
+    {
+        String rootPackage = "org.finos.legend.sdlc.test.junit.junit4";
+        JUnitTestGenerator generator = JUnitTestGenerator.newGenerator(rootPackage);
+        Path outputDir = TMP_DIR.newFolder().toPath();
+        List<Entity> entities = ENTITY_LOADER.getAllEntities().collect(Collectors.toList());
+
+        // first generation: everything is generated
+        JUnitTestGenerationManifest.Builder firstBuilder = JUnitTestGenerationManifest.newBuilder("test", null);
+        List<Path> firstPaths = generator.writeTestClasses(outputDir, entities.stream(), null, firstBuilder);
+        Assert.assertEquals(6, firstPaths.size());
+        JUnitTestGenerationManifest firstManifest = firstBuilder.build();
+        Assert.assertEquals(6, firstManifest.getEntities().size());
+        Path manifestFile = TMP_DIR.newFolder().toPath().resolve("manifest.json");
+        firstManifest.write(manifestFile);
+
+        // modify a generated file, so that we can tell whether it is regenerated
+        Path mappingTestFile = outputDir.resolve("org/finos/legend/sdlc/test/junit/junit4/execution/TestRelationalMapping.java");
+        Path serviceTestFile = outputDir.resolve("org/finos/legend/sdlc/test/junit/junit4/testTestSuites/TestTestService.java");
+        Assert.assertTrue(firstPaths.contains(mappingTestFile));
+        Files.write(mappingTestFile, "// modified".getBytes(StandardCharsets.UTF_8));
+        Files.delete(serviceTestFile);
+
+        // second generation without TestService2: unchanged entities are skipped, missing files regenerated
+        JUnitTestGenerationManifest previous = JUnitTestGenerationManifest.readIfPossible(manifestFile);
+        Assert.assertNotNull(previous);
+        JUnitTestGenerationManifest.Builder secondBuilder = JUnitTestGenerationManifest.newBuilder("test", previous);
+        List<Path> secondPaths = generator.writeTestClasses(outputDir, entities.stream().filter(e -> !"testTestSuites::TestService2".equals(e.getPath())), null, secondBuilder);
+        Assert.assertEquals(5, secondPaths.size());
+        Assert.assertEquals("// modified", new String(Files.readAllBytes(mappingTestFile), StandardCharsets.UTF_8));
+        Assert.assertEquals(loadTextResource("generated/java/org/finos/legend/sdlc/test/junit/junit4/testTestSuites/TestTestService.java"), new String(Files.readAllBytes(serviceTestFile), StandardCharsets.UTF_8));
+        Assert.assertEquals(Collections.singletonList("org/finos/legend/sdlc/test/junit/junit4/testTestSuites/TestTestService2.java"), secondBuilder.getStaleFiles());
+
+        // with a different configuration, everything is regenerated
+        JUnitTestGenerationManifest.Builder thirdBuilder = JUnitTestGenerationManifest.newBuilder("other", previous);
+        generator.writeTestClasses(outputDir, entities.stream(), null, thirdBuilder);
+        Assert.assertEquals(loadTextResource("generated/java/org/finos/legend/sdlc/test/junit/junit4/execution/TestRelationalMapping.java"), new String(Files.readAllBytes(mappingTestFile), StandardCharsets.UTF_8));
+        Assert.assertEquals(Collections.emptyList(), thirdBuilder.getStaleFiles());
+    }
+
     private void testWriteTestClasses(String rootPackage, String... expectedResources) throws IOException
+    {
+        testWriteTestClasses(rootPackage, null, expectedResources);
+    }
+
+    private void testWriteTestClasses(String rootPackage, ForkJoinPool pool, String... expectedResources) throws IOException
     {
         // Prepare expected
         SortedMap<String, String> expected = SortedMaps.mutable.empty();
@@ -90,7 +154,7 @@ public class TestJUnitTestGeneratorSerialization extends AbstractGenerationTest
         // Generate
         JUnitTestGenerator generator = JUnitTestGenerator.newGenerator(rootPackage);
         Path outputDir = TMP_DIR.newFolder().toPath();
-        List<Path> reportedPaths = generator.writeTestClasses(outputDir, ENTITY_LOADER.getAllEntities());
+        List<Path> reportedPaths = generator.writeTestClasses(outputDir, ENTITY_LOADER.getAllEntities(), pool);
         List<Path> foundPaths = Lists.mutable.empty();
         SortedMap<String, String> actual = SortedMaps.mutable.empty();
         try (Stream<Path> stream = Files.walk(outputDir))
@@ -18,6 +18,7 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import org.finos.legend.sdlc.domain.model.entity.Entity;
 import org.finos.legend.sdlc.serialization.EntitySerializer;
 import org.finos.legend.sdlc.serialization.EntitySerializers;
+import org.finos.legend.sdlc.tools.ParallelTools;
 import org.finos.legend.sdlc.tools.entity.EntityPaths;
 
 import java.io.IOException;
@@ -28,14 +29,25 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Formatter;
 import java.util.List;
 import java.util.Map;
-import java.util.function.BiConsumer;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 public class EntityValidator
 {
+    /**
+     * System property for the default validation parallelism: either a positive integer, "true" for one less than the
+     * number of available processors, or a multiple of the number of available processors such as "2C". Entity files
+     * are validated sequentially if it is not set.
+     */
+    public static final String PARALLELISM_PROPERTY = "org.finos.legend.sdlc.test.validation.parallel";
+
     private static final EntitySerializer ENTITY_SERIALIZER = EntitySerializers.getDefaultJsonSerializer();
     private static final String ENTITY_DIRECTORY = "entities";
     private static final String ENTITY_EXTENSION = "." + ENTITY_SERIALIZER.getDefaultFileExtension();
@@ -52,8 +64,86 @@ public class EntityValidator
 
     public static ValidationReport validateEntities(Iterable<? extends Path> directories) throws IOException
     {
+        return validateEntities(directories, getDefaultParallelism(), false);
+    }
+
+    /**
+     * Validate the entities in the given directories, validating at most the given number of entity files
+     * concurrently. The violations in the report are in the same order regardless of parallelism: by directory, then
+     * by entity file path.
+     *
+     * @param directories directories containing an entities directory
+     * @param parallelism maximum number of entity files to validate concurrently
+     * @return validation report
+     * @throws IOException if an I/O error occurs
+     */
+    public static ValidationReport validateEntities(Iterable<? extends Path> directories, int parallelism) throws IOException
+    {
+        return validateEntities(directories, parallelism, false);
+    }
+
+    /**
+     * Validate the entities in the given directories, validating at most the given number of entity files
+     * concurrently. The violations in the report are in the same order regardless of parallelism: by directory, then
+     * by entity file path.
+     * <p>
+     * If failFast is true, validation stops at the first entity file with violations (in that order). The report then
+     * only has the violations for that file, and only counts the entities up to it.
+     *
+     * @param directories directories containing an entities directory
+     * @param parallelism maximum number of entity files to validate concurrently
+     * @param failFast    whether to stop at the first entity file with violations
+     * @return validation report
+     * @throws IOException if an I/O error occurs
+     */
+    public static ValidationReport validateEntities(Iterable<? extends Path> directories, int parallelism, boolean failFast) throws IOException
+    {
+        List<EntityFile> entityFiles = new ArrayList<>();
+        for (Path directory : directories)
+        {
+            Path entitiesDirectory = directory.resolve(ENTITY_DIRECTORY);
+            if (Files.isDirectory(entitiesDirectory))
+            {
+                collectEntityFiles(entitiesDirectory, entitiesDirectory, entityFiles);
+            }
+        }
+
+        EntityFileResult[] results = new EntityFileResult[entityFiles.size()];
+        if ((parallelism <= 1) || (entityFiles.size() < 2))
+        {
+            for (int i = 0; i < results.length; i++)
+            {
+                results[i] = validateEntityFile(entityFiles.get(i));
+                if (failFast && !results[i].violations.isEmpty())
+                {
+                    break;
+                }
+            }
+        }
+        else
+        {
+            validateEntityFilesInParallel(entityFiles, results, parallelism, failFast);
+        }
+
+        int entityCount = 0;
         List<String> violations = new ArrayList<>();
-        int entityCount = forEachEntity(directories, EntityValidator::validateEntity, violations::add);
+        for (EntityFileResult result : results)
+        {
+            if (result == null)
+            {
+                // not validated because of an earlier failure
+                break;
+            }
+            if (result.deserialized)
+            {
+                entityCount++;
+            }
+            violations.addAll(result.violations);
+            if (failFast && !result.violations.isEmpty())
+            {
+                break;
+            }
+        }
         return new ValidationReport(entityCount, violations);
     }
 
@@ -157,25 +247,62 @@ public class EntityValidator
         return !"meta".equals(pkg) && !pkg.startsWith("meta::") && EntityPaths.isValidPackagePath(pkg);
     }
 
-    private static int forEachEntity(Iterable<? extends Path> directories, BiConsumer<? super Entity, Consumer<String>> validator, Consumer<String> violationConsumer) throws IOException
+    private static void validateEntityFilesInParallel(List<EntityFile> entityFiles, EntityFileResult[] results, int parallelism, boolean failFast) throws IOException
     {
-        int violationCount = 0;
-        for (Path directory : directories)
+        // With failFast, files after the first known failure are skipped, but files before it are still validated, so
+        // that the failure reported is the first in order, as it would be if validating sequentially.
+        AtomicInteger firstFailure = new AtomicInteger(Integer.MAX_VALUE);
+        ForkJoinPool pool = ParallelTools.createForkJoinPool(parallelism);
+        try
+        {
+            List<Integer> indexes = IntStream.range(0, results.length).boxed().collect(Collectors.toList());
+            ParallelTools.mapInParallel(pool, indexes, i ->
+            {
+                if (failFast && (i > firstFailure.get()))
+                {
+                    return null;
+                }
+                EntityFileResult result = validateEntityFile(entityFiles.get(i));
+                results[i] = result;
+                if (failFast && !result.violations.isEmpty())
+                {
+                    firstFailure.accumulateAndGet(i, Math::min);
+                }
+                return result;
+            }).getResultsOrThrow(IOException.class);
+        }
+        finally
         {
-            violationCount += forEachEntity(directory, validator, violationConsumer);
+            pool.shutdown();
         }
-        return violationCount;
     }
 
-    private static int forEachEntity(Path directory, BiConsumer<? super Entity, Consumer<String>> validator, Consumer<String> violationConsumer) throws IOException
+    private static EntityFileResult validateEntityFile(EntityFile entityFile) throws IOException
     {
-        Path entitiesDirectory = directory.resolve(ENTITY_DIRECTORY);
-        return Files.isDirectory(entitiesDirectory) ? forEachEntityInDirectory(entitiesDirectory, entitiesDirectory, validator, violationConsumer) : 0;
+        String violationPrefix = "Entity " + entityFile.entityPath + " - ";
+        Entity entity;
+        try (InputStream stream = Files.newInputStream(entityFile.file))
+        {
+            entity = ENTITY_SERIALIZER.deserialize(stream);
+        }
+        catch (JsonProcessingException e)
+        {
+            StringBuilder builder = new StringBuilder(violationPrefix).append(" error deserializing from ").append(entityFile.file.toAbsolutePath());
+            String message = e.getMessage();
+            if (message != null)
+            {
+                builder.append(": ").append(message);
+            }
+            return new EntityFileResult(false, Collections.singletonList(builder.toString()));
+        }
+        List<String> violations = new ArrayList<>();
+        validateEntity(entity, v -> violations.add(violationPrefix + v));
+        return new EntityFileResult(true, violations);
     }
 
-    private static int forEachEntityInDirectory(Path directory, Path root, BiConsumer<? super Entity, Consumer<String>> validator, Consumer<String> violationConsumer) throws IOException
+    private static void collectEntityFiles(Path directory, Path root, List<EntityFile> entityFiles) throws IOException
     {
-        int count = 0;
+        List<Path> files = new ArrayList<>();
         List<Path> subdirectories = new ArrayList<>();
         try (DirectoryStream<Path> dirStream = Files.newDirectoryStream(directory))
         {
@@ -187,39 +314,62 @@ public class EntityValidator
                 }
                 else if (entry.toString().endsWith(ENTITY_EXTENSION))
                 {
-                    Path relativePath = root.relativize(entry);
-                    String relativePathString = relativePath.toString();
-                    String entityPath = relativePathString.substring(0, relativePathString.length() - ENTITY_EXTENSION.length()).replace(relativePath.getFileSystem().getSeparator(), EntityPaths.PACKAGE_SEPARATOR);
-                    String violationPrefix = "Entity " + entityPath + " - ";
-                    Entity entity;
-                    try (InputStream stream = Files.newInputStream(entry))
-                    {
-                        entity = ENTITY_SERIALIZER.deserialize(stream);
-                    }
-                    catch (JsonProcessingException e)
-                    {
-                        StringBuilder builder = new StringBuilder(violationPrefix).append(" error deserializing from ").append(entry.toAbsolutePath());
-                        String message = e.getMessage();
-                        if (message != null)
-                        {
-                            builder.append(": ").append(message);
-                        }
-                        violationConsumer.accept(builder.toString());
-                        continue;
-                    }
-                    validator.accept(entity, v -> violationConsumer.accept(violationPrefix + v));
-                    count++;
+                    files.add(entry);
                 }
             }
         }
-        if (!subdirectories.isEmpty())
+        // sort so that the order of violations does not depend on the file system
+        files.sort(Comparator.comparing(Path::toString));
+        for (Path file : files)
         {
-            for (Path subdirectory : subdirectories)
-            {
-                count += forEachEntityInDirectory(subdirectory, root, validator, violationConsumer);
-            }
+            Path relativePath = root.relativize(file);
+            String relativePathString = relativePath.toString();
+            String entityPath = relativePathString.substring(0, relativePathString.length() - ENTITY_EXTENSION.length()).replace(relativePath.getFileSystem().getSeparator(), EntityPaths.PACKAGE_SEPARATOR);
+            entityFiles.add(new EntityFile(file, entityPath));
+        }
+        subdirectories.sort(Comparator.comparing(Path::toString));
+        for (Path subdirectory : subdirectories)
+        {
+            collectEntityFiles(subdirectory, root, entityFiles);
+        }
+    }
+
+    private static int getDefaultParallelism()
+    {
+        String value = System.getProperty(PARALLELISM_PROPERTY);
+        try
+        {
+            return Math.max(ParallelTools.parseParallel(value), 1);
+        }
+        catch (RuntimeException e)
+        {
+            // fall back to validating sequentially
+            return 1;
+        }
+    }
+
+    private static class EntityFile
+    {
+        private final Path file;
+        private final String entityPath;
+
+        private EntityFile(Path file, String entityPath)
+        {
+            this.file = file;
+            this.entityPath = entityPath;
+        }
+    }
+
+    private static class EntityFileResult
+    {
+        private final boolean deserialized;
+        private final List<String> violations;
+
+        private EntityFileResult(boolean deserialized, List<String> violations)
+        {
+            this.deserialized = deserialized;
+            this.violations = violations;
         }
-        return count;
     }
 
     public static class ValidationReport
@@ -0,0 +1,158 @@
+// Copyright 2023 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.sdlc.test.junit;
+
+import junit.framework.Test;
+import junit.framework.TestResult;
+import junit.framework.TestSuite;
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.MutableList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test suite which runs the test cases that support it concurrently on a bounded pool of threads. When the suite is
+ * run, these test cases are executed first, and the suite waits for all of them to finish. It then runs all its tests
+ * as usual, in order, with each concurrently executed test case reporting its own outcome. Listeners are therefore
+ * notified sequentially and per test case, just as for a sequential run. Test cases which do not support concurrent
+ * execution are run sequentially as they are reached, so they never run at the same time as any other test case.
+ * <p>
+ * If a timings output file is given, how long the tests of each entity took to run is written to it once the suite has
+ * run, for use in balancing test shards (see {@link TestTimings}).
+ */
+class ConcurrentTestSuite extends TestSuite
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConcurrentTestSuite.class);
+
+    private final int parallelism;
+    private final Path timingsOutputFile;
+
+    ConcurrentTestSuite(int parallelism)
+    {
+        this(parallelism, null);
+    }
+
+    ConcurrentTestSuite(int parallelism, Path timingsOutputFile)
+    {
+        this.parallelism = parallelism;
+        this.timingsOutputFile = timingsOutputFile;
+    }
+
+    @Override
+    public void run(TestResult result)
+    {
+        try
+        {
+            runTests(result);
+        }
+        finally
+        {
+            if (this.timingsOutputFile != null)
+            {
+                recordTimings();
+            }
+        }
+    }
+
+    private void runTests(TestResult result)
+    {
+        MutableList<LegendSDLCTestCase> concurrentTestCases = Lists.mutable.empty();
+        collectTestCases(this, concurrentTestCases, true);
+        int threadCount = Math.min(this.parallelism, concurrentTestCases.size());
+        if (threadCount < 2)
+        {
+            super.run(result);
+            return;
+        }
+
+        LOGGER.info("Running {} test cases concurrently with parallelism {}", concurrentTestCases.size(), threadCount);
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount, newThreadFactory(getName()));
+        try
+        {
+            concurrentTestCases.forEach(testCase -> testCase.startExecution(executor));
+            concurrentTestCases.forEach(LegendSDLCTestCase::awaitExecution);
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+        super.run(result);
+    }
+
+    private void recordTimings()
+    {
+        MutableList<LegendSDLCTestCase> testCases = Lists.mutable.empty();
+        collectTestCases(this, testCases, false);
+        TestTimings timings = TestTimings.newTimings();
+        testCases.forEach(testCase ->
+        {
+            long nanos = testCase.getDurationNanos();
+            if (nanos >= 0)
+            {
+                timings.recordTestNanos(testCase.entityPath, nanos);
+            }
+        });
+        if (!timings.isEmpty())
+        {
+            try
+            {
+                timings.write(this.timingsOutputFile);
+                LOGGER.debug("Recorded test timings in {}", this.timingsOutputFile);
+            }
+            catch (Exception e)
+            {
+                // timings are only used for balancing shards, so this must not fail the tests
+                LOGGER.warn("Error recording test timings in {}", this.timingsOutputFile, e);
+            }
+        }
+    }
+
+    private static void collectTestCases(TestSuite suite, MutableList<LegendSDLCTestCase> testCases, boolean concurrentOnly)
+    {
+        for (int i = 0, count = suite.testCount(); i < count; i++)
+        {
+            Test test = suite.testAt(i);
+            if (test instanceof TestSuite)
+            {
+                collectTestCases((TestSuite) test, testCases, concurrentOnly);
+            }
+            else if ((test instanceof LegendSDLCTestCase) && (!concurrentOnly || ((LegendSDLCTestCase) test).isConcurrentExecutionSupported()))
+            {
+                testCases.add((LegendSDLCTestCase) test);
+            }
+        }
+    }
+
+    private static ThreadFactory newThreadFactory(String suiteName)
+    {
+        // tests must see the same context class loader as the thread running the suite
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        String prefix = ((suiteName == null) ? "test" : suiteName) + "-";
+        AtomicInteger counter = new AtomicInteger();
+        return runnable ->
+        {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setContextClassLoader(contextClassLoader);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
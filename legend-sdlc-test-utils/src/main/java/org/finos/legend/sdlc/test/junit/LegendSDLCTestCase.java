@@ -19,6 +19,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 public abstract class LegendSDLCTestCase extends TestCase
 {
@@ -26,12 +30,119 @@ public abstract class LegendSDLCTestCase extends TestCase
 
     protected final String entityPath;
 
+    private CompletableFuture<Void> execution;
+    private volatile long durationNanos = -1;
+
     protected LegendSDLCTestCase(String entityPath)
     {
         super(entityPath);
         this.entityPath = entityPath;
     }
 
+    /**
+     * Run the test. If execution of the test has been started ahead of time (see
+     * {@link #startExecution(Executor)}), this waits for it to finish and reports its outcome; otherwise, the test is
+     * run now.
+     *
+     * @throws Throwable if the test fails or errors
+     */
+    @Override
+    public void runBare() throws Throwable
+    {
+        CompletableFuture<Void> started = this.execution;
+        if (started == null)
+        {
+            runBareAndMeasure();
+            return;
+        }
+
+        this.execution = null;
+        try
+        {
+            started.join();
+        }
+        catch (CompletionException e)
+        {
+            throw (e.getCause() == null) ? e : e.getCause();
+        }
+    }
+
+    /**
+     * Whether this test can be run concurrently with other tests, sharing the compiled model with them. Tests which
+     * set up shared state (such as test databases) should not be run concurrently.
+     *
+     * @return whether the test can be run concurrently
+     */
+    protected boolean isConcurrentExecutionSupported()
+    {
+        return false;
+    }
+
+    /**
+     * Start running the test (including set up and tear down) on the given executor. The outcome is reported when the
+     * test is next run by JUnit, so that reporting stays sequential and per test case.
+     *
+     * @param executor executor to run the test on
+     */
+    void startExecution(Executor executor)
+    {
+        this.execution = CompletableFuture.runAsync(() ->
+        {
+            try
+            {
+                runBareAndMeasure();
+            }
+            catch (Throwable t)
+            {
+                throw new CompletionException(t);
+            }
+        }, executor);
+    }
+
+    /**
+     * Wait for execution of the test started ahead of time (see {@link #startExecution(Executor)}) to finish, without
+     * reporting its outcome, which is still reported when the test is next run by JUnit. Does nothing if execution has
+     * not been started.
+     */
+    void awaitExecution()
+    {
+        CompletableFuture<Void> started = this.execution;
+        if (started != null)
+        {
+            try
+            {
+                started.join();
+            }
+            catch (CompletionException | CancellationException ignore)
+            {
+                // reported when the test is run
+            }
+        }
+    }
+
+    /**
+     * Get how long the last run of the test took (including set up and tear down), or -1 if it has not been run.
+     *
+     * @return duration in nanoseconds or -1
+     */
+    long getDurationNanos()
+    {
+        return this.durationNanos;
+    }
+
+    private void runBareAndMeasure() throws Throwable
+    {
+        long start = System.nanoTime();
+        try
+        {
+            super.runBare();
+        }
+        finally
+        {
+            this.durationNanos = System.nanoTime() - start;
+        }
+    }
+
     @Override
     protected final void setUp() throws Exception
     {
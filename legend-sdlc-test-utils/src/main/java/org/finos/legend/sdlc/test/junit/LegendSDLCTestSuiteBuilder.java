@@ -44,10 +44,15 @@ import org.finos.legend.sdlc.serialization.EntityLoader;
 import org.finos.legend.sdlc.test.junit.pure.v1.LegacyMappingTestCase;
 import org.finos.legend.sdlc.test.junit.pure.v1.LegacyServiceTestCase;
 import org.finos.legend.sdlc.test.junit.pure.v1.TestableTestCase;
+import org.finos.legend.sdlc.tools.ParallelTools;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.ServiceLoader;
 import java.util.Set;
 import java.util.function.Predicate;
@@ -57,6 +62,36 @@ public class LegendSDLCTestSuiteBuilder
 {
     private static final Logger LOGGER = LoggerFactory.getLogger(LegendSDLCTestSuiteBuilder.class);
 
+    /**
+     * System property for the default test execution parallelism: either a positive integer, "true" for one less than
+     * the number of available processors, or a multiple of the number of available processors such as "2C". Test cases
+     * are run sequentially if it is not set.
+     */
+    public static final String TEST_PARALLELISM_PROPERTY = "org.finos.legend.sdlc.test.parallel";
+
+    /**
+     * System property for the (zero based) index of the test shard to build suites for. Must be set together with
+     * {@link #SHARD_COUNT_PROPERTY}.
+     */
+    public static final String SHARD_INDEX_PROPERTY = "org.finos.legend.sdlc.test.shardIndex";
+
+    /**
+     * System property for the number of test shards.
+     */
+    public static final String SHARD_COUNT_PROPERTY = "org.finos.legend.sdlc.test.shardCount";
+
+    /**
+     * System property for the test timings file, which is used to balance test shards. It is only read, so that all
+     * shards are built from the same timings.
+     */
+    public static final String TIMINGS_FILE_PROPERTY = "org.finos.legend.sdlc.test.timingsFile";
+
+    /**
+     * System property for the file the timings of the tests run are written to. This should be different for each
+     * shard, and must not be the timings file itself; see {@link #mergeTimingsFiles}.
+     */
+    public static final String TIMINGS_OUTPUT_FILE_PROPERTY = "org.finos.legend.sdlc.test.timingsOutputFile";
+
     private final String name;
     private final String pureVersion;
     private final Set<String> testableClassifiers;
@@ -66,24 +101,126 @@ public class LegendSDLCTestSuiteBuilder
     private final MapIterable<String, PackageableElement> protocolIndex;
     private final RichIterable<? extends Root_meta_pure_extension_Extension> routerExtensions;
     private final Iterable<? extends PlanTransformer> planTransformers;
+    private final int testParallelism;
+    private int shardIndex = 0;
+    private int shardCount = 1;
+    private Path timingsFile;
+    private Path timingsOutputFile;
 
-    private LegendSDLCTestSuiteBuilder(String name, String pureVersion, ClassLoader classLoader)
+    private LegendSDLCTestSuiteBuilder(String name, String pureVersion, ClassLoader classLoader, int parallelism, int testParallelism)
     {
         this.name = name;
         this.pureVersion = pureVersion;
+        this.testParallelism = Math.max(testParallelism, 1);
         this.testableClassifiers = TestableRunnerExtensionLoader.getClassifierPathToTestableRunnerMap(classLoader).keySet();
         this.entities = getEntities(classLoader);
-        PureModelWithContextData pureModelWithContextData = PureModelBuilder.newBuilder().withEntitiesIfPossible(this.entities).build(classLoader);
+        PureModelWithContextData pureModelWithContextData = PureModelBuilder.newBuilder().withParallelism(parallelism).withEntitiesIfPossible(this.entities).build(classLoader);
         this.pureModel = pureModelWithContextData.getPureModel();
         this.pureModelContextData = pureModelWithContextData.getPureModelContextData();
         this.protocolIndex = Iterate.groupByUniqueKey(this.pureModelContextData.getElements(), PackageableElement::getPath);
         this.routerExtensions = Iterate.flatCollect(ServiceLoader.load(PureCoreExtension.class, classLoader), e -> e.extraPureCoreExtensions(this.pureModel.getExecutionSupport()), Lists.mutable.empty());
         this.planTransformers = Iterate.flatCollect(ServiceLoader.load(PlanGeneratorExtension.class, classLoader), PlanGeneratorExtension::getExtraPlanTransformers, Lists.mutable.empty());
+        initShardFromSystemProperties();
     }
 
     public LegendSDLCTestSuiteBuilder(String name, String pureVersion)
     {
-        this(name, pureVersion, Thread.currentThread().getContextClassLoader());
+        this(name, pureVersion, 1);
+    }
+
+    /**
+     * Build test suites, converting entities to protocol elements with at most the given parallelism.
+     *
+     * @param name        test suite name
+     * @param pureVersion Pure version
+     * @param parallelism maximum number of entities to convert concurrently
+     */
+    public LegendSDLCTestSuiteBuilder(String name, String pureVersion, int parallelism)
+    {
+        this(name, pureVersion, parallelism, getDefaultTestParallelism());
+    }
+
+    /**
+     * Build test suites, converting entities to protocol elements with at most the given parallelism, and running
+     * test cases which support it (currently those for testables) with at most the given test parallelism. All test
+     * cases share the compiled model. Test cases are still reported one at a time, in suite order.
+     *
+     * @param name            test suite name
+     * @param pureVersion     Pure version
+     * @param parallelism     maximum number of entities to convert concurrently
+     * @param testParallelism maximum number of test cases to run concurrently
+     */
+    public LegendSDLCTestSuiteBuilder(String name, String pureVersion, int parallelism, int testParallelism)
+    {
+        this(name, pureVersion, Thread.currentThread().getContextClassLoader(), parallelism, testParallelism);
+    }
+
+    /**
+     * Only include the tests of one shard in the suites built. Entities with tests are assigned to shards
+     * deterministically, balancing the estimated cost of each shard: the cost of an entity's tests is taken from the
+     * timings file (see {@link #withTimingsFile}) where available, and otherwise estimated from its number of test
+     * cases. As long as all shards are built from the same entities and timings, each entity's tests are included in
+     * exactly one shard.
+     *
+     * @param shardIndex zero based shard index
+     * @param shardCount number of shards
+     * @return this builder
+     */
+    public LegendSDLCTestSuiteBuilder withShard(int shardIndex, int shardCount)
+    {
+        if (shardCount < 1)
+        {
+            throw new IllegalArgumentException("Invalid shard count: " + shardCount);
+        }
+        if ((shardIndex < 0) || (shardIndex >= shardCount))
+        {
+            throw new IllegalArgumentException("Invalid shard index " + shardIndex + " for shard count " + shardCount);
+        }
+        this.shardIndex = shardIndex;
+        this.shardCount = shardCount;
+        return this;
+    }
+
+    /**
+     * Use the given file for test timings, to balance shards. The file is only read.
+     *
+     * @param timingsFile timings file (may be null)
+     * @return this builder
+     */
+    public LegendSDLCTestSuiteBuilder withTimingsFile(Path timingsFile)
+    {
+        this.timingsFile = timingsFile;
+        return this;
+    }
+
+    /**
+     * Write the timings of the tests run to the given file, replacing it. This should be different for each shard,
+     * and must not be the timings file used to balance shards (see {@link #withTimingsFile}), as other shards may
+     * still be reading that. Once all shards have run, their timings can be merged into the timings file with
+     * {@link #mergeTimingsFiles}.
+     *
+     * @param timingsOutputFile timings output file (may be null)
+     * @return this builder
+     */
+    public LegendSDLCTestSuiteBuilder withTimingsOutputFile(Path timingsOutputFile)
+    {
+        this.timingsOutputFile = timingsOutputFile;
+        return this;
+    }
+
+    /**
+     * Merge timings files, such as the previous timings file and the timings output files of all shards, into a
+     * target file (which may be one of the files merged). Where several files have timings for the same entity, those
+     * of the last file are used. Files which do not exist or cannot be read are ignored. This should only be done
+     * once all shards have run.
+     *
+     * @param targetFile   target timings file
+     * @param timingsFiles timings files to merge, in increasing order of precedence
+     * @throws IOException if an I/O error occurs
+     */
+    public static void mergeTimingsFiles(Path targetFile, Path... timingsFiles) throws IOException
+    {
+        TestTimings.mergeFiles(Arrays.asList(timingsFiles), targetFile);
     }
 
     public TestSuite buildSuiteFromDirectories(Path... directoriesForTesting)
@@ -146,8 +283,13 @@ public class LegendSDLCTestSuiteBuilder
 
     private TestSuite buildSuite(ListIterable<? extends Entity> entitiesForTesting)
     {
-        TestSuite suite = new TestSuite();
-        suite.setName(this.name);
+        if ((this.timingsFile != null) && (this.timingsOutputFile != null) && this.timingsFile.toAbsolutePath().normalize().equals(this.timingsOutputFile.toAbsolutePath().normalize()))
+        {
+            // other shards may still be reading the timings file
+            throw new IllegalStateException("Timings output file must be different from the timings file: " + this.timingsOutputFile);
+        }
+
+        MutableList<EntityTests> entityTestsList = Lists.mutable.empty();
         entitiesForTesting.forEach(entity ->
         {
             LOGGER.debug("Building test suite(s) for {} (classifier: {})", entity.getPath(), entity.getClassifierPath());
@@ -159,6 +301,7 @@ public class LegendSDLCTestSuiteBuilder
             }
 
             int totalTestCount = 0;
+            MutableList<TestSuite> entitySuites = Lists.mutable.empty();
 
             // Legacy mapping tests
             if (protocolElement instanceof Mapping)
@@ -171,7 +314,7 @@ public class LegendSDLCTestSuiteBuilder
                     int testCount = mappingTestSuite.testCount();
                     LOGGER.debug("  Legacy mapping test count for {}: {}", entity.getPath(), testCount);
                     totalTestCount += testCount;
-                    suite.addTest(mappingTestSuite);
+                    entitySuites.add(mappingTestSuite);
                 }
             }
 
@@ -185,7 +328,7 @@ public class LegendSDLCTestSuiteBuilder
                     int testCount = serviceTestSuite.testCount();
                     LOGGER.debug("  Legacy service test count for {}: {}", entity.getPath(), testCount);
                     totalTestCount += testCount;
-                    suite.addTest(serviceTestSuite);
+                    entitySuites.add(serviceTestSuite);
                 }
             }
 
@@ -203,14 +346,23 @@ public class LegendSDLCTestSuiteBuilder
                         int testCount = testableTestSuite.testCount();
                         LOGGER.debug("  Testable test count for {}: {}", entity.getPath(), testCount);
                         totalTestCount += testCount;
-                        suite.addTest(testableTestSuite);
+                        entitySuites.add(testableTestSuite);
                     }
                 }
             }
 
             LOGGER.debug("Test count for {}: {}", entity.getPath(), totalTestCount);
+            if (entitySuites.notEmpty())
+            {
+                entityTestsList.add(new EntityTests(entity.getPath(), entitySuites));
+            }
         });
 
+        TestSuite suite = ((this.testParallelism > 1) || (this.timingsOutputFile != null)) ? new ConcurrentTestSuite(this.testParallelism, this.timingsOutputFile) : new TestSuite();
+        suite.setName(this.name);
+        ListIterable<EntityTests> selected = (this.shardCount > 1) ? selectShard(entityTestsList) : entityTestsList;
+        selected.forEach(entityTests -> entityTests.suites.forEach(suite::addTest));
+
         if (LOGGER.isDebugEnabled())
         {
             LOGGER.debug("Entity test suite count: {}", suite.testCount());
@@ -219,6 +371,54 @@ public class LegendSDLCTestSuiteBuilder
         return suite;
     }
 
+    private ListIterable<EntityTests> selectShard(MutableList<EntityTests> entityTestsList)
+    {
+        // estimate the cost of entities without timings from the average cost per test case of those with timings
+        TestTimings timings = TestTimings.readIfPossible(this.timingsFile);
+        long knownNanos = 0;
+        long knownTestCases = 0;
+        for (EntityTests entityTests : entityTestsList)
+        {
+            Long nanos = timings.getTestNanos(entityTests.entityPath);
+            if (nanos != null)
+            {
+                knownNanos += nanos;
+                knownTestCases += entityTests.testCaseCount;
+            }
+        }
+        long nanosPerTestCase = (knownTestCases == 0) ? 1 : Math.max(knownNanos / knownTestCases, 1);
+        MapIterable<String, Long> costs = entityTestsList.toMap(e -> e.entityPath, e ->
+        {
+            Long nanos = timings.getTestNanos(e.entityPath);
+            return (nanos == null) ? (e.testCaseCount * nanosPerTestCase) : nanos;
+        });
+
+        // assign the most expensive first, each to the shard with the least cost so far (the lowest index on ties)
+        long[] shardCosts = new long[this.shardCount];
+        MutableSet<String> selectedPaths = Sets.mutable.empty();
+        entityTestsList.asLazy()
+                .collect(e -> e.entityPath)
+                .toSortedList(Comparator.<String, Long>comparing(costs::get, Comparator.reverseOrder()).thenComparing(Comparator.naturalOrder()))
+                .forEach(path ->
+                {
+                    int shard = 0;
+                    for (int i = 1; i < shardCosts.length; i++)
+                    {
+                        if (shardCosts[i] < shardCosts[shard])
+                        {
+                            shard = i;
+                        }
+                    }
+                    shardCosts[shard] += costs.get(path);
+                    if (shard == this.shardIndex)
+                    {
+                        selectedPaths.add(path);
+                    }
+                });
+        LOGGER.info("Test shard {} of {}: tests for {} of {} entities", this.shardIndex + 1, this.shardCount, selectedPaths.size(), entityTestsList.size());
+        return entityTestsList.select(e -> selectedPaths.contains(e.entityPath));
+    }
+
     private TestSuite buildTestSuite(Entity entity, boolean legacy, LegendSDLCTestCase testCase)
     {
         return buildTestSuite(entity, legacy, Lists.immutable.with(testCase));
@@ -249,6 +449,74 @@ public class LegendSDLCTestSuiteBuilder
         return new LegendSDLCTestSuiteBuilder(name, null).buildSuiteFromEntityPaths(entityPaths);
     }
 
+    private void initShardFromSystemProperties()
+    {
+        String timingsFileProperty = System.getProperty(TIMINGS_FILE_PROPERTY);
+        if ((timingsFileProperty != null) && !timingsFileProperty.trim().isEmpty())
+        {
+            this.timingsFile = Paths.get(timingsFileProperty.trim());
+        }
+        String timingsOutputFileProperty = System.getProperty(TIMINGS_OUTPUT_FILE_PROPERTY);
+        if ((timingsOutputFileProperty != null) && !timingsOutputFileProperty.trim().isEmpty())
+        {
+            this.timingsOutputFile = Paths.get(timingsOutputFileProperty.trim());
+        }
+
+        String shardIndexProperty = System.getProperty(SHARD_INDEX_PROPERTY);
+        String shardCountProperty = System.getProperty(SHARD_COUNT_PROPERTY);
+        boolean noShardIndex = (shardIndexProperty == null) || shardIndexProperty.trim().isEmpty();
+        boolean noShardCount = (shardCountProperty == null) || shardCountProperty.trim().isEmpty();
+        if (noShardIndex && noShardCount)
+        {
+            return;
+        }
+        if (noShardIndex || noShardCount)
+        {
+            // running all tests in every shard would be wrong, so this must not be ignored
+            throw new IllegalArgumentException(SHARD_INDEX_PROPERTY + " and " + SHARD_COUNT_PROPERTY + " must be set together");
+        }
+        int index;
+        int count;
+        try
+        {
+            index = Integer.parseInt(shardIndexProperty.trim());
+            count = Integer.parseInt(shardCountProperty.trim());
+        }
+        catch (NumberFormatException e)
+        {
+            throw new IllegalArgumentException("Invalid test shard: " + SHARD_INDEX_PROPERTY + "=\"" + shardIndexProperty + "\", " + SHARD_COUNT_PROPERTY + "=\"" + shardCountProperty + "\"", e);
+        }
+        withShard(index, count);
+    }
+
+    private static int getDefaultTestParallelism()
+    {
+        String value = System.getProperty(TEST_PARALLELISM_PROPERTY);
+        try
+        {
+            return Math.max(ParallelTools.parseParallel(value), 1);
+        }
+        catch (RuntimeException e)
+        {
+            LOGGER.warn("Invalid value for {}: \"{}\"; tests will be run sequentially", TEST_PARALLELISM_PROPERTY, value);
+            return 1;
+        }
+    }
+
+    private static class EntityTests
+    {
+        private final String entityPath;
+        private final ListIterable<TestSuite> suites;
+        private final long testCaseCount;
+
+        private EntityTests(String entityPath, ListIterable<TestSuite> suites)
+        {
+            this.entityPath = entityPath;
+            this.suites = suites;
+            this.testCaseCount = suites.sumOfInt(TestSuite::countTestCases);
+        }
+    }
+
     private static MutableList<Entity> getEntities(ClassLoader classLoader)
     {
         try (EntityLoader entityLoader = EntityLoader.newEntityLoader(classLoader))
@@ -0,0 +1,139 @@
+// Copyright 2023 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.sdlc.test.junit;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.finos.legend.sdlc.tools.ManifestTools;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * History of how long the tests of each entity took to run, used to balance test shards. Shards must all be built
+ * from the same history, so a test run never writes to the history file it reads: each run (e.g., each shard) writes
+ * the timings of its own tests to a separate file, and these are merged into the history once all shards have run
+ * (see {@link #mergeFiles}).
+ */
+class TestTimings
+{
+    private static final int FORMAT_VERSION = 1;
+
+    private final Map<String, Long> testNanos = new ConcurrentHashMap<>();
+
+    private TestTimings()
+    {
+    }
+
+    /**
+     * Get the time the tests of an entity took to run, or null if it is not known.
+     *
+     * @param entityPath entity path
+     * @return test time in nanoseconds or null
+     */
+    Long getTestNanos(String entityPath)
+    {
+        return this.testNanos.get(entityPath);
+    }
+
+    void recordTestNanos(String entityPath, long nanos)
+    {
+        this.testNanos.merge(entityPath, nanos, Long::sum);
+    }
+
+    boolean isEmpty()
+    {
+        return this.testNanos.isEmpty();
+    }
+
+    /**
+     * Write the timings to a file, replacing any existing file.
+     *
+     * @param file timings file
+     * @throws IOException if an I/O error occurs
+     */
+    void write(Path file) throws IOException
+    {
+        ManifestTools.writeManifestFile(file, new TimingsFile(FORMAT_VERSION, new TreeMap<>(this.testNanos)));
+    }
+
+    static TestTimings newTimings()
+    {
+        return new TestTimings();
+    }
+
+    /**
+     * Read timings from a file. Returns empty timings if the file does not exist, or if it cannot be read or has an
+     * unsupported format, as timings are only used for estimates.
+     *
+     * @param file timings file
+     * @return timings
+     */
+    static TestTimings readIfPossible(Path file)
+    {
+        TestTimings timings = new TestTimings();
+        TimingsFile timingsFile = (file == null) ? null : ManifestTools.readManifestFileIfPossible(file, TimingsFile.class);
+        if ((timingsFile != null) && (timingsFile.version == FORMAT_VERSION) && (timingsFile.entities != null))
+        {
+            timingsFile.entities.forEach((path, nanos) ->
+            {
+                if ((path != null) && (nanos != null) && (nanos >= 0))
+                {
+                    timings.testNanos.put(path, nanos);
+                }
+            });
+        }
+        return timings;
+    }
+
+    /**
+     * Merge timings files into a target file, which may be one of the files merged. Where several files have timings
+     * for the same entity, those of the last file are used. Files which do not exist or cannot be read are ignored.
+     *
+     * @param files  timings files to merge, in increasing order of precedence
+     * @param target target timings file
+     * @throws IOException if an I/O error occurs
+     */
+    static void mergeFiles(Iterable<? extends Path> files, Path target) throws IOException
+    {
+        TestTimings merged = new TestTimings();
+        files.forEach(file -> merged.testNanos.putAll(readIfPossible(file).testNanos));
+        merged.write(target);
+    }
+
+    private static class TimingsFile
+    {
+        @JsonProperty
+        private final int version;
+
+        @JsonProperty
+        private final Map<String, Long> entities;
+
+        private TimingsFile(int version, Map<String, Long> entities)
+        {
+            this.version = version;
+            this.entities = entities;
+        }
+
+        @JsonCreator
+        static TimingsFile newTimingsFile(@JsonProperty("version") int version, @JsonProperty("entities") Map<String, Long> entities)
+        {
+            return new TimingsFile(version, entities);
+        }
+    }
+}
@@ -31,6 +31,13 @@ public class TestableTestCase extends LegendSDLCTestCase
         this.helper = new TestableHelper(3, testablePath, new TestableRunner(new ModelManager(DeploymentMode.PROD)), pureModel, pureModelContextData);
     }
 
+    @Override
+    protected boolean isConcurrentExecutionSupported()
+    {
+        // each test case has its own runner, and only reads the shared model
+        return true;
+    }
+
     @Override
     protected void doRunTest()
     {
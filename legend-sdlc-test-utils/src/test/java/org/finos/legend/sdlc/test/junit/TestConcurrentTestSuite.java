@@ -0,0 +1,134 @@
+// Copyright 2023 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.sdlc.test.junit;
+
+import junit.framework.TestResult;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestConcurrentTestSuite
+{
+    @Test
+    public void testSequentialTestsDoNotOverlapConcurrentTests()
+    {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger overlaps = new AtomicInteger();
+        AtomicInteger concurrentRuns = new AtomicInteger();
+
+        ConcurrentTestSuite suite = new ConcurrentTestSuite(4);
+        suite.setName("suite");
+        for (int i = 0; i < 6; i++)
+        {
+            suite.addTest(new CountingTestCase("concurrent" + i, true, running, overlaps, concurrentRuns));
+            suite.addTest(new CountingTestCase("sequential" + i, false, running, overlaps, concurrentRuns));
+        }
+
+        TestResult result = new TestResult();
+        suite.run(result);
+
+        Assert.assertEquals(12, result.runCount());
+        Assert.assertEquals(0, result.errorCount());
+        Assert.assertEquals(0, result.failureCount());
+        Assert.assertEquals(6, concurrentRuns.get());
+        Assert.assertEquals(0, overlaps.get());
+    }
+
+    @Test
+    public void testConcurrentTestFailuresAreReported()
+    {
+        ConcurrentTestSuite suite = new ConcurrentTestSuite(2);
+        suite.setName("suite");
+        suite.addTest(new FailingTestCase("failing1"));
+        suite.addTest(new FailingTestCase("failing2"));
+
+        TestResult result = new TestResult();
+        suite.run(result);
+
+        Assert.assertEquals(2, result.runCount());
+        Assert.assertEquals(2, result.failureCount());
+        Assert.assertEquals(0, result.errorCount());
+    }
+
+    private static class CountingTestCase extends LegendSDLCTestCase
+    {
+        private final boolean concurrent;
+        private final AtomicInteger running;
+        private final AtomicInteger overlaps;
+        private final AtomicInteger concurrentRuns;
+
+        private CountingTestCase(String name, boolean concurrent, AtomicInteger running, AtomicInteger overlaps, AtomicInteger concurrentRuns)
+        {
+            super(name);
+            this.concurrent = concurrent;
+            this.running = running;
+            this.overlaps = overlaps;
+            this.concurrentRuns = concurrentRuns;
+        }
+
+        @Override
+        protected boolean isConcurrentExecutionSupported()
+        {
+            return this.concurrent;
+        }
+
+        @Override
+        protected void doRunTest() throws Exception
+        {
+            int alreadyRunning = this.running.getAndIncrement();
+            try
+            {
+                if (this.concurrent)
+                {
+                    this.concurrentRuns.incrementAndGet();
+                }
+                else if (alreadyRunning > 0)
+                {
+                    this.overlaps.incrementAndGet();
+                }
+                Thread.sleep(20);
+                if (!this.concurrent && (this.running.get() > 1))
+                {
+                    this.overlaps.incrementAndGet();
+                }
+            }
+            finally
+            {
+                this.running.decrementAndGet();
+            }
+        }
+    }
+
+    private static class FailingTestCase extends LegendSDLCTestCase
+    {
+        private FailingTestCase(String name)
+        {
+            super(name);
+        }
+
+        @Override
+        protected boolean isConcurrentExecutionSupported()
+        {
+            return true;
+        }
+
+        @Override
+        protected void doRunTest()
+        {
+            fail(getName());
+        }
+    }
+}
@@ -17,10 +17,22 @@ package org.finos.legend.sdlc.test.junit;
 import org.finos.legend.sdlc.test.EntityValidator;
 import org.finos.legend.sdlc.test.PathTools;
 import org.junit.Assert;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.stream.Collectors;
 
 public class TestEntityValidator
 {
+    @Rule
+    public TemporaryFolder tmpFolder = new TemporaryFolder();
+
     @Test
     public void testEntityValidator() throws Exception
     {
@@ -28,6 +40,60 @@ public class TestEntityValidator
         assertEntityValidationReport(report, 27, 0);
     }
 
+    @Test
+    public void testEntityValidatorInParallel() throws Exception
+    {
+        EntityValidator.ValidationReport report = EntityValidator.validateEntities(Collections.singletonList(PathTools.resourceToPath("entities").getParent()), 4);
+        assertEntityValidationReport(report, 27, 0);
+    }
+
+    @Test
+    public void testEntityValidatorViolations() throws Exception
+    {
+        Path root = this.tmpFolder.getRoot().toPath();
+        Path modelDir = Files.createDirectories(root.resolve("entities").resolve("model"));
+        writeEntity(modelDir.resolve("A.json"), "model::A", "model", "A");
+        writeEntity(modelDir.resolve("B.json"), "model::B", "model", "C");
+        writeEntity(modelDir.resolve("D.json"), "model::D", "model", "D");
+        Files.write(modelDir.resolve("E.json"), "not an entity".getBytes(StandardCharsets.UTF_8));
+        writeEntity(modelDir.resolve("F.json"), "model::F", "meta", "F");
+        Path domainDir = Files.createDirectories(modelDir.resolve("domain"));
+        writeEntity(domainDir.resolve("G.json"), "model::domain::G", "model::domain", "G");
+        writeEntity(domainDir.resolve("H.json"), "model::domain::H", "model::domain", "H-1");
+
+        EntityValidator.ValidationReport sequentialReport = EntityValidator.validateEntities(root);
+        Assert.assertEquals(6, sequentialReport.getEntityCount());
+        Assert.assertEquals(4, sequentialReport.getViolationMessages().size());
+        Assert.assertEquals(
+                Arrays.asList("model::B", "model::E", "model::F", "model::domain::H"),
+                sequentialReport.getViolationMessages().stream().map(m -> m.substring("Entity ".length(), m.indexOf(" - "))).collect(Collectors.toList()));
+
+        // the same report in parallel
+        for (int i = 0; i < 10; i++)
+        {
+            EntityValidator.ValidationReport parallelReport = EntityValidator.validateEntities(Collections.singletonList(root), 4);
+            Assert.assertEquals(sequentialReport.getEntityCount(), parallelReport.getEntityCount());
+            Assert.assertEquals(sequentialReport.getViolationMessages(), parallelReport.getViolationMessages());
+        }
+
+        // fail fast stops at the first entity with violations
+        EntityValidator.ValidationReport failFastReport = EntityValidator.validateEntities(Collections.singletonList(root), 1, true);
+        Assert.assertEquals(2, failFastReport.getEntityCount());
+        Assert.assertEquals(Collections.singletonList(sequentialReport.getViolationMessages().get(0)), failFastReport.getViolationMessages());
+        for (int i = 0; i < 10; i++)
+        {
+            EntityValidator.ValidationReport parallelFailFastReport = EntityValidator.validateEntities(Collections.singletonList(root), 4, true);
+            Assert.assertEquals(failFastReport.getEntityCount(), parallelFailFastReport.getEntityCount());
+            Assert.assertEquals(failFastReport.getViolationMessages(), parallelFailFastReport.getViolationMessages());
+        }
+    }
+
+    private void writeEntity(Path file, String path, String pkg, String name) throws Exception
+    {
+        String json = "{\"path\":\"" + path + "\",\"classifierPath\":\"meta::pure::metamodel::type::Class\",\"content\":{\"_type\":\"class\",\"package\":\"" + pkg + "\",\"name\":\"" + name + "\"}}";
+        Files.write(file, json.getBytes(StandardCharsets.UTF_8));
+    }
+
     private void assertEntityValidationReport(EntityValidator.ValidationReport report, int expectedEntityCount, int expectedViolationCount)
     {
         Assert.assertEquals(expectedEntityCount, report.getEntityCount());
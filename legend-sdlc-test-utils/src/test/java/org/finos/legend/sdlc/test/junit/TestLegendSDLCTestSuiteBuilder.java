@@ -23,10 +23,13 @@ import org.eclipse.collections.api.factory.Maps;
 import org.eclipse.collections.api.factory.Sets;
 import org.eclipse.collections.impl.list.fixed.ArrayAdapter;
 import org.junit.Assert;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.nio.file.Path;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.List;
@@ -36,6 +39,9 @@ import java.util.stream.IntStream;
 
 public class TestLegendSDLCTestSuiteBuilder
 {
+    @Rule
+    public TemporaryFolder tmpFolder = new TemporaryFolder();
+
     @Test
     public void testBuildM2MMappingWithTestsTestSuite() throws Exception
     {
@@ -60,6 +66,56 @@ public class TestLegendSDLCTestSuiteBuilder
         testTestSuiteBuilder(expectedTestState, "legend-sdlc-test-service-with-testSuites", "testTestSuites");
     }
 
+    @Test
+    public void testBuildServicesWithTestSuiteConcurrently() throws Exception
+    {
+        Map<String, Set<String>> expectedTestCasesByTestSuite = Maps.mutable.with(
+                "testTestSuites::TestService { Generic }", Sets.immutable.with("testTestSuites::TestService Test #1").castToSet(),
+                "testTestSuites::TestService2 { Generic }", Sets.immutable.with("testTestSuites::TestService2 Test #1").castToSet(),
+                "testTestSuites::TestService3 { Generic }", Sets.immutable.with("testTestSuites::TestService3 Test #1").castToSet(),
+                "testTestSuites::TestService4 { Generic }", Sets.immutable.with("testTestSuites::TestService4 Test #1").castToSet());
+        ExpectedTestState expectedTestState = new ExpectedTestState("legend-sdlc-test-service-with-testSuites", 4, 4, 0, 2, expectedTestCasesByTestSuite);
+
+        TestSuite suite = new LegendSDLCTestSuiteBuilder("legend-sdlc-test-service-with-testSuites", "vX_X_X", 1, 4).buildSuiteFromPackages("testTestSuites");
+        Assert.assertTrue(suite instanceof ConcurrentTestSuite);
+        expectedTestState.assertTestSuite(suite);
+    }
+
+    @Test
+    public void testShardedSuites() throws Exception
+    {
+        LegendSDLCTestSuiteBuilder builder = new LegendSDLCTestSuiteBuilder("legend-sdlc-test-service-with-testSuites", "vX_X_X");
+        Set<String> allSuiteNames = getSuiteNames(builder.buildSuiteFromPackages("testTestSuites"));
+        Assert.assertEquals(4, allSuiteNames.size());
+
+        // without timings, each shard gets an equal share, and every suite is in exactly one shard
+        Set<String> shard0 = getSuiteNames(builder.withShard(0, 2).buildSuiteFromPackages("testTestSuites"));
+        Set<String> shard1 = getSuiteNames(builder.withShard(1, 2).buildSuiteFromPackages("testTestSuites"));
+        Assert.assertEquals(2, shard0.size());
+        Assert.assertEquals(2, shard1.size());
+        Assert.assertEquals(allSuiteNames, Sets.mutable.withAll(shard0).withAll(shard1));
+        Assert.assertEquals(shard0, getSuiteNames(builder.withShard(0, 2).buildSuiteFromPackages("testTestSuites")));
+
+        // with timings, shards are balanced by cost
+        Path timingsFile = this.tmpFolder.getRoot().toPath().resolve("timings.json");
+        TestTimings timings = TestTimings.newTimings();
+        timings.recordTestNanos("testTestSuites::TestService", 1_000_000L);
+        timings.recordTestNanos("testTestSuites::TestService2", 1_000L);
+        timings.recordTestNanos("testTestSuites::TestService3", 1_000L);
+        timings.recordTestNanos("testTestSuites::TestService4", 1_000L);
+        timings.write(timingsFile);
+        builder.withTimingsFile(timingsFile);
+        Assert.assertEquals(Collections.singleton("testTestSuites::TestService { Generic }"), getSuiteNames(builder.withShard(0, 2).buildSuiteFromPackages("testTestSuites")));
+        Assert.assertEquals(Sets.mutable.with("testTestSuites::TestService2 { Generic }", "testTestSuites::TestService3 { Generic }", "testTestSuites::TestService4 { Generic }"), getSuiteNames(builder.withShard(1, 2).buildSuiteFromPackages("testTestSuites")));
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> builder.withShard(2, 2));
+        Assert.assertThrows(IllegalArgumentException.class, () -> builder.withShard(0, 0));
+
+        // timings of the tests run are never written to the timings file shards are built from
+        builder.withTimingsOutputFile(timingsFile);
+        Assert.assertThrows(IllegalStateException.class, () -> builder.buildSuiteFromPackages("testTestSuites"));
+    }
+
     @Test
     public void testBuildMappingWithTestSuite() throws Exception
     {
@@ -81,6 +137,13 @@ public class TestLegendSDLCTestSuiteBuilder
         expectedTestState.assertTestSuite(suite);
     }
 
+    private static Set<String> getSuiteNames(TestSuite suite)
+    {
+        Set<String> names = Sets.mutable.empty();
+        Collections.list(suite.tests()).forEach(test -> names.add(((TestSuite) test).getName()));
+        return names;
+    }
+
     private String buildFailureMessage(String description, Enumeration<TestFailure> failureEnumeration)
     {
         if (!failureEnumeration.hasMoreElements())
@@ -0,0 +1,79 @@
+// Copyright 2023 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.sdlc.test.junit;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Path;
+
+public class TestTestTimings
+{
+    @Rule
+    public TemporaryFolder tmpFolder = new TemporaryFolder();
+
+    @Test
+    public void testWriteReplaces() throws Exception
+    {
+        Path file = this.tmpFolder.getRoot().toPath().resolve("timings.json");
+        Assert.assertTrue(TestTimings.readIfPossible(file).isEmpty());
+
+        TestTimings timings = TestTimings.newTimings();
+        timings.recordTestNanos("a::A", 10L);
+        timings.recordTestNanos("a::A", 5L);
+        timings.write(file);
+        Assert.assertEquals(Long.valueOf(15L), TestTimings.readIfPossible(file).getTestNanos("a::A"));
+
+        TestTimings other = TestTimings.newTimings();
+        other.recordTestNanos("b::B", 20L);
+        other.write(file);
+        TestTimings read = TestTimings.readIfPossible(file);
+        Assert.assertNull(read.getTestNanos("a::A"));
+        Assert.assertEquals(Long.valueOf(20L), read.getTestNanos("b::B"));
+    }
+
+    @Test
+    public void testMergeShardTimings() throws Exception
+    {
+        Path root = this.tmpFolder.getRoot().toPath();
+        Path history = root.resolve("timings.json");
+        Path shard0 = root.resolve("timings-0.json");
+        Path shard1 = root.resolve("timings-1.json");
+
+        TestTimings previous = TestTimings.newTimings();
+        previous.recordTestNanos("a::A", 1L);
+        previous.recordTestNanos("b::B", 2L);
+        previous.recordTestNanos("c::C", 3L);
+        previous.write(history);
+
+        TestTimings timings0 = TestTimings.newTimings();
+        timings0.recordTestNanos("a::A", 10L);
+        timings0.write(shard0);
+        TestTimings timings1 = TestTimings.newTimings();
+        timings1.recordTestNanos("b::B", 20L);
+        timings1.recordTestNanos("d::D", 40L);
+        timings1.write(shard1);
+
+        // the timings of each shard take precedence over the history, which is kept for entities not run
+        LegendSDLCTestSuiteBuilder.mergeTimingsFiles(history, history, shard0, shard1, root.resolve("missing.json"));
+        TestTimings merged = TestTimings.readIfPossible(history);
+        Assert.assertEquals(Long.valueOf(10L), merged.getTestNanos("a::A"));
+        Assert.assertEquals(Long.valueOf(20L), merged.getTestNanos("b::B"));
+        Assert.assertEquals(Long.valueOf(3L), merged.getTestNanos("c::C"));
+        Assert.assertEquals(Long.valueOf(40L), merged.getTestNanos("d::D"));
+    }
+}
@@ -15,6 +15,7 @@
 package org.finos.legend.sdlc.versions;
 
 import org.finos.legend.sdlc.domain.model.entity.Entity;
+import org.finos.legend.sdlc.tools.ParallelTools;
 import org.finos.legend.sdlc.tools.entity.EntityPaths;
 
 import java.util.ArrayList;
@@ -23,6 +24,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
@@ -88,6 +90,22 @@ class EntityPathTransformer
         return newEntities;
     }
 
+    /**
+     * Transform the entities in parallel using the given pool, if any. The transformed entities are in the same order
+     * as the entities were added.
+     *
+     * @param pool fork join pool (may be null)
+     * @return transformed entities
+     */
+    List<Entity> transformEntities(ForkJoinPool pool)
+    {
+        if ((pool == null) || (this.entities.size() < 2))
+        {
+            return transformEntities();
+        }
+        return ParallelTools.mapInParallel(pool, this.entities, this::transformEntity).getResultsOrThrow();
+    }
+
     private Entity transformEntity(Entity entity)
     {
         String newPath = applyPathTransformer(entity.getPath());
@@ -27,6 +27,7 @@ import org.finos.legend.sdlc.domain.model.entity.Entity;
 import org.finos.legend.sdlc.serialization.EntityLoader;
 import org.finos.legend.sdlc.serialization.EntitySerializer;
 import org.finos.legend.sdlc.serialization.EntitySerializers;
+import org.finos.legend.sdlc.tools.ParallelTools;
 import org.finos.legend.sdlc.tools.entity.EntityPaths;
 
 import java.io.File;
@@ -34,14 +35,14 @@ import java.io.IOException;
 import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Consumer;
 import java.util.function.Function;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import javax.lang.model.SourceVersion;
 
@@ -63,6 +64,9 @@ public class VersionQualifiedPackageMojo extends AbstractMojo
     @Parameter(defaultValue = "true")
     private boolean useParentInfoIfPresent;
 
+    @Parameter(defaultValue = "${org.finos.legend.sdlc.versions.parallel}")
+    private String parallel;
+
     @Override
     public void execute() throws MojoExecutionException, MojoFailureException
     {
@@ -89,11 +93,15 @@ public class VersionQualifiedPackageMojo extends AbstractMojo
             throw e;
         }
 
+        ForkJoinPool pool = null;
         try
         {
+            int parallelism = getParallelism(this.parallel);
+            getLog().info("parallelism: " + parallelism);
+            pool = (parallelism > 1) ? ParallelTools.createForkJoinPool(parallelism) : null;
             getLog().info("Generating entities with version qualified packages");
-            List<Entity> transformedEntities = transformEntities();
-            serializeEntities(transformedEntities);
+            List<Entity> transformedEntities = transformEntities(pool, parallelism);
+            serializeEntities(transformedEntities, pool);
             getLog().info(String.format("Done (%.9fs)", (System.nanoTime() - start) / 1_000_000_000.0));
         }
         catch (MojoExecutionException | MojoFailureException e)
@@ -107,6 +115,13 @@ public class VersionQualifiedPackageMojo extends AbstractMojo
             getLog().error(String.format("%s (%.9fs)", message, (System.nanoTime() - start) / 1_000_000_000.0), e);
             throw new MojoExecutionException(message, e);
         }
+        finally
+        {
+            if (pool != null)
+            {
+                pool.shutdown();
+            }
+        }
     }
 
     private void validateProjectInfo() throws MojoFailureException
@@ -187,74 +202,54 @@ public class VersionQualifiedPackageMojo extends AbstractMojo
         return infoAccessor.apply(this.mavenProject);
     }
 
-    private List<Entity> transformEntities() throws Exception
+    private List<Entity> transformEntities(ForkJoinPool pool, int parallelism) throws Exception
     {
         long transformStart = System.nanoTime();
         getLog().info("Qualifying entity packages by version");
 
-        EntityPathTransformer transformer = EntityPathTransformer.newTransformer(getPathTransformationFunction());
+        List<Entity> entities;
         try (EntityLoader entityLoader = EntityLoader.newEntityLoader(this.entitySourceDirectories))
         {
-            entityLoader.getAllEntities().forEach(transformer::addEntity);
+            entities = entityLoader.getAllEntities(parallelism).collect(Collectors.toList());
         }
-        List<Entity> transformedEntities = transformer.transformEntities();
+        EntityPathTransformer transformer = EntityPathTransformer.newTransformer(getPathTransformationFunction(entities, pool)).addEntities(entities);
+        List<Entity> transformedEntities = transformer.transformEntities(pool);
         getLog().info(String.format("Done qualifying packages by version for %,d entities (%.9fs)", transformedEntities.size(), (System.nanoTime() - transformStart) / 1_000_000_000.0));
         return transformedEntities;
     }
 
-    private void serializeEntities(List<Entity> entities) throws IOException
+    private void serializeEntities(List<Entity> entities, ForkJoinPool pool) throws Exception
     {
         long serializeStart = System.nanoTime();
         getLog().info(String.format("Serializing %,d entities to %s", entities.size(), this.outputDirectory));
         Path outputDirPath = this.outputDirectory.toPath();
         Path entitiesDir = outputDirPath.resolve("entities");
         EntitySerializer entitySerializer = EntitySerializers.getDefaultJsonSerializer();
-        for (Entity entity : entities)
-        {
-            entitySerializer.serializeToFile(entity, entitiesDir);
-        }
+        ParallelTools.mapInParallel(pool, entities, entity -> entitySerializer.serializeToFile(entity, entitiesDir)).getResultsOrThrow(IOException.class);
         getLog().info(String.format("Done serializing %,d entities to %s (%.9fs)", entities.size(), this.outputDirectory, (System.nanoTime() - serializeStart) / 1_000_000_000.0));
     }
 
-    private Function<String, String> getPathTransformationFunction() throws Exception
+    private Function<String, String> getPathTransformationFunction(List<Entity> projectEntities, ForkJoinPool pool) throws Exception
     {
         Map<String, String> pathMap = new HashMap<>();
 
         // main project
         String projectPrefix = getPackagePrefix(findGroupId(), findArtifactId(), findVersion(), this.versionAlias);
-        try (EntityLoader entityLoader = EntityLoader.newEntityLoader(this.entitySourceDirectories))
-        {
-            entityLoader.getAllEntities().forEach(e -> forEachPackageableElementPath(e, path -> pathMap.computeIfAbsent(path, projectPrefix::concat)));
-        }
+        projectEntities.forEach(e -> forEachPackageableElementPath(e, path -> pathMap.computeIfAbsent(path, projectPrefix::concat)));
 
-        // dependencies
+        // dependencies: only entity paths are needed, which can be read without reading the entities themselves
         List<Dependency> dependencies = this.mavenProject.getDependencies();
         if ((dependencies != null) && !dependencies.isEmpty())
         {
+            long dependenciesStart = System.nanoTime();
             Set<DependencyArtifactKey> dependencyKeys = dependencies.stream().map(DependencyArtifactKey::new).collect(Collectors.toSet());
-            this.mavenProject.getArtifacts()
+            List<Artifact> artifacts = this.mavenProject.getArtifacts()
                     .stream()
                     .filter(a -> dependencyKeys.contains(new DependencyArtifactKey(a)))
-                    .forEach(artifact ->
-                    {
-                        Pattern prefixPattern = Pattern.compile(appendVersionPackage(appendGroupIdPackage(new StringBuilder("^\\Q"), artifact.getGroupId()).append("::\\E\\w+\\Q::"), artifact.getVersion()).append("::\\E").toString());
-                        try (EntityLoader entityLoader = EntityLoader.newEntityLoader(artifact.getFile()))
-                        {
-                            entityLoader.getAllEntities().forEach(e -> forEachPackageableElementPath(e, path ->
-                            {
-                                Matcher matcher = prefixPattern.matcher(path);
-                                if (matcher.find())
-                                {
-                                    String pathWithoutPrefix = path.substring(matcher.end());
-                                    pathMap.putIfAbsent(pathWithoutPrefix, path);
-                                }
-                            }));
-                        }
-                        catch (Exception e)
-                        {
-                            throw new RuntimeException("Error reading from artifact " + artifact.getId(), e);
-                        }
-                    });
+                    .collect(Collectors.toList());
+            // merge in artifact order, so that the result does not depend on the order artifacts are read in
+            ParallelTools.mapInParallel(pool, artifacts, VersionQualifiedPackageMojo::readDependencyPathMap).getResultsOrThrow().forEach(m -> m.forEach(pathMap::putIfAbsent));
+            getLog().info(String.format("Read entity paths from %,d dependencies (%.9fs)", artifacts.size(), (System.nanoTime() - dependenciesStart) / 1_000_000_000.0));
         }
 
         return getLog().isWarnEnabled() ?
@@ -271,6 +266,67 @@ public class VersionQualifiedPackageMojo extends AbstractMojo
                 path -> pathMap.getOrDefault(path, path);
     }
 
+    static Map<String, String> readDependencyPathMap(Artifact artifact)
+    {
+        // paths in a dependency are qualified as groupId::artifactId::version::path
+        String groupIdPrefix = appendGroupIdPackage(new StringBuilder(), artifact.getGroupId()).append(EntityPaths.PACKAGE_SEPARATOR).toString();
+        String versionPrefix = appendVersionPackage(new StringBuilder(), artifact.getVersion()).append(EntityPaths.PACKAGE_SEPARATOR).toString();
+        Map<String, String> pathMap = new LinkedHashMap<>();
+        try (EntityLoader entityLoader = EntityLoader.newEntityLoader(artifact.getFile()))
+        {
+            entityLoader.getAllEntityPaths().forEach(path ->
+            {
+                int prefixLength = getQualifiedPrefixLength(path, groupIdPrefix, versionPrefix);
+                if (prefixLength != -1)
+                {
+                    pathMap.putIfAbsent(path.substring(prefixLength), path);
+                }
+            });
+        }
+        catch (Exception e)
+        {
+            throw new RuntimeException("Error reading from artifact " + artifact.getId(), e);
+        }
+        return pathMap;
+    }
+
+    static int getQualifiedPrefixLength(String path, String groupIdPrefix, String versionPrefix)
+    {
+        if (!path.startsWith(groupIdPrefix))
+        {
+            return -1;
+        }
+
+        // artifactId package: one or more valid package name characters
+        int artifactIdStart = groupIdPrefix.length();
+        int artifactIdEnd = path.indexOf(EntityPaths.PACKAGE_SEPARATOR, artifactIdStart);
+        if (artifactIdEnd <= artifactIdStart)
+        {
+            return -1;
+        }
+        for (int i = artifactIdStart; i < artifactIdEnd; i++)
+        {
+            if (!isValidPackageNameCharacter(path.charAt(i)))
+            {
+                return -1;
+            }
+        }
+
+        int versionStart = artifactIdEnd + EntityPaths.PACKAGE_SEPARATOR.length();
+        return path.startsWith(versionPrefix, versionStart) ? (versionStart + versionPrefix.length()) : -1;
+    }
+
+    private int getParallelism(String parallel)
+    {
+        int parallelism = ParallelTools.parseParallel(parallel);
+        if (parallelism < 1)
+        {
+            getLog().warn("Specified parallelism is less than 1 (" + parallelism + "), effective parallelism will be 1");
+            return 1;
+        }
+        return parallelism;
+    }
+
     private static void forEachPackageableElementPath(Entity entity, Consumer<? super String> pathConsumer)
     {
         forEachPackageableElementPath(entity.getContent(), pathConsumer);
@@ -24,6 +24,7 @@ import java.nio.file.Path;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -110,6 +111,37 @@ public class TestEntityPathTransformer
         EntityTransformationTestTools.assertEntitiesEquivalent(expectedEntities, transformedEntities);
     }
 
+    @Test
+    public void testParallelPrefixTransformation() throws Exception
+    {
+        List<Entity> entities;
+        try (EntityLoader entityLoader = EntityLoader.newEntityLoader(getTestResourcesDirectory()))
+        {
+            entities = entityLoader.getAllEntities().collect(Collectors.toList());
+        }
+
+        String prefix = "test::v1_2_3::";
+        EntityPathTransformer transformer = EntityPathTransformer.newTransformer(prefix::concat);
+        transformer.addEntities(entities);
+        List<Entity> transformedEntities;
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try
+        {
+            transformedEntities = transformer.transformEntities(pool);
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+
+        // order should be preserved
+        Assert.assertEquals(
+                entities.stream().map(e -> prefix + e.getPath()).collect(Collectors.toList()),
+                transformedEntities.stream().map(Entity::getPath).collect(Collectors.toList()));
+        List<Entity> expectedEntities = EntityTransformationTestTools.transformEntities(entities, prefix::concat);
+        EntityTransformationTestTools.assertEntitiesEquivalent(expectedEntities, transformedEntities);
+    }
+
     @Test
     public void testReversePackageTransformation() throws Exception
     {
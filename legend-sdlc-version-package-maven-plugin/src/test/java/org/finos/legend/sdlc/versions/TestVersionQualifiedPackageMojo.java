@@ -14,6 +14,9 @@
 
 package org.finos.legend.sdlc.versions;
 
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
 import org.apache.maven.model.Build;
 import org.apache.maven.model.Model;
 import org.apache.maven.model.Parent;
@@ -26,6 +29,9 @@ import org.apache.maven.project.MavenProject;
 import org.codehaus.plexus.util.xml.Xpp3Dom;
 import org.finos.legend.sdlc.domain.model.entity.Entity;
 import org.finos.legend.sdlc.serialization.EntityLoader;
+import org.finos.legend.sdlc.serialization.EntitySerializer;
+import org.finos.legend.sdlc.serialization.EntitySerializers;
+import org.finos.legend.sdlc.tools.entity.EntityPaths;
 import org.junit.Assert;
 import org.junit.Rule;
 import org.junit.Test;
@@ -39,7 +45,10 @@ import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 public class TestVersionQualifiedPackageMojo
@@ -258,6 +267,68 @@ public class TestVersionQualifiedPackageMojo
         EntityTransformationTestTools.assertEntitiesEquivalent(expected, actual);
     }
 
+    @Test
+    public void testGetQualifiedPrefixLength()
+    {
+        String groupIdPrefix = "org::finos::legend::";
+        String versionPrefix = "v1_0_0::";
+        String qualifiedPrefix = "org::finos::legend::test_artifact::v1_0_0::";
+
+        // qualified, including in nested packages
+        Assert.assertEquals(qualifiedPrefix.length(), VersionQualifiedPackageMojo.getQualifiedPrefixLength(qualifiedPrefix + "Person", groupIdPrefix, versionPrefix));
+        Assert.assertEquals(qualifiedPrefix.length(), VersionQualifiedPackageMojo.getQualifiedPrefixLength(qualifiedPrefix + "model::Person", groupIdPrefix, versionPrefix));
+        Assert.assertEquals(qualifiedPrefix.length(), VersionQualifiedPackageMojo.getQualifiedPrefixLength(qualifiedPrefix + "model::domain::sub::Person", groupIdPrefix, versionPrefix));
+
+        // unqualified
+        Assert.assertEquals(-1, VersionQualifiedPackageMojo.getQualifiedPrefixLength("model::Person", groupIdPrefix, versionPrefix));
+        Assert.assertEquals(-1, VersionQualifiedPackageMojo.getQualifiedPrefixLength("model::domain::Person", groupIdPrefix, versionPrefix));
+
+        // qualified differently
+        Assert.assertEquals(-1, VersionQualifiedPackageMojo.getQualifiedPrefixLength("org::finos::other::test_artifact::v1_0_0::model::Person", groupIdPrefix, versionPrefix));
+        Assert.assertEquals(-1, VersionQualifiedPackageMojo.getQualifiedPrefixLength("org::finos::legend::test_artifact::v2_0_0::model::Person", groupIdPrefix, versionPrefix));
+        Assert.assertEquals(-1, VersionQualifiedPackageMojo.getQualifiedPrefixLength("org::finos::legend::test_artifact::v1_0_0_1::model::Person", groupIdPrefix, versionPrefix));
+
+        // invalid or missing artifactId package
+        Assert.assertEquals(-1, VersionQualifiedPackageMojo.getQualifiedPrefixLength("org::finos::legend::test-artifact::v1_0_0::model::Person", groupIdPrefix, versionPrefix));
+        Assert.assertEquals(-1, VersionQualifiedPackageMojo.getQualifiedPrefixLength("org::finos::legend::::v1_0_0::model::Person", groupIdPrefix, versionPrefix));
+        Assert.assertEquals(-1, VersionQualifiedPackageMojo.getQualifiedPrefixLength("org::finos::legend::v1_0_0::model::Person", groupIdPrefix, versionPrefix));
+    }
+
+    @Test
+    public void testReadDependencyPathMap() throws Exception
+    {
+        String qualifiedPrefix = "org::finos::legend::test_artifact::v1_0_0::";
+        List<String> paths = Arrays.asList(
+                qualifiedPrefix + "Person",
+                qualifiedPrefix + "model::Firm",
+                qualifiedPrefix + "model::domain::sub::Address",
+                "model::Unqualified",
+                "model::domain::Unqualified",
+                "org::finos::legend::test_artifact::v2_0_0::model::OtherVersion",
+                "org::finos::other::test_artifact::v1_0_0::model::OtherGroup");
+        File artifactDir = this.tempFolder.newFolder("dependency");
+        Path entitiesDir = artifactDir.toPath().resolve("entities");
+        EntitySerializer entitySerializer = EntitySerializers.getDefaultJsonSerializer();
+        for (String path : paths)
+        {
+            int index = path.lastIndexOf(EntityPaths.PACKAGE_SEPARATOR);
+            Map<String, Object> content = new LinkedHashMap<>();
+            content.put("_type", "class");
+            content.put("package", path.substring(0, index));
+            content.put("name", path.substring(index + EntityPaths.PACKAGE_SEPARATOR.length()));
+            entitySerializer.serializeToFile(Entity.newEntity(path, "meta::pure::metamodel::type::Class", content), entitiesDir);
+        }
+
+        Artifact artifact = new DefaultArtifact("org.finos.legend", "test-artifact", "1.0.0", "compile", "jar", null, new DefaultArtifactHandler("jar"));
+        artifact.setFile(artifactDir);
+
+        Map<String, String> expected = new HashMap<>();
+        expected.put("Person", qualifiedPrefix + "Person");
+        expected.put("model::Firm", qualifiedPrefix + "model::Firm");
+        expected.put("model::domain::sub::Address", qualifiedPrefix + "model::domain::sub::Address");
+        Assert.assertEquals(expected, VersionQualifiedPackageMojo.readDependencyPathMap(artifact));
+    }
+
     private File buildSingleModuleProject(String projectDirName, String groupId, String artifactId, String version, File[] entitySourceDirectories, File outputDirectory, String versionAlias, Boolean useParentInfoIfPresent) throws IOException
     {
         Model mavenModel = buildMavenModelWithPlugin(groupId, artifactId, version, entitySourceDirectories, outputDirectory, versionAlias, useParentInfoIfPresent);